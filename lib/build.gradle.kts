@@ -57,6 +57,9 @@ dependencies {
     testCompileOnly("org.projectlombok:lombok:1.18.30")
     testAnnotationProcessor("org.projectlombok:lombok:1.18.30")
 
+    // Generate entity mappers for test entities.
+    testAnnotationProcessor(project(":processor"))
+
     // SLF4J for logging
     implementation("org.slf4j:slf4j-api:2.0.1")
     implementation("ch.qos.logback:logback-classic:1.4.5")
@@ -0,0 +1,136 @@
+/*
+ * Copyright(c) 2025 VEMI, All Rights Reserved.
+ */
+package jp.vemi.seasarbatis.core.builder;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+import jp.vemi.seasarbatis.core.criteria.OrderDirection;
+import jp.vemi.seasarbatis.core.entity.SBEntityMeta;
+import jp.vemi.seasarbatis.exception.SBIllegalStateException;
+import jp.vemi.seasarbatis.jdbc.SBShardedJdbcManager;
+
+/**
+ * 全シャードを対象とするSELECT文を構築するビルダークラス。
+ * <p>
+ * 構築したSELECT文を全シャードへ並列に発行し、結果を統合します。{@code orderBy} を指定した場合は
+ * 各シャードで整列された結果を優先度付きキューでk-wayマージするため、全件を再ソートしません。
+ * マージ時はNULLを最小の値として扱います。
+ * </p>
+ *
+ * @param <E> エンティティの型
+ */
+public class SBShardedSelectBuilder<E> extends SBSelectBuilder<E> {
+
+    private final SBShardedJdbcManager shardedManager;
+    private final Class<E> entityClass;
+    private final List<SBEntityMeta.Column> orderColumns = new ArrayList<>();
+    private final List<OrderDirection> orderDirections = new ArrayList<>();
+
+    /**
+     * コンストラクタ
+     *
+     * @param shardedManager シャーディングマネージャー
+     * @param entityClass エンティティのクラス
+     */
+    public SBShardedSelectBuilder(SBShardedJdbcManager shardedManager, Class<E> entityClass) {
+        super(shardedManager.getShard(0), entityClass);
+        this.shardedManager = shardedManager;
+        this.entityClass = entityClass;
+    }
+
+    @Override
+    public SBShardedSelectBuilder<E> orderBy(String column, OrderDirection direction) {
+        orderColumns.add(findColumn(column));
+        orderDirections.add(direction);
+        super.orderBy(column, direction);
+        return this;
+    }
+
+    /**
+     * 全シャードでクエリを実行し、統合した結果のリストを返します。
+     *
+     * @return エンティティのリスト
+     */
+    @Override
+    public List<E> getResultList() {
+        String sql = build();
+        Map<String, Object> params = getParameters();
+        List<List<E>> parts = shardedManager
+                .scatter(shard -> shard.selectBySql(sql, params, entityClass).getResultList());
+        return orderColumns.isEmpty() ? concat(parts) : merge(parts, comparator());
+    }
+
+    private static <E> List<E> concat(List<List<E>> parts) {
+        List<E> results = new ArrayList<>();
+        for (List<E> part : parts) {
+            results.addAll(part);
+        }
+        return results;
+    }
+
+    /**
+     * 整列済みのリストをk-wayマージします。
+     */
+    private static <E> List<E> merge(List<List<E>> parts, Comparator<E> comparator) {
+        int total = 0;
+        for (List<E> part : parts) {
+            total += part.size();
+        }
+        // 先頭要素とシャード番号・位置を保持し、同順位はシャード番号順とする
+        PriorityQueue<int[]> heads = new PriorityQueue<>((a, b) -> {
+            int result = comparator.compare(parts.get(a[0]).get(a[1]), parts.get(b[0]).get(b[1]));
+            return result != 0 ? result : Integer.compare(a[0], b[0]);
+        });
+        for (int i = 0; i < parts.size(); i++) {
+            if (!parts.get(i).isEmpty()) {
+                heads.add(new int[] { i, 0 });
+            }
+        }
+        List<E> results = new ArrayList<>(total);
+        while (!heads.isEmpty()) {
+            int[] head = heads.poll();
+            List<E> part = parts.get(head[0]);
+            results.add(part.get(head[1]));
+            if (++head[1] < part.size()) {
+                heads.add(head);
+            }
+        }
+        return results;
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private Comparator<E> comparator() {
+        return (left, right) -> {
+            for (int i = 0; i < orderColumns.size(); i++) {
+                SBEntityMeta.Column column = orderColumns.get(i);
+                Comparable a = (Comparable) column.get(left);
+                Comparable b = (Comparable) column.get(right);
+                int result;
+                if (a == null || b == null) {
+                    result = a == b ? 0 : (a == null ? -1 : 1);
+                } else {
+                    result = a.compareTo(b);
+                }
+                if (result != 0) {
+                    return orderDirections.get(i) == OrderDirection.DESC ? -result : result;
+                }
+            }
+            return 0;
+        };
+    }
+
+    private SBEntityMeta.Column findColumn(String column) {
+        SBEntityMeta.Column found = SBEntityMeta.of(entityClass).findColumn(column)
+                .orElseThrow(() -> new SBIllegalStateException("シャード間で並び替えるカラムが見つかりません: " + column));
+        Class<?> type = found.getType();
+        if (!Comparable.class.isAssignableFrom(type) && !type.isPrimitive()) {
+            throw new SBIllegalStateException("並び替え項目が比較可能な型ではありません: " + column);
+        }
+        return found;
+    }
+}
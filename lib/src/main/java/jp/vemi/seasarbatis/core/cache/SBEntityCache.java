@@ -0,0 +1,435 @@
+/*
+ * Copyright (C) 2025 VEMI, All Rights Reserved.
+ */
+package jp.vemi.seasarbatis.core.cache;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import jp.vemi.seasarbatis.core.config.SBEntityCacheConfig;
+import jp.vemi.seasarbatis.core.config.SBEntityCacheConfig.EntityCacheConfig;
+import jp.vemi.seasarbatis.core.entity.SBEntityMeta;
+import jp.vemi.seasarbatis.core.transaction.SBTransactionOperation;
+import jp.vemi.seasarbatis.core.transaction.SBTransactionSynchronization;
+import jp.vemi.seasarbatis.exception.SBEntityException;
+
+/**
+ * 主キー検索の結果をエンティティクラスごとに保持するキャッシュです。
+ * <p>
+ * {@link SBEntityCacheConfig} でキャッシュが設定されたクラスのみを対象とし、
+ * 主キーの値をキーとしてエンティティを保持します。エントリ数の上限を超えた場合は
+ * 最も長く参照されていないエントリから破棄します（LRU）。
+ * </p>
+ * <p>
+ * 取得したエンティティは呼び出し側で変更されてもキャッシュに影響しないよう、
+ * 登録時と取得時にコピーします。更新・削除されたエンティティは、トランザクションが
+ * コミットされた時点で破棄します。ロールバックされた場合はキャッシュを変更しません。
+ * </p>
+ *
+ * @author H.Kurosawa
+ * @version 0.0.1
+ * @since 2025/01/01
+ */
+public class SBEntityCache {
+
+    private final SBEntityCacheConfig config;
+    private final Map<Class<?>, Region> regions = new ConcurrentHashMap<>();
+    /** 正規化したテーブル名（エンティティクラスごと） */
+    private final Map<Class<?>, String> tableNames = new ConcurrentHashMap<>();
+
+    /**
+     * 設定を指定してキャッシュを構築します。
+     *
+     * @param config エンティティキャッシュ設定
+     */
+    public SBEntityCache(SBEntityCacheConfig config) {
+        this.config = config;
+    }
+
+    /**
+     * 指定したエンティティクラスがキャッシュ対象かどうかを判定します。
+     *
+     * @param entityClass エンティティクラス
+     * @return キャッシュ対象の場合true
+     */
+    public boolean isCacheable(Class<?> entityClass) {
+        return config.getEntityConfig(entityClass).isPresent();
+    }
+
+    /**
+     * キャッシュされたエンティティを取得します。
+     *
+     * @param <T> エンティティの型
+     * @param entityClass エンティティクラス
+     * @param primaryKeys 主キーの値
+     * @return エンティティのコピー。存在しないか期限切れの場合はnull
+     */
+    public <T> T get(Class<T> entityClass, Map<String, Object> primaryKeys) {
+        Region region = region(entityClass);
+        if (region == null) {
+            return null;
+        }
+        Object entity = region.get(primaryKeys);
+        return entity == null ? null : copy(entityClass.cast(entity));
+    }
+
+    /**
+     * 無効化の基準となる現在のシーケンス値を取得します。
+     * <p>
+     * 検索の実行前に取得し、{@link #put(Class, Map, Object, long)} に渡します。
+     * </p>
+     *
+     * @param entityClass エンティティクラス
+     * @return シーケンス値
+     */
+    public long currentSequence(Class<?> entityClass) {
+        Region region = region(entityClass);
+        return region == null ? 0 : region.currentSequence();
+    }
+
+    /**
+     * エンティティをキャッシュへ登録します。
+     * <p>
+     * {@code startSequence} 以降に同じクラスのエントリが破棄されている場合は、
+     * 古い値である可能性があるため登録しません。
+     * </p>
+     *
+     * @param <T> エンティティの型
+     * @param entityClass エンティティクラス
+     * @param primaryKeys 主キーの値
+     * @param entity エンティティ
+     * @param startSequence 検索実行前に取得したシーケンス値
+     */
+    public <T> void put(Class<T> entityClass, Map<String, Object> primaryKeys, T entity, long startSequence) {
+        Region region = region(entityClass);
+        if (region != null) {
+            region.put(new HashMap<>(primaryKeys), copy(entity), startSequence);
+        }
+    }
+
+    /**
+     * 指定したエンティティのエントリを破棄します。
+     *
+     * @param entityClass エンティティクラス
+     * @param primaryKeys 主キーの値
+     */
+    public void evict(Class<?> entityClass, Map<String, Object> primaryKeys) {
+        Region region = region(entityClass);
+        if (region != null) {
+            region.evict(primaryKeys);
+        }
+    }
+
+    /**
+     * 指定したエンティティクラスのエントリをすべて破棄します。
+     *
+     * @param entityClass エンティティクラス
+     */
+    public void evictAll(Class<?> entityClass) {
+        Region region = region(entityClass);
+        if (region != null) {
+            region.evictAll();
+        }
+    }
+
+    /**
+     * トランザクション内での更新・削除を記録します。
+     * <p>
+     * 記録したエントリはトランザクションのリソースとして保持し、コミットされた時点で破棄します。
+     * それまでの間、同じトランザクションからの同じクラスの検索は、実行スレッドにかかわらず
+     * キャッシュを経由しません。トランザクション外の場合は直ちに破棄します。
+     * </p>
+     *
+     * @param operation 更新を実行したトランザクション
+     * @param entityClass エンティティクラス
+     * @param primaryKeys 主キーの値
+     */
+    public void recordWrite(SBTransactionOperation operation, Class<?> entityClass, Map<String, Object> primaryKeys) {
+        if (operation == null || !operation.isActive()) {
+            evict(entityClass, primaryKeys);
+            return;
+        }
+        pendingEvictions(operation).add(entityClass, new HashMap<>(primaryKeys));
+    }
+
+    /**
+     * 更新系SQLの実行を記録します。
+     * <p>
+     * 更新された主キーは不明なため、更新対象のテーブルに対応するエンティティクラスのエントリをすべて破棄します。
+     * 対象テーブルを特定できない場合は、すべてのエンティティクラスを対象とします。
+     * トランザクション内の場合は、{@link #recordWrite(SBTransactionOperation, Class, Map)} と同様に
+     * コミットされた時点で破棄します。
+     * </p>
+     *
+     * @param operation 更新を実行したトランザクション
+     * @param sql 実行した更新系SQL文
+     */
+    public void recordWrite(SBTransactionOperation operation, String sql) {
+        Set<String> tables = null;
+        for (Class<?> entityClass : config.getEntityClasses()) {
+            if (!isCacheable(entityClass)) {
+                continue;
+            }
+            if (tables == null) {
+                tables = SBQueryCache.extractWrittenTables(sql);
+            }
+            if (!tables.contains(SBQueryCache.ALL_TABLES) && !tables.contains(tableName(entityClass))) {
+                continue;
+            }
+            if (operation == null || !operation.isActive()) {
+                evictAll(entityClass);
+            } else {
+                pendingEvictions(operation).addAll(entityClass);
+            }
+        }
+    }
+
+    /**
+     * トランザクションで、指定クラスのエンティティが更新済みかどうかを判定します。
+     *
+     * @param operation 検索を実行するトランザクション
+     * @param entityClass エンティティクラス
+     * @return 更新済みの場合true
+     */
+    public boolean hasPendingWrite(SBTransactionOperation operation, Class<?> entityClass) {
+        if (operation == null || !operation.isActive()) {
+            return false;
+        }
+        PendingEvictions pending = (PendingEvictions) operation.getResource(this);
+        return pending != null && pending.contains(entityClass);
+    }
+
+    private PendingEvictions pendingEvictions(SBTransactionOperation operation) {
+        PendingEvictions pending = (PendingEvictions) operation.getResource(this);
+        if (pending == null) {
+            pending = new PendingEvictions();
+            operation.bindResource(this, pending);
+            operation.registerSynchronization(pending);
+        }
+        return pending;
+    }
+
+    /**
+     * 指定したエンティティクラスの統計情報を取得します。
+     *
+     * @param entityClass エンティティクラス
+     * @return 統計情報
+     */
+    public Stats getStats(Class<?> entityClass) {
+        Region region = region(entityClass);
+        return region == null ? new Stats(0, 0, 0, 0) : region.stats();
+    }
+
+    private String tableName(Class<?> entityClass) {
+        return tableNames.computeIfAbsent(entityClass,
+                c -> SBQueryCache.normalizeTableName(SBEntityMeta.of(c).getTableName()));
+    }
+
+    private Region region(Class<?> entityClass) {
+        Region region = regions.get(entityClass);
+        if (region != null) {
+            return region;
+        }
+        return config.getEntityConfig(entityClass)
+                .map(c -> regions.computeIfAbsent(entityClass, k -> new Region(c)))
+                .orElse(null);
+    }
+
+    /**
+     * エンティティのフィールドを新しいインスタンスへコピーします。
+     */
+    private static <T> T copy(T entity) {
+        try {
+            return SBEntityMeta.of(entity.getClass()).copy(entity);
+        } catch (SBEntityException e) {
+            throw new SBEntityException("エンティティのコピーに失敗しました: " + entity.getClass().getName(), e);
+        }
+    }
+
+    /**
+     * トランザクション内で更新・削除したエンティティです。
+     * <p>
+     * トランザクションの処理は複数のスレッドから実行される場合があるため、同期して更新します。
+     * </p>
+     */
+    private final class PendingEvictions implements SBTransactionSynchronization {
+        private final Map<Class<?>, Set<Map<String, Object>>> keys = new HashMap<>();
+        /** 主キーが不明なため、すべてのエントリを破棄するエンティティクラス */
+        private final Set<Class<?>> allKeys = new HashSet<>();
+
+        synchronized void add(Class<?> entityClass, Map<String, Object> primaryKeys) {
+            keys.computeIfAbsent(entityClass, c -> new HashSet<>()).add(primaryKeys);
+        }
+
+        synchronized void addAll(Class<?> entityClass) {
+            allKeys.add(entityClass);
+        }
+
+        synchronized boolean contains(Class<?> entityClass) {
+            return keys.containsKey(entityClass) || allKeys.contains(entityClass);
+        }
+
+        @Override
+        public synchronized void afterCompletion(boolean committed) {
+            if (committed) {
+                keys.forEach((entityClass, set) -> set.forEach(key -> evict(entityClass, key)));
+                allKeys.forEach(SBEntityCache.this::evictAll);
+            }
+            keys.clear();
+            allKeys.clear();
+        }
+    }
+
+    /**
+     * エンティティクラスごとのキャッシュ領域です。
+     */
+    private static final class Region {
+        private final int maxEntries;
+        private final long ttlNanos;
+        private final LinkedHashMap<Map<String, Object>, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+        private long sequence;
+        private long lastEvicted;
+        private long hits;
+        private long misses;
+        private long evictions;
+
+        Region(EntityCacheConfig config) {
+            this.maxEntries = Math.max(1, config.getMaxEntries());
+            Duration ttl = config.getTtl();
+            this.ttlNanos = ttl == null ? 0 : ttl.toNanos();
+        }
+
+        synchronized Object get(Map<String, Object> key) {
+            Entry entry = entries.get(key);
+            if (entry != null && entry.expiresAt != 0 && entry.expiresAt < System.nanoTime()) {
+                entries.remove(key);
+                entry = null;
+            }
+            if (entry == null) {
+                misses++;
+                return null;
+            }
+            hits++;
+            return entry.entity;
+        }
+
+        synchronized long currentSequence() {
+            return sequence;
+        }
+
+        synchronized void put(Map<String, Object> key, Object entity, long startSequence) {
+            if (lastEvicted > startSequence) {
+                return;
+            }
+            long expiresAt = ttlNanos == 0 ? 0 : System.nanoTime() + ttlNanos;
+            entries.put(key, new Entry(entity, expiresAt));
+            if (entries.size() > maxEntries) {
+                var eldest = entries.keySet().iterator();
+                eldest.next();
+                eldest.remove();
+                evictions++;
+            }
+        }
+
+        synchronized void evict(Map<String, Object> key) {
+            lastEvicted = ++sequence;
+            entries.remove(key);
+        }
+
+        synchronized void evictAll() {
+            lastEvicted = ++sequence;
+            entries.clear();
+        }
+
+        synchronized Stats stats() {
+            return new Stats(hits, misses, evictions, entries.size());
+        }
+    }
+
+    /**
+     * キャッシュのエントリです。
+     */
+    private static final class Entry {
+        private final Object entity;
+        private final long expiresAt;
+
+        Entry(Object entity, long expiresAt) {
+            this.entity = entity;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    /**
+     * エンティティキャッシュの統計情報です。
+     */
+    public static final class Stats {
+        private final long hitCount;
+        private final long missCount;
+        private final long evictionCount;
+        private final int size;
+
+        Stats(long hitCount, long missCount, long evictionCount, int size) {
+            this.hitCount = hitCount;
+            this.missCount = missCount;
+            this.evictionCount = evictionCount;
+            this.size = size;
+        }
+
+        /**
+         * キャッシュヒット数を取得します。
+         *
+         * @return キャッシュヒット数
+         */
+        public long getHitCount() {
+            return hitCount;
+        }
+
+        /**
+         * キャッシュミス数を取得します。
+         *
+         * @return キャッシュミス数
+         */
+        public long getMissCount() {
+            return missCount;
+        }
+
+        /**
+         * 上限超過により破棄されたエントリ数を取得します。
+         *
+         * @return 破棄されたエントリ数
+         */
+        public long getEvictionCount() {
+            return evictionCount;
+        }
+
+        /**
+         * 現在のエントリ数を取得します。
+         *
+         * @return エントリ数
+         */
+        public int getSize() {
+            return size;
+        }
+
+        /**
+         * キャッシュヒット率を取得します。
+         *
+         * @return ヒット率（0.0～1.0）。参照がない場合は0.0
+         */
+        public double getHitRate() {
+            long total = hitCount + missCount;
+            return total == 0 ? 0.0 : (double) hitCount / total;
+        }
+
+        @Override
+        public String toString() {
+            return "Stats[hit=" + hitCount + ", miss=" + missCount + ", eviction=" + evictionCount + ", size="
+                    + size + "]";
+        }
+    }
+}
@@ -0,0 +1,668 @@
+/*
+ * Copyright (C) 2025 VEMI, All Rights Reserved.
+ */
+package jp.vemi.seasarbatis.core.cache;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import jp.vemi.seasarbatis.core.entity.SBEntityMeta;
+import jp.vemi.seasarbatis.core.transaction.SBTransactionOperation;
+import jp.vemi.seasarbatis.core.transaction.SBTransactionSynchronization;
+import jp.vemi.seasarbatis.exception.SBEntityException;
+import jp.vemi.seasarbatis.exception.SBIllegalStateException;
+
+/**
+ * 検索結果のキャッシュです。
+ * <p>
+ * パラメータを展開した後のSQL文、バインド値、および結果の型をキーとして検索結果を保持します。
+ * エントリ数の上限を超えた場合は最も長く参照されていないエントリから破棄し（LRU）、
+ * 有効期限（TTL）を過ぎたエントリは次回参照時に破棄します。
+ * </p>
+ * <p>
+ * 各エントリは参照しているテーブルを記録しており、INSERT/UPDATE/DELETEが実行されると
+ * 更新対象のテーブルを参照するエントリがすべて無効化されます。
+ * トランザクション内で更新されたテーブルは、コミットまたはロールバックの完了時にも
+ * 再度無効化されるため、未コミットの値がキャッシュに残ることはありません。
+ * </p>
+ * <p>
+ * 登録時と取得時にエンティティをコピーするため、呼び出し元が取得したエンティティを変更しても
+ * キャッシュや他の呼び出し元の結果には影響しません。
+ * </p>
+ *
+ * @author H.Kurosawa
+ * @version 0.0.1
+ * @since 2025/01/01
+ */
+public class SBQueryCache {
+
+    /** 対象テーブルを特定できない更新を表す要素 */
+    static final String ALL_TABLES = "*";
+
+    private final int maxEntries;
+    private final Duration defaultTtl;
+    private final LinkedHashMap<Key, Entry> entries;
+    private final Map<String, Set<Key>> keysByTable = new HashMap<>();
+    private final Map<String, Long> invalidatedAt = new HashMap<>();
+    private long sequence;
+
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+    private final AtomicLong evictionCount = new AtomicLong();
+
+    /**
+     * エントリ数の上限と既定の有効期限を指定してキャッシュを構築します。
+     *
+     * @param maxEntries エントリ数の上限
+     * @param defaultTtl 既定の有効期限
+     */
+    public SBQueryCache(int maxEntries, Duration defaultTtl) {
+        if (maxEntries <= 0) {
+            throw new SBIllegalStateException("キャッシュのエントリ数上限は1以上を指定してください: " + maxEntries);
+        }
+        Objects.requireNonNull(defaultTtl, "defaultTtl");
+        this.maxEntries = maxEntries;
+        this.defaultTtl = defaultTtl;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    /**
+     * 既定の有効期限を取得します。
+     *
+     * @return 既定の有効期限
+     */
+    public Duration getDefaultTtl() {
+        return defaultTtl;
+    }
+
+    /**
+     * 無効化の基準となる現在のシーケンス値を取得します。
+     * <p>
+     * 検索の実行前に取得し、{@link #put(String, List, Class, List, Duration, long)} に渡します。
+     * 検索中に対象テーブルが更新された場合、その結果はキャッシュされません。
+     * </p>
+     *
+     * @return シーケンス値
+     */
+    public synchronized long currentSequence() {
+        return sequence;
+    }
+
+    /**
+     * キャッシュされた検索結果を取得します。
+     *
+     * @param <T> 要素の型
+     * @param sql パラメータ展開後のSQL文
+     * @param resultType 結果の型
+     * @return 検索結果のコピー（各要素もコピーします）。存在しないか期限切れの場合はnull
+     */
+    public <T> List<T> get(String sql, Class<?> resultType) {
+        return get(sql, List.of(), resultType);
+    }
+
+    /**
+     * バインド値を伴うSQL文について、キャッシュされた検索結果を取得します。
+     *
+     * @param <T> 要素の型
+     * @param sql {@code ?} プレースホルダを含むSQL文
+     * @param bindValues バインドする値（プレースホルダの順）
+     * @param resultType 結果の型
+     * @return 検索結果のコピー（各要素もコピーします）。存在しないか期限切れの場合はnull
+     */
+    @SuppressWarnings("unchecked")
+    public <T> List<T> get(String sql, List<?> bindValues, Class<?> resultType) {
+        Key key = new Key(sql, bindValues, resultType);
+        List<?> results;
+        synchronized (this) {
+            Entry entry = entries.get(key);
+            if (entry != null && System.nanoTime() - entry.expiresAt > 0) {
+                removeEntry(key, entry);
+                entry = null;
+            }
+            if (entry == null) {
+                missCount.incrementAndGet();
+                return null;
+            }
+            hitCount.incrementAndGet();
+            results = entry.results;
+        }
+        return (List<T>) copyResults(results);
+    }
+
+    /**
+     * 検索結果をキャッシュへ登録します。
+     * <p>
+     * {@code startSequence} 以降に参照テーブルのいずれかが無効化されている場合は登録しません。
+     * </p>
+     *
+     * @param sql パラメータ展開後のSQL文
+     * @param resultType 結果の型
+     * @param results 検索結果
+     * @param ttl 有効期限
+     * @param startSequence 検索実行前に取得したシーケンス値
+     */
+    public void put(String sql, Class<?> resultType, List<?> results, Duration ttl, long startSequence) {
+        put(sql, List.of(), resultType, results, ttl, startSequence);
+    }
+
+    /**
+     * バインド値を伴うSQL文の検索結果をキャッシュへ登録します。
+     * <p>
+     * バインド値は文字列へ変換せず、型と値（配列は内容）で比較します。
+     * {@code startSequence} 以降に参照テーブルのいずれかが無効化されている場合は登録しません。
+     * </p>
+     *
+     * @param sql {@code ?} プレースホルダを含むSQL文
+     * @param bindValues バインドする値（プレースホルダの順）
+     * @param resultType 結果の型
+     * @param results 検索結果
+     * @param ttl 有効期限
+     * @param startSequence 検索実行前に取得したシーケンス値
+     */
+    public void put(String sql, List<?> bindValues, Class<?> resultType, List<?> results, Duration ttl,
+            long startSequence) {
+        Set<String> tables = extractTables(sql);
+        if (tables.isEmpty()) {
+            return;
+        }
+        Key key = new Key(sql, bindValues, resultType);
+        long expiresAt = System.nanoTime() + ttl.toNanos();
+        List<?> copy = Collections.unmodifiableList(copyResults(results));
+        synchronized (this) {
+            if (isInvalidatedSince(tables, startSequence)) {
+                return;
+            }
+            Entry previous = entries.remove(key);
+            if (previous != null) {
+                unindex(key, previous);
+            }
+            entries.put(key, new Entry(copy, expiresAt, tables));
+            for (String table : tables) {
+                keysByTable.computeIfAbsent(table, t -> new HashSet<>()).add(key);
+            }
+            while (entries.size() > maxEntries) {
+                Iterator<Map.Entry<Key, Entry>> eldest = entries.entrySet().iterator();
+                Map.Entry<Key, Entry> e = eldest.next();
+                eldest.remove();
+                unindex(e.getKey(), e.getValue());
+                evictionCount.incrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * 指定したテーブルを参照するエントリを無効化します。
+     *
+     * @param tables テーブル名
+     */
+    public synchronized void invalidateTables(Set<String> tables) {
+        if (tables.contains(ALL_TABLES)) {
+            invalidateAll();
+            return;
+        }
+        sequence++;
+        for (String table : tables) {
+            String name = normalizeTableName(table);
+            invalidatedAt.put(name, sequence);
+            Set<Key> keys = keysByTable.remove(name);
+            if (keys == null) {
+                continue;
+            }
+            for (Key key : keys) {
+                Entry entry = entries.remove(key);
+                if (entry != null) {
+                    unindex(key, entry);
+                }
+            }
+        }
+    }
+
+    /**
+     * すべてのエントリを無効化します。
+     */
+    public synchronized void invalidateAll() {
+        sequence++;
+        invalidatedAt.put(ALL_TABLES, sequence);
+        entries.clear();
+        keysByTable.clear();
+    }
+
+    /**
+     * 更新系SQLの実行を記録し、対象テーブルを無効化します。
+     * <p>
+     * トランザクション内の場合は、更新したテーブルをトランザクションのリソースとして保持し、
+     * 完了時に再度無効化します。それまでの間、同じトランザクションからの対象テーブルの検索は
+     * 実行スレッドにかかわらずキャッシュを経由しません。
+     * </p>
+     *
+     * @param operation 更新を実行したトランザクション。トランザクション外の場合はnull
+     * @param sql 実行した更新系SQL文
+     */
+    public void recordWrite(SBTransactionOperation operation, String sql) {
+        Set<String> tables = extractWrittenTables(sql);
+        invalidateTables(tables);
+        if (operation == null || !operation.isActive()) {
+            return;
+        }
+        PendingWrites pending = (PendingWrites) operation.getResource(this);
+        if (pending == null) {
+            pending = new PendingWrites();
+            operation.bindResource(this, pending);
+            operation.registerSynchronization(pending);
+        }
+        pending.tables.addAll(tables);
+    }
+
+    /**
+     * トランザクションで、指定SQLの参照テーブルが更新済みかどうかを判定します。
+     *
+     * @param operation 検索を実行するトランザクション
+     * @param sql 検索SQL文
+     * @return 更新済みの場合true
+     */
+    public boolean hasPendingWrite(SBTransactionOperation operation, String sql) {
+        if (operation == null || !operation.isActive()) {
+            return false;
+        }
+        PendingWrites pending = (PendingWrites) operation.getResource(this);
+        if (pending == null) {
+            return false;
+        }
+        Set<String> written = pending.tables;
+        if (written.contains(ALL_TABLES)) {
+            return true;
+        }
+        for (String table : extractTables(sql)) {
+            if (written.contains(table)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 現在のエントリ数を取得します。
+     *
+     * @return エントリ数
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * キャッシュヒット数を取得します。
+     *
+     * @return キャッシュヒット数
+     */
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    /**
+     * キャッシュミス数を取得します。
+     *
+     * @return キャッシュミス数
+     */
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    /**
+     * 上限超過により破棄されたエントリ数を取得します。
+     *
+     * @return 破棄されたエントリ数
+     */
+    public long getEvictionCount() {
+        return evictionCount.get();
+    }
+
+    /**
+     * 検索結果を要素ごとにコピーします。
+     * <p>
+     * 呼び出し元が変更した要素が他の呼び出し元やキャッシュへ影響しないよう、
+     * エンティティとMapは新しいインスタンスへコピーします。レコードとJDKの値型はそのまま共有します。
+     * </p>
+     */
+    private static List<Object> copyResults(List<?> results) {
+        List<Object> copy = new ArrayList<>(results.size());
+        for (Object element : results) {
+            copy.add(copyElement(element));
+        }
+        return copy;
+    }
+
+    private static Object copyElement(Object element) {
+        if (element instanceof Map) {
+            return new LinkedHashMap<>((Map<?, ?>) element);
+        }
+        if (element == null || element.getClass().isRecord() || element.getClass().getName().startsWith("java.")) {
+            return element;
+        }
+        try {
+            return SBEntityMeta.of(element.getClass()).copy(element);
+        } catch (SBEntityException e) {
+            throw new SBEntityException("エンティティのコピーに失敗しました: " + element.getClass().getName(), e);
+        }
+    }
+
+    private boolean isInvalidatedSince(Set<String> tables, long startSequence) {
+        Long all = invalidatedAt.get(ALL_TABLES);
+        if (all != null && all > startSequence) {
+            return true;
+        }
+        for (String table : tables) {
+            Long at = invalidatedAt.get(table);
+            if (at != null && at > startSequence) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void removeEntry(Key key, Entry entry) {
+        entries.remove(key);
+        unindex(key, entry);
+    }
+
+    private void unindex(Key key, Entry entry) {
+        for (String table : entry.tables) {
+            Set<Key> keys = keysByTable.get(table);
+            if (keys != null) {
+                keys.remove(key);
+                if (keys.isEmpty()) {
+                    keysByTable.remove(table);
+                }
+            }
+        }
+    }
+
+    /**
+     * 検索SQL文のFROM句・JOIN句から参照テーブル名を抽出します。
+     *
+     * @param sql SQL文
+     * @return 正規化したテーブル名
+     */
+    static Set<String> extractTables(String sql) {
+        List<String> tokens = tokenize(sql);
+        Set<String> tables = new HashSet<>();
+        for (int i = 0; i < tokens.size(); i++) {
+            String token = tokens.get(i);
+            if (token.equals("join")) {
+                addTable(tokens, i + 1, tables);
+            } else if (token.equals("from")) {
+                // カンマ区切りのテーブル列挙に対応する
+                int j = i + 1;
+                while (addTable(tokens, j, tables)) {
+                    j++;
+                    while (j < tokens.size() && !tokens.get(j).equals(",") && !isClauseKeyword(tokens.get(j))) {
+                        j++;
+                    }
+                    if (j >= tokens.size() || !tokens.get(j).equals(",")) {
+                        break;
+                    }
+                    j++;
+                }
+            }
+        }
+        return tables;
+    }
+
+    /**
+     * 更新系SQL文から更新対象のテーブル名を抽出します。
+     * <p>
+     * 対象を特定できない場合は、全テーブルを表す要素を返します。
+     * </p>
+     *
+     * @param sql SQL文
+     * @return 正規化したテーブル名
+     */
+    static Set<String> extractWrittenTables(String sql) {
+        List<String> tokens = tokenize(sql);
+        Set<String> tables = new HashSet<>();
+        for (int i = 0; i < tokens.size(); i++) {
+            String token = tokens.get(i);
+            if ((token.equals("insert") || token.equals("merge")) && i + 1 < tokens.size()
+                    && tokens.get(i + 1).equals("into")) {
+                addTable(tokens, i + 2, tables);
+            } else if (token.equals("delete") && i + 1 < tokens.size() && tokens.get(i + 1).equals("from")) {
+                addTable(tokens, i + 2, tables);
+            } else if (token.equals("update") && i == firstKeywordIndex(tokens)) {
+                addTable(tokens, i + 1, tables);
+            }
+        }
+        if (tables.isEmpty()) {
+            tables.add(ALL_TABLES);
+        }
+        return tables;
+    }
+
+    private static int firstKeywordIndex(List<String> tokens) {
+        for (int i = 0; i < tokens.size(); i++) {
+            if (!tokens.get(i).equals("(")) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean addTable(List<String> tokens, int index, Set<String> tables) {
+        if (index >= tokens.size()) {
+            return false;
+        }
+        String token = tokens.get(index);
+        if (token.equals("(") || token.equals(",") || isClauseKeyword(token)) {
+            return false;
+        }
+        tables.add(normalizeTableName(token));
+        return true;
+    }
+
+    private static boolean isClauseKeyword(String token) {
+        switch (token) {
+        case "where":
+        case "join":
+        case "inner":
+        case "left":
+        case "right":
+        case "full":
+        case "cross":
+        case "on":
+        case "group":
+        case "order":
+        case "having":
+        case "union":
+        case "limit":
+        case "offset":
+        case "fetch":
+        case "for":
+        case "set":
+        case "values":
+        case "select":
+        case ")":
+            return true;
+        default:
+            return false;
+        }
+    }
+
+    static String normalizeTableName(String name) {
+        String table = name;
+        int dot = table.lastIndexOf('.');
+        if (dot >= 0) {
+            table = table.substring(dot + 1);
+        }
+        return table.replace("\"", "").replace("`", "").replace("[", "").replace("]", "")
+                .toLowerCase(Locale.ROOT);
+    }
+
+    private static List<String> tokenize(String sql) {
+        List<String> tokens = new ArrayList<>();
+        int length = sql.length();
+        int i = 0;
+        while (i < length) {
+            char c = sql.charAt(i);
+            if (Character.isWhitespace(c)) {
+                i++;
+            } else if (c == '\'') {
+                // 文字列リテラルは読み飛ばす
+                i++;
+                while (i < length) {
+                    if (sql.charAt(i) == '\'') {
+                        if (i + 1 < length && sql.charAt(i + 1) == '\'') {
+                            i += 2;
+                            continue;
+                        }
+                        break;
+                    }
+                    i++;
+                }
+                i++;
+            } else if (c == '-' && i + 1 < length && sql.charAt(i + 1) == '-') {
+                while (i < length && sql.charAt(i) != '\n') {
+                    i++;
+                }
+            } else if (c == '/' && i + 1 < length && sql.charAt(i + 1) == '*') {
+                int end = sql.indexOf("*/", i + 2);
+                i = end < 0 ? length : end + 2;
+            } else if (c == '(' || c == ')' || c == ',' || c == ';') {
+                tokens.add(String.valueOf(c));
+                i++;
+            } else {
+                int start = i;
+                while (i < length) {
+                    char ch = sql.charAt(i);
+                    if (Character.isWhitespace(ch) || ch == '(' || ch == ')' || ch == ',' || ch == ';'
+                            || ch == '\'') {
+                        break;
+                    }
+                    i++;
+                }
+                tokens.add(sql.substring(start, i).toLowerCase(Locale.ROOT));
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * キャッシュのキーです。
+     * <p>
+     * バインド値は不変のコピーとして保持します。配列は内容で比較するよう {@link ArrayValue} で包みます。
+     * </p>
+     */
+    private static final class Key {
+        private final String sql;
+        private final List<Object> bindValues;
+        private final String resultType;
+        private final int hash;
+
+        Key(String sql, List<?> bindValues, Class<?> resultType) {
+            this.sql = sql;
+            this.bindValues = bindValues.isEmpty() ? List.of() : copyBindValues(bindValues);
+            this.resultType = resultType == null ? Map.class.getName() : resultType.getName();
+            this.hash = 31 * (31 * sql.hashCode() + this.bindValues.hashCode()) + this.resultType.hashCode();
+        }
+
+        private static List<Object> copyBindValues(List<?> bindValues) {
+            List<Object> copy = new ArrayList<>(bindValues.size());
+            for (Object value : bindValues) {
+                if (value != null && value.getClass().isArray()) {
+                    copy.add(new ArrayValue(value));
+                } else if (value instanceof java.util.Date) {
+                    // 呼び出し元が後から書き換えてもキーが変わらないよう複製する
+                    copy.add(((java.util.Date) value).clone());
+                } else {
+                    copy.add(value);
+                }
+            }
+            return Collections.unmodifiableList(copy);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) obj;
+            return sql.equals(other.sql) && bindValues.equals(other.bindValues)
+                    && resultType.equals(other.resultType);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    /**
+     * 配列のバインド値を内容で比較するためのラッパーです。
+     */
+    private static final class ArrayValue {
+        private final Object[] array;
+        private final int hash;
+
+        ArrayValue(Object array) {
+            // プリミティブ配列も含め、複製して1要素の配列として deepEquals で比較する
+            int length = java.lang.reflect.Array.getLength(array);
+            Object copy = java.lang.reflect.Array.newInstance(array.getClass().getComponentType(), length);
+            System.arraycopy(array, 0, copy, 0, length);
+            this.array = new Object[] { copy };
+            this.hash = Arrays.deepHashCode(this.array);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof ArrayValue && Arrays.deepEquals(array, ((ArrayValue) obj).array);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    /**
+     * トランザクション内で更新したテーブルです。
+     * <p>
+     * トランザクションの処理は複数のスレッドから実行される場合があるため、並行して追加できる集合で保持します。
+     * </p>
+     */
+    private final class PendingWrites implements SBTransactionSynchronization {
+        private final Set<String> tables = ConcurrentHashMap.newKeySet();
+
+        @Override
+        public void afterCompletion(boolean committed) {
+            invalidateTables(tables);
+        }
+    }
+
+    /**
+     * キャッシュのエントリです。
+     */
+    private static final class Entry {
+        private final List<?> results;
+        private final long expiresAt;
+        private final Set<String> tables;
+
+        Entry(List<?> results, long expiresAt, Set<String> tables) {
+            this.results = results;
+            this.expiresAt = expiresAt;
+            this.tables = tables;
+        }
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright (C) 2025 VEMI, All Rights Reserved.
+ */
+package jp.vemi.seasarbatis.core.config;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * エンティティキャッシュの設定を管理するクラスです。
+ * <p>
+ * 主キー検索の結果をキャッシュするエンティティクラスと、クラスごとの
+ * エントリ数上限・有効期限を管理します。設定のないクラスはキャッシュされません。
+ * </p>
+ *
+ * @author H.Kurosawa
+ * @version 1.0.0
+ * @since 2025/01/01
+ */
+public class SBEntityCacheConfig {
+
+    /**
+     * エンティティクラスごとのキャッシュ設定を保持するマップです。
+     */
+    private final Map<Class<?>, EntityCacheConfig> entityConfigs = new HashMap<>();
+
+    /**
+     * エンティティキャッシュが有効かどうかを示すフラグです。
+     */
+    private boolean enabled = true;
+
+    /**
+     * 指定されたエンティティクラスのキャッシュ設定を取得します。
+     *
+     * @param entityClass エンティティクラス
+     * @return キャッシュ設定、設定がない場合または無効な場合はEmpty
+     */
+    public Optional<EntityCacheConfig> getEntityConfig(Class<?> entityClass) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(entityConfigs.get(entityClass));
+    }
+
+    /**
+     * キャッシュ設定のあるエンティティクラスを取得します。
+     *
+     * @return エンティティクラス（変更不可）
+     */
+    public Set<Class<?>> getEntityClasses() {
+        return Set.copyOf(entityConfigs.keySet());
+    }
+
+    /**
+     * エンティティクラスのキャッシュ設定を追加します。
+     *
+     * @param entityClass エンティティクラス
+     * @param config キャッシュ設定
+     * @return このインスタンス（メソッドチェーン用）
+     */
+    public SBEntityCacheConfig addEntityConfig(Class<?> entityClass, EntityCacheConfig config) {
+        entityConfigs.put(entityClass, config);
+        return this;
+    }
+
+    /**
+     * エンティティキャッシュが有効かどうかを取得します。
+     *
+     * @return 有効な場合true、無効な場合false
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * エンティティキャッシュの有効性を設定します。
+     *
+     * @param enabled 有効にする場合true、無効にする場合false
+     * @return このインスタンス（メソッドチェーン用）
+     */
+    public SBEntityCacheConfig setEnabled(boolean enabled) {
+        this.enabled = enabled;
+        return this;
+    }
+
+    /**
+     * エンティティ固有のキャッシュ設定を表すクラスです。
+     */
+    public static class EntityCacheConfig {
+        private final int maxEntries;
+        private final Duration ttl;
+
+        /**
+         * エンティティ固有のキャッシュ設定を作成します。
+         *
+         * @param maxEntries エントリ数の上限
+         * @param ttl 有効期限（期限なしの場合はnull）
+         */
+        public EntityCacheConfig(int maxEntries, Duration ttl) {
+            this.maxEntries = maxEntries;
+            this.ttl = ttl;
+        }
+
+        /**
+         * エントリ数の上限を取得します。
+         *
+         * @return エントリ数の上限
+         */
+        public int getMaxEntries() {
+            return maxEntries;
+        }
+
+        /**
+         * 有効期限を取得します。
+         *
+         * @return 有効期限、期限なしの場合はnull
+         */
+        public Duration getTtl() {
+            return ttl;
+        }
+    }
+}
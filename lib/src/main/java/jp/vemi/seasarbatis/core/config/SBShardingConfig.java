@@ -0,0 +1,120 @@
+/*
+ * Copyright (C) 2025 VEMI, All Rights Reserved.
+ */
+package jp.vemi.seasarbatis.core.config;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+import jp.vemi.seasarbatis.core.meta.SBTableMeta;
+
+/**
+ * シャーディングの設定を管理するクラスです。
+ * <p>
+ * エンティティクラスごとのシャードキーカラムと、シャードキーの値からシャードを決定する
+ * {@link ShardResolver} を管理します。シャードキーは本設定、{@link SBTableMeta#shardKey()} の順に
+ * 解決されます。
+ * </p>
+ *
+ * @author H.Kurosawa
+ * @version 1.0.0
+ * @since 2025/01/01
+ */
+public class SBShardingConfig {
+
+    /**
+     * シャードキーの値からシャードの位置を決定するインターフェースです。
+     */
+    @FunctionalInterface
+    public interface ShardResolver {
+        /**
+         * シャードの位置を決定します。
+         *
+         * @param shardKeyValue シャードキーの値
+         * @param shardCount シャード数
+         * @return シャードの位置（0以上シャード数未満）
+         */
+        int resolve(Object shardKeyValue, int shardCount);
+    }
+
+    /**
+     * エンティティクラスごとのシャードキーカラムを保持するマップです。
+     */
+    private final Map<Class<?>, String> shardKeys = new HashMap<>();
+
+    /**
+     * シャードを決定するリゾルバです。
+     */
+    private ShardResolver resolver = SBShardingConfig::hash;
+
+    /**
+     * 指定されたエンティティクラスのシャードキーカラムを取得します。
+     *
+     * @param entityClass エンティティクラス
+     * @return シャードキーカラム、設定がない場合はEmpty
+     */
+    public Optional<String> getShardKey(Class<?> entityClass) {
+        String columnName = shardKeys.get(entityClass);
+        if (columnName != null) {
+            return Optional.of(columnName);
+        }
+        SBTableMeta tableMeta = entityClass.getAnnotation(SBTableMeta.class);
+        if (tableMeta != null && !tableMeta.shardKey().isEmpty()) {
+            return Optional.of(tableMeta.shardKey());
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * エンティティクラスのシャードキーカラムを追加します。
+     *
+     * @param entityClass エンティティクラス
+     * @param columnName シャードキーカラム
+     * @return このインスタンス（メソッドチェーン用）
+     */
+    public SBShardingConfig addShardKey(Class<?> entityClass, String columnName) {
+        shardKeys.put(entityClass, columnName);
+        return this;
+    }
+
+    /**
+     * シャードを決定するリゾルバを取得します。
+     *
+     * @return リゾルバ
+     */
+    public ShardResolver getResolver() {
+        return resolver;
+    }
+
+    /**
+     * シャードを決定するリゾルバを設定します。
+     *
+     * @param resolver リゾルバ
+     * @return このインスタンス（メソッドチェーン用）
+     */
+    public SBShardingConfig setResolver(ShardResolver resolver) {
+        this.resolver = Objects.requireNonNull(resolver);
+        return this;
+    }
+
+    /**
+     * 既定のリゾルバです。
+     * <p>
+     * 整数はその値、それ以外は文字列表現のハッシュ値をシャード数で割った余りを使用します。
+     * JVMやプロセスをまたいでも同じ値は同じシャードへ振り分けられます。
+     * </p>
+     *
+     * @param shardKeyValue シャードキーの値
+     * @param shardCount シャード数
+     * @return シャードの位置
+     */
+    public static int hash(Object shardKeyValue, int shardCount) {
+        if (shardKeyValue instanceof Long || shardKeyValue instanceof Integer
+                || shardKeyValue instanceof Short || shardKeyValue instanceof Byte) {
+            return (int) Math.floorMod(((Number) shardKeyValue).longValue(), (long) shardCount);
+        }
+        return Math.floorMod(String.valueOf(shardKeyValue).hashCode(), shardCount);
+    }
+}
@@ -0,0 +1,192 @@
+/*
+ * Copyright (C) 2025 VEMI, All Rights Reserved.
+ */
+package jp.vemi.seasarbatis.core.entity;
+
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import jp.vemi.seasarbatis.core.transaction.SBTransactionOperation;
+import jp.vemi.seasarbatis.core.transaction.SBTransactionSynchronization;
+
+/**
+ * 検索したエンティティの読み込み時点の値（スナップショット）を保持し、変更されたカラムを判定するクラスです。
+ * <p>
+ * スナップショットはエンティティのインスタンスの同一性で管理し、エンティティへの弱参照で保持するため、
+ * エンティティが不要になればスナップショットも破棄されます。スナップショットを持たないエンティティは
+ * すべてのカラムが変更されたものとして扱います。
+ * </p>
+ * <p>
+ * 更新後のスナップショットは {@link #trackOnCommit(SBTransactionOperation, Object)} により
+ * コミット後に記録するため、ロールバックされた更新が反映済みとして扱われることはありません。
+ * </p>
+ *
+ * @author H.Kurosawa
+ * @version 1.0.0
+ * @since 2025/01/01
+ */
+public class SBDirtyTracker {
+
+    /** 弱参照キー（同一性で比較）のスナップショット */
+    private final Cache<Object, Object[]> snapshots = CacheBuilder.newBuilder().weakKeys().build();
+
+    /**
+     * エンティティの現在の値をスナップショットとして記録します。
+     *
+     * @param entity エンティティ
+     */
+    public void track(Object entity) {
+        Object[] values = snapshot(entity);
+        if (values != null) {
+            snapshots.put(entity, values);
+        }
+    }
+
+    /**
+     * 更新したエンティティの現在の値を、トランザクションがコミットされた時点でスナップショットとして記録します。
+     * <p>
+     * ロールバックされた場合は更新前のスナップショットを維持します。トランザクション内でセーブポイントまで
+     * ロールバックされた場合は、更新が取り消された可能性があるため、記録せずにスナップショットを破棄します。
+     * 同じトランザクションで同じエンティティを複数回更新した場合は、最後の値を記録します。
+     * </p>
+     *
+     * @param operation 更新を実行したトランザクション
+     * @param entity エンティティ
+     */
+    public void trackOnCommit(SBTransactionOperation operation, Object entity) {
+        Object[] values = snapshot(entity);
+        if (values == null) {
+            return;
+        }
+        PendingSnapshots pending = (PendingSnapshots) operation.getResource(this);
+        if (pending == null) {
+            pending = new PendingSnapshots();
+            operation.bindResource(this, pending);
+            operation.registerSynchronization(pending);
+        }
+        pending.put(entity, values);
+    }
+
+    /**
+     * 複数のエンティティのスナップショットを記録します。
+     *
+     * @param entities エンティティのリスト
+     */
+    public void trackAll(List<?> entities) {
+        for (Object entity : entities) {
+            track(entity);
+        }
+    }
+
+    /**
+     * エンティティのスナップショットを破棄します。
+     *
+     * @param entity エンティティ
+     */
+    public void forget(Object entity) {
+        snapshots.invalidate(entity);
+    }
+
+    /**
+     * スナップショットが記録されているかどうかを返します。
+     *
+     * @param entity エンティティ
+     * @return 記録されている場合true
+     */
+    public boolean isTracked(Object entity) {
+        return snapshots.getIfPresent(entity) != null;
+    }
+
+    /**
+     * スナップショットから変更されたカラムを取得します。
+     *
+     * @param entity エンティティ
+     * @return 変更されたカラム名（宣言順）、スナップショットがない場合はnull
+     */
+    public Set<String> getChangedColumns(Object entity) {
+        Object[] snapshot = snapshots.getIfPresent(entity);
+        if (snapshot == null) {
+            return null;
+        }
+        List<SBEntityMeta.Column> columns = SBEntityMeta.of(entity.getClass()).getColumns();
+        Set<String> changed = new LinkedHashSet<>();
+        for (int i = 0; i < snapshot.length; i++) {
+            SBEntityMeta.Column column = columns.get(i);
+            if (!Objects.deepEquals(snapshot[i], column.get(entity))) {
+                changed.add(column.getName());
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * エンティティの現在の値を取得します。
+     *
+     * @return カラムの値、追跡しない型の場合はnull
+     */
+    private static Object[] snapshot(Object entity) {
+        if (entity == null) {
+            return null;
+        }
+        SBEntityMeta meta = SBEntityMeta.of(entity.getClass());
+        List<SBEntityMeta.Column> columns = meta.getColumns();
+        if (columns.isEmpty() || entity.getClass().isRecord()) {
+            // カラムを持たない型や、変更できないレコードは追跡しない
+            return null;
+        }
+        Object[] values = new Object[columns.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = copyValue(columns.get(i).get(entity));
+        }
+        return values;
+    }
+
+    private static Object copyValue(Object value) {
+        // 配列（byte[]など）は内容が書き換えられても検出できるよう複製する
+        if (value instanceof byte[]) {
+            return ((byte[]) value).clone();
+        }
+        if (value instanceof char[]) {
+            return ((char[]) value).clone();
+        }
+        if (value instanceof java.util.Date) {
+            return ((java.util.Date) value).clone();
+        }
+        return value;
+    }
+
+    /**
+     * トランザクション内で更新したエンティティの、コミット時に記録するスナップショットです。
+     */
+    private final class PendingSnapshots implements SBTransactionSynchronization {
+        private final Map<Object, Object[]> pending = new IdentityHashMap<>();
+
+        synchronized void put(Object entity, Object[] values) {
+            pending.put(entity, values);
+        }
+
+        @Override
+        public synchronized void afterSavepointRollback() {
+            // どの更新が取り消されたかは判別できないため、保留中のエンティティはすべて未追跡とする
+            for (Object entity : pending.keySet()) {
+                forget(entity);
+            }
+            pending.clear();
+        }
+
+        @Override
+        public synchronized void afterCompletion(boolean committed) {
+            if (committed) {
+                pending.forEach(snapshots::put);
+            }
+            pending.clear();
+        }
+    }
+}
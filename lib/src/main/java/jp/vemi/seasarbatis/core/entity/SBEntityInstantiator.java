@@ -0,0 +1,210 @@
+/*
+ * Copyright (C) 2025 VEMI, All Rights Reserved.
+ */
+package jp.vemi.seasarbatis.core.entity;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Parameter;
+import java.lang.reflect.RecordComponent;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import jp.vemi.seasarbatis.core.meta.SBColumnMeta;
+import jp.vemi.seasarbatis.core.util.SBTypeConverterUtils;
+import jp.vemi.seasarbatis.exception.SBEntityException;
+
+/**
+ * コンストラクタ経由でエンティティを生成するクラスです。
+ * <p>
+ * レコードの場合は標準コンストラクタを、それ以外のクラスの場合はすべての引数に
+ * {@link SBColumnMeta} を付与したコンストラクタを使用します。コンストラクタの {@link MethodHandle} は
+ * クラスごとに、列と引数の対応は行の形（列名の並び）ごとに一度だけ解決され、
+ * 各行はsetterを経由せず1回のコンストラクタ呼び出しで生成されます。
+ * </p>
+ * <p>
+ * 引数と列の対応は、{@link SBColumnMeta#name()}（付与されていない場合はレコードのコンポーネント名）と
+ * 列名を、大文字小文字およびアンダースコアの有無を区別せずに比較して決定します。
+ * 対応する列がない引数には {@code null}（プリミティブ型の場合は初期値）を渡します。
+ * </p>
+ *
+ * @author H.Kurosawa
+ * @version 1.0.0
+ * @since 2025/01/01
+ */
+public final class SBEntityInstantiator {
+
+    private static final ClassValue<Optional<SBEntityInstantiator>> CACHE = new ClassValue<>() {
+        @Override
+        protected Optional<SBEntityInstantiator> computeValue(Class<?> type) {
+            return Optional.ofNullable(resolve(type));
+        }
+    };
+
+    private final Class<?> entityClass;
+    private final MethodHandle constructor;
+    private final List<String> parameterNames;
+    private final Class<?>[] parameterTypes;
+    private final Object[] defaults;
+    private final Map<List<String>, int[]> shapes = new ConcurrentHashMap<>();
+
+    /**
+     * コンストラクタ経由で生成するエンティティクラスの生成器を取得します。
+     *
+     * @param entityClass エンティティクラス
+     * @return 生成器、レコードでも注釈付きコンストラクタを持つクラスでもない場合はEmpty
+     */
+    public static Optional<SBEntityInstantiator> of(Class<?> entityClass) {
+        return CACHE.get(entityClass);
+    }
+
+    private SBEntityInstantiator(Class<?> entityClass, Constructor<?> constructor, List<String> parameterNames) {
+        this.entityClass = entityClass;
+        this.parameterNames = List.copyOf(parameterNames);
+        this.parameterTypes = constructor.getParameterTypes();
+        this.defaults = new Object[parameterTypes.length];
+        for (int i = 0; i < parameterTypes.length; i++) {
+            if (parameterTypes[i].isPrimitive()) {
+                // プリミティブ型の初期値（0やfalse）
+                defaults[i] = Array.get(Array.newInstance(parameterTypes[i], 1), 0);
+            }
+        }
+        try {
+            MethodHandles.Lookup lookup;
+            try {
+                lookup = MethodHandles.privateLookupIn(entityClass, MethodHandles.lookup());
+            } catch (IllegalAccessException e) {
+                constructor.setAccessible(true);
+                lookup = MethodHandles.lookup();
+            }
+            this.constructor = lookup.unreflectConstructor(constructor)
+                    .asSpreader(Object[].class, parameterTypes.length)
+                    .asType(MethodType.methodType(Object.class, Object[].class));
+        } catch (IllegalAccessException | RuntimeException e) {
+            throw new SBEntityException("コンストラクタへのアクセスを準備できません: " + entityClass.getName(), e);
+        }
+    }
+
+    private static SBEntityInstantiator resolve(Class<?> type) {
+        if (type.isRecord()) {
+            RecordComponent[] components = type.getRecordComponents();
+            Class<?>[] types = new Class<?>[components.length];
+            for (int i = 0; i < components.length; i++) {
+                types[i] = components[i].getType();
+            }
+            Constructor<?> canonical;
+            try {
+                canonical = type.getDeclaredConstructor(types);
+            } catch (NoSuchMethodException e) {
+                throw new SBEntityException("レコードの標準コンストラクタが見つかりません: " + type.getName(), e);
+            }
+            List<String> names = new ArrayList<>(components.length);
+            for (int i = 0; i < components.length; i++) {
+                SBColumnMeta columnMeta = canonical.getParameters()[i].getAnnotation(SBColumnMeta.class);
+                names.add(columnMeta != null ? columnMeta.name() : components[i].getName());
+            }
+            return new SBEntityInstantiator(type, canonical, names);
+        }
+        Constructor<?> selected = null;
+        for (Constructor<?> constructor : type.getDeclaredConstructors()) {
+            Parameter[] parameters = constructor.getParameters();
+            boolean annotated = parameters.length > 0;
+            for (Parameter parameter : parameters) {
+                annotated &= parameter.isAnnotationPresent(SBColumnMeta.class);
+            }
+            if (annotated && (selected == null || parameters.length > selected.getParameterCount())) {
+                selected = constructor;
+            }
+        }
+        if (selected == null) {
+            return null;
+        }
+        List<String> names = new ArrayList<>(selected.getParameterCount());
+        for (Parameter parameter : selected.getParameters()) {
+            names.add(parameter.getAnnotation(SBColumnMeta.class).name());
+        }
+        return new SBEntityInstantiator(type, selected, names);
+    }
+
+    /**
+     * コンストラクタ引数に対応する名前を取得します。
+     *
+     * @return 引数名（カラム名）のリスト
+     */
+    public List<String> getParameterNames() {
+        return parameterNames;
+    }
+
+    /**
+     * 行データからエンティティを生成します。
+     *
+     * @param <T> エンティティの型
+     * @param row 行データ（列名と値のマップ）
+     * @param throwOnError 型変換に失敗した場合に例外を投げる場合はtrue
+     * @return エンティティ
+     * @throws SBEntityException 生成に失敗した場合
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T newInstance(Map<String, Object> row, boolean throwOnError) {
+        int[] argumentIndexes = shapes.computeIfAbsent(List.copyOf(row.keySet()), this::resolveShape);
+        Object[] args = defaults.clone();
+        int column = 0;
+        for (Object value : row.values()) {
+            int index = argumentIndexes[column++];
+            if (index < 0 || value == null) {
+                continue;
+            }
+            Class<?> type = parameterTypes[index];
+            args[index] = type.isInstance(value) ? value : SBTypeConverterUtils.convertValue(value, type, throwOnError);
+        }
+        return (T) newInstance(args);
+    }
+
+    /**
+     * 引数を指定してエンティティを生成します。
+     *
+     * @param args コンストラクタ引数
+     * @return エンティティ
+     * @throws SBEntityException 生成に失敗した場合
+     */
+    public Object newInstance(Object[] args) {
+        try {
+            return (Object) constructor.invokeExact(args);
+        } catch (Throwable e) {
+            throw new SBEntityException("エンティティの生成に失敗しました: " + entityClass.getName(), e);
+        }
+    }
+
+    /**
+     * 列名の並びから、各列に対応する引数位置を解決します。
+     *
+     * @return 列ごとの引数位置（対応する引数がない場合は-1）
+     */
+    private int[] resolveShape(List<String> labels) {
+        int[] indexes = new int[labels.size()];
+        boolean[] assigned = new boolean[parameterNames.size()];
+        for (int i = 0; i < labels.size(); i++) {
+            indexes[i] = -1;
+            String label = normalize(labels.get(i));
+            for (int j = 0; j < parameterNames.size(); j++) {
+                if (!assigned[j] && normalize(parameterNames.get(j)).equals(label)) {
+                    indexes[i] = j;
+                    assigned[j] = true;
+                    break;
+                }
+            }
+        }
+        return indexes;
+    }
+
+    private static String normalize(String name) {
+        return name.replace("_", "").toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,518 @@
+/*
+ * Copyright (C) 2025 VEMI, All Rights Reserved.
+ */
+package jp.vemi.seasarbatis.core.entity;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import jp.vemi.seasarbatis.core.meta.SBColumnMeta;
+import jp.vemi.seasarbatis.core.meta.SBTableMeta;
+import jp.vemi.seasarbatis.exception.SBEntityException;
+import jp.vemi.seasarbatis.exception.SBIllegalStateException;
+
+/**
+ * エンティティクラスのメタ情報を保持するクラスです。
+ * <p>
+ * テーブル名、宣言順のカラム、主キー・バージョン・最終更新日時カラムと、
+ * フィールドへアクセスする {@link MethodHandle} をクラスごとに一度だけ解決し、
+ * {@link ClassValue} にキャッシュします。インスタンスは不変で、スレッド間で共有できます。
+ * </p>
+ * <p>
+ * 対象はクラス自身に宣言されたインスタンスフィールドです（static・合成フィールドは除く）。
+ * </p>
+ *
+ * @author H.Kurosawa
+ * @version 1.0.0
+ * @since 2025/01/01
+ */
+public final class SBEntityMeta {
+    private static final Logger logger = LoggerFactory.getLogger(SBEntityMeta.class);
+
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+    private static final MethodType CONSTRUCTOR_TYPE = MethodType.methodType(Object.class);
+
+    private static final ClassValue<SBEntityMeta> CACHE = new ClassValue<>() {
+        @Override
+        protected SBEntityMeta computeValue(Class<?> type) {
+            return new SBEntityMeta(type);
+        }
+    };
+
+    private final Class<?> entityClass;
+    private final String tableName;
+    private final List<Column> columns;
+    private final List<Column> primaryKeyColumns;
+    private final SBPrimaryKeyInfo primaryKeyInfo;
+    private final Column versionColumn;
+    private final Column lastModifiedColumn;
+    private final List<String> unmappedFields;
+    private final List<Accessor> instanceFields;
+    private final Map<String, Column> columnsByName;
+    private final Map<String, Column> columnsByFieldName;
+    private final MethodHandle constructor;
+
+    /**
+     * エンティティクラスのメタ情報を取得します。
+     *
+     * @param entityClass エンティティクラス
+     * @return メタ情報
+     */
+    public static SBEntityMeta of(Class<?> entityClass) {
+        return CACHE.get(entityClass);
+    }
+
+    private SBEntityMeta(Class<?> entityClass) {
+        this.entityClass = entityClass;
+        this.tableName = resolveTableName(entityClass);
+
+        MethodHandles.Lookup lookup = privateLookup(entityClass);
+        List<Column> columnList = new ArrayList<>();
+        List<Column> pkList = new ArrayList<>();
+        List<String> unmapped = new ArrayList<>();
+        List<Accessor> fields = new ArrayList<>();
+        Column version = null;
+        Column lastModified = null;
+        for (Field field : entityClass.getDeclaredFields()) {
+            if (Modifier.isStatic(field.getModifiers()) || field.isSynthetic()) {
+                continue;
+            }
+            Accessor accessor = new Accessor(field, lookup);
+            fields.add(accessor);
+            SBColumnMeta columnMeta = field.getAnnotation(SBColumnMeta.class);
+            if (columnMeta == null) {
+                unmapped.add(field.getName());
+                continue;
+            }
+            Column column = new Column(columnMeta, accessor);
+            columnList.add(column);
+            if (columnMeta.primaryKey()) {
+                pkList.add(column);
+            }
+            if (columnMeta.versionColumn() && version == null) {
+                version = column;
+            }
+            if (columnMeta.lastModifiedColumn() && lastModified == null) {
+                lastModified = column;
+            }
+        }
+        this.columns = Collections.unmodifiableList(columnList);
+        this.primaryKeyColumns = Collections.unmodifiableList(pkList);
+        this.versionColumn = version;
+        this.lastModifiedColumn = lastModified;
+        this.unmappedFields = Collections.unmodifiableList(unmapped);
+        this.instanceFields = Collections.unmodifiableList(fields);
+
+        Map<String, Column> byName = new HashMap<>();
+        Map<String, Column> byFieldName = new HashMap<>();
+        for (Column column : columnList) {
+            byName.putIfAbsent(column.getName().toLowerCase(Locale.ROOT), column);
+            byFieldName.put(column.getFieldName(), column);
+        }
+        this.columnsByName = Collections.unmodifiableMap(byName);
+        this.columnsByFieldName = Collections.unmodifiableMap(byFieldName);
+
+        if (pkList.isEmpty()) {
+            this.primaryKeyInfo = null;
+        } else {
+            List<Field> pkFields = new ArrayList<>(pkList.size());
+            List<String> pkNames = new ArrayList<>(pkList.size());
+            for (Column column : pkList) {
+                pkFields.add(column.getField());
+                pkNames.add(column.getName());
+            }
+            this.primaryKeyInfo = new SBPrimaryKeyInfo(pkFields, pkNames, this.primaryKeyColumns);
+        }
+        this.constructor = resolveConstructor(entityClass, lookup);
+    }
+
+    private static String resolveTableName(Class<?> entityClass) {
+        SBTableMeta tableMeta = entityClass.getAnnotation(SBTableMeta.class);
+        if (tableMeta != null) {
+            String schema = tableMeta.schema();
+            String tableName = tableMeta.name();
+            return schema.isEmpty() ? tableName : schema + "." + tableName;
+        }
+        return null;
+    }
+
+    private static MethodHandles.Lookup privateLookup(Class<?> entityClass) {
+        try {
+            return MethodHandles.privateLookupIn(entityClass, MethodHandles.lookup());
+        } catch (IllegalAccessException | RuntimeException e) {
+            // モジュールが開かれていない場合は、setAccessibleによるアクセスに切り替える
+            return null;
+        }
+    }
+
+    private static MethodHandle resolveConstructor(Class<?> entityClass, MethodHandles.Lookup lookup) {
+        try {
+            MethodHandle handle = lookup != null
+                    ? lookup.findConstructor(entityClass, MethodType.methodType(void.class))
+                    : MethodHandles.lookup().unreflectConstructor(accessible(entityClass.getDeclaredConstructor()));
+            return handle.asType(CONSTRUCTOR_TYPE);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            // 引数なしコンストラクタを持たないクラス（レコードなど）
+            return null;
+        }
+    }
+
+    private static <A extends java.lang.reflect.AccessibleObject> A accessible(A object) {
+        object.setAccessible(true);
+        return object;
+    }
+
+    /**
+     * エンティティクラスを取得します。
+     *
+     * @return エンティティクラス
+     */
+    public Class<?> getEntityClass() {
+        return entityClass;
+    }
+
+    /**
+     * テーブル名（スキーマ修飾を含む）を取得します。
+     * <p>
+     * {@link SBTableMeta} がない場合はクラスの単純名を小文字にした名前を返します。
+     * </p>
+     *
+     * @return テーブル名
+     */
+    public String getTableName() {
+        if (tableName == null) {
+            logger.warn("@SBTableMetaが見つかりません: {}", entityClass.getName());
+            return entityClass.getSimpleName().toLowerCase();
+        }
+        return tableName;
+    }
+
+    /**
+     * 宣言順のカラムを取得します。
+     *
+     * @return カラムのリスト
+     */
+    public List<Column> getColumns() {
+        return columns;
+    }
+
+    /**
+     * 主キーカラムを取得します。
+     *
+     * @return 主キーカラムのリスト（主キーがない場合は空）
+     */
+    public List<Column> getPrimaryKeyColumns() {
+        return primaryKeyColumns;
+    }
+
+    /**
+     * 主キー情報を取得します。
+     *
+     * @return 主キー情報
+     * @throws SBIllegalStateException 主キーがない場合
+     */
+    public SBPrimaryKeyInfo getPrimaryKeyInfo() {
+        if (primaryKeyInfo == null) {
+            throw new SBIllegalStateException("主キーが見つかりません: " + entityClass.getName());
+        }
+        return primaryKeyInfo;
+    }
+
+    /**
+     * バージョンカラムを取得します。
+     *
+     * @return バージョンカラム、存在しない場合はEmpty
+     */
+    public Optional<Column> getVersionColumn() {
+        return Optional.ofNullable(versionColumn);
+    }
+
+    /**
+     * 最終更新日時カラムを取得します。
+     *
+     * @return 最終更新日時カラム、存在しない場合はEmpty
+     */
+    public Optional<Column> getLastModifiedColumn() {
+        return Optional.ofNullable(lastModifiedColumn);
+    }
+
+    /**
+     * {@link SBColumnMeta} のないフィールド名を取得します。
+     *
+     * @return フィールド名のリスト
+     */
+    public List<String> getUnmappedFields() {
+        return unmappedFields;
+    }
+
+    /**
+     * カラム名（大文字小文字を区別しない）またはフィールド名からカラムを検索します。
+     *
+     * @param name カラム名またはフィールド名
+     * @return カラム、存在しない場合はEmpty
+     */
+    public Optional<Column> findColumn(String name) {
+        Column column = columnsByName.get(name.toLowerCase(Locale.ROOT));
+        return Optional.ofNullable(column != null ? column : columnsByFieldName.get(name));
+    }
+
+    /**
+     * エンティティからカラム名と値のマップを取得します。
+     *
+     * @param entity エンティティ
+     * @return カラム名と値のマップ（宣言順）
+     */
+    public Map<String, Object> getValues(Object entity) {
+        Map<String, Object> values = new java.util.LinkedHashMap<>();
+        for (Column column : columns) {
+            values.put(column.getName(), column.get(entity));
+        }
+        return values;
+    }
+
+    /**
+     * 引数なしコンストラクタで新しいインスタンスを生成します。
+     *
+     * @param <T> エンティティの型
+     * @return 新しいインスタンス
+     * @throws SBEntityException インスタンスを生成できない場合
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T newInstance() {
+        if (constructor == null) {
+            throw new SBEntityException("引数なしコンストラクタがありません: " + entityClass.getName());
+        }
+        try {
+            return (T) (Object) constructor.invokeExact();
+        } catch (Throwable e) {
+            throw new SBEntityException("エンティティの生成に失敗しました: " + entityClass.getName(), e);
+        }
+    }
+
+    /**
+     * 引数なしコンストラクタで生成できるかどうかを返します。
+     *
+     * @return 生成できる場合true
+     */
+    boolean isInstantiable() {
+        return constructor != null;
+    }
+
+    /**
+     * エンティティのすべてのインスタンスフィールドを新しいインスタンスへコピーします。
+     * <p>
+     * レコードの場合はコピーせずに同じインスタンスを返します。
+     * </p>
+     *
+     * @param <T> エンティティの型
+     * @param entity エンティティ
+     * @return コピー
+     */
+    public <T> T copy(T entity) {
+        if (entityClass.isRecord()) {
+            // レコードは不変のため、同じインスタンスを共有する
+            return entity;
+        }
+        T copy = newInstance();
+        for (Accessor field : instanceFields) {
+            field.set(copy, field.get(entity));
+        }
+        return copy;
+    }
+
+    /**
+     * フィールドへのアクセサです。
+     */
+    private static class Accessor {
+        private final Field field;
+        private final MethodHandle getter;
+        private final MethodHandle setter;
+        private final MethodHandle typedSetter;
+
+        Accessor(Field field, MethodHandles.Lookup lookup) {
+            this.field = field;
+            try {
+                MethodHandles.Lookup fieldLookup = lookup;
+                if (fieldLookup == null) {
+                    field.setAccessible(true);
+                    fieldLookup = MethodHandles.lookup();
+                }
+                this.getter = resolveGetter(field, fieldLookup);
+                this.typedSetter = Modifier.isFinal(field.getModifiers()) ? null
+                        : fieldLookup.unreflectSetter(field)
+                                .asType(MethodType.methodType(void.class, Object.class, field.getType()));
+                this.setter = typedSetter == null ? null : typedSetter.asType(SETTER_TYPE);
+            } catch (IllegalAccessException e) {
+                throw new SBEntityException("フィールドへのアクセスを準備できません: " + field.getName(), e);
+            }
+        }
+
+        private static MethodHandle resolveGetter(Field field, MethodHandles.Lookup lookup)
+                throws IllegalAccessException {
+            // boolean型のフィールドは、isXxx形式のgetterメソッドがあればそれを使用する
+            if (field.getType() == boolean.class || field.getType() == Boolean.class) {
+                String getterName = "is" + Character.toUpperCase(field.getName().charAt(0))
+                        + field.getName().substring(1);
+                try {
+                    Method method = field.getDeclaringClass().getMethod(getterName);
+                    if (method.getParameterCount() == 0 && method.getReturnType() != void.class) {
+                        return lookup.unreflect(method).asType(GETTER_TYPE);
+                    }
+                } catch (NoSuchMethodException e) {
+                    // フィールドから直接取得する
+                }
+            }
+            return lookup.unreflectGetter(field).asType(GETTER_TYPE);
+        }
+
+        Object get(Object entity) {
+            try {
+                return (Object) getter.invokeExact(entity);
+            } catch (Throwable e) {
+                throw new SBEntityException("フィールドの値の取得に失敗しました: " + field.getName(), e);
+            }
+        }
+
+        void set(Object entity, Object value) {
+            if (setter == null) {
+                throw new SBEntityException("finalフィールドには値を設定できません: " + field.getName());
+            }
+            try {
+                setter.invokeExact(entity, value);
+            } catch (Throwable e) {
+                throw new SBEntityException("フィールドへの値の設定に失敗しました: " + field.getName(), e);
+            }
+        }
+    }
+
+    /**
+     * エンティティのカラムを表すクラスです。
+     */
+    public static final class Column {
+        private final String name;
+        private final boolean primaryKey;
+        private final boolean version;
+        private final boolean lastModified;
+        private final Accessor accessor;
+
+        Column(SBColumnMeta columnMeta, Accessor accessor) {
+            this.name = columnMeta.name();
+            this.primaryKey = columnMeta.primaryKey();
+            this.version = columnMeta.versionColumn();
+            this.lastModified = columnMeta.lastModifiedColumn();
+            this.accessor = accessor;
+        }
+
+        /**
+         * カラム名を取得します。
+         *
+         * @return カラム名
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * フィールドを取得します。
+         *
+         * @return フィールド
+         */
+        public Field getField() {
+            return accessor.field;
+        }
+
+        /**
+         * フィールド名を取得します。
+         *
+         * @return フィールド名
+         */
+        public String getFieldName() {
+            return accessor.field.getName();
+        }
+
+        /**
+         * フィールドの型を取得します。
+         *
+         * @return フィールドの型
+         */
+        public Class<?> getType() {
+            return accessor.field.getType();
+        }
+
+        /**
+         * 主キーカラムかどうかを返します。
+         *
+         * @return 主キーの場合true
+         */
+        public boolean isPrimaryKey() {
+            return primaryKey;
+        }
+
+        /**
+         * バージョンカラムかどうかを返します。
+         *
+         * @return バージョンカラムの場合true
+         */
+        public boolean isVersion() {
+            return version;
+        }
+
+        /**
+         * 最終更新日時カラムかどうかを返します。
+         *
+         * @return 最終更新日時カラムの場合true
+         */
+        public boolean isLastModified() {
+            return lastModified;
+        }
+
+        /**
+         * エンティティからカラムの値を取得します。
+         *
+         * @param entity エンティティ
+         * @return 値
+         * @throws SBEntityException 取得に失敗した場合
+         */
+        public Object get(Object entity) {
+            return accessor.get(entity);
+        }
+
+        /**
+         * エンティティへカラムの値を設定します。
+         *
+         * @param entity エンティティ
+         * @param value 値
+         * @throws SBEntityException 設定に失敗した場合
+         */
+        public void set(Object entity, Object value) {
+            accessor.set(entity, value);
+        }
+
+        /**
+         * フィールドの型のまま値を設定する {@link MethodHandle} を取得します。
+         * <p>
+         * 型は {@code (Object, フィールドの型)void} で、プリミティブ型の値をボクシングせずに設定できます。
+         * </p>
+         *
+         * @return setterのハンドル、finalフィールドの場合はnull
+         */
+        MethodHandle getTypedSetter() {
+            return accessor.typedSetter;
+        }
+    }
+}
@@ -0,0 +1,225 @@
+/*
+ * Copyright (C) 2025 VEMI, All Rights Reserved.
+ */
+package jp.vemi.seasarbatis.core.entity;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * エンティティクラスごとのDML文のテンプレートを保持するクラスです。
+ * <p>
+ * 登録・主キーによる更新（楽観的排他制御の条件あり／なし）・削除・検索・存在確認のSQLを、
+ * 値を {@code ?} でバインドする形でクラスごとに一度だけ組み立てて {@link ClassValue} にキャッシュします。
+ * 呼び出しごとにSQL文字列の組み立てや解析を行いません。
+ * 変更されたカラムのみを更新するUPDATE文や、生成キーを除いたINSERT文は、カラムの組み合わせごとにキャッシュします。
+ * </p>
+ * <p>
+ * 主キーの条件は {@link #getPrimaryKeyColumns()} の順にバインドします。
+ * </p>
+ *
+ * @author H.Kurosawa
+ * @version 1.0.0
+ * @since 2025/01/01
+ */
+public final class SBEntityStatements {
+
+    private static final ClassValue<SBEntityStatements> CACHE = new ClassValue<>() {
+        @Override
+        protected SBEntityStatements computeValue(Class<?> type) {
+            return new SBEntityStatements(SBEntityMeta.of(type));
+        }
+    };
+
+    private final String tableName;
+    private final List<String> columns;
+    private final List<String> primaryKeyColumns;
+    private final List<String> updateColumns;
+    private final String primaryKeyCondition;
+    private final String insertSql;
+    private final String deleteSql;
+    private final String selectSql;
+    private final String existsSql;
+    private final Map<List<String>, String> insertStatements = new ConcurrentHashMap<>();
+    private final Map<List<Object>, String> updateStatements = new ConcurrentHashMap<>();
+
+    /**
+     * エンティティクラスのDML文を取得します。
+     *
+     * @param entityClass エンティティクラス
+     * @return DML文
+     */
+    public static SBEntityStatements of(Class<?> entityClass) {
+        return CACHE.get(entityClass);
+    }
+
+    private SBEntityStatements(SBEntityMeta meta) {
+        this.tableName = meta.getTableName();
+        List<String> names = new ArrayList<>();
+        List<String> pkNames = new ArrayList<>();
+        for (SBEntityMeta.Column column : meta.getColumns()) {
+            names.add(column.getName());
+            if (column.isPrimaryKey()) {
+                pkNames.add(column.getName());
+            }
+        }
+        this.columns = Collections.unmodifiableList(names);
+        this.primaryKeyColumns = Collections.unmodifiableList(pkNames);
+        List<String> nonKeys = new ArrayList<>(names);
+        nonKeys.removeAll(pkNames);
+        this.updateColumns = Collections.unmodifiableList(nonKeys);
+
+        StringBuilder condition = new StringBuilder();
+        for (String pk : pkNames) {
+            condition.append(condition.length() == 0 ? "" : " AND ").append(pk).append(" = ?");
+        }
+        this.primaryKeyCondition = condition.toString();
+
+        this.insertSql = buildInsertSql(names);
+        this.deleteSql = pkNames.isEmpty() ? null : "DELETE FROM " + tableName + " WHERE " + primaryKeyCondition;
+        this.selectSql = pkNames.isEmpty() ? null : "SELECT * FROM " + tableName + " WHERE " + primaryKeyCondition;
+        this.existsSql = pkNames.isEmpty() ? null
+                : "SELECT COUNT(*) FROM " + tableName + " WHERE " + primaryKeyCondition;
+        if (!pkNames.isEmpty() && !nonKeys.isEmpty()) {
+            // 全カラムの更新は事前に組み立てておく
+            getUpdateSql(updateColumns, null);
+        }
+    }
+
+    /**
+     * 宣言順のカラム名を取得します。
+     *
+     * @return カラム名のリスト
+     */
+    public List<String> getColumns() {
+        return columns;
+    }
+
+    /**
+     * 主キーのカラム名を取得します。
+     *
+     * @return 主キーのカラム名のリスト
+     */
+    public List<String> getPrimaryKeyColumns() {
+        return primaryKeyColumns;
+    }
+
+    /**
+     * 主キー以外のカラム名（全カラムを更新する場合のSET句の順）を取得します。
+     *
+     * @return カラム名のリスト
+     */
+    public List<String> getUpdateColumns() {
+        return updateColumns;
+    }
+
+    /**
+     * 全カラムを登録するINSERT文を取得します。値は {@link #getColumns()} の順にバインドします。
+     *
+     * @return INSERT文
+     */
+    public String getInsertSql() {
+        return insertSql;
+    }
+
+    /**
+     * 指定したカラムのみを登録するINSERT文を取得します。
+     * <p>
+     * 生成キーのカラムを除いて登録する場合に使用します。カラムがない場合は {@code DEFAULT VALUES} で登録します。
+     * </p>
+     *
+     * @param insertColumns 登録するカラム名
+     * @return INSERT文
+     */
+    public String getInsertSql(List<String> insertColumns) {
+        if (insertColumns.equals(columns)) {
+            return insertSql;
+        }
+        return insertStatements.computeIfAbsent(List.copyOf(insertColumns), this::buildInsertSql);
+    }
+
+    /**
+     * 主キーで更新するUPDATE文を取得します。
+     * <p>
+     * 値はSET句のカラム、主キー（{@link #getPrimaryKeyColumns()} の順）、楽観的排他制御用カラムの
+     * 現在値の順にバインドします。
+     * </p>
+     *
+     * @param setColumns SET句に含めるカラム名
+     * @param lockColumn 楽観的排他制御用カラム名（条件に含めない場合はnull）
+     * @return UPDATE文
+     */
+    public String getUpdateSql(List<String> setColumns, String lockColumn) {
+        return updateStatements.computeIfAbsent(
+                lockColumn == null ? List.of(setColumns) : List.of(setColumns, lockColumn),
+                key -> buildUpdateSql(setColumns, lockColumn));
+    }
+
+    /**
+     * 主キーで削除するDELETE文を取得します。
+     *
+     * @return DELETE文（主キーがない場合はnull）
+     */
+    public String getDeleteSql() {
+        return deleteSql;
+    }
+
+    /**
+     * 主キーで検索するSELECT文を取得します。
+     *
+     * @return SELECT文（主キーがない場合はnull）
+     */
+    public String getSelectByPrimaryKeySql() {
+        return selectSql;
+    }
+
+    /**
+     * 主キーに一致する件数を取得するSELECT文を取得します。
+     *
+     * @return SELECT文（主キーがない場合はnull）
+     */
+    public String getExistsSql() {
+        return existsSql;
+    }
+
+    /**
+     * 主キーの値を {@link #getPrimaryKeyColumns()} の順に並べます。
+     *
+     * @param pkValues 主キーのカラム名と値のマップ
+     * @return 主キーの値のリスト
+     */
+    public List<Object> getPrimaryKeyValues(Map<String, Object> pkValues) {
+        List<Object> values = new ArrayList<>(primaryKeyColumns.size());
+        for (String pk : primaryKeyColumns) {
+            values.add(pkValues.get(pk));
+        }
+        return values;
+    }
+
+    private String buildInsertSql(List<String> insertColumns) {
+        if (insertColumns.isEmpty()) {
+            return "INSERT INTO " + tableName + " DEFAULT VALUES";
+        }
+        StringBuilder sql = new StringBuilder("INSERT INTO ").append(tableName).append(" (")
+                .append(String.join(", ", insertColumns)).append(") VALUES (");
+        for (int i = 0; i < insertColumns.size(); i++) {
+            sql.append(i == 0 ? "?" : ", ?");
+        }
+        return sql.append(")").toString();
+    }
+
+    private String buildUpdateSql(List<String> setColumns, String lockColumn) {
+        StringBuilder sql = new StringBuilder("UPDATE ").append(tableName).append(" SET ");
+        for (int i = 0; i < setColumns.size(); i++) {
+            sql.append(i == 0 ? "" : ", ").append(setColumns.get(i)).append(" = ?");
+        }
+        sql.append(" WHERE ").append(primaryKeyCondition);
+        if (lockColumn != null) {
+            sql.append(" AND ").append(lockColumn).append(" = ?");
+        }
+        return sql.toString();
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright (C) 2025 VEMI, All Rights Reserved.
+ */
+package jp.vemi.seasarbatis.core.entity;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * エンティティとパラメータ・結果セットの相互変換を行うマッパーです。
+ * <p>
+ * 通常は注釈プロセッサ（seasar-batis-processor）が {@code @SBTableMeta} を付与したエンティティごとに
+ * 生成し、{@link SBGeneratedMappers} が実行時に検出します。生成されたマッパーは
+ * フィールドへ直接（またはアクセサ経由で）アクセスするため、リフレクションを使用しません。
+ * </p>
+ *
+ * @param <T> エンティティの型
+ * @author H.Kurosawa
+ * @version 1.0.0
+ * @since 2025/01/01
+ */
+public interface SBGeneratedMapper<T> {
+
+    /**
+     * 対象のエンティティクラスを取得します。
+     *
+     * @return エンティティクラス
+     */
+    Class<T> getEntityClass();
+
+    /**
+     * カラム名を宣言順に取得します。
+     *
+     * @return カラム名のリスト
+     */
+    List<String> getColumnNames();
+
+    /**
+     * エンティティの値をカラム名をキーとしてマップへ書き込みます。
+     *
+     * @param entity エンティティ
+     * @param params 書き込み先のマップ
+     */
+    void writeParams(T entity, Map<String, Object> params);
+
+    /**
+     * エンティティの値を宣言順にステートメントへバインドします。
+     *
+     * @param entity エンティティ
+     * @param statement ステートメント
+     * @param startIndex 最初のパラメータ位置（1始まり）
+     * @return 次のパラメータ位置
+     * @throws SQLException バインドに失敗した場合
+     */
+    int bindParams(T entity, PreparedStatement statement, int startIndex) throws SQLException;
+
+    /**
+     * エンティティから主キーの値を取得します。
+     *
+     * @param entity エンティティ
+     * @return 主キーの値のマップ（カラム名, 値）
+     */
+    Map<String, Object> getPrimaryKeyValues(T entity);
+
+    /**
+     * 結果セットの現在行をエンティティへ変換します。
+     *
+     * @param resultSet 結果セット
+     * @param columnIndexes {@link #getColumnNames()} の各カラムに対応する結果セットの列番号（1始まり、存在しない場合は0）
+     * @return エンティティ
+     * @throws SQLException 値の取得に失敗した場合
+     */
+    T readRow(ResultSet resultSet, int[] columnIndexes) throws SQLException;
+}
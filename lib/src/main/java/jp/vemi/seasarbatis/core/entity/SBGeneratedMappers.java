@@ -0,0 +1,168 @@
+/*
+ * Copyright (C) 2025 VEMI, All Rights Reserved.
+ */
+package jp.vemi.seasarbatis.core.entity;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * 注釈プロセッサが生成した {@link SBGeneratedMapper} を検出するユーティリティクラスです。
+ * <p>
+ * マッパーはエンティティと同じパッケージに、ネストしたクラス名を {@code _} で連結し
+ * {@value #MAPPER_SUFFIX} を付けた名前で生成されます（例: {@code Outer.Inner} の場合は
+ * {@code Outer_Inner_SBGeneratedMapper}）。検出結果はクラスごとにキャッシュされ、
+ * マッパーがない場合は {@link SBEntityMeta} によるリフレクションでの変換にフォールバックします。
+ * </p>
+ * <p>
+ * システムプロパティ {@code seasarbatis.mapper.generated=false} または {@link #setEnabled(boolean)}
+ * で生成されたマッパーの使用を無効化できます。
+ * </p>
+ *
+ * @author H.Kurosawa
+ * @version 1.0.0
+ * @since 2025/01/01
+ */
+public class SBGeneratedMappers {
+    private static final Logger logger = LoggerFactory.getLogger(SBGeneratedMappers.class);
+
+    /**
+     * 生成されるマッパークラス名の接尾辞です。
+     */
+    public static final String MAPPER_SUFFIX = "_SBGeneratedMapper";
+
+    private static volatile boolean enabled = Boolean
+            .parseBoolean(System.getProperty("seasarbatis.mapper.generated", "true"));
+
+    private static final ClassValue<Optional<SBGeneratedMapper<?>>> MAPPERS = new ClassValue<>() {
+        @Override
+        protected Optional<SBGeneratedMapper<?>> computeValue(Class<?> type) {
+            return load(type);
+        }
+    };
+
+    /**
+     * エンティティクラスに対応する生成されたマッパーを取得します。
+     *
+     * @param <T> エンティティの型
+     * @param entityClass エンティティクラス
+     * @return マッパー、存在しないか無効化されている場合はEmpty
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> Optional<SBGeneratedMapper<T>> find(Class<T> entityClass) {
+        if (!enabled || entityClass.isPrimitive() || entityClass.isArray() || entityClass.isInterface()) {
+            return Optional.empty();
+        }
+        return (Optional<SBGeneratedMapper<T>>) (Optional<?>) MAPPERS.get(entityClass);
+    }
+
+    /**
+     * 生成されたマッパーを使用するかどうかを設定します。
+     *
+     * @param enabled 使用する場合true
+     */
+    public static void setEnabled(boolean enabled) {
+        SBGeneratedMappers.enabled = enabled;
+    }
+
+    /**
+     * 生成されたマッパーを使用するかどうかを返します。
+     *
+     * @return 使用する場合true
+     */
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * エンティティクラスに対応するマッパークラスの完全修飾名を取得します。
+     *
+     * @param entityClass エンティティクラス
+     * @return マッパークラス名
+     */
+    public static String getMapperClassName(Class<?> entityClass) {
+        String packageName = entityClass.getPackageName();
+        String binaryName = entityClass.getName().substring(packageName.isEmpty() ? 0 : packageName.length() + 1);
+        String simpleName = binaryName.replace('$', '_') + MAPPER_SUFFIX;
+        return packageName.isEmpty() ? simpleName : packageName + "." + simpleName;
+    }
+
+    /**
+     * 結果セットの列とマッパーのカラムを対応付けます。
+     * <p>
+     * 列ラベルとカラム名を、大文字小文字およびアンダースコアの有無を区別せずに比較します。
+     * </p>
+     *
+     * @param mapper マッパー
+     * @param metaData 結果セットのメタ情報
+     * @return 各カラムに対応する列番号（1始まり、存在しない場合は0）
+     * @throws SQLException メタ情報の取得に失敗した場合
+     */
+    public static int[] resolveColumnIndexes(SBGeneratedMapper<?> mapper, ResultSetMetaData metaData)
+            throws SQLException {
+        List<String> columns = mapper.getColumnNames();
+        int[] indexes = new int[columns.size()];
+        int columnCount = metaData.getColumnCount();
+        for (int i = 1; i <= columnCount; i++) {
+            String label = normalize(metaData.getColumnLabel(i));
+            for (int j = 0; j < indexes.length; j++) {
+                if (indexes[j] == 0 && normalize(columns.get(j)).equals(label)) {
+                    indexes[j] = i;
+                    break;
+                }
+            }
+        }
+        return indexes;
+    }
+
+    /**
+     * 結果セットの残りの行をすべてエンティティへ変換します。
+     *
+     * @param <T> エンティティの型
+     * @param mapper マッパー
+     * @param resultSet 結果セット
+     * @return エンティティのリスト
+     * @throws SQLException 値の取得に失敗した場合
+     */
+    public static <T> List<T> readAll(SBGeneratedMapper<T> mapper, ResultSet resultSet) throws SQLException {
+        int[] indexes = resolveColumnIndexes(mapper, resultSet.getMetaData());
+        List<T> results = new ArrayList<>();
+        while (resultSet.next()) {
+            results.add(mapper.readRow(resultSet, indexes));
+        }
+        return results;
+    }
+
+    private static String normalize(String name) {
+        return name.replace("_", "").toLowerCase(Locale.ROOT);
+    }
+
+    private static Optional<SBGeneratedMapper<?>> load(Class<?> entityClass) {
+        String mapperClassName = getMapperClassName(entityClass);
+        try {
+            ClassLoader loader = entityClass.getClassLoader();
+            Class<?> mapperClass = Class.forName(mapperClassName, true,
+                    loader != null ? loader : ClassLoader.getSystemClassLoader());
+            if (!SBGeneratedMapper.class.isAssignableFrom(mapperClass)) {
+                logger.warn("マッパークラスがSBGeneratedMapperを実装していません: {}", mapperClassName);
+                return Optional.empty();
+            }
+            SBGeneratedMapper<?> mapper = (SBGeneratedMapper<?>) mapperClass.getDeclaredConstructor().newInstance();
+            logger.debug("生成されたマッパーを使用します: {}", mapperClassName);
+            return Optional.of(mapper);
+        } catch (ClassNotFoundException e) {
+            return Optional.empty();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            logger.warn("マッパーの生成に失敗したため、リフレクションで変換します: {}", mapperClassName, e);
+            return Optional.empty();
+        }
+    }
+}
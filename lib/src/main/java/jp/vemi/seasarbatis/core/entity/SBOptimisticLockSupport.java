@@ -14,7 +14,6 @@ import java.util.Optional;
 import jp.vemi.seasarbatis.core.config.SBOptimisticLockConfig;
 import jp.vemi.seasarbatis.core.config.SBOptimisticLockConfig.EntityLockConfig;
 import jp.vemi.seasarbatis.core.config.SBOptimisticLockConfig.LockType;
-import jp.vemi.seasarbatis.core.meta.SBColumnMeta;
 import jp.vemi.seasarbatis.exception.SBEntityException;
 import jp.vemi.seasarbatis.exception.SBIllegalStateException;
 
@@ -38,22 +37,8 @@ public class SBOptimisticLockSupport {
      * @return バージョンカラムの情報、存在しない場合はEmpty
      */
     public static Optional<VersionColumnInfo> getVersionColumnInfo(Object entity) {
-        Class<?> entityClass = entity.getClass();
-        
-        for (Field field : entityClass.getDeclaredFields()) {
-            SBColumnMeta columnMeta = field.getAnnotation(SBColumnMeta.class);
-            if (columnMeta != null && columnMeta.versionColumn()) {
-                try {
-                    field.setAccessible(true);
-                    Object value = field.get(entity);
-                    return Optional.of(new VersionColumnInfo(field, columnMeta.name(), value));
-                } catch (IllegalAccessException e) {
-                    throw new SBEntityException("バージョンカラムの値取得に失敗しました: " + field.getName(), e);
-                }
-            }
-        }
-        
-        return Optional.empty();
+        return SBEntityMeta.of(entity.getClass()).getVersionColumn()
+                .map(column -> new VersionColumnInfo(column.getField(), column.getName(), column.get(entity)));
     }
     
     /**
@@ -63,22 +48,8 @@ public class SBOptimisticLockSupport {
      * @return 最終更新日時カラムの情報、存在しない場合はEmpty
      */
     public static Optional<LastModifiedColumnInfo> getLastModifiedColumnInfo(Object entity) {
-        Class<?> entityClass = entity.getClass();
-        
-        for (Field field : entityClass.getDeclaredFields()) {
-            SBColumnMeta columnMeta = field.getAnnotation(SBColumnMeta.class);
-            if (columnMeta != null && columnMeta.lastModifiedColumn()) {
-                try {
-                    field.setAccessible(true);
-                    Object value = field.get(entity);
-                    return Optional.of(new LastModifiedColumnInfo(field, columnMeta.name(), value));
-                } catch (IllegalAccessException e) {
-                    throw new SBEntityException("最終更新日時カラムの値取得に失敗しました: " + field.getName(), e);
-                }
-            }
-        }
-        
-        return Optional.empty();
+        return SBEntityMeta.of(entity.getClass()).getLastModifiedColumn()
+                .map(column -> new LastModifiedColumnInfo(column.getField(), column.getName(), column.get(entity)));
     }
     
     /**
@@ -140,41 +111,36 @@ public class SBOptimisticLockSupport {
         }
         
         Field field = lockInfo.getField();
+        SBEntityMeta.Column column = SBEntityMeta.of(entity.getClass()).findColumn(lockInfo.getColumnName())
+                .orElseThrow(() -> new SBEntityException("楽観的排他制御用カラムが見つかりません: " + field.getName()));
         Object newValue;
         
-        try {
-            field.setAccessible(true);
-            
-            if (lockInfo.getLockType() == LockType.VERSION) {
-                Object currentValue = field.get(entity);
-                if (currentValue == null) {
-                    newValue = 1L;
-                } else if (currentValue instanceof Number) {
-                    newValue = ((Number) currentValue).longValue() + 1;
-                } else {
-                    throw new SBIllegalStateException("バージョンカラムの型が数値型ではありません: " + field.getType());
-                }
-            } else if (lockInfo.getLockType() == LockType.LAST_MODIFIED) {
-                Class<?> fieldType = field.getType();
-                if (fieldType == Date.class) {
-                    newValue = new Date();
-                } else if (fieldType == LocalDateTime.class) {
-                    newValue = LocalDateTime.now();
-                } else if (Temporal.class.isAssignableFrom(fieldType)) {
-                    newValue = LocalDateTime.now();
-                } else {
-                    throw new SBIllegalStateException("最終更新日時カラムの型が日時型ではありません: " + fieldType);
-                }
+        if (lockInfo.getLockType() == LockType.VERSION) {
+            Object currentValue = column.get(entity);
+            if (currentValue == null) {
+                newValue = 1L;
+            } else if (currentValue instanceof Number) {
+                newValue = ((Number) currentValue).longValue() + 1;
             } else {
-                return null;
+                throw new SBIllegalStateException("バージョンカラムの型が数値型ではありません: " + field.getType());
             }
-            
-            field.set(entity, newValue);
-            return newValue;
-            
-        } catch (IllegalAccessException e) {
-            throw new SBEntityException("楽観的排他制御用カラムの値更新に失敗しました: " + field.getName(), e);
+        } else if (lockInfo.getLockType() == LockType.LAST_MODIFIED) {
+            Class<?> fieldType = field.getType();
+            if (fieldType == Date.class) {
+                newValue = new Date();
+            } else if (fieldType == LocalDateTime.class) {
+                newValue = LocalDateTime.now();
+            } else if (Temporal.class.isAssignableFrom(fieldType)) {
+                newValue = LocalDateTime.now();
+            } else {
+                throw new SBIllegalStateException("最終更新日時カラムの型が日時型ではありません: " + fieldType);
+            }
+        } else {
+            return null;
         }
+        
+        column.set(entity, newValue);
+        return newValue;
     }
     
     /**
@@ -4,9 +4,10 @@
 package jp.vemi.seasarbatis.core.entity;
 
 import java.lang.reflect.Field;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.HashMap;
 
 import jp.vemi.seasarbatis.core.meta.SBColumnMeta;
 import jp.vemi.seasarbatis.exception.SBEntityException;
@@ -26,6 +27,7 @@ public class SBPrimaryKeyInfo {
     
     private final List<Field> fields;
     private final List<String> columnNames;
+    private final List<SBEntityMeta.Column> columns;
 
     /**
      * 主キー情報を構築します。
@@ -34,8 +36,20 @@ public class SBPrimaryKeyInfo {
      * @param columnNames 主キーカラム名のリスト
      */
     public SBPrimaryKeyInfo(List<Field> fields, List<String> columnNames) {
-        this.fields = fields;
-        this.columnNames = columnNames;
+        this(fields, columnNames, null);
+    }
+
+    /**
+     * エンティティのメタ情報から主キー情報を構築します。
+     *
+     * @param fields 主キーフィールドのリスト
+     * @param columnNames 主キーカラム名のリスト
+     * @param columns 主キーカラムのリスト
+     */
+    SBPrimaryKeyInfo(List<Field> fields, List<String> columnNames, List<SBEntityMeta.Column> columns) {
+        this.fields = Collections.unmodifiableList(fields);
+        this.columnNames = Collections.unmodifiableList(columnNames);
+        this.columns = columns;
     }
 
     /**
@@ -47,7 +61,11 @@ public class SBPrimaryKeyInfo {
      * @throws SBEntityException 主キー値の取得に失敗した場合
      */
     public <T> Map<String, Object> getPrimaryKeyValues(T entity) {
-        Map<String, Object> pkValues = new HashMap<>();
+        Map<String, Object> pkValues = new LinkedHashMap<>();
+        if (columns != null) {
+            columns.forEach(column -> pkValues.put(column.getName(), column.get(entity)));
+            return pkValues;
+        }
         fields.forEach(field -> {
             try {
                 field.setAccessible(true);
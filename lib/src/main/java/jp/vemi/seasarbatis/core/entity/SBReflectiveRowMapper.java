@@ -0,0 +1,407 @@
+/*
+ * Copyright (C) 2025 VEMI, All Rights Reserved.
+ */
+package jp.vemi.seasarbatis.core.entity;
+
+import java.io.InputStream;
+import java.io.Reader;
+import java.lang.invoke.MethodHandle;
+import java.sql.Blob;
+import java.sql.Clob;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+
+import jp.vemi.seasarbatis.core.util.SBTypeConverterRegistry;
+import jp.vemi.seasarbatis.core.util.SBTypeConverterUtils;
+import jp.vemi.seasarbatis.exception.SBEntityException;
+
+/**
+ * 生成されたマッパーがないエンティティを、結果セットから直接変換するクラスです。
+ * <p>
+ * 列とフィールドの対応、列ごとの読み出し方法、および型変換器は、結果セットの最初の行を読む前に
+ * （変換器は列の最初の非null値で）一度だけ解決し、以降の行では再利用します。
+ * プリミティブ型のフィールドは {@link ResultSet#getLong(int)} などで読み出し、ボクシングせずに設定します。
+ * </p>
+ * <p>
+ * 対象は引数なしコンストラクタを持ち、すべてのインスタンスフィールドに {@code @SBColumnMeta} が
+ * 付与された、finalフィールドを持たないクラスです。それ以外のクラスは行のMapを経由して変換します。
+ * </p>
+ *
+ * @param <T> エンティティの型
+ * @author H.Kurosawa
+ * @version 1.0.0
+ * @since 2025/01/01
+ */
+public final class SBReflectiveRowMapper<T> {
+
+    private static final ClassValue<Optional<SBReflectiveRowMapper<?>>> CACHE = new ClassValue<>() {
+        @Override
+        protected Optional<SBReflectiveRowMapper<?>> computeValue(Class<?> type) {
+            return Optional.ofNullable(resolve(type));
+        }
+    };
+
+    private final SBEntityMeta meta;
+
+    private SBReflectiveRowMapper(SBEntityMeta meta) {
+        this.meta = meta;
+    }
+
+    /**
+     * エンティティクラスの変換器を取得します。
+     *
+     * @param <T> エンティティの型
+     * @param entityClass エンティティクラス
+     * @return 変換器、対象外のクラスの場合はEmpty
+     */
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    public static <T> Optional<SBReflectiveRowMapper<T>> of(Class<T> entityClass) {
+        return (Optional) CACHE.get(entityClass);
+    }
+
+    private static SBReflectiveRowMapper<?> resolve(Class<?> type) {
+        if (type.isPrimitive() || type.isArray() || type.isInterface() || type.isRecord() || type.isEnum()
+                || SBEntityInstantiator.of(type).isPresent()) {
+            return null;
+        }
+        SBEntityMeta meta = SBEntityMeta.of(type);
+        if (meta.getColumns().isEmpty() || !meta.getUnmappedFields().isEmpty() || !meta.isInstantiable()) {
+            return null;
+        }
+        for (SBEntityMeta.Column column : meta.getColumns()) {
+            if (column.getTypedSetter() == null) {
+                return null;
+            }
+        }
+        return new SBReflectiveRowMapper<>(meta);
+    }
+
+    /**
+     * 結果セットの残りの行をすべてエンティティへ変換します。
+     *
+     * @param resultSet 結果セット
+     * @return エンティティのリスト
+     * @throws SQLException 値の取得に失敗した場合
+     */
+    public List<T> readAll(ResultSet resultSet) throws SQLException {
+        RowReader<T> reader = prepare(resultSet.getMetaData());
+        List<T> results = new ArrayList<>();
+        while (resultSet.next()) {
+            results.add(reader.read(resultSet));
+        }
+        return results;
+    }
+
+    /**
+     * 結果セットの列構成に対する読み出し手順を準備します。
+     *
+     * @param metaData 結果セットのメタデータ
+     * @return 行の読み出し手順
+     * @throws SQLException メタデータの取得に失敗した場合
+     */
+    public RowReader<T> prepare(ResultSetMetaData metaData) throws SQLException {
+        List<SBEntityMeta.Column> columns = new ArrayList<>(meta.getColumns());
+        List<Cell> cells = new ArrayList<>();
+        int columnCount = metaData.getColumnCount();
+        for (int i = 1; i <= columnCount; i++) {
+            String label = normalize(metaData.getColumnLabel(i));
+            for (int j = 0; j < columns.size(); j++) {
+                SBEntityMeta.Column column = columns.get(j);
+                if (normalize(column.getName()).equals(label) || normalize(column.getFieldName()).equals(label)) {
+                    cells.add(cellFor(i, metaData.getColumnType(i), column));
+                    columns.remove(j);
+                    break;
+                }
+            }
+        }
+        return new RowReader<>(meta, cells.toArray(new Cell[0]));
+    }
+
+    private static String normalize(String name) {
+        return name.replace("_", "").toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * 列のJDBC型とフィールドの型から、読み出し方法を決定します。
+     */
+    private static Cell cellFor(int index, int jdbcType, SBEntityMeta.Column column) {
+        Class<?> type = column.getType();
+        MethodHandle setter = column.getTypedSetter();
+        if (type.isPrimitive()) {
+            if (type == boolean.class) {
+                if (jdbcType == Types.BOOLEAN || jdbcType == Types.BIT || isInteger(jdbcType)) {
+                    return new BooleanCell(index, column, setter);
+                }
+            } else if (isNumeric(jdbcType)) {
+                if (type == long.class) {
+                    return new LongCell(index, column, setter);
+                }
+                if (type == int.class) {
+                    return new IntCell(index, column, setter);
+                }
+                if (type == short.class) {
+                    return new ShortCell(index, column, setter);
+                }
+                if (type == byte.class) {
+                    return new ByteCell(index, column, setter);
+                }
+                if (type == double.class) {
+                    return new DoubleCell(index, column, setter);
+                }
+                if (type == float.class) {
+                    return new FloatCell(index, column, setter);
+                }
+            }
+        } else if (type == String.class && isCharacter(jdbcType)) {
+            return new StringCell(index, column, setter);
+        }
+        return new ObjectCell(index, column);
+    }
+
+    private static boolean isInteger(int jdbcType) {
+        return jdbcType == Types.TINYINT || jdbcType == Types.SMALLINT || jdbcType == Types.INTEGER
+                || jdbcType == Types.BIGINT;
+    }
+
+    private static boolean isNumeric(int jdbcType) {
+        return isInteger(jdbcType) || jdbcType == Types.DECIMAL || jdbcType == Types.NUMERIC
+                || jdbcType == Types.REAL || jdbcType == Types.FLOAT || jdbcType == Types.DOUBLE;
+    }
+
+    private static boolean isCharacter(int jdbcType) {
+        return jdbcType == Types.CHAR || jdbcType == Types.VARCHAR || jdbcType == Types.LONGVARCHAR
+                || jdbcType == Types.NCHAR || jdbcType == Types.NVARCHAR || jdbcType == Types.LONGNVARCHAR;
+    }
+
+    /**
+     * 列構成ごとに解決された行の読み出し手順です。
+     * <p>
+     * インスタンスは1つの結果セットの読み出しに使用し、スレッド間で共有しないでください。
+     * </p>
+     *
+     * @param <T> エンティティの型
+     */
+    public static final class RowReader<T> {
+        private final SBEntityMeta meta;
+        private final Cell[] cells;
+
+        private RowReader(SBEntityMeta meta, Cell[] cells) {
+            this.meta = meta;
+            this.cells = cells;
+        }
+
+        /**
+         * 結果セットの現在の行をエンティティへ変換します。
+         *
+         * @param resultSet 結果セット
+         * @return エンティティ
+         * @throws SQLException 値の取得に失敗した場合
+         */
+        public T read(ResultSet resultSet) throws SQLException {
+            T entity = meta.newInstance();
+            for (Cell cell : cells) {
+                try {
+                    cell.read(resultSet, entity);
+                } catch (SQLException | RuntimeException e) {
+                    throw e;
+                } catch (Throwable e) {
+                    throw new SBEntityException("フィールドへの値の設定に失敗しました: " + cell.column.getFieldName(), e);
+                }
+            }
+            return entity;
+        }
+    }
+
+    /**
+     * 1列分の読み出し手順です。
+     */
+    private abstract static class Cell {
+        final int index;
+        final SBEntityMeta.Column column;
+
+        Cell(int index, SBEntityMeta.Column column) {
+            this.index = index;
+            this.column = column;
+        }
+
+        abstract void read(ResultSet rs, Object entity) throws Throwable;
+    }
+
+    private static final class LongCell extends Cell {
+        private final MethodHandle setter;
+
+        LongCell(int index, SBEntityMeta.Column column, MethodHandle setter) {
+            super(index, column);
+            this.setter = setter;
+        }
+
+        @Override
+        void read(ResultSet rs, Object entity) throws Throwable {
+            long value = rs.getLong(index);
+            if (!rs.wasNull()) {
+                setter.invokeExact(entity, value);
+            }
+        }
+    }
+
+    private static final class IntCell extends Cell {
+        private final MethodHandle setter;
+
+        IntCell(int index, SBEntityMeta.Column column, MethodHandle setter) {
+            super(index, column);
+            this.setter = setter;
+        }
+
+        @Override
+        void read(ResultSet rs, Object entity) throws Throwable {
+            int value = rs.getInt(index);
+            if (!rs.wasNull()) {
+                setter.invokeExact(entity, value);
+            }
+        }
+    }
+
+    private static final class ShortCell extends Cell {
+        private final MethodHandle setter;
+
+        ShortCell(int index, SBEntityMeta.Column column, MethodHandle setter) {
+            super(index, column);
+            this.setter = setter;
+        }
+
+        @Override
+        void read(ResultSet rs, Object entity) throws Throwable {
+            short value = rs.getShort(index);
+            if (!rs.wasNull()) {
+                setter.invokeExact(entity, value);
+            }
+        }
+    }
+
+    private static final class ByteCell extends Cell {
+        private final MethodHandle setter;
+
+        ByteCell(int index, SBEntityMeta.Column column, MethodHandle setter) {
+            super(index, column);
+            this.setter = setter;
+        }
+
+        @Override
+        void read(ResultSet rs, Object entity) throws Throwable {
+            byte value = rs.getByte(index);
+            if (!rs.wasNull()) {
+                setter.invokeExact(entity, value);
+            }
+        }
+    }
+
+    private static final class DoubleCell extends Cell {
+        private final MethodHandle setter;
+
+        DoubleCell(int index, SBEntityMeta.Column column, MethodHandle setter) {
+            super(index, column);
+            this.setter = setter;
+        }
+
+        @Override
+        void read(ResultSet rs, Object entity) throws Throwable {
+            double value = rs.getDouble(index);
+            if (!rs.wasNull()) {
+                setter.invokeExact(entity, value);
+            }
+        }
+    }
+
+    private static final class FloatCell extends Cell {
+        private final MethodHandle setter;
+
+        FloatCell(int index, SBEntityMeta.Column column, MethodHandle setter) {
+            super(index, column);
+            this.setter = setter;
+        }
+
+        @Override
+        void read(ResultSet rs, Object entity) throws Throwable {
+            float value = rs.getFloat(index);
+            if (!rs.wasNull()) {
+                setter.invokeExact(entity, value);
+            }
+        }
+    }
+
+    private static final class BooleanCell extends Cell {
+        private final MethodHandle setter;
+
+        BooleanCell(int index, SBEntityMeta.Column column, MethodHandle setter) {
+            super(index, column);
+            this.setter = setter;
+        }
+
+        @Override
+        void read(ResultSet rs, Object entity) throws Throwable {
+            boolean value = rs.getBoolean(index);
+            if (!rs.wasNull()) {
+                setter.invokeExact(entity, value);
+            }
+        }
+    }
+
+    private static final class StringCell extends Cell {
+        private final MethodHandle setter;
+
+        StringCell(int index, SBEntityMeta.Column column, MethodHandle setter) {
+            super(index, column);
+            this.setter = setter;
+        }
+
+        @Override
+        void read(ResultSet rs, Object entity) throws Throwable {
+            setter.invokeExact(entity, rs.getString(index));
+        }
+    }
+
+    /**
+     * {@link ResultSet#getObject(int)} の値を変換して設定する読み出し手順です。
+     * <p>
+     * 変換器は最初の非null値の型で解決し、値の型が変わった場合のみ再解決します。
+     * </p>
+     */
+    private static final class ObjectCell extends Cell {
+        private final Class<?> type;
+        private Class<?> sourceType;
+        private SBTypeConverterRegistry.Converter<?> converter;
+
+        ObjectCell(int index, SBEntityMeta.Column column) {
+            super(index, column);
+            this.type = column.getType();
+        }
+
+        @Override
+        void read(ResultSet rs, Object entity) throws Throwable {
+            Object value = rs.getObject(index);
+            if (value == null) {
+                if (!type.isPrimitive()) {
+                    column.set(entity, null);
+                }
+                return;
+            }
+            if (value.getClass() != sourceType) {
+                sourceType = value.getClass();
+                converter = isLob(value) ? null : SBTypeConverterRegistry.getDefault().find(sourceType, type);
+            }
+            column.set(entity, converter != null ? converter.convert(value)
+                    : SBTypeConverterUtils.convertValue(value, type));
+        }
+
+        private boolean isLob(Object value) {
+            return value instanceof Blob || value instanceof Clob || type == byte[].class
+                    || type == InputStream.class || type == Reader.class;
+        }
+    }
+}
@@ -0,0 +1,370 @@
+/*
+ * Copyright (C) 2025 VEMI, All Rights Reserved.
+ */
+package jp.vemi.seasarbatis.core.export;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.Base64;
+
+import jp.vemi.seasarbatis.exception.SBIllegalStateException;
+
+/**
+ * 結果セットをCSVまたはNDJSONとして直接書き出すエクスポータです。
+ * <p>
+ * {@link ResultSet} から1行ずつ値を読み出し、再利用する文字バッファ・バイトバッファを通して
+ * {@link WritableByteChannel} へ書き込みます。行をエンティティやリストへ展開しないため、
+ * ヒープ使用量は行数によらず一定です。
+ * </p>
+ * <p>
+ * CSVはRFC 4180に従い、区切り文字・ダブルクォート・改行を含む値をクォートします。
+ * NDJSONは1行につき1つのJSONオブジェクトを出力し、数値・真偽値はJSONの型で、
+ * バイナリはBase64文字列で、それ以外は文字列で出力します。
+ * </p>
+ *
+ * @author H.Kurosawa
+ * @version 0.0.1
+ * @since 2025/01/01
+ */
+public class SBResultSetExporter {
+
+    /**
+     * 出力形式を表す列挙型です。
+     */
+    public enum Format {
+        /** カンマ区切り（RFC 4180） */
+        CSV,
+        /** 改行区切りJSON */
+        NDJSON
+    }
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final Format format;
+    private boolean header = true;
+    private char delimiter = ',';
+    private String lineSeparator = "\r\n";
+    private Charset charset = StandardCharsets.UTF_8;
+    private int bufferSize = 64 * 1024;
+
+    /**
+     * 出力形式を指定してエクスポータを構築します。
+     *
+     * @param format 出力形式
+     */
+    public SBResultSetExporter(Format format) {
+        this.format = format;
+        if (format == Format.NDJSON) {
+            this.lineSeparator = "\n";
+        }
+    }
+
+    /**
+     * CSVのヘッダ行を出力するかどうかを設定します。NDJSONでは無視されます。
+     *
+     * @param header ヘッダ行を出力する場合true
+     * @return このインスタンス
+     */
+    public SBResultSetExporter header(boolean header) {
+        this.header = header;
+        return this;
+    }
+
+    /**
+     * CSVの区切り文字を設定します。
+     *
+     * @param delimiter 区切り文字
+     * @return このインスタンス
+     */
+    public SBResultSetExporter delimiter(char delimiter) {
+        this.delimiter = delimiter;
+        return this;
+    }
+
+    /**
+     * 行の区切り文字列を設定します。
+     *
+     * @param lineSeparator 行の区切り文字列
+     * @return このインスタンス
+     */
+    public SBResultSetExporter lineSeparator(String lineSeparator) {
+        this.lineSeparator = lineSeparator;
+        return this;
+    }
+
+    /**
+     * 出力する文字セットを設定します。
+     *
+     * @param charset 文字セット
+     * @return このインスタンス
+     */
+    public SBResultSetExporter charset(Charset charset) {
+        this.charset = charset;
+        return this;
+    }
+
+    /**
+     * エンコード用バッファのサイズを設定します。
+     *
+     * @param bufferSize バッファサイズ（バイト）
+     * @return このインスタンス
+     */
+    public SBResultSetExporter bufferSize(int bufferSize) {
+        if (bufferSize < 16) {
+            throw new SBIllegalStateException("バッファサイズが小さすぎます: " + bufferSize);
+        }
+        this.bufferSize = bufferSize;
+        return this;
+    }
+
+    /**
+     * 出力形式を取得します。
+     *
+     * @return 出力形式
+     */
+    public Format getFormat() {
+        return format;
+    }
+
+    /**
+     * 結果セットの全行をチャネルへ書き出します。
+     * <p>
+     * チャネルはクローズしません。
+     * </p>
+     *
+     * @param resultSet 結果セット
+     * @param channel 出力先チャネル
+     * @return 出力した行数（ヘッダ行を除く）
+     * @throws SQLException 結果セットの読み出しに失敗した場合
+     * @throws IOException 書き込みに失敗した場合
+     */
+    public long export(ResultSet resultSet, WritableByteChannel channel) throws SQLException, IOException {
+        ResultSetMetaData meta = resultSet.getMetaData();
+        int columnCount = meta.getColumnCount();
+        String[] labels = new String[columnCount];
+        int[] types = new int[columnCount];
+        for (int i = 0; i < columnCount; i++) {
+            labels[i] = meta.getColumnLabel(i + 1);
+            types[i] = meta.getColumnType(i + 1);
+        }
+
+        ChannelWriter writer = new ChannelWriter(channel);
+        StringBuilder line = new StringBuilder(256);
+        if (format == Format.CSV && header) {
+            for (int i = 0; i < columnCount; i++) {
+                if (i > 0) {
+                    line.append(delimiter);
+                }
+                appendCsv(line, labels[i]);
+            }
+            line.append(lineSeparator);
+            writer.write(line);
+        }
+
+        long rows = 0;
+        while (resultSet.next()) {
+            line.setLength(0);
+            if (format == Format.CSV) {
+                encodeCsvRow(resultSet, types, line);
+            } else {
+                encodeJsonRow(resultSet, labels, types, line);
+            }
+            line.append(lineSeparator);
+            writer.write(line);
+            rows++;
+        }
+        writer.flush();
+        return rows;
+    }
+
+    private void encodeCsvRow(ResultSet rs, int[] types, StringBuilder line) throws SQLException {
+        for (int i = 0; i < types.length; i++) {
+            if (i > 0) {
+                line.append(delimiter);
+            }
+            String value = isBinary(types[i]) ? encodeBinary(rs.getBytes(i + 1)) : rs.getString(i + 1);
+            if (value != null) {
+                appendCsv(line, value);
+            }
+        }
+    }
+
+    private void encodeJsonRow(ResultSet rs, String[] labels, int[] types, StringBuilder line)
+            throws SQLException {
+        line.append('{');
+        for (int i = 0; i < types.length; i++) {
+            if (i > 0) {
+                line.append(',');
+            }
+            appendJsonString(line, labels[i]);
+            line.append(':');
+            int column = i + 1;
+            switch (types[i]) {
+            case Types.TINYINT:
+            case Types.SMALLINT:
+            case Types.INTEGER:
+            case Types.BIGINT:
+            case Types.DECIMAL:
+            case Types.NUMERIC:
+            case Types.REAL:
+            case Types.FLOAT:
+            case Types.DOUBLE: {
+                String value = rs.getString(column);
+                if (value == null || !isJsonNumber(value)) {
+                    appendJsonValue(line, value);
+                } else {
+                    line.append(value);
+                }
+                break;
+            }
+            case Types.BIT:
+            case Types.BOOLEAN: {
+                boolean value = rs.getBoolean(column);
+                line.append(rs.wasNull() ? "null" : (value ? "true" : "false"));
+                break;
+            }
+            case Types.BINARY:
+            case Types.VARBINARY:
+            case Types.LONGVARBINARY:
+            case Types.BLOB:
+                appendJsonValue(line, encodeBinary(rs.getBytes(column)));
+                break;
+            default:
+                appendJsonValue(line, rs.getString(column));
+                break;
+            }
+        }
+        line.append('}');
+    }
+
+    private void appendCsv(StringBuilder line, String value) {
+        boolean quote = false;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == delimiter || c == '"' || c == '\r' || c == '\n') {
+                quote = true;
+                break;
+            }
+        }
+        if (!quote) {
+            line.append(value);
+            return;
+        }
+        line.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                line.append('"');
+            }
+            line.append(c);
+        }
+        line.append('"');
+    }
+
+    private static void appendJsonValue(StringBuilder line, String value) {
+        if (value == null) {
+            line.append("null");
+        } else {
+            appendJsonString(line, value);
+        }
+    }
+
+    private static void appendJsonString(StringBuilder line, String value) {
+        line.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+            case '"':
+                line.append("\\\"");
+                break;
+            case '\\':
+                line.append("\\\\");
+                break;
+            case '\n':
+                line.append("\\n");
+                break;
+            case '\r':
+                line.append("\\r");
+                break;
+            case '\t':
+                line.append("\\t");
+                break;
+            default:
+                if (c < 0x20) {
+                    line.append("\\u00").append(HEX[c >> 4]).append(HEX[c & 0xF]);
+                } else {
+                    line.append(c);
+                }
+                break;
+            }
+        }
+        line.append('"');
+    }
+
+    private static boolean isJsonNumber(String value) {
+        // NaN/Infinity等のJSONで表現できない値は文字列として出力する
+        char first = value.isEmpty() ? 'x' : value.charAt(0);
+        return (first == '-' || Character.isDigit(first)) && !value.endsWith("Infinity") && !value.equals("NaN");
+    }
+
+    private static boolean isBinary(int type) {
+        return type == Types.BINARY || type == Types.VARBINARY || type == Types.LONGVARBINARY
+                || type == Types.BLOB;
+    }
+
+    private static String encodeBinary(byte[] bytes) {
+        return bytes == null ? null : Base64.getEncoder().encodeToString(bytes);
+    }
+
+    /**
+     * 文字列を再利用バッファでエンコードしてチャネルへ書き込む内部クラスです。
+     */
+    private class ChannelWriter {
+        private final WritableByteChannel channel;
+        private final CharsetEncoder encoder = charset.newEncoder();
+        private final ByteBuffer bytes = ByteBuffer.allocate(bufferSize);
+
+        ChannelWriter(WritableByteChannel channel) {
+            this.channel = channel;
+        }
+
+        void write(CharSequence text) throws IOException {
+            CharBuffer chars = CharBuffer.wrap(text);
+            while (true) {
+                CoderResult result = encoder.encode(chars, bytes, false);
+                if (result.isOverflow()) {
+                    drain();
+                } else if (result.isError()) {
+                    result.throwException();
+                } else {
+                    break;
+                }
+            }
+        }
+
+        void flush() throws IOException {
+            encoder.encode(CharBuffer.allocate(0), bytes, true);
+            encoder.flush(bytes);
+            drain();
+            encoder.reset();
+        }
+
+        private void drain() throws IOException {
+            bytes.flip();
+            while (bytes.hasRemaining()) {
+                channel.write(bytes);
+            }
+            bytes.clear();
+        }
+    }
+}
@@ -14,12 +14,15 @@ import java.lang.annotation.Target;
  * このアノテーションを使用して、エンティティのフィールドと
  * データベースのカラムとのマッピング情報を定義します。
  * </p>
+ * <p>
+ * レコードのコンポーネント、またはエンティティを生成するコンストラクタの引数にも付与できます。
+ * </p>
  * 
  * @author H.Kurosawa
  * @version 1.0.0
  * @since 2025/01/01
  */
-@Target(ElementType.FIELD)
+@Target({ ElementType.FIELD, ElementType.PARAMETER })
 @Retention(RetentionPolicy.RUNTIME)
 public @interface SBColumnMeta {
     /**
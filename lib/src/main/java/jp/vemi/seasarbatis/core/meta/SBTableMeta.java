@@ -13,4 +13,6 @@ import java.lang.annotation.Target;
 public @interface SBTableMeta {
     String name();
     String schema() default "";
+    /** シャーディングでシャードを決定するカラム名（未指定の場合はシャーディングしない） */
+    String shardKey() default "";
 }
\ No newline at end of file
@@ -0,0 +1,611 @@
+/*
+ * Copyright (C) 2025 VEMI, All Rights Reserved.
+ */
+package jp.vemi.seasarbatis.core.query;
+
+import static jp.vemi.seasarbatis.core.entity.SBEntityOperations.getPrimaryKeyInfo;
+import static jp.vemi.seasarbatis.core.entity.SBEntityOperations.getTableName;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+import javax.sql.DataSource;
+
+import org.apache.ibatis.session.Configuration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import jp.vemi.seasarbatis.core.entity.SBGeneratedMapper;
+import jp.vemi.seasarbatis.core.entity.SBGeneratedMappers;
+import jp.vemi.seasarbatis.core.entity.SBReflectiveRowMapper;
+import jp.vemi.seasarbatis.core.entity.SBPrimaryKeyInfo;
+import jp.vemi.seasarbatis.core.sql.dialect.PostgresDialect;
+import jp.vemi.seasarbatis.core.sql.dialect.SBDialect;
+import jp.vemi.seasarbatis.core.util.SBTypeConverterUtils;
+import jp.vemi.seasarbatis.exception.SBIllegalStateException;
+import jp.vemi.seasarbatis.exception.SBSQLException;
+
+/**
+ * テーブルを主キー範囲で分割し、並列に走査するクラスです。
+ * <p>
+ * 主キーの最小値・最大値、またはNTILEによるサンプリングで範囲境界を算出し、
+ * 各範囲をそれぞれ独立したコネクション・スレッド上でストリーミング取得します。
+ * ワーカー数は {@link #parallelism(int)} で上限を設け、各ワーカーは未走査の範囲を順に取り出して走査します。
+ * ワーカーは {@link #executor(Executor)} で指定したエグゼキュータ（既定では仮想スレッド）で実行します。
+ * 取得した行は、並列モードではワーカースレッド上で直接、順序保証モードでは
+ * 呼び出しスレッド上で主キー範囲の順にコンシューマへ渡されます。
+ * </p>
+ * <p>
+ * トランザクションには参加せず、{@link jp.vemi.seasarbatis.jdbc.SBJdbcManager} が保持する {@link DataSource}
+ * から範囲ごとにコネクションを取得します。全件再インデックスやエクスポートなどの
+ * バッチ処理での利用を想定しています。
+ * </p>
+ *
+ * @param <T> エンティティの型
+ * @author H.Kurosawa
+ * @version 0.0.1
+ * @since 2025/01/01
+ */
+public class SBPartitionedScan<T> {
+    private static final Logger logger = LoggerFactory.getLogger(SBPartitionedScan.class);
+
+    /** 順序保証モードで範囲の終端を示す目印です。 */
+    private static final Object END_OF_RANGE = new Object();
+
+    /** エグゼキュータが未指定の場合に使用する、ワーカーごとに仮想スレッドで実行するエグゼキュータ */
+    static final Executor DEFAULT_EXECUTOR = Executors
+            .newThreadPerTaskExecutor(Thread.ofVirtual().name("sb-scan-", 0).factory());
+
+    /**
+     * 範囲境界の算出方法を表す列挙型です。
+     */
+    public enum Strategy {
+        /** 主キーの最小値・最大値を等間隔に分割します（整数型の主キーのみ） */
+        MIN_MAX,
+        /** NTILEウィンドウ関数で行数が均等になるよう分割します */
+        NTILE
+    }
+
+    private final DataSource dataSource;
+    private final Configuration configuration;
+    private final Class<T> entityClass;
+
+    private SBDialect dialect = new PostgresDialect();
+    private Strategy strategy = Strategy.MIN_MAX;
+    private int partitions = Runtime.getRuntime().availableProcessors();
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+    private int fetchSize = 1000;
+    private int queueCapacity = 1000;
+    private boolean ordered;
+    private Executor executor = DEFAULT_EXECUTOR;
+
+    /**
+     * 分割走査を構築します。
+     *
+     * @param dataSource 各範囲のコネクション取得に使用するデータソース
+     * @param configuration MyBatis設定（エンティティ変換に使用）
+     * @param entityClass 走査対象のエンティティクラス
+     */
+    public SBPartitionedScan(DataSource dataSource, Configuration configuration, Class<T> entityClass) {
+        this.dataSource = dataSource;
+        this.configuration = configuration;
+        this.entityClass = entityClass;
+    }
+
+    /**
+     * 範囲境界の算出に使用するダイアレクトを設定します。
+     *
+     * @param dialect データベースダイアレクト
+     * @return このインスタンス
+     */
+    public SBPartitionedScan<T> dialect(SBDialect dialect) {
+        this.dialect = dialect;
+        return this;
+    }
+
+    /**
+     * 範囲境界の算出方法を設定します。
+     *
+     * @param strategy 算出方法
+     * @return このインスタンス
+     */
+    public SBPartitionedScan<T> strategy(Strategy strategy) {
+        this.strategy = strategy;
+        return this;
+    }
+
+    /**
+     * 分割数を設定します。
+     *
+     * @param partitions 分割数（1以上）
+     * @return このインスタンス
+     */
+    public SBPartitionedScan<T> partitions(int partitions) {
+        if (partitions < 1) {
+            throw new SBIllegalStateException("分割数は1以上を指定してください: " + partitions);
+        }
+        this.partitions = partitions;
+        return this;
+    }
+
+    /**
+     * 同時に走査するワーカー数の上限を設定します。
+     *
+     * @param parallelism ワーカー数（1以上）
+     * @return このインスタンス
+     */
+    public SBPartitionedScan<T> parallelism(int parallelism) {
+        if (parallelism < 1) {
+            throw new SBIllegalStateException("ワーカー数は1以上を指定してください: " + parallelism);
+        }
+        this.parallelism = parallelism;
+        return this;
+    }
+
+    /**
+     * 各範囲の取得で使用するフェッチサイズを設定します。
+     *
+     * @param fetchSize フェッチサイズ
+     * @return このインスタンス
+     */
+    public SBPartitionedScan<T> fetchSize(int fetchSize) {
+        this.fetchSize = fetchSize;
+        return this;
+    }
+
+    /**
+     * 順序保証モードで範囲ごとに先読みする行数の上限を設定します。
+     *
+     * @param queueCapacity 先読み行数（1以上）
+     * @return このインスタンス
+     */
+    public SBPartitionedScan<T> queueCapacity(int queueCapacity) {
+        if (queueCapacity < 1) {
+            throw new SBIllegalStateException("先読み行数は1以上を指定してください: " + queueCapacity);
+        }
+        this.queueCapacity = queueCapacity;
+        return this;
+    }
+
+    /**
+     * ワーカーを実行するエグゼキュータを設定します。
+     * <p>
+     * 同時に実行されるワーカー数は {@link #parallelism(int)} を超えません。
+     * 指定したエグゼキュータは走査後も停止しません。
+     * </p>
+     *
+     * @param executor エグゼキュータ（既定では仮想スレッドで実行します）
+     * @return このインスタンス
+     */
+    public SBPartitionedScan<T> executor(Executor executor) {
+        this.executor = Objects.requireNonNull(executor);
+        return this;
+    }
+
+    /**
+     * 主キー範囲の順にコンシューマへ渡す順序保証モードを有効にします。
+     * <p>
+     * コンシューマは呼び出しスレッド上でのみ実行されるため、スレッドセーフである必要はありません。
+     * </p>
+     *
+     * @return このインスタンス
+     */
+    public SBPartitionedScan<T> ordered() {
+        this.ordered = true;
+        return this;
+    }
+
+    /**
+     * テーブルを分割走査し、全行をコンシューマへ渡します。
+     * <p>
+     * 順序保証モードでない場合、コンシューマは複数のワーカースレッドから同時に
+     * 呼び出されるため、スレッドセーフである必要があります。
+     * </p>
+     *
+     * @param consumer 行ごとに呼び出されるコンシューマ
+     * @return 処理した行数
+     * @throws SBSQLException 走査中にエラーが発生した場合
+     */
+    public long forEach(Consumer<? super T> consumer) {
+        SBPrimaryKeyInfo pkInfo = getPrimaryKeyInfo(entityClass);
+        if (pkInfo.getColumnNames().size() != 1) {
+            throw new SBIllegalStateException("分割走査は単一カラムの主キーのみサポートします: " + entityClass.getName());
+        }
+        String tableName = getTableName(entityClass);
+        String pkColumn = pkInfo.getColumnNames().get(0);
+
+        List<Range> ranges = computeRanges(tableName, pkColumn);
+        if (ranges.isEmpty()) {
+            return 0L;
+        }
+        logger.debug("分割走査を開始します: table={}, ranges={}, parallelism={}, ordered={}", tableName,
+                ranges.size(), parallelism, ordered);
+
+        return ordered
+                ? scanOrdered(ranges, tableName, pkColumn, consumer)
+                : scanParallel(ranges, tableName, pkColumn, consumer);
+    }
+
+    /**
+     * 主キーの範囲境界を算出します。
+     *
+     * @param tableName テーブル名
+     * @param pkColumn 主キーカラム名
+     * @return 範囲のリスト（主キー順）
+     */
+    List<Range> computeRanges(String tableName, String pkColumn) {
+        List<Object> lowerBounds = (strategy == Strategy.NTILE && dialect.supportsNtile())
+                ? sampleNtileBounds(tableName, pkColumn)
+                : sampleMinMaxBounds(tableName, pkColumn);
+
+        // 先頭範囲は下限なし、末尾範囲は上限なしとし、走査中に追加された行も取りこぼさない
+        List<Range> ranges = new ArrayList<>(lowerBounds.size());
+        for (int i = 0; i < lowerBounds.size(); i++) {
+            Object lower = i == 0 ? null : lowerBounds.get(i);
+            Object upper = i + 1 < lowerBounds.size() ? lowerBounds.get(i + 1) : null;
+            ranges.add(new Range(i, lower, upper));
+        }
+        return ranges;
+    }
+
+    private List<Object> sampleMinMaxBounds(String tableName, String pkColumn) {
+        String sql = dialect.buildMinMaxSql(tableName, pkColumn);
+        try (Connection connection = dataSource.getConnection();
+                Statement statement = connection.createStatement();
+                ResultSet rs = statement.executeQuery(sql)) {
+            if (!rs.next() || rs.getObject(1) == null) {
+                return new ArrayList<>();
+            }
+            Object minValue = rs.getObject(1);
+            Object maxValue = rs.getObject(2);
+            if (!isIntegral(minValue) || !isIntegral(maxValue)) {
+                throw new SBIllegalStateException(
+                        "MIN_MAXによる分割は整数型の主キーのみサポートします。NTILEを使用してください: " + pkColumn);
+            }
+            long min = ((Number) minValue).longValue();
+            long max = ((Number) maxValue).longValue();
+            // 範囲幅が分割数より小さい場合は空範囲を作らない
+            long span = max - min + 1;
+            int count = (int) Math.max(1, Math.min(partitions, span));
+            List<Object> bounds = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                bounds.add(min + (span / count) * i + Math.min(i, span % count));
+            }
+            return bounds;
+        } catch (SQLException e) {
+            throw new SBSQLException("主キー範囲の取得に失敗しました: " + tableName, e);
+        }
+    }
+
+    private List<Object> sampleNtileBounds(String tableName, String pkColumn) {
+        String sql = dialect.buildNtileBoundarySql(tableName, pkColumn, partitions);
+        try (Connection connection = dataSource.getConnection();
+                Statement statement = connection.createStatement();
+                ResultSet rs = statement.executeQuery(sql)) {
+            List<Object> bounds = new ArrayList<>(partitions);
+            while (rs.next()) {
+                bounds.add(rs.getObject(2));
+            }
+            return bounds;
+        } catch (SQLException e) {
+            throw new SBSQLException("主キー範囲のサンプリングに失敗しました: " + tableName, e);
+        }
+    }
+
+    private long scanParallel(List<Range> ranges, String tableName, String pkColumn,
+            Consumer<? super T> consumer) {
+        AtomicLong total = new AtomicLong();
+        Execution execution = new Execution(ranges, tableName, null);
+        execution.start(range -> total.addAndGet(streamRange(range, tableName, pkColumn, row -> {
+            if (execution.isCancelled()) {
+                throw new SBSQLException("分割走査が中断されました: " + tableName);
+            }
+            consumer.accept(row);
+        })));
+        execution.await();
+        return total.get();
+    }
+
+    @SuppressWarnings("unchecked")
+    private long scanOrdered(List<Range> ranges, String tableName, String pkColumn, Consumer<? super T> consumer) {
+        // 範囲ごとに有界キューを持たせ、呼び出しスレッドが範囲順に取り出す
+        List<BlockingQueue<Object>> queues = new ArrayList<>(ranges.size());
+        for (int i = 0; i < ranges.size(); i++) {
+            queues.add(new ArrayBlockingQueue<>(queueCapacity));
+        }
+        // 失敗時は未走査の範囲も含め、待機中の呼び出しスレッドを起こす
+        Execution execution = new Execution(ranges, tableName, () -> queues.forEach(q -> q.offer(END_OF_RANGE)));
+        execution.start(range -> {
+            BlockingQueue<Object> queue = queues.get(range.getIndex());
+            try {
+                streamRange(range, tableName, pkColumn, row -> put(queue, row, tableName));
+            } finally {
+                put(queue, END_OF_RANGE, tableName);
+            }
+        });
+
+        long total = 0;
+        boolean completed = false;
+        try {
+            for (BlockingQueue<Object> queue : queues) {
+                Object item;
+                while ((item = queue.take()) != END_OF_RANGE) {
+                    execution.throwIfFailed();
+                    consumer.accept((T) item);
+                    total++;
+                }
+                execution.throwIfFailed();
+            }
+            completed = true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SBSQLException("分割走査が中断されました: " + tableName, e);
+        } finally {
+            if (!completed) {
+                // コンシューマの例外等で中断した場合は、先読み中のワーカーを停止する
+                execution.cancel();
+            }
+        }
+        return total;
+    }
+
+    private static void put(BlockingQueue<Object> queue, Object item, String tableName) {
+        try {
+            queue.put(item);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SBSQLException("分割走査が中断されました: " + tableName, e);
+        }
+    }
+
+    /**
+     * 1つの範囲を専用コネクションでストリーミング取得します。
+     *
+     * @param range 範囲
+     * @param tableName テーブル名
+     * @param pkColumn 主キーカラム名
+     * @param consumer 行ごとに呼び出されるコンシューマ
+     * @return 取得した行数
+     */
+    private long streamRange(Range range, String tableName, String pkColumn, Consumer<? super T> consumer) {
+        String sql = range.toSql(tableName, pkColumn);
+        long count = 0;
+        try (Connection connection = dataSource.getConnection()) {
+            boolean autoCommit = connection.getAutoCommit();
+            // PostgreSQL等はオートコミット無効時のみカーソルによる分割フェッチを行う
+            connection.setAutoCommit(false);
+            try (PreparedStatement ps = connection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY,
+                    ResultSet.CONCUR_READ_ONLY)) {
+                ps.setFetchSize(fetchSize);
+                int index = 1;
+                if (range.getLower() != null) {
+                    ps.setObject(index++, range.getLower());
+                }
+                if (range.getUpper() != null) {
+                    ps.setObject(index, range.getUpper());
+                }
+                try (ResultSet rs = ps.executeQuery()) {
+                    Optional<SBGeneratedMapper<T>> mapper = SBGeneratedMappers.find(entityClass);
+                    if (mapper.isPresent()) {
+                        int[] indexes = SBGeneratedMappers.resolveColumnIndexes(mapper.get(), rs.getMetaData());
+                        while (rs.next()) {
+                            consumer.accept(mapper.get().readRow(rs, indexes));
+                            count++;
+                        }
+                    } else if (SBReflectiveRowMapper.of(entityClass).isPresent()) {
+                        SBReflectiveRowMapper.RowReader<T> reader = SBReflectiveRowMapper.of(entityClass).get()
+                                .prepare(rs.getMetaData());
+                        while (rs.next()) {
+                            consumer.accept(reader.read(rs));
+                            count++;
+                        }
+                    } else {
+                        ResultSetMetaData meta = rs.getMetaData();
+                        int columnCount = meta.getColumnCount();
+                        String[] labels = new String[columnCount];
+                        for (int i = 0; i < columnCount; i++) {
+                            labels[i] = meta.getColumnLabel(i + 1);
+                        }
+                        while (rs.next()) {
+                            Map<String, Object> row = new HashMap<>(columnCount * 2);
+                            for (int i = 0; i < columnCount; i++) {
+                                row.put(labels[i], rs.getObject(i + 1));
+                            }
+                            consumer.accept(SBTypeConverterUtils.convertRowToEntity(row, entityClass, configuration));
+                            count++;
+                        }
+                    }
+                }
+            } finally {
+                // 読み取りのみのため、トランザクションは破棄してから返却する
+                connection.rollback();
+                connection.setAutoCommit(autoCommit);
+            }
+        } catch (SQLException e) {
+            throw new SBSQLException("範囲の走査に失敗しました: " + sql, e);
+        }
+        logger.debug("範囲の走査が完了しました: {} ({}件)", range, count);
+        return count;
+    }
+
+    private static boolean isIntegral(Object value) {
+        return value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte
+                || value instanceof java.math.BigInteger
+                || (value instanceof java.math.BigDecimal && ((java.math.BigDecimal) value).scale() <= 0);
+    }
+
+    /**
+     * 主キーの半開区間 [lower, upper) を表すクラスです。
+     * <p>
+     * 下限・上限が {@code null} の場合はその方向に制限がないことを表します。
+     * </p>
+     */
+    static class Range {
+        private final int index;
+        private final Object lower;
+        private final Object upper;
+
+        Range(int index, Object lower, Object upper) {
+            this.index = index;
+            this.lower = lower;
+            this.upper = upper;
+        }
+
+        int getIndex() { return index; }
+        Object getLower() { return lower; }
+        Object getUpper() { return upper; }
+
+        String toSql(String tableName, String pkColumn) {
+            StringBuilder sql = new StringBuilder("SELECT * FROM ").append(tableName);
+            if (lower != null) {
+                sql.append(" WHERE ").append(pkColumn).append(" >= ?");
+            }
+            if (upper != null) {
+                sql.append(lower != null ? " AND " : " WHERE ").append(pkColumn).append(" < ?");
+            }
+            return sql.append(" ORDER BY ").append(pkColumn).toString();
+        }
+
+        @Override
+        public String toString() {
+            return "Range[" + index + ": " + lower + " .. " + upper + ")";
+        }
+    }
+
+    /**
+     * 1つの範囲を走査する処理です。
+     */
+    @FunctionalInterface
+    private interface RangeScanner {
+        void scan(Range range);
+    }
+
+    /**
+     * 1回の走査のワーカーを管理するクラスです。
+     * <p>
+     * {@code min(parallelism, 範囲数)} 個のワーカーをエグゼキュータへ投入し、各ワーカーは未走査の範囲を
+     * 主キー順に取り出して走査します。いずれかのワーカーが失敗した場合、または {@link #cancel()} された場合は、
+     * 実行中のワーカーへ割り込み、未走査の範囲は走査しません。
+     * </p>
+     */
+    private final class Execution {
+        private final List<Range> ranges;
+        private final String tableName;
+        private final Runnable onFailure;
+        private final AtomicInteger nextRange = new AtomicInteger();
+        private final AtomicReference<Throwable> failure = new AtomicReference<>();
+        /** 実行中のワーカーのスレッド（割り込みとの競合を避けるため、自身をロックとして操作する） */
+        private final Set<Thread> workers = new HashSet<>();
+        private final CountDownLatch finished;
+        private volatile boolean cancelled;
+
+        Execution(List<Range> ranges, String tableName, Runnable onFailure) {
+            this.ranges = ranges;
+            this.tableName = tableName;
+            this.onFailure = onFailure;
+            this.finished = new CountDownLatch(Math.min(parallelism, ranges.size()));
+        }
+
+        void start(RangeScanner scanner) {
+            for (long i = finished.getCount(); i > 0; i--) {
+                try {
+                    executor.execute(() -> work(scanner));
+                } catch (RejectedExecutionException e) {
+                    fail(new SBSQLException("分割走査のワーカーを開始できませんでした: " + tableName, e));
+                    finished.countDown();
+                }
+            }
+        }
+
+        private void work(RangeScanner scanner) {
+            Thread current = Thread.currentThread();
+            synchronized (workers) {
+                workers.add(current);
+            }
+            try {
+                int index;
+                while (!cancelled && (index = nextRange.getAndIncrement()) < ranges.size()) {
+                    scanner.scan(ranges.get(index));
+                }
+            } catch (Throwable e) {
+                fail(e);
+            } finally {
+                synchronized (workers) {
+                    workers.remove(current);
+                }
+                // 共有のスレッドへ割り込み状態を残さない
+                Thread.interrupted();
+                finished.countDown();
+            }
+        }
+
+        private void fail(Throwable e) {
+            if (failure.compareAndSet(null, e)) {
+                cancel();
+                if (onFailure != null) {
+                    onFailure.run();
+                }
+            }
+        }
+
+        boolean isCancelled() {
+            return cancelled;
+        }
+
+        void cancel() {
+            cancelled = true;
+            synchronized (workers) {
+                for (Thread worker : workers) {
+                    worker.interrupt();
+                }
+            }
+        }
+
+        /**
+         * すべてのワーカーの終了を待機し、失敗していれば例外をスローします。
+         */
+        void await() {
+            try {
+                finished.await();
+            } catch (InterruptedException e) {
+                cancel();
+                Thread.currentThread().interrupt();
+                throw new SBSQLException("分割走査が中断されました: " + tableName, e);
+            }
+            throwIfFailed();
+        }
+
+        void throwIfFailed() {
+            Throwable cause = failure.get();
+            if (cause == null) {
+                return;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new SBSQLException("分割走査中にエラーが発生しました: " + tableName, cause);
+        }
+    }
+}
@@ -5,19 +5,37 @@ package jp.vemi.seasarbatis.core.query;
 
 import static jp.vemi.seasarbatis.core.entity.SBEntityOperations.*;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
 
+import org.apache.ibatis.session.SqlSession;
 import org.apache.ibatis.session.SqlSessionFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import jp.vemi.seasarbatis.core.entity.SBPrimaryKeyInfo;
+import jp.vemi.seasarbatis.core.cache.SBEntityCache;
+import jp.vemi.seasarbatis.core.cache.SBQueryCache;
+import jp.vemi.seasarbatis.core.entity.SBDirtyTracker;
+import jp.vemi.seasarbatis.core.entity.SBEntityStatements;
+import jp.vemi.seasarbatis.core.export.SBResultSetExporter;
 import jp.vemi.seasarbatis.core.sql.CommandType;
+import jp.vemi.seasarbatis.core.sql.ProcessedSql;
+import jp.vemi.seasarbatis.core.sql.loader.SBSqlFileLoader;
 import jp.vemi.seasarbatis.core.sql.executor.SBQueryExecutor;
+import jp.vemi.seasarbatis.core.transaction.SBRoutingDataSource;
+import jp.vemi.seasarbatis.core.transaction.SBTransactionContext;
 import jp.vemi.seasarbatis.core.transaction.SBTransactionOperation;
+import jp.vemi.seasarbatis.core.util.SBLobUtils;
 import jp.vemi.seasarbatis.exception.SBException;
 import jp.vemi.seasarbatis.exception.SBNoResultException;
 import jp.vemi.seasarbatis.exception.SBNonUniqueResultException;
@@ -45,6 +63,11 @@ public class SBSelect<T> {
     private Map<String, Object> params = new HashMap<>();
     private Map<String, Object> primaryKeys;
     private boolean suppressException;
+    private int fetchSize;
+    private boolean cacheable;
+    private Duration cacheTtl;
+    private SBEntityCache entityCache;
+    private SBDirtyTracker dirtyTracker;
 
     /**
      * コンストラクタ
@@ -125,6 +148,75 @@ public class SBSelect<T> {
         return this;
     }
 
+    /**
+     * 結果セットのフェッチサイズを設定します。
+     * <p>
+     * {@link #exportTo(WritableByteChannel, SBResultSetExporter)} などのストリーミング処理で使用します。
+     * 0以下の場合はドライバの既定値を使用します。
+     * </p>
+     *
+     * @param fetchSize フェッチサイズ
+     * @return SBSelectインスタンス
+     */
+    public SBSelect<T> withFetchSize(int fetchSize) {
+        this.fetchSize = fetchSize;
+        return this;
+    }
+
+    /**
+     * 検索結果をキャッシュします。
+     * <p>
+     * {@link jp.vemi.seasarbatis.jdbc.SBJdbcManager#setQueryCache(SBQueryCache)} でキャッシュが
+     * 設定されている場合のみ有効です。有効期限はキャッシュの既定値を使用します。
+     * </p>
+     *
+     * @return SBSelectインスタンス
+     */
+    public SBSelect<T> cacheable() {
+        this.cacheable = true;
+        return this;
+    }
+
+    /**
+     * 有効期限を指定して検索結果をキャッシュします。
+     *
+     * @param ttl 有効期限
+     * @return SBSelectインスタンス
+     */
+    public SBSelect<T> cacheable(Duration ttl) {
+        this.cacheable = true;
+        this.cacheTtl = ttl;
+        return this;
+    }
+
+    /**
+     * 主キー検索でエンティティキャッシュを使用します。
+     * <p>
+     * {@link #byPrimaryKey(Map)} による検索で、対象クラスがキャッシュ対象の場合のみ有効です。
+     * </p>
+     *
+     * @param entityCache エンティティキャッシュ
+     * @return SBSelectインスタンス
+     */
+    public SBSelect<T> withEntityCache(SBEntityCache entityCache) {
+        this.entityCache = entityCache;
+        return this;
+    }
+
+    /**
+     * 検索したエンティティの値をスナップショットとして記録します。
+     * <p>
+     * 記録したエンティティを更新する場合は、変更されたカラムのみを更新します。
+     * </p>
+     *
+     * @param dirtyTracker スナップショットの記録先（nullの場合は記録しない）
+     * @return SBSelectインスタンス
+     */
+    public SBSelect<T> withDirtyTracker(SBDirtyTracker dirtyTracker) {
+        this.dirtyTracker = dirtyTracker;
+        return this;
+    }
+
     /**
      * 検索結果を1件返します。
      *
@@ -148,65 +240,48 @@ public class SBSelect<T> {
 
     /**
      * 検索結果をリストで返します。
+     * <p>
+     * トランザクション外では、自動コミットのコネクションを借りて検索し、コミットせずに返却します。
+     * LOBをストリームで参照するエンティティの場合のみ、検索専用のトランザクション内で実行します。
+     * </p>
      *
      * @return 検索結果
      */
     public List<T> getResultList() {
+        List<T> results = executeResultList();
+        if (dirtyTracker != null) {
+            dirtyTracker.trackAll(results);
+        }
+        return results;
+    }
+
+    private List<T> executeResultList() {
         try {
             // 現在のトランザクション操作を優先（独立TX中など）
-            jp.vemi.seasarbatis.core.transaction.SBTransactionOperation current = jp.vemi.seasarbatis.core.transaction.SBTransactionContext.getCurrentOperation();
-            jp.vemi.seasarbatis.core.transaction.SBTransactionOperation op = (current != null) ? current : txOperation;
+            SBTransactionOperation current = SBTransactionContext.getCurrentOperation();
+            SBTransactionOperation op = (current != null) ? current : txOperation;
 
             boolean startedHere = false;
             if (!op.isActive()) {
-                op.begin(sqlSessionFactory.openSession(false));
+                if (!SBLobUtils.hasStreamingFields(entityClass)) {
+                    // トランザクション外の検索は自動コミットのコネクションで実行し、コミットを発行しない
+                    return op.executeAutoCommit(openReadSession(), () -> query(op));
+                }
+                // LOBロケータはトランザクション内でのみ有効なため、検索専用のトランザクションを開始する
+                op.beginReadOnly(sqlSessionFactory.openSession(false), null);
                 startedHere = true;
             }
-
-            if (sql != null) {
-                List<T> results = queryExecutor.executeSelect(sql, params, entityClass);
-                if (startedHere) {
-                    op.commit();
-                    op.end();
-                }
-                return results;
-            } else if (sqlFile != null) {
-                List<T> results = queryExecutor.executeFile(sqlFile, params, CommandType.SELECT);
-                if (startedHere) {
-                    op.commit();
-                    op.end();
-                }
-                return results;
-            } else if (primaryKeys != null) {
-                // 主キーによる検索のロジック
-                SBPrimaryKeyInfo pkInfo = getPrimaryKeyInfo(entityClass);
-                String tableName = getTableName(entityClass);
-                StringBuilder sqlBuilder = new StringBuilder("SELECT * FROM " + tableName + " WHERE ");
-
-                for (int i = 0; i < primaryKeys.size(); i++) {
-                    if (i > 0) {
-                        sqlBuilder.append(" AND ");
-                    }
-                    String propertyName = pkInfo.getColumnNames().get(i);
-                    sqlBuilder.append(propertyName).append(" = /*pk").append(i).append("*/").append(i);
-                    params.put("pk" + i, primaryKeys.get(propertyName));
-                }
-
-                List<T> results = queryExecutor.executeSelect(sqlBuilder.toString(), params, entityClass);
+            try {
+                List<T> results = query(op);
                 if (startedHere) {
                     op.commit();
-                    op.end();
                 }
                 return results;
-            } else {
-                // 全件検索
-                String tableName = getTableName(entityClass);
-                List<T> results = queryExecutor.executeSelect("SELECT * FROM " + tableName, params, entityClass);
+            } finally {
+                // 検索に失敗した場合もスレッドにトランザクションを残さない
                 if (startedHere) {
-                    op.commit();
                     op.end();
                 }
-                return results;
             }
         } catch (Exception e) {
             if (suppressException) {
@@ -216,4 +291,230 @@ public class SBSelect<T> {
             throw new SBException("検索実行中にエラーが発生しました", e);
         }
     }
-}
\ No newline at end of file
+
+    private List<T> query(SBTransactionOperation op) throws IOException {
+        Duration ttl = resolveCacheTtl();
+        if (sql != null) {
+            return queryExecutor.executeSelect(sql, params, entityClass, ttl);
+        } else if (sqlFile != null) {
+            return queryExecutor.executeFile(sqlFile, params, CommandType.SELECT, ttl);
+        } else if (primaryKeys != null) {
+            // 主キーによる検索のロジック
+            boolean useEntityCache = entityCache != null && entityCache.isCacheable(entityClass)
+                    && !entityCache.hasPendingWrite(op, entityClass);
+            if (useEntityCache) {
+                T cached = entityCache.get(entityClass, primaryKeys);
+                if (cached != null) {
+                    List<T> results = new ArrayList<>(1);
+                    results.add(cached);
+                    return results;
+                }
+            }
+            long cacheSequence = useEntityCache ? entityCache.currentSequence(entityClass) : 0;
+            SBEntityStatements statements = SBEntityStatements.of(entityClass);
+            List<T> results = queryExecutor.executeSelectWithValues(statements.getSelectByPrimaryKeySql(),
+                    statements.getPrimaryKeyValues(primaryKeys), entityClass, ttl);
+            if (useEntityCache && results.size() == 1) {
+                entityCache.put(entityClass, primaryKeys, results.get(0), cacheSequence);
+            }
+            return results;
+        } else {
+            // 全件検索
+            String tableName = getTableName(entityClass);
+            return queryExecutor.executeSelect("SELECT * FROM " + tableName, params, entityClass, ttl);
+        }
+    }
+
+    /**
+     * 検索結果を指定形式で出力ストリームへ書き出します。
+     * <p>
+     * 出力ストリームはフラッシュしますが、クローズしません。
+     * </p>
+     *
+     * @param out 出力先ストリーム
+     * @param format 出力形式
+     * @return 出力した行数
+     */
+    public long exportTo(OutputStream out, SBResultSetExporter.Format format) {
+        long rows = exportTo(Channels.newChannel(out), new SBResultSetExporter(format));
+        try {
+            out.flush();
+        } catch (IOException e) {
+            throw new SBException("エクスポート結果の書き込みに失敗しました", e);
+        }
+        return rows;
+    }
+
+    /**
+     * 検索結果を指定形式でチャネルへ書き出します。
+     *
+     * @param channel 出力先チャネル
+     * @param format 出力形式
+     * @return 出力した行数
+     */
+    public long exportTo(WritableByteChannel channel, SBResultSetExporter.Format format) {
+        return exportTo(channel, new SBResultSetExporter(format));
+    }
+
+    /**
+     * 検索結果をエクスポータでチャネルへ書き出します。
+     * <p>
+     * 結果セットから直接書き出すため、行をエンティティやリストへ展開しません。
+     * ヒープ使用量は行数によらず一定です。チャネルはクローズしません。
+     * </p>
+     *
+     * @param channel 出力先チャネル
+     * @param exporter エクスポータ
+     * @return 出力した行数
+     */
+    public long exportTo(WritableByteChannel channel, SBResultSetExporter exporter) {
+        SBTransactionOperation current = SBTransactionContext.getCurrentOperation();
+        SBTransactionOperation op = (current != null) ? current : txOperation;
+
+        boolean startedHere = false;
+        if (!op.isActive()) {
+            op.beginReadOnly(sqlSessionFactory.openSession(false), null);
+            startedHere = true;
+        }
+        try {
+            long rows;
+            if (isPrimaryKeyQuery()) {
+                SBEntityStatements statements = SBEntityStatements.of(entityClass);
+                rows = queryExecutor.executeQuery(statements.getSelectByPrimaryKeySql(),
+                        statements.getPrimaryKeyValues(primaryKeys), fetchSize, rs -> exporter.export(rs, channel));
+            } else {
+                rows = queryExecutor.executeQuery(loadSql(), params, fetchSize, rs -> exporter.export(rs, channel));
+            }
+            if (startedHere) {
+                op.commit();
+            }
+            logger.debug("検索結果をエクスポートしました: {} ({}件)", exporter.getFormat(), rows);
+            return rows;
+        } catch (IOException e) {
+            throw new SBException("SQLファイルの読み込みに失敗しました: " + sqlFile, e);
+        } finally {
+            if (startedHere) {
+                op.end();
+            }
+        }
+    }
+
+    /**
+     * 検索結果を購読者の要求に応じて発行する {@link Flow.Publisher} を返します。
+     * <p>
+     * 購読ごとに専用のコネクションでカーソルを開き、要求された行数だけ結果セットを読み進めます。
+     * フェッチサイズは {@link #withFetchSize(int)} の値（未指定の場合は1000）を使用します。
+     * カーソルの操作と通知は仮想スレッド上で行います。
+     * </p>
+     *
+     * @return 検索結果のパブリッシャ
+     * @see #publisher(Executor)
+     */
+    public Flow.Publisher<T> publisher() {
+        return publisher(SBSelectPublisher.DEFAULT_EXECUTOR);
+    }
+
+    /**
+     * 検索結果を購読者の要求に応じて発行する {@link Flow.Publisher} を返します。
+     * <p>
+     * 購読ごとに専用のコネクションでカーソルを開き、{@link Flow.Subscription#request(long)} で
+     * 要求された行数だけ結果セットを読み進めます。保持する行数とコネクションの保持時間は、
+     * 結果の件数ではなく購読者の処理速度に従います。コネクションは最初の要求で取得し、
+     * 完了、エラー、または {@link Flow.Subscription#cancel()} の後に返却します。
+     * </p>
+     * <p>
+     * 呼び出し元のトランザクションには参加しないため、未コミットの更新は参照できません。
+     * 主キーによる検索でもエンティティキャッシュ・検索結果のキャッシュは使用しません。
+     * </p>
+     *
+     * @param executor カーソルの操作と購読者への通知に使用するエグゼキュータ
+     * @return 検索結果のパブリッシャ
+     */
+    public Flow.Publisher<T> publisher(Executor executor) {
+        return new SBSelectPublisher<>(sqlSessionFactory, this::processSql, entityClass, fetchSize, executor,
+                dirtyTracker);
+    }
+
+    /**
+     * トランザクション外の検索に使用する自動コミットのセッションを開きます。
+     * <p>
+     * {@link SBRoutingDataSource} へ検索であることを伝えた上でコネクションを確保するため、
+     * レプリカが設定されている場合はレプリカのコネクションを使用します。
+     * </p>
+     *
+     * @return 自動コミットのセッション
+     */
+    private SqlSession openReadSession() {
+        SqlSession session = sqlSessionFactory.openSession(true);
+        SBRoutingDataSource.markReadOnly();
+        try {
+            // コネクションは遅延取得されるため、レプリカへ振り分けられるようここで確保する
+            session.getConnection();
+            return session;
+        } catch (RuntimeException e) {
+            session.close();
+            throw e;
+        } finally {
+            SBRoutingDataSource.clearReadOnly();
+        }
+    }
+
+    /**
+     * キャッシュの有効期限を決定します。
+     *
+     * @return 有効期限。キャッシュしない場合はnull
+     */
+    private Duration resolveCacheTtl() {
+        if (!cacheable) {
+            return null;
+        }
+        if (cacheTtl != null) {
+            return cacheTtl;
+        }
+        SBQueryCache cache = queryExecutor.getQueryCache();
+        return cache != null ? cache.getDefaultTtl() : null;
+    }
+
+    /**
+     * 主キーによる検索かどうかを判定します。
+     *
+     * @return 主キーによる検索の場合true
+     */
+    private boolean isPrimaryKeyQuery() {
+        return sql == null && sqlFile == null && primaryKeys != null;
+    }
+
+    /**
+     * 実行するSQL文を展開します。
+     * <p>
+     * 主キーによる検索は、{@link SBEntityStatements} の文をそのまま使用し、主キーの値を順にバインドします。
+     * </p>
+     *
+     * @return 展開したSQL文
+     * @throws IOException SQLファイルの読み込みに失敗した場合
+     */
+    private ProcessedSql processSql() throws IOException {
+        if (isPrimaryKeyQuery()) {
+            SBEntityStatements statements = SBEntityStatements.of(entityClass);
+            return ProcessedSql.builder().sql(statements.getSelectByPrimaryKeySql())
+                    .bindValues(statements.getPrimaryKeyValues(primaryKeys)).build();
+        }
+        return queryExecutor.process(loadSql(), params);
+    }
+
+    /**
+     * 主キーによる検索以外の、実行するSQL文を取得します。
+     *
+     * @return SQL文
+     * @throws IOException SQLファイルの読み込みに失敗した場合
+     */
+    private String loadSql() throws IOException {
+        if (sql != null) {
+            return sql;
+        }
+        if (sqlFile != null) {
+            return SBSqlFileLoader.load(sqlFile);
+        }
+        return "SELECT * FROM " + getTableName(entityClass);
+    }
+}
@@ -0,0 +1,311 @@
+/*
+ * Copyright (C) 2025 VEMI, All Rights Reserved.
+ */
+package jp.vemi.seasarbatis.core.query;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import jp.vemi.seasarbatis.core.entity.SBDirtyTracker;
+import jp.vemi.seasarbatis.core.entity.SBGeneratedMapper;
+import jp.vemi.seasarbatis.core.entity.SBGeneratedMappers;
+import jp.vemi.seasarbatis.core.entity.SBReflectiveRowMapper;
+import jp.vemi.seasarbatis.core.sql.ProcessedSql;
+import jp.vemi.seasarbatis.core.transaction.SBRoutingDataSource;
+import jp.vemi.seasarbatis.core.util.SBLobUtils;
+import jp.vemi.seasarbatis.core.util.SBTypeConverterUtils;
+import jp.vemi.seasarbatis.exception.SBException;
+import jp.vemi.seasarbatis.exception.SBSQLException;
+
+/**
+ * 検索結果を購読者の要求に応じて1行ずつ発行する {@link Flow.Publisher} です。
+ * <p>
+ * 購読ごとに専用のコネクションでカーソルを開き、{@link Flow.Subscription#request(long)} で
+ * 要求された行数だけ結果セットを読み進めます。JDBCドライバはフェッチサイズ単位で行を取得するため、
+ * 保持する行数とコネクションの保持時間は結果の件数ではなく購読者の処理速度に従います。
+ * 最初の要求があるまでコネクションは取得しません。
+ * </p>
+ * <p>
+ * カーソルの操作と購読者への通知はすべて指定のエグゼキュータ上で直列に行います。
+ * 完了、エラー、または {@link Flow.Subscription#cancel()} の後に、カーソルを閉じてコネクションを返却します。
+ * </p>
+ * <p>
+ * 呼び出し元のトランザクションには参加しません。{@link SBRoutingDataSource} が設定されている場合は
+ * レプリカのコネクションを使用します。
+ * </p>
+ *
+ * @param <T> エンティティの型
+ * @author H.Kurosawa
+ * @version 1.0.0
+ * @since 2025/01/01
+ */
+final class SBSelectPublisher<T> implements Flow.Publisher<T> {
+    private static final Logger logger = LoggerFactory.getLogger(SBSelectPublisher.class);
+
+    /** フェッチサイズが未指定の場合に使用する値 */
+    static final int DEFAULT_FETCH_SIZE = 1000;
+
+    /** エグゼキュータが未指定の場合に使用する、仮想スレッドで実行するエグゼキュータ */
+    static final Executor DEFAULT_EXECUTOR = Executors
+            .newThreadPerTaskExecutor(Thread.ofVirtual().name("sb-publisher-", 0).factory());
+
+    private final SqlSessionFactory sqlSessionFactory;
+    private final Callable<ProcessedSql> sqlBuilder;
+    private final Class<T> entityClass;
+    private final int fetchSize;
+    private final Executor executor;
+    private final SBDirtyTracker dirtyTracker;
+
+    /**
+     * パブリッシャを構築します。
+     *
+     * @param sqlSessionFactory SQLセッションファクトリー
+     * @param sqlBuilder 実行するSQLを組み立てる処理（購読ごとに呼び出されます）
+     * @param entityClass エンティティクラス
+     * @param fetchSize フェッチサイズ（0以下の場合は {@link #DEFAULT_FETCH_SIZE}）
+     * @param executor カーソルの操作と通知に使用するエグゼキュータ
+     * @param dirtyTracker スナップショットの記録先（nullの場合は記録しない）
+     */
+    SBSelectPublisher(SqlSessionFactory sqlSessionFactory, Callable<ProcessedSql> sqlBuilder, Class<T> entityClass,
+            int fetchSize, Executor executor, SBDirtyTracker dirtyTracker) {
+        this.sqlSessionFactory = sqlSessionFactory;
+        this.sqlBuilder = sqlBuilder;
+        this.entityClass = entityClass;
+        this.fetchSize = fetchSize > 0 ? fetchSize : DEFAULT_FETCH_SIZE;
+        this.executor = Objects.requireNonNull(executor);
+        this.dirtyTracker = dirtyTracker;
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super T> subscriber) {
+        Objects.requireNonNull(subscriber);
+        subscriber.onSubscribe(new RowSubscription(subscriber));
+    }
+
+    /**
+     * 1つの購読のカーソルと要求数を管理するクラスです。
+     * <p>
+     * {@link #request(long)} と {@link #cancel()} は任意のスレッドから呼び出されます。
+     * 処理の予約数（{@code wip}）が0から増えた場合のみエグゼキュータへ投入することで、
+     * カーソルの操作を直列化します。
+     * </p>
+     */
+    private final class RowSubscription implements Flow.Subscription, Runnable {
+        private final Flow.Subscriber<? super T> subscriber;
+        private final AtomicLong demand = new AtomicLong();
+        private final AtomicInteger wip = new AtomicInteger();
+        private volatile boolean cancelled;
+        private volatile Throwable failure;
+
+        // 以下はエグゼキュータ上の処理からのみ参照する
+        private boolean done;
+        private SqlSession session;
+        private Connection connection;
+        private PreparedStatement statement;
+        private ResultSet resultSet;
+        private RowReader<T> reader;
+
+        RowSubscription(Flow.Subscriber<? super T> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                failure = new IllegalArgumentException("要求数は1以上を指定してください: " + n);
+            } else {
+                demand.getAndUpdate(current -> current + n < 0 ? Long.MAX_VALUE : current + n);
+            }
+            schedule();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            schedule();
+        }
+
+        private void schedule() {
+            if (wip.getAndIncrement() != 0) {
+                return;
+            }
+            try {
+                executor.execute(this);
+            } catch (RejectedExecutionException e) {
+                // カーソルを閉じて通知するため、呼び出し元のスレッドで処理する
+                failure = new SBException("検索結果の発行を開始できませんでした", e);
+                run();
+            }
+        }
+
+        @Override
+        public void run() {
+            int missed = 1;
+            do {
+                drain();
+                missed = wip.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        private void drain() {
+            if (done) {
+                return;
+            }
+            if (cancelled) {
+                finish();
+                return;
+            }
+            Throwable error = failure;
+            if (error != null) {
+                finish();
+                subscriber.onError(error);
+                return;
+            }
+            try {
+                if (resultSet == null) {
+                    open();
+                }
+                while (demand.get() > 0) {
+                    if (cancelled) {
+                        finish();
+                        return;
+                    }
+                    if (!resultSet.next()) {
+                        finish();
+                        subscriber.onComplete();
+                        return;
+                    }
+                    T row = reader.read(resultSet);
+                    if (dirtyTracker != null) {
+                        dirtyTracker.track(row);
+                    }
+                    if (demand.get() != Long.MAX_VALUE) {
+                        demand.decrementAndGet();
+                    }
+                    emit(row);
+                }
+            } catch (Exception e) {
+                finish();
+                if (!cancelled) {
+                    subscriber.onError(e instanceof SBException ? e : new SBSQLException("検索結果の取得に失敗しました", e));
+                }
+            }
+        }
+
+        private void emit(T row) {
+            try {
+                subscriber.onNext(row);
+            } catch (RuntimeException e) {
+                // 購読者の例外は購読の取り消しとして扱う
+                logger.warn("購読者の処理で例外が発生したため、検索結果の発行を中止します: {}", e.getMessage(), e);
+                cancelled = true;
+            }
+        }
+
+        private void open() throws Exception {
+            ProcessedSql processedSql = sqlBuilder.call();
+            logger.debug("Publishing SELECT SQL: {}", processedSql);
+            SBRoutingDataSource.markReadOnly();
+            try {
+                session = sqlSessionFactory.openSession(false);
+                // PostgreSQL等はオートコミット無効時のみカーソルによる分割フェッチを行う
+                connection = session.getConnection();
+            } finally {
+                SBRoutingDataSource.clearReadOnly();
+            }
+            statement = connection.prepareStatement(processedSql.getSql(), ResultSet.TYPE_FORWARD_ONLY,
+                    ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(fetchSize);
+            List<Object> bindValues = processedSql.getBindValues();
+            for (int i = 0; i < bindValues.size(); i++) {
+                SBLobUtils.bind(statement, i + 1, bindValues.get(i));
+            }
+            resultSet = statement.executeQuery();
+            reader = rowReader(entityClass, resultSet.getMetaData(), session.getConfiguration());
+        }
+
+        /**
+         * 購読を終了し、カーソルを閉じてコネクションを返却します。
+         */
+        private void finish() {
+            done = true;
+            try {
+                if (resultSet != null) {
+                    resultSet.close();
+                }
+                if (statement != null) {
+                    statement.close();
+                }
+                if (connection != null) {
+                    // 読み取りのみのため、トランザクションは破棄してから返却する
+                    connection.rollback();
+                }
+            } catch (SQLException e) {
+                logger.warn("検索結果のカーソルを閉じられませんでした: {}", e.getMessage(), e);
+            } finally {
+                if (session != null) {
+                    session.close();
+                }
+                resultSet = null;
+                statement = null;
+                connection = null;
+                session = null;
+                reader = null;
+            }
+        }
+    }
+
+    /**
+     * 結果セットの現在行をエンティティへ変換する処理です。
+     */
+    @FunctionalInterface
+    private interface RowReader<T> {
+        T read(ResultSet resultSet) throws SQLException;
+    }
+
+    private static <T> RowReader<T> rowReader(Class<T> entityClass, ResultSetMetaData meta,
+            Configuration configuration) throws SQLException {
+        Optional<SBGeneratedMapper<T>> mapper = SBGeneratedMappers.find(entityClass);
+        if (mapper.isPresent()) {
+            int[] indexes = SBGeneratedMappers.resolveColumnIndexes(mapper.get(), meta);
+            return rs -> mapper.get().readRow(rs, indexes);
+        }
+        Optional<SBReflectiveRowMapper<T>> rowMapper = SBReflectiveRowMapper.of(entityClass);
+        if (rowMapper.isPresent()) {
+            return rowMapper.get().prepare(meta)::read;
+        }
+        int columnCount = meta.getColumnCount();
+        String[] labels = new String[columnCount];
+        for (int i = 0; i < columnCount; i++) {
+            labels[i] = meta.getColumnLabel(i + 1);
+        }
+        return rs -> {
+            Map<String, Object> row = new HashMap<>(columnCount * 2);
+            for (int i = 0; i < columnCount; i++) {
+                row.put(labels[i], rs.getObject(i + 1));
+            }
+            return SBTypeConverterUtils.convertRowToEntity(row, entityClass, configuration);
+        };
+    }
+}
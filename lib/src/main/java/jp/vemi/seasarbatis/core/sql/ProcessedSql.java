@@ -1,5 +1,8 @@
 package jp.vemi.seasarbatis.core.sql;
 
+import java.util.Collections;
+import java.util.List;
+
 /**
  * 処理済みSQLとパラメータ情報を保持するクラス
  */
@@ -7,4 +10,16 @@ package jp.vemi.seasarbatis.core.sql;
 @lombok.Builder
 public class ProcessedSql {
     private final String sql;
-}
\ No newline at end of file
+    /** SQLへ埋め込まず {@code ?} でバインドするLOB値（出現順） */
+    @lombok.Builder.Default
+    private final List<Object> bindValues = Collections.emptyList();
+
+    /**
+     * バインドが必要な値を含むかどうかを判定します。
+     *
+     * @return {@code ?} でバインドする値を含む場合true
+     */
+    public boolean hasBindValues() {
+        return !bindValues.isEmpty();
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright (C) 2025 VEMI, All Rights Reserved.
+ */
+package jp.vemi.seasarbatis.core.sql.dialect;
+
+import java.sql.SQLException;
+
+/**
+ * MySQL 8.x 向けの Dialect 実装。
+ * <p>
+ * DO 範囲: 基本型(文字列/数値/日付/タイムスタンプ)
+ * DON'T 範囲: JSON関数、空間データ型、ストアドプロシージャ構文
+ * </p>
+ *
+ * @author H.Kurosawa
+ * @version 0.0.1
+ * @since 2025/10/06
+ */
+public class MySqlDialect implements SBDialect {
+
+    @Override
+    public String formatString(String value) {
+        if (value == null) {
+            return "NULL";
+        }
+        // 既定のSQLモードではバックスラッシュもエスケープ文字となるため、併せてエスケープ
+        String escaped = value.replace("\\", "\\\\").replace("'", "''");
+        return "'" + escaped + "'";
+    }
+
+    @Override
+    public String formatDate(String value) {
+        if (value == null) {
+            return "NULL";
+        }
+        // TIMESTAMP 'yyyy-MM-dd HH:mm:ss' 形式
+        return "TIMESTAMP '" + value + "'";
+    }
+
+    @Override
+    public String formatTimestamp(String value) {
+        if (value == null) {
+            return "NULL";
+        }
+        // TIMESTAMP 'yyyy-MM-dd HH:mm:ss' 形式
+        return "TIMESTAMP '" + value + "'";
+    }
+
+    @Override
+    public String formatArray(String formattedElements) {
+        if (formattedElements == null || formattedElements.isEmpty()) {
+            return "";
+        }
+        // MySQLには配列型がないため、IN句用のカンマ区切り
+        return formattedElements;
+    }
+
+    @Override
+    public String getDatabaseProductName() {
+        return "MySQL";
+    }
+
+    /**
+     * エラーコード 1213（デッドロック）を再実行の対象とします。
+     */
+    @Override
+    public boolean isRetryableFailure(SQLException e) {
+        return e.getErrorCode() == 1213 || SBDialect.isTransientConflict(e);
+    }
+}
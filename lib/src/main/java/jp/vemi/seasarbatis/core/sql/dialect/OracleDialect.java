@@ -3,6 +3,8 @@
  */
 package jp.vemi.seasarbatis.core.sql.dialect;
 
+import java.sql.SQLException;
+
 /**
  * Oracle Database 23ai 向けの Dialect 実装。
  * <p>
@@ -56,4 +58,12 @@ public class OracleDialect implements SBDialect {
     public String getDatabaseProductName() {
         return "Oracle";
     }
+
+    /**
+     * ORA-00060（デッドロック）・ORA-08177（直列化失敗）を再実行の対象とします。
+     */
+    @Override
+    public boolean isRetryableFailure(SQLException e) {
+        return e.getErrorCode() == 60 || e.getErrorCode() == 8177 || SBDialect.isTransientConflict(e);
+    }
 }
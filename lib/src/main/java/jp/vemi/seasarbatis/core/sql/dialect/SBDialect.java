@@ -3,6 +3,8 @@
  */
 package jp.vemi.seasarbatis.core.sql.dialect;
 
+import java.sql.SQLException;
+
 /**
  * データベース方言を表すインタフェース。
  * <p>
@@ -54,4 +56,74 @@ public interface SBDialect {
      * @return データベース製品名(例: "PostgreSQL", "Oracle")
      */
     String getDatabaseProductName();
+
+    /**
+     * 指定カラムの最小値・最大値を取得するSQLを返します。
+     * <p>
+     * 結果セットは {@code min_value}、{@code max_value} の2カラムを返します。
+     * 主キー範囲による分割走査の境界算出に使用します。
+     * </p>
+     *
+     * @param tableName テーブル名
+     * @param columnName カラム名
+     * @return 最小値・最大値を取得するSQL
+     */
+    default String buildMinMaxSql(String tableName, String columnName) {
+        return "SELECT MIN(" + columnName + ") AS min_value, MAX(" + columnName + ") AS max_value FROM "
+                + tableName;
+    }
+
+    /**
+     * 指定カラムをNTILEで等分割した各バケットの下限値を取得するSQLを返します。
+     * <p>
+     * 結果セットは {@code bucket}、{@code lower_bound} の2カラムをバケット順に返します。
+     * </p>
+     *
+     * @param tableName テーブル名
+     * @param columnName カラム名
+     * @param buckets 分割数
+     * @return バケット下限値を取得するSQL
+     */
+    default String buildNtileBoundarySql(String tableName, String columnName, int buckets) {
+        return "SELECT bucket, MIN(" + columnName + ") AS lower_bound FROM (SELECT " + columnName
+                + ", NTILE(" + buckets + ") OVER (ORDER BY " + columnName + ") AS bucket FROM " + tableName
+                + ") sb_ntile GROUP BY bucket ORDER BY bucket";
+    }
+
+    /**
+     * NTILEウィンドウ関数をサポートするかどうかを返します。
+     *
+     * @return サポートする場合true
+     */
+    default boolean supportsNtile() {
+        return true;
+    }
+
+    /**
+     * 再実行で成功する可能性のある競合（デッドロック・直列化失敗）かどうかを判定します。
+     * <p>
+     * 既定では {@link #isTransientConflict(SQLException)} で判定します。
+     * </p>
+     *
+     * @param e SQL例外
+     * @return 再実行の対象とする場合true
+     */
+    default boolean isRetryableFailure(SQLException e) {
+        return isTransientConflict(e);
+    }
+
+    /**
+     * 標準的なデッドロック・直列化失敗かどうかを判定します。
+     * <p>
+     * SQLState {@code 40001}（直列化失敗）・{@code 40P01}（PostgreSQLのデッドロック）を対象とします。
+     * ベンダーのエラーコードは製品ごとに意味が異なるため、ここでは判定せず各Dialectで判定します。
+     * </p>
+     *
+     * @param e SQL例外
+     * @return 対象の場合true
+     */
+    static boolean isTransientConflict(SQLException e) {
+        String sqlState = e.getSQLState();
+        return "40001".equals(sqlState) || "40P01".equals(sqlState);
+    }
 }
@@ -4,9 +4,23 @@
 package jp.vemi.seasarbatis.core.sql.executor;
 
 import java.io.IOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.function.IntConsumer;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 import org.apache.ibatis.session.Configuration;
@@ -15,12 +29,19 @@ import org.apache.ibatis.session.SqlSessionFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import jp.vemi.seasarbatis.core.cache.SBEntityCache;
+import jp.vemi.seasarbatis.core.cache.SBQueryCache;
+import jp.vemi.seasarbatis.core.entity.SBGeneratedMapper;
+import jp.vemi.seasarbatis.core.entity.SBGeneratedMappers;
+import jp.vemi.seasarbatis.core.entity.SBReflectiveRowMapper;
 import jp.vemi.seasarbatis.core.sql.CommandType;
 import jp.vemi.seasarbatis.core.sql.ProcessedSql;
 import jp.vemi.seasarbatis.core.sql.loader.SBSqlFileLoader;
 import jp.vemi.seasarbatis.core.sql.processor.SBSqlProcessor;
+import jp.vemi.seasarbatis.core.transaction.SBRoutingDataSource;
 import jp.vemi.seasarbatis.core.transaction.SBTransactionOperation;
 import jp.vemi.seasarbatis.core.transaction.SBTransactionContext;
+import jp.vemi.seasarbatis.core.util.SBLobUtils;
 import jp.vemi.seasarbatis.core.util.SBTypeConverterUtils;
 import jp.vemi.seasarbatis.exception.SBIllegalStateException;
 import jp.vemi.seasarbatis.exception.SBSQLException;
@@ -37,8 +58,13 @@ import jp.vemi.seasarbatis.exception.SBSQLException;
  */
 public class SBQueryExecutor {
     private static final Logger logger = LoggerFactory.getLogger(SBQueryExecutor.class);
+    /** SQL内でキャッシュを指定する行コメント（例: {@code -- sb:cacheable(ttl=300)}） */
+    private static final Pattern CACHEABLE_HINT = Pattern
+            .compile("(?im)^\\s*--\\s*sb:cacheable(?:\\s*\\(\\s*ttl\\s*=\\s*(\\d+)\\s*\\))?\\s*$");
     private final SBSqlProcessor sqlProcessor;
     private final SBTransactionOperation txOperation;
+    private volatile SBQueryCache queryCache;
+    private volatile SBEntityCache entityCache;
 
     /**
      * SBQueryExecutorを構築します。（SQLセッションファクトリ指定）
@@ -62,6 +88,55 @@ public class SBQueryExecutor {
         this.txOperation = txOperation;
     }
 
+    /**
+     * 検索結果のキャッシュを設定します。
+     * <p>
+     * nullを指定するとキャッシュを使用しません。
+     * </p>
+     *
+     * @param queryCache 検索結果のキャッシュ
+     */
+    public void setQueryCache(SBQueryCache queryCache) {
+        this.queryCache = queryCache;
+    }
+
+    /**
+     * 検索結果のキャッシュを取得します。
+     *
+     * @return 検索結果のキャッシュ。未設定の場合はnull
+     */
+    public SBQueryCache getQueryCache() {
+        return queryCache;
+    }
+
+    /**
+     * エンティティキャッシュを設定します。
+     * <p>
+     * 設定した場合、主キーを特定できない更新系SQLの実行時に、対象テーブルのエンティティの
+     * エントリをすべて破棄します。nullを指定すると破棄しません。
+     * </p>
+     *
+     * @param entityCache エンティティキャッシュ
+     */
+    public void setEntityCache(SBEntityCache entityCache) {
+        this.entityCache = entityCache;
+    }
+
+    /**
+     * SQL文を解析し、パラメータを展開します。
+     * <p>
+     * 実行はせず、展開したSQL文と {@code ?} でバインドする値を返します。
+     * コネクションを独自に管理して実行する場合に使用します。
+     * </p>
+     *
+     * @param sql SQL文
+     * @param parameters バインドパラメータ
+     * @return 展開したSQL
+     */
+    public ProcessedSql process(String sql, Map<String, Object> parameters) {
+        return sqlProcessor.process(sql, parameters);
+    }
+
     /**
      * SQLファイルから実行します。（SqlSession指定）
      * 
@@ -93,9 +168,24 @@ public class SBQueryExecutor {
      * @return 実行結果
      */
     public <T> T executeFile(String sqlFile, Map<String, Object> parameters, CommandType commandType) {
+        return executeFile(sqlFile, parameters, commandType, (Duration) null);
+    }
+
+    /**
+     * SQLファイルから実行します。（キャッシュ指定）
+     *
+     * @param <T> 戻り値の型
+     * @param sqlFile SQLファイルパス
+     * @param parameters バインドパラメータ
+     * @param commandType SQLコマンドタイプ
+     * @param cacheTtl 検索結果をキャッシュする有効期限。キャッシュしない場合はnull
+     * @return 実行結果
+     */
+    public <T> T executeFile(String sqlFile, Map<String, Object> parameters, CommandType commandType,
+            Duration cacheTtl) {
         try {
             String sql = SBSqlFileLoader.load(sqlFile);
-            return execute(sql, parameters, commandType);
+            return execute(sql, parameters, commandType, cacheTtl);
         } catch (IOException e) {
             logger.error("SQLファイル読み込みエラー: {}", e.getMessage(), e);
             throw new SBSQLException("SQLファイルの読み込みに失敗しました: " + sqlFile, e);
@@ -125,8 +215,26 @@ public class SBQueryExecutor {
      * @param commandType SQLコマンドタイプ
      * @return 実行結果
      */
-    @SuppressWarnings("unchecked")
     public <T> T execute(String sql, Map<String, Object> parameters, CommandType commandType) {
+        return execute(sql, parameters, commandType, (Duration) null);
+    }
+
+    /**
+     * SQL文字列を実行します。（キャッシュ指定）
+     * <p>
+     * SELECT文で {@code cacheTtl} を指定した場合、またはSQLに {@code -- sb:cacheable} の
+     * 行コメントが含まれる場合、キャッシュが設定されていれば検索結果をキャッシュします。
+     * </p>
+     *
+     * @param <T> 戻り値の型
+     * @param sql SQL文
+     * @param parameters バインドパラメータ
+     * @param commandType SQLコマンドタイプ
+     * @param cacheTtl 検索結果をキャッシュする有効期限。キャッシュしない場合はnull
+     * @return 実行結果
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String sql, Map<String, Object> parameters, CommandType commandType, Duration cacheTtl) {
         try {
             ProcessedSql processedSql = sqlProcessor.process(sql, parameters);
             logger.debug("Executing {} SQL: {}", commandType, processedSql);
@@ -137,16 +245,21 @@ public class SBQueryExecutor {
                 currentTxOperation = txOperation;
             }
             
-            SqlSession session = currentTxOperation.getCurrentSession();
+            SqlSession session = flushedSession(currentTxOperation);
             String statement = "jp.vemi.seasarbatis.prepared" + commandType;
 
             if (CommandType.SELECT.equals(commandType)) {
-                List<Map<String, Object>> results = session.selectList(statement,
-                        Collections.singletonMap("_sql", processedSql.getSql()));
+                requireNoBindValues(processedSql);
+                List<Map<String, Object>> results = selectWithCache(processedSql.getSql(), List.of(), Map.class,
+                        resolveCacheTtl(sql, cacheTtl), currentTxOperation,
+                        () -> session.selectList(statement, Collections.singletonMap("_sql", processedSql.getSql())));
                 return (T) results;
             } else {
-                return (T) executeStatement(session, statement, Collections.singletonMap("_sql", processedSql.getSql()),
-                        commandType);
+                Object result = processedSql.hasBindValues() ? executeBound(session, processedSql)
+                        : executeStatement(session, statement,
+                                Collections.singletonMap("_sql", processedSql.getSql()), commandType);
+                recordWrite(processedSql.getSql(), currentTxOperation, true);
+                return (T) result;
             }
         } catch (Exception e) {
             logger.error("SQL実行エラー: {}", e.getMessage(), e);
@@ -168,12 +281,12 @@ public class SBQueryExecutor {
             SqlSession session) {
         ProcessedSql processedSql = sqlProcessor.process(sql, parameters);
         logger.debug("Executing SELECT SQL: {}", processedSql);
+        requireNoBindValues(processedSql);
 
-        List<Map<String, Object>> rawResults = session.selectList("jp.vemi.seasarbatis.preparedSELECT",
-                Collections.singletonMap("_sql", processedSql.getSql()));
-        Configuration configuration = session.getConfiguration();
-        return rawResults.stream().map(row -> SBTypeConverterUtils.convertRowToEntity(row, resultType, configuration))
-                .collect(Collectors.toList());
+        if (SBLobUtils.hasStreamingFields(resultType)) {
+            return selectWithLocators(session, processedSql.getSql(), resultType);
+        }
+        return selectEntities(session, processedSql.getSql(), resultType);
     }
 
     /**
@@ -186,6 +299,25 @@ public class SBQueryExecutor {
      * @return マッピングされた結果のリスト
      */
     public <T> List<T> executeSelect(String sql, Map<String, Object> parameters, Class<T> resultType) {
+        return executeSelect(sql, parameters, resultType, (Duration) null);
+    }
+
+    /**
+     * SELECT文を実行し、型安全な結果を返します。（キャッシュ指定）
+     * <p>
+     * {@code cacheTtl} を指定した場合、またはSQLに {@code -- sb:cacheable} の行コメントが
+     * 含まれる場合、キャッシュが設定されていれば変換後の結果をキャッシュします。
+     * </p>
+     *
+     * @param <T> 戻り値の要素型
+     * @param sql SQL文
+     * @param parameters バインドパラメータ
+     * @param resultType マッピング先のクラス
+     * @param cacheTtl 検索結果をキャッシュする有効期限。キャッシュしない場合はnull
+     * @return マッピングされた結果のリスト
+     */
+    public <T> List<T> executeSelect(String sql, Map<String, Object> parameters, Class<T> resultType,
+            Duration cacheTtl) {
         try {
             ProcessedSql processedSql = sqlProcessor.process(sql, parameters);
             logger.debug("Executing SELECT SQL: {}", processedSql);
@@ -194,20 +326,344 @@ public class SBQueryExecutor {
             if (currentTxOperation == null) {
                 currentTxOperation = txOperation;
             }
-            SqlSession session = currentTxOperation.getCurrentSession();
-            List<Map<String, Object>> rawResults = session.selectList("jp.vemi.seasarbatis.preparedSELECT",
-                    Collections.singletonMap("_sql", processedSql.getSql()));
+            SqlSession session = flushedSession(currentTxOperation);
+            requireNoBindValues(processedSql);
+            if (SBLobUtils.hasStreamingFields(resultType)) {
+                // LOBロケータはトランザクション内でのみ有効なため、キャッシュしない
+                return selectWithLocators(session, processedSql.getSql(), resultType);
+            }
+            return selectWithCache(processedSql.getSql(), List.of(), resultType, resolveCacheTtl(sql, cacheTtl),
+                    currentTxOperation, () -> selectEntities(session, processedSql.getSql(), resultType));
+        } catch (Exception e) {
+            logger.error("SQL実行エラー: {}", e.getMessage(), e);
+            throw new SBSQLException("SELECT文の実行中にエラーが発生しました", e);
+        }
+    }
+
+    /**
+     * SELECT文を実行し、結果セットをハンドラで直接処理します。
+     * <p>
+     * 現在のトランザクションのコネクション上で前方参照専用・読み取り専用のカーソルを開き、
+     * 行をエンティティやMapへ展開せずにハンドラへ渡します。
+     * 大量行のエクスポートなど、ヒープ使用量を行数に依存させたくない用途に使用します。
+     * </p>
+     *
+     * @param <R> 処理結果の型
+     * @param sql SQL文
+     * @param parameters バインドパラメータ
+     * @param fetchSize フェッチサイズ（0以下の場合はドライバの既定値）
+     * @param handler 結果セットのハンドラ
+     * @return ハンドラの処理結果
+     */
+    public <R> R executeQuery(String sql, Map<String, Object> parameters, int fetchSize,
+            SBResultSetHandler<R> handler) {
+        ProcessedSql processedSql = sqlProcessor.process(sql, parameters);
+        logger.debug("Executing streaming SELECT SQL: {}", processedSql);
+        requireNoBindValues(processedSql);
+
+        SBTransactionOperation currentTxOperation = SBTransactionContext.getCurrentOperation();
+        if (currentTxOperation == null) {
+            currentTxOperation = txOperation;
+        }
+        Connection connection = flushedSession(currentTxOperation).getConnection();
+        try (Statement statement = connection.createStatement(ResultSet.TYPE_FORWARD_ONLY,
+                ResultSet.CONCUR_READ_ONLY)) {
+            if (fetchSize > 0) {
+                statement.setFetchSize(fetchSize);
+            }
+            try (ResultSet resultSet = statement.executeQuery(processedSql.getSql())) {
+                return handler.handle(resultSet);
+            }
+        } catch (Exception e) {
+            logger.error("SQL実行エラー: {}", e.getMessage(), e);
+            throw new SBSQLException("SELECT文の実行中にエラーが発生しました", e);
+        }
+    }
+
+    /**
+     * {@code ?} プレースホルダを含む更新系SQLを、値をバインドして実行します。
+     * <p>
+     * SQLの解析やパラメータの展開を行わず、現在のトランザクションのコネクション上で
+     * {@link PreparedStatement} を準備して実行します。エンティティのDML文のテンプレートの実行に使用します。
+     * </p>
+     *
+     * @param sql {@code ?} プレースホルダを含むSQL文
+     * @param values バインドする値（プレースホルダの順）
+     * @param commandType SQLコマンドタイプ（INSERT/UPDATE/DELETE）
+     * @return 更新件数
+     */
+    public int executeWithValues(String sql, List<Object> values, CommandType commandType) {
+        if (CommandType.SELECT.equals(commandType)) {
+            throw new SBIllegalStateException("SELECT文にはexecuteSelectWithValuesを使用してください");
+        }
+        logger.debug("Executing {} SQL: {} {}", commandType, sql, values);
+        return executeUpdate(sql, commandType, statement -> bindValues(statement, values));
+    }
+
+    /**
+     * {@code ?} プレースホルダを含む更新系SQLを、生成されたマッパーでエンティティの値をバインドして実行します。
+     * <p>
+     * プレースホルダは {@link SBGeneratedMapper#getColumnNames()} の順に並んでいる必要があります。
+     * 値のマップやリストを経由せず、エンティティのgetterから直接バインドします。
+     * </p>
+     *
+     * @param <T> エンティティの型
+     * @param sql {@code ?} プレースホルダを含むSQL文
+     * @param mapper 生成されたマッパー
+     * @param entity バインドするエンティティ
+     * @param commandType SQLコマンドタイプ（INSERT/UPDATE/DELETE）
+     * @return 更新件数
+     */
+    public <T> int executeWithMapper(String sql, SBGeneratedMapper<T> mapper, T entity, CommandType commandType) {
+        if (CommandType.SELECT.equals(commandType)) {
+            throw new SBIllegalStateException("SELECT文にはexecuteSelectWithValuesを使用してください");
+        }
+        logger.debug("Executing {} SQL: {} {}", commandType, sql, entity);
+        return executeUpdate(sql, commandType, statement -> mapper.bindParams(entity, statement, 1));
+    }
+
+    /**
+     * 現在のトランザクションのコネクション上で更新系SQLを準備し、値をバインドして実行します。
+     */
+    private int executeUpdate(String sql, CommandType commandType, StatementBinder binder) {
+        SBTransactionOperation currentTxOperation = currentOperation();
+        SqlSession session = flushedSession(currentTxOperation);
+        int count;
+        try (PreparedStatement statement = session.getConnection().prepareStatement(sql)) {
+            binder.bind(statement);
+            count = statement.executeUpdate();
+        } catch (SQLException e) {
+            logger.error("SQL実行エラー: {}", e.getMessage(), e);
+            throw new SBSQLException("SQL実行中にエラーが発生しました: " + commandType, e);
+        }
+        // MyBatisを経由しない更新のため、セッションのローカルキャッシュを破棄する
+        session.clearCache();
+        recordWrite(sql, currentTxOperation, false);
+        return count;
+    }
 
-            Configuration configuration = session.getConfiguration();
-            return rawResults.stream()
-                    .map(row -> SBTypeConverterUtils.convertRowToEntity(row, resultType, configuration))
-                    .collect(Collectors.toList());
+    /**
+     * {@code ?} プレースホルダを含むSELECT文を、値をバインドして実行し、エンティティへ変換します。
+     * <p>
+     * キャッシュする場合は、SQL文とバインドする値の組をキーとします。
+     * </p>
+     *
+     * @param <T> 戻り値の要素型
+     * @param sql {@code ?} プレースホルダを含むSELECT文
+     * @param values バインドする値（プレースホルダの順）
+     * @param resultType マッピング先のクラス
+     * @param cacheTtl 検索結果をキャッシュする有効期限。キャッシュしない場合はnull
+     * @return マッピングされた結果のリスト
+     */
+    public <T> List<T> executeSelectWithValues(String sql, List<Object> values, Class<T> resultType,
+            Duration cacheTtl) {
+        logger.debug("Executing SELECT SQL: {} {}", sql, values);
+        SBTransactionOperation currentTxOperation = currentOperation();
+        SqlSession session = flushedSession(currentTxOperation);
+        Supplier<List<T>> query = () -> executeQuery(sql, values,
+                resultSet -> readEntities(resultSet, resultType, session.getConfiguration()));
+        if (SBLobUtils.hasStreamingFields(resultType)) {
+            // LOBロケータはトランザクション内でのみ有効なため、キャッシュしない
+            return query.get();
+        }
+        return selectWithCache(sql, values, resultType, resolveCacheTtl(sql, cacheTtl), currentTxOperation,
+                query);
+    }
+
+    /**
+     * {@code ?} プレースホルダを含むSELECT文を、値をバインドして実行し、結果セットをハンドラで処理します。
+     *
+     * @param <R> 処理結果の型
+     * @param sql {@code ?} プレースホルダを含むSELECT文
+     * @param values バインドする値（プレースホルダの順）
+     * @param handler 結果セットのハンドラ
+     * @return ハンドラの処理結果
+     */
+    public <R> R executeQuery(String sql, List<Object> values, SBResultSetHandler<R> handler) {
+        return executeQuery(sql, values, 0, handler);
+    }
+
+    /**
+     * {@code ?} プレースホルダを含むSELECT文を、値をバインドして前方読み取り専用のカーソルで実行し、
+     * 結果セットをハンドラで処理します。
+     *
+     * @param <R> 処理結果の型
+     * @param sql {@code ?} プレースホルダを含むSELECT文
+     * @param values バインドする値（プレースホルダの順）
+     * @param fetchSize フェッチサイズ（0以下の場合はドライバの既定値）
+     * @param handler 結果セットのハンドラ
+     * @return ハンドラの処理結果
+     */
+    public <R> R executeQuery(String sql, List<Object> values, int fetchSize, SBResultSetHandler<R> handler) {
+        Connection connection = flushedSession(currentOperation()).getConnection();
+        try (PreparedStatement statement = connection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY,
+                ResultSet.CONCUR_READ_ONLY)) {
+            if (fetchSize > 0) {
+                statement.setFetchSize(fetchSize);
+            }
+            bindValues(statement, values);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return handler.handle(resultSet);
+            }
         } catch (Exception e) {
             logger.error("SQL実行エラー: {}", e.getMessage(), e);
             throw new SBSQLException("SELECT文の実行中にエラーが発生しました", e);
         }
     }
 
+    /**
+     * 更新系SQLを、現在のトランザクションの作業単位（{@link SBUnitOfWork}）へ保留します。
+     * <p>
+     * 保留した更新は、同じSQL文ごとにJDBCバッチとしてまとめ、コミット前、セーブポイントの操作前、
+     * またはこのクラスで次に検索・更新を実行する前に送信します。
+     * トランザクションが開始されている必要があります。
+     * </p>
+     *
+     * @param target 更新対象を表すキー（エンティティクラス等）。送信順序の判定に使用します
+     * @param sql {@code ?} プレースホルダを含むSQL文
+     * @param values バインドする値（プレースホルダの順）
+     * @param commandType SQLコマンドタイプ（INSERT/UPDATE/DELETE）
+     * @param check 送信後に更新件数を検査する処理。検査しない場合はnull
+     * @throws jp.vemi.seasarbatis.exception.SBTransactionException トランザクションが開始されていない場合
+     */
+    public void enqueueWithValues(Object target, String sql, List<Object> values, CommandType commandType,
+            IntConsumer check) {
+        if (CommandType.SELECT.equals(commandType)) {
+            throw new SBIllegalStateException("SELECT文は保留できません");
+        }
+        SBTransactionOperation currentTxOperation = currentOperation();
+        SBUnitOfWork unitOfWork = (SBUnitOfWork) currentTxOperation.getResource(this);
+        if (unitOfWork == null) {
+            unitOfWork = new SBUnitOfWork(this, currentTxOperation);
+            currentTxOperation.bindResource(this, unitOfWork);
+            currentTxOperation.registerSynchronization(unitOfWork);
+        }
+        unitOfWork.add(target, sql, commandType, values, check);
+    }
+
+    /**
+     * 同じ更新系SQLを、行ごとの値をバインドしてJDBCバッチとして実行します。
+     * <p>
+     * 保留中の更新は反映しません。{@link SBUnitOfWork} からの送信に使用します。
+     * </p>
+     *
+     * @param operation 実行するトランザクション
+     * @param sql {@code ?} プレースホルダを含むSQL文
+     * @param rows 行ごとのバインド値
+     * @param commandType SQLコマンドタイプ（INSERT/UPDATE/DELETE）
+     * @return 行ごとの更新件数（ドライバが件数を返さない場合は {@link Statement#SUCCESS_NO_INFO}）
+     */
+    int[] executeBatchWithValues(SBTransactionOperation operation, String sql, List<List<Object>> rows,
+            CommandType commandType) {
+        logger.debug("Executing {} SQL batch: {} ({}件)", commandType, sql, rows.size());
+        SqlSession session = operation.getCurrentSession();
+        int[] counts;
+        try (PreparedStatement statement = session.getConnection().prepareStatement(sql)) {
+            for (List<Object> row : rows) {
+                bindValues(statement, row);
+                statement.addBatch();
+            }
+            counts = statement.executeBatch();
+        } catch (SQLException e) {
+            logger.error("SQL実行エラー: {}", e.getMessage(), e);
+            throw new SBSQLException("SQL実行中にエラーが発生しました: " + commandType, e);
+        }
+        // MyBatisを経由しない更新のため、セッションのローカルキャッシュを破棄する
+        session.clearCache();
+        recordWrite(sql, operation, false);
+        return counts;
+    }
+
+    private SBTransactionOperation currentOperation() {
+        SBTransactionOperation currentTxOperation = SBTransactionContext.getCurrentOperation();
+        return currentTxOperation != null ? currentTxOperation : txOperation;
+    }
+
+    /**
+     * 保留中の更新を反映してから、現在のトランザクションのセッションを取得します。
+     * <p>
+     * 作業単位で保留した更新を、後続の検索が参照できるようにします。
+     * </p>
+     */
+    private static SqlSession flushedSession(SBTransactionOperation operation) {
+        operation.flush();
+        return operation.getCurrentSession();
+    }
+
+    private static void bindValues(PreparedStatement statement, List<Object> values) throws SQLException {
+        for (int i = 0; i < values.size(); i++) {
+            SBLobUtils.bind(statement, i + 1, values.get(i));
+        }
+    }
+
+    /**
+     * ステートメントへ値をバインドする処理です。
+     */
+    @FunctionalInterface
+    private interface StatementBinder {
+        void bind(PreparedStatement statement) throws SQLException;
+    }
+
+    /**
+     * INSERT文を実行し、データベースが生成したキーを返します。
+     * <p>
+     * {@code ?} プレースホルダを含むINSERT文を現在のトランザクションのコネクション上で
+     * 準備し、各行の値をバインドします。複数行の場合はJDBCバッチとして1回で送信します。
+     * 生成キーは {@link java.sql.Connection#prepareStatement(String, String[])} で列名を指定して
+     * 取得するため、PostgreSQL等のドライバでは {@code RETURNING} 句として送信されます。
+     * </p>
+     *
+     * @param sql {@code ?} プレースホルダを含むINSERT文
+     * @param rows 行ごとのバインド値
+     * @param keyColumns 生成キーのカラム名
+     * @return 行ごとの生成キー（{@code keyColumns} の順）
+     */
+    public List<Object[]> executeInsertReturningKeys(String sql, List<List<Object>> rows, String[] keyColumns) {
+        logger.debug("Executing INSERT SQL with generated keys: {} ({}件)", sql, rows.size());
+
+        SBTransactionOperation currentTxOperation = SBTransactionContext.getCurrentOperation();
+        if (currentTxOperation == null) {
+            currentTxOperation = txOperation;
+        }
+        Connection connection = flushedSession(currentTxOperation).getConnection();
+        List<Object[]> keys = new ArrayList<>(rows.size());
+        try (PreparedStatement statement = connection.prepareStatement(sql, keyColumns)) {
+            for (List<Object> row : rows) {
+                for (int i = 0; i < row.size(); i++) {
+                    SBLobUtils.bind(statement, i + 1, row.get(i));
+                }
+                if (rows.size() > 1) {
+                    statement.addBatch();
+                }
+            }
+            if (rows.size() > 1) {
+                statement.executeBatch();
+            } else {
+                statement.executeUpdate();
+            }
+            try (ResultSet resultSet = statement.getGeneratedKeys()) {
+                int columnCount = resultSet.getMetaData().getColumnCount();
+                while (resultSet.next()) {
+                    Object[] key = new Object[keyColumns.length];
+                    for (int i = 0; i < key.length && i < columnCount; i++) {
+                        key[i] = resultSet.getObject(i + 1);
+                    }
+                    keys.add(key);
+                }
+            }
+        } catch (Exception e) {
+            logger.error("SQL実行エラー: {}", e.getMessage(), e);
+            throw new SBSQLException("SQL実行中にエラーが発生しました: " + CommandType.INSERT, e);
+        }
+        // MyBatisを経由しない更新のため、セッションのローカルキャッシュを破棄する
+        currentTxOperation.getCurrentSession().clearCache();
+        recordWrite(sql, currentTxOperation, false);
+        if (keys.size() != rows.size()) {
+            throw new SBSQLException("生成キーの件数が登録件数と一致しません: " + keys.size() + "/" + rows.size());
+        }
+        return keys;
+    }
+
     /**
      * 非SELECT文を実行します。
      * 
@@ -220,7 +676,7 @@ public class SBQueryExecutor {
         if (CommandType.SELECT.equals(commandType)) {
             throw new SBIllegalStateException("SELECT文にはexecuteSelectを使用してください");
         }
-        return executeSqlCommand(sql, parameters, commandType, txOperation.getCurrentSession());
+        return executeSqlCommand(sql, parameters, commandType, flushedSession(txOperation));
     }
 
     /**
@@ -244,11 +700,208 @@ public class SBQueryExecutor {
 
         String statement = "jp.vemi.seasarbatis.prepared" + commandType;
         if (CommandType.SELECT.equals(commandType)) {
+            requireNoBindValues(processedSql);
             return (T) session.selectList("jp.vemi.seasarbatis.preparedSELECT",
                     Collections.singletonMap("_sql", processedSql.getSql()));
         } else {
-            return (T) executeStatement(session, statement, Collections.singletonMap("_sql", processedSql.getSql()),
-                    commandType);
+            Object result = processedSql.hasBindValues() ? executeBound(session, processedSql)
+                    : executeStatement(session, statement,
+                            Collections.singletonMap("_sql", processedSql.getSql()), commandType);
+            SBTransactionOperation currentTxOperation = SBTransactionContext.getCurrentOperation();
+            recordWrite(processedSql.getSql(), currentTxOperation != null ? currentTxOperation : txOperation,
+                    true);
+            return (T) result;
+        }
+    }
+
+    /**
+     * LOB値を {@code ?} でバインドして更新系SQLを実行します。
+     * <p>
+     * MyBatisの汎用ステートメントはSQL文字列しか受け取れないため、セッションのコネクション上で
+     * 直接 {@link PreparedStatement} を準備し、LOB値をストリームとしてバインドします。
+     * </p>
+     */
+    private int executeBound(SqlSession session, ProcessedSql processedSql) {
+        try (PreparedStatement statement = session.getConnection().prepareStatement(processedSql.getSql())) {
+            List<Object> bindValues = processedSql.getBindValues();
+            for (int i = 0; i < bindValues.size(); i++) {
+                SBLobUtils.bind(statement, i + 1, bindValues.get(i));
+            }
+            int count = statement.executeUpdate();
+            // MyBatisを経由しない更新のため、セッションのローカルキャッシュを破棄する
+            session.clearCache();
+            return count;
+        } catch (SQLException e) {
+            logger.error("ステートメント実行エラー: {}", e.getMessage(), e);
+            throw new SBSQLException("SQL実行中にエラーが発生しました", e);
+        }
+    }
+
+    /**
+     * SELECT文を実行し、エンティティへ変換します。
+     * <p>
+     * 生成された {@link SBGeneratedMapper} がある場合は、結果セットから列番号で直接変換します。
+     * ない場合は {@link SBReflectiveRowMapper} で結果セットから変換し、対象外のクラスは
+     * MyBatisで取得した行のMapを {@link SBTypeConverterUtils} で変換します。
+     * </p>
+     */
+    private <T> List<T> selectEntities(SqlSession session, String sql, Class<T> resultType) {
+        Optional<SBGeneratedMapper<T>> mapper = SBGeneratedMappers.find(resultType);
+        if (mapper.isPresent()) {
+            return selectWithMapper(session, sql, mapper.get());
+        }
+        Optional<SBReflectiveRowMapper<T>> rowMapper = SBReflectiveRowMapper.of(resultType);
+        if (rowMapper.isPresent()) {
+            return selectWithRowMapper(session, sql, rowMapper.get());
+        }
+        List<Map<String, Object>> rawResults = session.selectList("jp.vemi.seasarbatis.preparedSELECT",
+                Collections.singletonMap("_sql", sql));
+        Configuration configuration = session.getConfiguration();
+        return rawResults.stream().map(row -> SBTypeConverterUtils.convertRowToEntity(row, resultType, configuration))
+                .collect(Collectors.toList());
+    }
+
+    private <T> List<T> selectWithMapper(SqlSession session, String sql, SBGeneratedMapper<T> mapper) {
+        try (Statement statement = session.getConnection().createStatement();
+                ResultSet resultSet = statement.executeQuery(sql)) {
+            return SBGeneratedMappers.readAll(mapper, resultSet);
+        } catch (SQLException e) {
+            logger.error("SQL実行エラー: {}", e.getMessage(), e);
+            throw new SBSQLException("SELECT文の実行中にエラーが発生しました", e);
+        }
+    }
+
+    private <T> List<T> selectWithRowMapper(SqlSession session, String sql, SBReflectiveRowMapper<T> rowMapper) {
+        try (Statement statement = session.getConnection().createStatement();
+                ResultSet resultSet = statement.executeQuery(sql)) {
+            return rowMapper.readAll(resultSet);
+        } catch (SQLException e) {
+            logger.error("SQL実行エラー: {}", e.getMessage(), e);
+            throw new SBSQLException("SELECT文の実行中にエラーが発生しました", e);
+        }
+    }
+
+    /**
+     * LOBロケータを保持したままSELECT文を実行し、エンティティへ変換します。
+     * <p>
+     * MyBatisの型ハンドラはBLOB/CLOBを {@code byte[]}/{@code String} へ読み込むため、
+     * ストリーム型のフィールドを持つエンティティでは {@link ResultSet#getObject(int)} の値を
+     * そのまま渡します。ストリームはトランザクション内でのみ読み出せます。
+     * </p>
+     */
+    private <T> List<T> selectWithLocators(SqlSession session, String sql, Class<T> resultType) {
+        try (Statement statement = session.getConnection().createStatement();
+                ResultSet resultSet = statement.executeQuery(sql)) {
+            return readEntities(resultSet, resultType, session.getConfiguration());
+        } catch (SQLException e) {
+            logger.error("SQL実行エラー: {}", e.getMessage(), e);
+            throw new SBSQLException("SELECT文の実行中にエラーが発生しました", e);
+        }
+    }
+
+    /**
+     * 結果セットの残りの行をすべてエンティティへ変換します。
+     * <p>
+     * 生成された {@link SBGeneratedMapper}、{@link SBReflectiveRowMapper} の順に使用し、
+     * いずれも対象外の型は行のMapを {@link SBTypeConverterUtils} で変換します。
+     * </p>
+     */
+    private static <T> List<T> readEntities(ResultSet resultSet, Class<T> resultType, Configuration configuration)
+            throws SQLException {
+        Optional<SBGeneratedMapper<T>> mapper = SBGeneratedMappers.find(resultType);
+        if (mapper.isPresent()) {
+            return SBGeneratedMappers.readAll(mapper.get(), resultSet);
+        }
+        Optional<SBReflectiveRowMapper<T>> rowMapper = SBReflectiveRowMapper.of(resultType);
+        if (rowMapper.isPresent()) {
+            return rowMapper.get().readAll(resultSet);
+        }
+        List<T> results = new ArrayList<>();
+        ResultSetMetaData meta = resultSet.getMetaData();
+        int columnCount = meta.getColumnCount();
+        while (resultSet.next()) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            for (int i = 1; i <= columnCount; i++) {
+                row.put(meta.getColumnLabel(i), resultSet.getObject(i));
+            }
+            results.add(SBTypeConverterUtils.convertRowToEntity(row, resultType, configuration));
+        }
+        return results;
+    }
+
+    private static void requireNoBindValues(ProcessedSql processedSql) {
+        if (processedSql.hasBindValues()) {
+            throw new SBIllegalStateException("LOB型の値は検索条件に指定できません");
+        }
+    }
+
+    /**
+     * キャッシュの有効期限を決定します。
+     *
+     * @param sql パラメータ展開前のSQL文
+     * @param requested 呼び出し側が指定した有効期限
+     * @return 有効期限。キャッシュしない場合はnull
+     */
+    private Duration resolveCacheTtl(String sql, Duration requested) {
+        SBQueryCache cache = queryCache;
+        if (cache == null) {
+            return null;
+        }
+        if (requested != null) {
+            return requested;
+        }
+        Matcher matcher = CACHEABLE_HINT.matcher(sql);
+        if (!matcher.find()) {
+            return null;
+        }
+        return matcher.group(1) != null ? Duration.ofSeconds(Long.parseLong(matcher.group(1)))
+                : cache.getDefaultTtl();
+    }
+
+    /**
+     * キャッシュを経由して検索します。
+     * <p>
+     * 現在のトランザクションで参照テーブルを更新済みの場合は、未コミットの結果を
+     * 他のスレッドへ公開しないよう、キャッシュを参照も登録もせずに検索します。
+     * </p>
+     */
+    private <T> List<T> selectWithCache(String sql, List<Object> bindValues, Class<?> resultType,
+            Duration cacheTtl, SBTransactionOperation operation, Supplier<List<T>> query) {
+        SBQueryCache cache = queryCache;
+        if (cache == null || cacheTtl == null || cache.hasPendingWrite(operation, sql)) {
+            return query.get();
+        }
+        List<T> cached = cache.get(sql, bindValues, resultType);
+        if (cached != null) {
+            logger.debug("キャッシュから検索結果を返します: {}", sql);
+            return cached;
+        }
+        long sequence = cache.currentSequence();
+        List<T> results = query.get();
+        cache.put(sql, bindValues, resultType, results, cacheTtl, sequence);
+        return results;
+    }
+
+    /**
+     * 更新系SQLの実行をキャッシュとレプリカ振り分けへ通知します。
+     * <p>
+     * トランザクション内の場合は、完了時に対象テーブルを再度無効化するよう、キャッシュがトランザクションへ登録します。
+     * </p>
+     *
+     * @param sql 実行した更新系SQL文
+     * @param operation 更新を実行したトランザクション
+     * @param evictEntities エンティティキャッシュを破棄する場合true。エンティティのDML文のテンプレートは
+     *            主キーを把握している呼び出し元が破棄するためfalse
+     */
+    private void recordWrite(String sql, SBTransactionOperation operation, boolean evictEntities) {
+        SBRoutingDataSource.recordWrite();
+        SBQueryCache cache = queryCache;
+        if (cache != null) {
+            cache.recordWrite(operation, sql);
+        }
+        SBEntityCache entities = entityCache;
+        if (evictEntities && entities != null) {
+            entities.recordWrite(operation, sql);
         }
     }
 
@@ -0,0 +1,31 @@
+/*
+ * Copyright (C) 2025 VEMI, All Rights Reserved.
+ */
+package jp.vemi.seasarbatis.core.sql.executor;
+
+import java.sql.ResultSet;
+
+/**
+ * {@link ResultSet} を直接処理するハンドラのインターフェースです。
+ * <p>
+ * 検索結果を中間リストへ展開せず、カーソルから1行ずつ読み出す処理を定義します。
+ * {@link ResultSet} のクローズは呼び出し側で行うため、実装でクローズする必要はありません。
+ * </p>
+ *
+ * @param <R> 処理結果の型
+ * @author H.Kurosawa
+ * @version 0.0.1
+ * @since 2025/01/01
+ */
+@FunctionalInterface
+public interface SBResultSetHandler<R> {
+
+    /**
+     * 結果セットを処理します。
+     *
+     * @param resultSet 結果セット
+     * @return 処理結果
+     * @throws Exception 処理中に例外が発生した場合
+     */
+    R handle(ResultSet resultSet) throws Exception;
+}
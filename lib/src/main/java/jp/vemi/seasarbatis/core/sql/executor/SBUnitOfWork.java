@@ -0,0 +1,175 @@
+/*
+ * Copyright (C) 2025 VEMI, All Rights Reserved.
+ */
+package jp.vemi.seasarbatis.core.sql.executor;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntConsumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import jp.vemi.seasarbatis.core.sql.CommandType;
+import jp.vemi.seasarbatis.core.transaction.SBTransactionOperation;
+import jp.vemi.seasarbatis.core.transaction.SBTransactionSynchronization;
+
+/**
+ * 1つのトランザクションで保留した更新をまとめて送信する作業単位です。
+ * <p>
+ * 更新は同じSQL文（エンティティクラスと更新するカラムの組み合わせ）ごとにまとめ、
+ * {@link #flush()} でSQL文ごとに1回のJDBCバッチとして送信します。送信の往復回数は、
+ * 更新の件数ではなくSQL文の種類の数に比例します。
+ * </p>
+ * <p>
+ * 送信順序は、INSERT、UPDATE、DELETEの順とし、同じ種類の中では各SQL文が最初に保留された順とします。
+ * 親テーブルを先に登録し、子テーブルを先に削除するという呼び出し側の順序を保つためです。
+ * 同じ更新対象について、送信順序が後になる種類の更新（例えばDELETE）が保留されている状態で
+ * 先になる種類の更新（例えばINSERT）を保留する場合は、先に保留中の更新を送信して順序を保ちます。
+ * </p>
+ * <p>
+ * 作業単位は {@link SBQueryExecutor#enqueueWithValues} によりトランザクションごとに生成され、
+ * 完了時コールバックとして登録されます。
+ * </p>
+ *
+ * @author H.Kurosawa
+ * @version 1.0.0
+ * @since 2025/01/01
+ */
+public final class SBUnitOfWork implements SBTransactionSynchronization {
+    private static final Logger logger = LoggerFactory.getLogger(SBUnitOfWork.class);
+
+    private final SBQueryExecutor queryExecutor;
+    /** 作業単位を保持するトランザクション（コミット時はコンテキスト外から送信されるため保持する） */
+    private final SBTransactionOperation operation;
+    /** 最初に保留された順のバッチ */
+    private final List<Batch> batches = new ArrayList<>();
+    private final Map<String, Batch> batchesBySql = new HashMap<>();
+    private boolean flushing;
+
+    SBUnitOfWork(SBQueryExecutor queryExecutor, SBTransactionOperation operation) {
+        this.queryExecutor = queryExecutor;
+        this.operation = operation;
+    }
+
+    /**
+     * 更新を保留します。
+     *
+     * @param target 更新対象を表すキー
+     * @param sql {@code ?} プレースホルダを含むSQL文
+     * @param commandType SQLコマンドタイプ（INSERT/UPDATE/DELETE）
+     * @param values バインドする値
+     * @param check 送信後に更新件数を検査する処理。検査しない場合はnull
+     */
+    synchronized void add(Object target, String sql, CommandType commandType, List<Object> values,
+            IntConsumer check) {
+        int phase = phaseOf(commandType);
+        for (Batch batch : batches) {
+            if (batch.phase > phase && batch.target.equals(target)) {
+                // 並べ替えると結果が変わりうるため、保留中の更新を先に送信する
+                flush();
+                break;
+            }
+        }
+        Batch batch = batchesBySql.get(sql);
+        if (batch == null) {
+            batch = new Batch(target, sql, commandType, phase);
+            batches.add(batch);
+            batchesBySql.put(sql, batch);
+        }
+        batch.rows.add(values);
+        batch.checks.add(check);
+    }
+
+    /**
+     * 保留中の件数を返します。
+     *
+     * @return 保留中の更新の件数
+     */
+    public synchronized int getPendingCount() {
+        int count = 0;
+        for (Batch batch : batches) {
+            count += batch.rows.size();
+        }
+        return count;
+    }
+
+    /**
+     * 保留中の更新を送信します。
+     * <p>
+     * 送信に失敗した場合、残りの保留中の更新は破棄されます（トランザクションはロールバックされる前提です）。
+     * 更新件数の検査で例外が発生した場合も同様です。
+     * </p>
+     */
+    @Override
+    public synchronized void flush() {
+        if (flushing || batches.isEmpty()) {
+            return;
+        }
+        List<Batch> ordered = new ArrayList<>(batches);
+        batches.clear();
+        batchesBySql.clear();
+        ordered.sort(Comparator.comparingInt(batch -> batch.phase));
+        logger.debug("保留中の更新を送信します: {} 種類のSQL", ordered.size());
+        flushing = true;
+        try {
+            for (Batch batch : ordered) {
+                int[] counts = queryExecutor.executeBatchWithValues(operation, batch.sql, batch.rows,
+                        batch.commandType);
+                for (int i = 0; i < counts.length && i < batch.checks.size(); i++) {
+                    IntConsumer check = batch.checks.get(i);
+                    // SUCCESS_NO_INFO 等、件数が不明な場合は検査しない
+                    if (check != null && counts[i] >= 0) {
+                        check.accept(counts[i]);
+                    }
+                }
+            }
+        } finally {
+            flushing = false;
+        }
+    }
+
+    /**
+     * トランザクションの完了時に、送信されなかった保留中の更新を破棄します。
+     *
+     * @param committed コミットされた場合true
+     */
+    @Override
+    public synchronized void afterCompletion(boolean committed) {
+        batches.clear();
+        batchesBySql.clear();
+    }
+
+    private static int phaseOf(CommandType commandType) {
+        switch (commandType) {
+        case INSERT:
+            return 0;
+        case UPDATE:
+            return 1;
+        default:
+            return 2;
+        }
+    }
+
+    /**
+     * 同じSQL文の保留中の更新です。
+     */
+    private static final class Batch {
+        private final Object target;
+        private final String sql;
+        private final CommandType commandType;
+        private final int phase;
+        private final List<List<Object>> rows = new ArrayList<>();
+        private final List<IntConsumer> checks = new ArrayList<>();
+
+        Batch(Object target, String sql, CommandType commandType, int phase) {
+            this.target = target;
+            this.sql = sql;
+            this.commandType = commandType;
+            this.phase = phase;
+        }
+    }
+}
@@ -25,6 +25,7 @@ import org.apache.ibatis.session.Configuration;
 
 import jp.vemi.seasarbatis.core.sql.dialect.SBDialect;
 import jp.vemi.seasarbatis.core.sql.dialect.PostgresDialect;
+import jp.vemi.seasarbatis.core.util.SBLobUtils;
 
 /**
  * MyBatisの機能を使用してSQLを処理し、パラメータの値を埋め込んだSQL文字列を返します。
@@ -69,13 +70,38 @@ public class SBMyBatisSqlProcessor {
      * @return バインド変数に値が代入されたSQL文字列
      */
     public String process(String sql, Configuration configuration, Map<String, Object> parameters) {
+        return process(sql, configuration, parameters, null);
+    }
+
+    /**
+     * SQLを処理します。（LOB値のバインド指定）
+     * <p>
+     * {@code bindValues} を指定した場合、LOB値（{@code byte[]}・{@link java.io.InputStream}・
+     * {@link java.io.Reader}・{@link java.sql.Blob}・{@link java.sql.Clob}）はSQLへ埋め込まず
+     * {@code ?} に置換し、出現順に {@code bindValues} へ追加します。
+     * </p>
+     *
+     * @param sql SQL文
+     * @param configuration MyBatis設定
+     * @param parameters バインドパラメータ
+     * @param bindValues LOB値の格納先（nullの場合はすべての値を埋め込む）
+     * @return バインド変数に値が代入されたSQL文字列
+     */
+    public String process(String sql, Configuration configuration, Map<String, Object> parameters,
+            List<Object> bindValues) {
         List<ParameterMapping> parameterMappings = getParameterMappings(configuration, sql);
         String sqlWithPlaceholders = sql;
 
         // プレースホルダをパラメータの値に置換
         for (ParameterMapping mapping : parameterMappings) {
             Object value = parameters.get(mapping.getProperty());
-            String replacement = formatParameter(value);
+            String replacement;
+            if (bindValues != null && SBLobUtils.isLobValue(value)) {
+                replacement = "?";
+                bindValues.add(value);
+            } else {
+                replacement = formatParameter(value);
+            }
             // MyBatisのプレースホルダをエスケープして1回分の置換を実施
             String property = "\\#\\{" + mapping.getProperty() + "\\}";
             sqlWithPlaceholders = sqlWithPlaceholders.replaceFirst(property, Matcher.quoteReplacement(replacement));
@@ -153,6 +179,10 @@ public class SBMyBatisSqlProcessor {
         if (value instanceof Boolean) {
             return value.toString();
         }
+        if (value instanceof Enum) {
+            // 列挙型は名前を文字列として埋め込む（読み込み時は名前から復元される）
+            return dialect.formatString(((Enum<?>) value).name());
+        }
         if (value.getClass().isArray()) {
             String formattedValue = Arrays.stream((Object[]) value)
                     .map(this::formatParameter)
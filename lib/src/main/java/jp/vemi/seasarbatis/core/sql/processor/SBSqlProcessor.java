@@ -4,7 +4,9 @@
 package jp.vemi.seasarbatis.core.sql.processor;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
 import org.apache.ibatis.session.Configuration;
@@ -69,13 +71,16 @@ public class SBSqlProcessor {
             effectiveParameters.putAll(parsedSql.getParameterValues());
         }
 
+        List<Object> bindValues = new ArrayList<>();
         String processedSql = mybatisSqlProcessor.process(
                 parsedSql.getSql(),
                 configuration,
-                effectiveParameters);
+                effectiveParameters,
+                bindValues);
 
         return ProcessedSql.builder()
                 .sql(processedSql)
+                .bindValues(bindValues)
                 .build();
     }
 
@@ -0,0 +1,55 @@
+/*
+ * Copyright (C) 2025 VEMI, All Rights Reserved.
+ */
+package jp.vemi.seasarbatis.core.transaction;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * {@link SBRoutingDataSource} がレプリカから取得したコネクションのラッパーです。
+ * <p>
+ * レプリカごとの使用中のコネクション数を、{@link #close()} の時点で1回だけ減らします。
+ * それ以外の操作はそのまま実コネクションへ委譲します。
+ * </p>
+ *
+ * @author H.Kurosawa
+ * @version 1.0.0
+ * @since 2025/01/01
+ */
+final class SBReplicaConnection extends SBDelegatingConnection {
+
+    private final AtomicInteger inFlight;
+    private boolean closed;
+
+    /**
+     * 実コネクションと、使用中のコネクション数を指定して構築します。
+     * <p>
+     * 使用中の数は呼び出し元で計上済みであることを前提とします。
+     * </p>
+     *
+     * @param target 実コネクション
+     * @param inFlight レプリカの使用中のコネクション数
+     */
+    SBReplicaConnection(Connection target, AtomicInteger inFlight) {
+        super(target);
+        this.inFlight = Objects.requireNonNull(inFlight);
+    }
+
+    @Override
+    public void close() throws SQLException {
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+        }
+        try {
+            super.close();
+        } finally {
+            inFlight.decrementAndGet();
+        }
+    }
+}
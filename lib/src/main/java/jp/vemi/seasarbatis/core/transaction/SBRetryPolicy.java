@@ -0,0 +1,141 @@
+/*
+ * Copyright (C) 2025 VEMI, All Rights Reserved.
+ */
+package jp.vemi.seasarbatis.core.transaction;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+import jp.vemi.seasarbatis.core.sql.dialect.SBDialect;
+import jp.vemi.seasarbatis.exception.SBIllegalStateException;
+
+/**
+ * デッドロックや直列化失敗で失敗したトランザクションの再実行方針を表すクラスです。
+ * <p>
+ * 再実行の待機時間は初回待機時間から倍率で指数的に増加し、上限で打ち切られます。
+ * 複数のトランザクションが同時に再実行して再び競合しないよう、待機時間にはジッタを加えます。
+ * 再実行の対象かどうかは {@link SBDialect#isRetryableFailure(SQLException)} で判定します。
+ * </p>
+ *
+ * @author H.Kurosawa
+ * @version 1.0.0
+ * @since 2025/01/01
+ */
+public class SBRetryPolicy {
+
+    private int maxAttempts = 3;
+    private Duration initialBackoff = Duration.ofMillis(50);
+    private Duration maxBackoff = Duration.ofSeconds(2);
+    private double multiplier = 2.0;
+    private double jitter = 0.5;
+    private SBDialect dialect;
+
+    /**
+     * 最大試行回数（初回を含む）を設定します。
+     *
+     * @param maxAttempts 最大試行回数（1以上）
+     * @return このインスタンス（メソッドチェーン用）
+     */
+    public SBRetryPolicy setMaxAttempts(int maxAttempts) {
+        if (maxAttempts < 1) {
+            throw new SBIllegalStateException("最大試行回数は1以上を指定してください: " + maxAttempts);
+        }
+        this.maxAttempts = maxAttempts;
+        return this;
+    }
+
+    /**
+     * 最大試行回数（初回を含む）を取得します。
+     *
+     * @return 最大試行回数
+     */
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    /**
+     * 待機時間を設定します。
+     *
+     * @param initialBackoff 初回の待機時間
+     * @param maxBackoff 待機時間の上限
+     * @param multiplier 再実行ごとの倍率（1以上）
+     * @return このインスタンス（メソッドチェーン用）
+     */
+    public SBRetryPolicy setBackoff(Duration initialBackoff, Duration maxBackoff, double multiplier) {
+        if (initialBackoff.isNegative() || maxBackoff.compareTo(initialBackoff) < 0 || multiplier < 1.0) {
+            throw new SBIllegalStateException(
+                    "待機時間の指定が不正です: " + initialBackoff + ", " + maxBackoff + ", " + multiplier);
+        }
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+        this.multiplier = multiplier;
+        return this;
+    }
+
+    /**
+     * 待機時間に加えるジッタの割合を設定します。
+     * <p>
+     * 例えば0.5の場合、待機時間は算出値の50%〜100%の範囲で無作為に決まります。
+     * </p>
+     *
+     * @param jitter ジッタの割合（0以上1以下）
+     * @return このインスタンス（メソッドチェーン用）
+     */
+    public SBRetryPolicy setJitter(double jitter) {
+        if (jitter < 0.0 || jitter > 1.0) {
+            throw new SBIllegalStateException("ジッタは0以上1以下を指定してください: " + jitter);
+        }
+        this.jitter = jitter;
+        return this;
+    }
+
+    /**
+     * 再実行の対象を判定する方言を設定します。
+     *
+     * @param dialect 方言（nullの場合は標準のSQLState・エラーコードで判定）
+     * @return このインスタンス（メソッドチェーン用）
+     */
+    public SBRetryPolicy setDialect(SBDialect dialect) {
+        this.dialect = dialect;
+        return this;
+    }
+
+    /**
+     * 例外が再実行の対象かどうかを判定します。
+     * <p>
+     * 原因の連鎖と {@link SQLException#getNextException()} をたどり、
+     * 対象のSQL例外が含まれる場合にtrueを返します。
+     * </p>
+     *
+     * @param failure 例外
+     * @return 再実行の対象の場合true
+     */
+    public boolean isRetryable(Throwable failure) {
+        for (Throwable t = failure; t != null; t = t.getCause() == t ? null : t.getCause()) {
+            if (t instanceof SQLException) {
+                for (SQLException e = (SQLException) t; e != null; e = e.getNextException()) {
+                    boolean retryable = dialect != null ? dialect.isRetryableFailure(e)
+                            : SBDialect.isTransientConflict(e);
+                    if (retryable) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 指定回数目の失敗後に待機する時間を算出します。
+     *
+     * @param attempt 失敗した試行の回数（1始まり）
+     * @return 待機時間
+     */
+    public Duration computeBackoff(int attempt) {
+        double base = initialBackoff.toNanos() * Math.pow(multiplier, attempt - 1);
+        double capped = Math.min(base, maxBackoff.toNanos());
+        double factor = 1.0 - jitter * ThreadLocalRandom.current().nextDouble();
+        return Duration.ofNanos((long) (capped * factor));
+    }
+}
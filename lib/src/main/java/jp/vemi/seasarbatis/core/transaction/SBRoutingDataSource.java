@@ -0,0 +1,267 @@
+/*
+ * Copyright (C) 2025 VEMI, All Rights Reserved.
+ */
+package jp.vemi.seasarbatis.core.transaction;
+
+import java.io.PrintWriter;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import jp.vemi.seasarbatis.exception.SBIllegalStateException;
+
+/**
+ * 読み取り専用の検索をレプリカへ振り分けるDataSourceです。
+ * <p>
+ * 通常はプライマリのコネクションを返し、{@link #markReadOnly()} で読み取り専用が宣言された
+ * スレッドからの取得のみレプリカへ振り分けます。{@code SBSelect} はトランザクション外で
+ * 検索する場合にのみ読み取り専用を宣言するため、更新系SQLや
+ * {@link SBTransactionManager#execute} 内の処理は常にプライマリで実行されます。
+ * </p>
+ * <p>
+ * 更新の直後に同じスレッドが検索した場合、レプリカへの反映遅延で更新前の値が見えないよう、
+ * {@link #setReadYourWritesWindow(Duration)} で指定した期間はプライマリから読み出します。
+ * </p>
+ * <p>
+ * {@code SBJdbcManager} へ渡すと、{@link SBThreadLocalDataSource} でラップされた上で使用されます。
+ * </p>
+ *
+ * @author H.Kurosawa
+ * @version 1.0.0
+ * @since 2025/01/01
+ */
+public class SBRoutingDataSource implements DataSource {
+    private static final Logger logger = LoggerFactory.getLogger(SBRoutingDataSource.class);
+
+    /**
+     * レプリカの選択方式を表す列挙型です。
+     */
+    public enum Strategy {
+        /** 順番に選択 */
+        ROUND_ROBIN,
+        /** 使用中のコネクション数が最も少ないレプリカを選択 */
+        LEAST_IN_FLIGHT
+    }
+
+    private static final ThreadLocal<Integer> READ_ONLY_LEVEL = ThreadLocal.withInitial(() -> 0);
+    private static final ThreadLocal<Long> LAST_WRITE = new ThreadLocal<>();
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final AtomicInteger counter = new AtomicInteger();
+    private Strategy strategy = Strategy.ROUND_ROBIN;
+    private long readYourWritesNanos = Duration.ofSeconds(1).toNanos();
+
+    /**
+     * プライマリとレプリカを指定して構築します。
+     *
+     * @param primary プライマリのDataSource
+     * @param replicas レプリカのDataSource
+     */
+    public SBRoutingDataSource(DataSource primary, List<? extends DataSource> replicas) {
+        this.primary = Objects.requireNonNull(primary);
+        List<Replica> list = new ArrayList<>(replicas.size());
+        for (DataSource replica : replicas) {
+            list.add(new Replica(Objects.requireNonNull(replica)));
+        }
+        this.replicas = List.copyOf(list);
+    }
+
+    /**
+     * レプリカの選択方式を設定します。
+     *
+     * @param strategy 選択方式
+     * @return このインスタンス
+     */
+    public SBRoutingDataSource setStrategy(Strategy strategy) {
+        this.strategy = Objects.requireNonNull(strategy);
+        return this;
+    }
+
+    /**
+     * 更新後にプライマリから読み出す期間を設定します。
+     *
+     * @param window 期間（{@link Duration#ZERO} の場合は無効）
+     * @return このインスタンス
+     */
+    public SBRoutingDataSource setReadYourWritesWindow(Duration window) {
+        if (window.isNegative()) {
+            throw new SBIllegalStateException("期間に負の値は指定できません: " + window);
+        }
+        this.readYourWritesNanos = window.toNanos();
+        return this;
+    }
+
+    /**
+     * プライマリのDataSourceを取得します。
+     *
+     * @return プライマリのDataSource
+     */
+    public DataSource getPrimary() {
+        return primary;
+    }
+
+    /**
+     * 現在のスレッドで、以降のコネクション取得を読み取り専用として宣言します（ネスト可）。
+     * <p>
+     * {@link #clearReadOnly()} と対で使用します。
+     * </p>
+     */
+    public static void markReadOnly() {
+        READ_ONLY_LEVEL.set(READ_ONLY_LEVEL.get() + 1);
+    }
+
+    /**
+     * {@link #markReadOnly()} の宣言を解除します。
+     */
+    public static void clearReadOnly() {
+        int level = READ_ONLY_LEVEL.get();
+        if (level <= 1) {
+            READ_ONLY_LEVEL.remove();
+        } else {
+            READ_ONLY_LEVEL.set(level - 1);
+        }
+    }
+
+    /**
+     * 現在のスレッドで更新が行われたことを記録します。
+     * <p>
+     * 以降、read-your-writes期間内の読み取り専用のコネクション取得はプライマリへ振り分けられます。
+     * </p>
+     */
+    public static void recordWrite() {
+        LAST_WRITE.set(System.nanoTime());
+    }
+
+    /**
+     * 指定したレプリカで使用中のコネクション数を取得します。
+     *
+     * @param index レプリカの位置
+     * @return 使用中のコネクション数
+     */
+    public int getInFlight(int index) {
+        return replicas.get(index).inFlight.get();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        Replica replica = selectReplica();
+        if (replica == null) {
+            return primary.getConnection();
+        }
+        try {
+            return replica.acquire(null, null);
+        } catch (SQLException e) {
+            logger.warn("レプリカからのコネクション取得に失敗したため、プライマリを使用します: {}", e.getMessage());
+            return primary.getConnection();
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        Replica replica = selectReplica();
+        if (replica == null) {
+            return primary.getConnection(username, password);
+        }
+        try {
+            return replica.acquire(username, password);
+        } catch (SQLException e) {
+            logger.warn("レプリカからのコネクション取得に失敗したため、プライマリを使用します: {}", e.getMessage());
+            return primary.getConnection(username, password);
+        }
+    }
+
+    private Replica selectReplica() {
+        if (replicas.isEmpty() || READ_ONLY_LEVEL.get() == 0) {
+            return null;
+        }
+        Long lastWrite = LAST_WRITE.get();
+        if (lastWrite != null) {
+            if (System.nanoTime() - lastWrite < readYourWritesNanos) {
+                logger.debug("read-your-writes期間内のため、プライマリから読み出します");
+                return null;
+            }
+            LAST_WRITE.remove();
+        }
+        if (strategy == Strategy.LEAST_IN_FLIGHT) {
+            // 同数の場合に先頭へ偏らないよう、開始位置を順に移動する
+            int start = Math.floorMod(counter.getAndIncrement(), replicas.size());
+            Replica selected = null;
+            for (int i = 0; i < replicas.size(); i++) {
+                Replica candidate = replicas.get((start + i) % replicas.size());
+                if (selected == null || candidate.inFlight.get() < selected.inFlight.get()) {
+                    selected = candidate;
+                }
+            }
+            return selected;
+        }
+        return replicas.get(Math.floorMod(counter.getAndIncrement(), replicas.size()));
+    }
+
+    @Override
+    public PrintWriter getLogWriter() throws SQLException {
+        return primary.getLogWriter();
+    }
+
+    @Override
+    public void setLogWriter(PrintWriter out) throws SQLException {
+        primary.setLogWriter(out);
+    }
+
+    @Override
+    public void setLoginTimeout(int seconds) throws SQLException {
+        primary.setLoginTimeout(seconds);
+    }
+
+    @Override
+    public int getLoginTimeout() throws SQLException {
+        return primary.getLoginTimeout();
+    }
+
+    @Override
+    public java.util.logging.Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        return java.util.logging.Logger.getLogger("SBRoutingDataSource");
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        if (iface.isInstance(this)) {
+            return iface.cast(this);
+        }
+        return primary.unwrap(iface);
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) throws SQLException {
+        return iface.isInstance(this) || primary.isWrapperFor(iface);
+    }
+
+    /**
+     * レプリカと使用中のコネクション数を保持するクラスです。
+     */
+    private static final class Replica {
+        private final DataSource dataSource;
+        private final AtomicInteger inFlight = new AtomicInteger();
+
+        Replica(DataSource dataSource) {
+            this.dataSource = dataSource;
+        }
+
+        Connection acquire(String username, String password) throws SQLException {
+            Connection target = username == null ? dataSource.getConnection()
+                    : dataSource.getConnection(username, password);
+            inFlight.incrementAndGet();
+            return new SBReplicaConnection(target, inFlight);
+        }
+    }
+}
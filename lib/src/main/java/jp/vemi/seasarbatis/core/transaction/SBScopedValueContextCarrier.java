@@ -0,0 +1,241 @@
+/*
+ * Copyright (C) 2025 VEMI, All Rights Reserved.
+ */
+package jp.vemi.seasarbatis.core.transaction;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.Callable;
+
+import jp.vemi.seasarbatis.exception.SBException;
+import jp.vemi.seasarbatis.exception.SBTransactionException;
+
+/**
+ * {@code java.lang.ScopedValue} でトランザクションの状態を保持する {@link SBTransactionContextCarrier} の実装です。
+ * <p>
+ * トランザクションの状態は {@link Slot#callWith(Object, Callable)} のスコープに束縛され、スコープを抜けると
+ * 自動的に破棄されます。スレッドごとのマップに値を残さないため、多数の仮想スレッドで使用しても
+ * 後始末漏れによるリークがありません。スコープの外で設定された値（トランザクション外の検索など）に限り、
+ * スレッドごとに保持します。
+ * </p>
+ * <p>
+ * サブタスクへの引き継ぎを有効にすると、{@code StructuredTaskScope} でフォークしたサブタスクからも
+ * 親のトランザクションを参照できます。サブタスクは親と同じコネクションを使用するため、
+ * サブタスク間で同時にSQLを実行しないでください。サブタスクから親のトランザクションの状態を
+ * 変更することはできません。
+ * </p>
+ * <p>
+ * {@code ScopedValue} はJDK 21ではプレビューAPIのため、{@code --enable-preview} なしでも動作するよう
+ * {@link MethodHandle} 経由で呼び出します。使用できないランタイムでは {@link #isAvailable()} がfalseを返します。
+ * </p>
+ *
+ * @author H.Kurosawa
+ * @version 1.0.0
+ * @since 2025/01/01
+ */
+public class SBScopedValueContextCarrier implements SBTransactionContextCarrier {
+
+    private static final MethodHandle NEW_INSTANCE;
+    private static final MethodHandle WHERE;
+    private static final MethodHandle RUN;
+    private static final MethodHandle OR_ELSE;
+
+    /** 束縛されていないことを表す番兵（JDK 24以降の orElse はnullを受け付けないため） */
+    private static final Scope<Object> UNBOUND = new Scope<>(null, null);
+
+    static {
+        MethodHandle newInstance = null;
+        MethodHandle where = null;
+        MethodHandle run = null;
+        MethodHandle orElse = null;
+        try {
+            Class<?> scopedValue = Class.forName("java.lang.ScopedValue");
+            Class<?> carrier = Class.forName("java.lang.ScopedValue$Carrier");
+            MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+            newInstance = lookup.findStatic(scopedValue, "newInstance", MethodType.methodType(scopedValue))
+                    .asType(MethodType.methodType(Object.class));
+            where = lookup.findStatic(scopedValue, "where", MethodType.methodType(carrier, scopedValue, Object.class))
+                    .asType(MethodType.methodType(Object.class, Object.class, Object.class));
+            run = lookup.findVirtual(carrier, "run", MethodType.methodType(void.class, Runnable.class))
+                    .asType(MethodType.methodType(void.class, Object.class, Runnable.class));
+            orElse = lookup.findVirtual(scopedValue, "orElse", MethodType.methodType(Object.class, Object.class))
+                    .asType(MethodType.methodType(Object.class, Object.class, Object.class));
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            newInstance = null;
+        }
+        NEW_INSTANCE = newInstance;
+        WHERE = where;
+        RUN = run;
+        OR_ELSE = orElse;
+    }
+
+    private final boolean inheritToSubtasks;
+
+    /**
+     * サブタスクへトランザクションを引き継がない実装を構築します。
+     */
+    public SBScopedValueContextCarrier() {
+        this(false);
+    }
+
+    /**
+     * 実装を構築します。
+     *
+     * @param inheritToSubtasks サブタスクから親のトランザクションを参照できるようにする場合true
+     * @throws SBException {@code ScopedValue} を使用できないランタイムの場合
+     */
+    public SBScopedValueContextCarrier(boolean inheritToSubtasks) {
+        if (!isAvailable()) {
+            throw new SBException("このJavaランタイムでは ScopedValue を使用できません");
+        }
+        this.inheritToSubtasks = inheritToSubtasks;
+    }
+
+    /**
+     * 実行中のJavaランタイムで {@code ScopedValue} を使用できるかどうかを返します。
+     *
+     * @return 使用できる場合true
+     */
+    public static boolean isAvailable() {
+        return NEW_INSTANCE != null;
+    }
+
+    /**
+     * サブタスクへトランザクションを引き継ぐかどうかを返します。
+     *
+     * @return 引き継ぐ場合true
+     */
+    public boolean isInheritToSubtasks() {
+        return inheritToSubtasks;
+    }
+
+    @Override
+    public <T> Slot<T> newSlot() {
+        return new ScopedSlot<>();
+    }
+
+    /**
+     * スコープごとの値を保持するクラスです。
+     */
+    private static final class Scope<T> {
+        private final Thread owner;
+        private volatile T value;
+
+        Scope(T value, Thread owner) {
+            this.value = value;
+            this.owner = owner;
+        }
+    }
+
+    private final class ScopedSlot<T> implements Slot<T> {
+        private final Object key = newKey();
+        private final ThreadLocal<T> outOfScope = new ThreadLocal<>();
+
+        @Override
+        public T get() {
+            Scope<T> scope = currentScope();
+            if (scope == null) {
+                return outOfScope.get();
+            }
+            return scope.value;
+        }
+
+        @Override
+        public void set(T value) {
+            Scope<T> scope = currentScope();
+            if (scope == null) {
+                if (value == null) {
+                    outOfScope.remove();
+                } else {
+                    outOfScope.set(value);
+                }
+                return;
+            }
+            if (scope.owner != Thread.currentThread()) {
+                throw new SBTransactionException("transaction.error.inherited.context");
+            }
+            scope.value = value;
+        }
+
+        @Override
+        public void remove() {
+            set(null);
+        }
+
+        @Override
+        public <R> R callWith(T value, Callable<R> action) throws Exception {
+            Object carrier = bind(key, new Scope<>(value, Thread.currentThread()));
+            Object[] result = new Object[1];
+            Exception[] failure = new Exception[1];
+            Runnable body = () -> {
+                try {
+                    result[0] = action.call();
+                } catch (Exception e) {
+                    failure[0] = e;
+                }
+            };
+            try {
+                RUN.invokeExact(carrier, body);
+            } catch (Throwable e) {
+                throw translate(e);
+            }
+            if (failure[0] != null) {
+                throw failure[0];
+            }
+            @SuppressWarnings("unchecked")
+            R r = (R) result[0];
+            return r;
+        }
+
+        /**
+         * このスレッドから参照できるスコープを返します。束縛されていない場合や、
+         * 引き継ぎが無効で他のスレッドが束縛したスコープの場合はnullを返します。
+         */
+        @SuppressWarnings("unchecked")
+        private Scope<T> currentScope() {
+            Scope<T> scope = (Scope<T>) lookup(key);
+            if (scope == UNBOUND) {
+                return null;
+            }
+            if (!inheritToSubtasks && scope.owner != Thread.currentThread()) {
+                return null;
+            }
+            return scope;
+        }
+    }
+
+    private static Object newKey() {
+        try {
+            return (Object) NEW_INSTANCE.invokeExact();
+        } catch (Throwable e) {
+            throw translate(e);
+        }
+    }
+
+    private static Object bind(Object key, Object value) {
+        try {
+            return (Object) WHERE.invokeExact(key, value);
+        } catch (Throwable e) {
+            throw translate(e);
+        }
+    }
+
+    private static Object lookup(Object key) {
+        try {
+            return (Object) OR_ELSE.invokeExact(key, (Object) UNBOUND);
+        } catch (Throwable e) {
+            throw translate(e);
+        }
+    }
+
+    private static RuntimeException translate(Throwable e) {
+        if (e instanceof RuntimeException) {
+            return (RuntimeException) e;
+        }
+        if (e instanceof Error) {
+            throw (Error) e;
+        }
+        return new SBException("ScopedValue の呼び出しに失敗しました", e);
+    }
+}
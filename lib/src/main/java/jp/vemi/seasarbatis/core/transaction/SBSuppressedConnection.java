@@ -0,0 +1,51 @@
+/*
+ * Copyright (C) 2025 VEMI, All Rights Reserved.
+ */
+package jp.vemi.seasarbatis.core.transaction;
+
+import java.sql.Connection;
+
+/**
+ * トランザクションにバインドされたコネクションを子セッションへ渡すためのラッパーです。
+ * <p>
+ * {@link #commit()}、{@link #rollback()}、{@link #close()}、{@link #setAutoCommit(boolean)} は何もしません。
+ * トランザクションの確定・取り消しはトランザクション管理側が実コネクションに対して行います。
+ * セーブポイントまでのロールバックはトランザクションを終了しないため、それ以外の操作と同様に
+ * 実コネクションへ委譲します。
+ * </p>
+ *
+ * @author H.Kurosawa
+ * @version 1.0.0
+ * @since 2025/01/01
+ */
+final class SBSuppressedConnection extends SBDelegatingConnection {
+
+    /**
+     * 実コネクションを指定して構築します。
+     *
+     * @param target 実コネクション
+     */
+    SBSuppressedConnection(Connection target) {
+        super(target);
+    }
+
+    @Override
+    public void setAutoCommit(boolean autoCommit) {
+        // NO-OP
+    }
+
+    @Override
+    public void commit() {
+        // NO-OP
+    }
+
+    @Override
+    public void rollback() {
+        // NO-OP
+    }
+
+    @Override
+    public void close() {
+        // NO-OP
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright (C) 2025 VEMI, All Rights Reserved.
+ */
+package jp.vemi.seasarbatis.core.transaction;
+
+import java.util.concurrent.Callable;
+
+/**
+ * {@link ThreadLocal} でトランザクションの状態を保持する {@link SBTransactionContextCarrier} の実装です。
+ * <p>
+ * 既定の実装です。スコープは値を設定してから処理を実行し、終了時に元の値を戻すことで実現します。
+ * 状態は他のスレッドへ引き継がれません。
+ * </p>
+ *
+ * @author H.Kurosawa
+ * @version 1.0.0
+ * @since 2025/01/01
+ */
+public class SBThreadLocalContextCarrier implements SBTransactionContextCarrier {
+
+    @Override
+    public <T> Slot<T> newSlot() {
+        return new ThreadLocalSlot<>();
+    }
+
+    private static final class ThreadLocalSlot<T> implements Slot<T> {
+        private final ThreadLocal<T> value = new ThreadLocal<>();
+
+        @Override
+        public T get() {
+            return value.get();
+        }
+
+        @Override
+        public void set(T newValue) {
+            if (newValue == null) {
+                value.remove();
+            } else {
+                value.set(newValue);
+            }
+        }
+
+        @Override
+        public void remove() {
+            value.remove();
+        }
+
+        @Override
+        public <R> R callWith(T scoped, Callable<R> action) throws Exception {
+            T previous = value.get();
+            set(scoped);
+            try {
+                return action.call();
+            } finally {
+                set(previous);
+            }
+        }
+    }
+}
@@ -4,13 +4,11 @@
 package jp.vemi.seasarbatis.core.transaction;
 
 import java.io.PrintWriter;
-import java.lang.reflect.InvocationHandler;
-import java.lang.reflect.Method;
-import java.lang.reflect.Proxy;
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.sql.SQLFeatureNotSupportedException;
 import java.util.Objects;
+import java.util.concurrent.Callable;
 // NOTE: getParentLogger の戻り型で FQCN を使用するため、java.util.logging.Logger の import は行いません。
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -24,6 +22,10 @@ import javax.sql.DataSource;
  * 常に同一の物理コネクションを共有するようにし、子セッションからの commit/rollback/close を抑制します。
  * これにより、トランザクション管理側の rollback で一括して取り消せます。
  * </p>
+ * <p>
+ * バインドされたコネクションは {@link SBTransactionContextCarrier} を通じて保持するため、
+ * {@code ScopedValue} による実装を選択した場合はトランザクションのスコープに束縛されます。
+ * </p>
  *
  * @author H.Kurosawa
  * @version 1.0.0
@@ -33,8 +35,11 @@ public class SBThreadLocalDataSource implements DataSource {
     private static final Logger logger = LoggerFactory.getLogger(SBThreadLocalDataSource.class);
 
     private final DataSource delegate;
-    private static final ThreadLocal<Connection> BOUND = new ThreadLocal<>();
-    private static final ThreadLocal<Integer> SUSPEND_LEVEL = ThreadLocal.withInitial(() -> 0);
+    /** バインドされたコネクションを commit/rollback/close 抑制ラッパで包んだもの */
+    private static final SBTransactionContextCarrier.Slot<SBSuppressedConnection> BOUND = SBTransactionContextCarrier
+            .getDefault().newSlot();
+    private static final SBTransactionContextCarrier.Slot<Integer> SUSPEND_LEVEL = SBTransactionContextCarrier
+            .getDefault().newSlot();
 
     /**
      * ラップ対象のDataSourceを指定して構築します。
@@ -51,7 +56,12 @@ public class SBThreadLocalDataSource implements DataSource {
      * @param connection バインドするコネクション
      */
     public static void bind(Connection connection) {
-        BOUND.set(connection);
+        if (connection instanceof SBSuppressedConnection) {
+            BOUND.set((SBSuppressedConnection) connection);
+        } else {
+            // 子セッションへ渡すラッパはバインドごとに1つだけ生成して使い回す
+            BOUND.set(connection == null ? null : new SBSuppressedConnection(connection));
+        }
     }
 
     /**
@@ -61,37 +71,57 @@ public class SBThreadLocalDataSource implements DataSource {
         BOUND.remove();
     }
 
+    /**
+     * コネクションのバインドを束縛したスコープで処理を実行します。
+     * <p>
+     * スコープを抜けると、スコープに入る前のバインド（親トランザクションのコネクション等）に戻ります。
+     * </p>
+     *
+     * @param <T> 戻り値の型
+     * @param action 実行する処理
+     * @return 処理の結果
+     * @throws Exception 処理で例外が発生した場合
+     */
+    static <T> T callInScope(Callable<T> action) throws Exception {
+        return BOUND.callWith(null, () -> SUSPEND_LEVEL.callWith(null, action));
+    }
+
     /**
      * 一時的にスレッドローカルのバインディングを無効化します（ネスト可）。
      * REQUIRES_NEW のコネクション確保時に使用します。
      */
     public static void suspendBinding() {
-        SUSPEND_LEVEL.set(SUSPEND_LEVEL.get() + 1);
+        SUSPEND_LEVEL.set(suspendLevel() + 1);
     }
 
     /**
      * {@link #suspendBinding()} の対応復帰を行います。
      */
     public static void resumeBinding() {
-        int lvl = SUSPEND_LEVEL.get();
+        int lvl = suspendLevel();
         if (lvl <= 0) {
             return;
         }
-        SUSPEND_LEVEL.set(lvl - 1);
+        SUSPEND_LEVEL.set(lvl == 1 ? null : lvl - 1);
+    }
+
+    private static int suspendLevel() {
+        Integer level = SUSPEND_LEVEL.get();
+        return level == null ? 0 : level;
     }
 
     private static boolean isBindingSuspended() {
-        return SUSPEND_LEVEL.get() > 0;
+        return suspendLevel() > 0;
     }
 
     @Override
     public Connection getConnection() throws SQLException {
         if (!isBindingSuspended()) {
-            Connection bound = BOUND.get();
+            SBSuppressedConnection bound = BOUND.get();
             if (bound != null) {
-            logger.debug("Returning BOUND suppressed connection");
-            // 子セッション向けに commit/rollback/close を無効化したプロキシを返す
-            return createSuppressedConnection(bound);
+                logger.debug("Returning BOUND suppressed connection");
+                // 子セッション向けに commit/rollback/close を無効化したラッパを返す
+                return bound;
             }
         }
         logger.debug("Returning DELEGATE connection");
@@ -101,53 +131,16 @@ public class SBThreadLocalDataSource implements DataSource {
     @Override
     public Connection getConnection(String username, String password) throws SQLException {
         if (!isBindingSuspended()) {
-            Connection bound = BOUND.get();
+            SBSuppressedConnection bound = BOUND.get();
             if (bound != null) {
-            logger.debug("Returning BOUND suppressed connection (with creds)");
-            return createSuppressedConnection(bound);
+                logger.debug("Returning BOUND suppressed connection (with creds)");
+                return bound;
             }
         }
         logger.debug("Returning DELEGATE connection (with creds)");
         return delegate.getConnection(username, password);
     }
 
-    private Connection createSuppressedConnection(Connection target) {
-        InvocationHandler handler = new InvocationHandler() {
-            @Override
-            public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
-                String name = method.getName();
-                // commit/rollback/close は抑制（NO-OP）
-                if ("commit".equals(name) || "rollback".equals(name) || "close".equals(name)
-                        || "setAutoCommit".equals(name)) {
-                    return null;
-                }
-                // unwrap/isWrapperFor で実コネクションへ到達されないように防御
-                if ("unwrap".equals(name) && args != null && args.length == 1 && args[0] instanceof Class) {
-                    Class<?> iface = (Class<?>) args[0];
-                    if (iface.isAssignableFrom(Connection.class)) {
-                        // 自分自身（抑制プロキシ）を返すことで、実体へのエスケープを防止
-                        return proxy;
-                    }
-                    // それ以外は素直に委譲
-                    return method.invoke(target, args);
-                }
-                if ("isWrapperFor".equals(name) && args != null && args.length == 1 && args[0] instanceof Class) {
-                    Class<?> iface = (Class<?>) args[0];
-                    if (iface.isAssignableFrom(Connection.class)) {
-                        // ラッパ解除可能と認識させない
-                        return Boolean.FALSE;
-                    }
-                    return method.invoke(target, args);
-                }
-                return method.invoke(target, args);
-            }
-        };
-        return (Connection) Proxy.newProxyInstance(
-                target.getClass().getClassLoader(),
-                new Class<?>[] { Connection.class },
-                handler);
-    }
-
     @Override
     public PrintWriter getLogWriter() throws SQLException {
         return delegate.getLogWriter();
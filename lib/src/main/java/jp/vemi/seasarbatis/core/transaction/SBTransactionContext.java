@@ -8,7 +8,7 @@ import jp.vemi.seasarbatis.core.i18n.SBMessageManager;
 /**
  * トランザクション操作のコンテキストを管理するクラスです。
  * <p>
- * ThreadLocalを使用して、現在のスレッドのトランザクション操作を追跡します。
+ * {@link SBTransactionContextCarrier} を使用して、実行中の処理のトランザクション操作を追跡します。
  * 独立トランザクションが実行される際に、一時的に異なるトランザクション操作を
  * 使用できるようにします。
  * </p>
@@ -19,7 +19,8 @@ import jp.vemi.seasarbatis.core.i18n.SBMessageManager;
  */
 public class SBTransactionContext {
     
-    private static final ThreadLocal<SBTransactionOperation> currentOperation = new ThreadLocal<>();
+    private static final SBTransactionContextCarrier.Slot<SBTransactionOperation> currentOperation = SBTransactionContextCarrier
+            .getDefault().newSlot();
     
     /**
      * 現在のトランザクション操作を設定します。
@@ -55,21 +56,13 @@ public class SBTransactionContext {
      * @return 処理の結果
      */
     public static <T> T withOperation(SBTransactionOperation operation, java.util.concurrent.Callable<T> action) {
-        SBTransactionOperation previousOperation = getCurrentOperation();
         try {
-            setCurrentOperation(operation);
-            return action.call();
+            return currentOperation.callWith(operation, action);
         } catch (Exception e) {
             if (e instanceof RuntimeException) {
                 throw (RuntimeException) e;
             }
             throw new RuntimeException(SBMessageManager.getInstance().getMessage("transaction.error.processing"), e);
-        } finally {
-            if (previousOperation != null) {
-                setCurrentOperation(previousOperation);
-            } else {
-                clearCurrentOperation();
-            }
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,99 @@
+/*
+ * Copyright (C) 2025 VEMI, All Rights Reserved.
+ */
+package jp.vemi.seasarbatis.core.transaction;
+
+import java.util.concurrent.Callable;
+
+/**
+ * トランザクションの状態（現在のトランザクション操作、セッション、バインドされたコネクション等）を
+ * 実行中の処理へ受け渡す方法を定義するSPIです。
+ * <p>
+ * 状態は {@link Slot} ごとに保持します。{@link Slot#callWith(Object, Callable)} は値を処理のスコープに
+ * 束縛し、処理の終了時に元の値へ戻します。{@link SBTransactionManager} はトランザクションを開始する際に
+ * このスコープを使用するため、トランザクションの状態は {@code execute} の範囲に限定されます。
+ * </p>
+ * <p>
+ * 使用する実装は次の順で決定し、JVMごとに1つです。
+ * </p>
+ * <ol>
+ * <li>システムプロパティ {@value #PROPERTY}（{@code thread-local}、{@code scoped-value} または実装クラス名）</li>
+ * <li>{@link java.util.ServiceLoader} で検出した実装</li>
+ * <li>{@link SBThreadLocalContextCarrier}</li>
+ * </ol>
+ * <p>
+ * {@code scoped-value} の場合、システムプロパティ {@value #INHERIT_PROPERTY}{@code =true} で
+ * 構造化並行処理のサブタスクからも親のトランザクションを参照できるようにします。
+ * </p>
+ *
+ * @author H.Kurosawa
+ * @version 1.0.0
+ * @since 2025/01/01
+ */
+public interface SBTransactionContextCarrier {
+
+    /**
+     * 使用する実装を指定するシステムプロパティ名です。
+     */
+    String PROPERTY = "seasarbatis.transaction.carrier";
+
+    /**
+     * サブタスクへトランザクションを引き継ぐかどうかを指定するシステムプロパティ名です。
+     */
+    String INHERIT_PROPERTY = "seasarbatis.transaction.carrier.inherit";
+
+    /**
+     * 値を保持するスロットを作成します。
+     *
+     * @param <T> 値の型
+     * @return スロット
+     */
+    <T> Slot<T> newSlot();
+
+    /**
+     * このJVMで使用する実装を取得します。
+     *
+     * @return 実装
+     */
+    static SBTransactionContextCarrier getDefault() {
+        return SBTransactionContextCarriers.DEFAULT;
+    }
+
+    /**
+     * トランザクションの状態を1つ保持するスロットです。
+     *
+     * @param <T> 値の型
+     */
+    interface Slot<T> {
+
+        /**
+         * 現在の値を取得します。
+         *
+         * @return 現在の値、設定されていない場合はnull
+         */
+        T get();
+
+        /**
+         * 現在のスコープの値を置き換えます。スコープの外では実行中のスレッドの値を置き換えます。
+         *
+         * @param value 値
+         */
+        void set(T value);
+
+        /**
+         * 現在のスコープの値を削除します。
+         */
+        void remove();
+
+        /**
+         * 値を束縛したスコープで処理を実行します。処理の終了後は元の値に戻ります。
+         *
+         * @param <R> 戻り値の型
+         * @param value スコープ内の初期値（null可）
+         * @param action 実行する処理
+         * @return 処理の結果
+         * @throws Exception 処理で例外が発生した場合
+         */
+        <R> R callWith(T value, Callable<R> action) throws Exception;
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright (C) 2025 VEMI, All Rights Reserved.
+ */
+package jp.vemi.seasarbatis.core.transaction;
+
+import java.util.Iterator;
+import java.util.ServiceLoader;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import jp.vemi.seasarbatis.exception.SBException;
+
+/**
+ * このJVMで使用する {@link SBTransactionContextCarrier} を決定するクラスです。
+ *
+ * @author H.Kurosawa
+ * @version 1.0.0
+ * @since 2025/01/01
+ */
+final class SBTransactionContextCarriers {
+    private static final Logger logger = LoggerFactory.getLogger(SBTransactionContextCarriers.class);
+
+    static final SBTransactionContextCarrier DEFAULT = load();
+
+    private SBTransactionContextCarriers() {
+    }
+
+    private static SBTransactionContextCarrier load() {
+        String name = System.getProperty(SBTransactionContextCarrier.PROPERTY);
+        SBTransactionContextCarrier carrier;
+        if (name == null || name.isBlank()) {
+            carrier = loadService();
+        } else if ("thread-local".equals(name)) {
+            carrier = new SBThreadLocalContextCarrier();
+        } else if ("scoped-value".equals(name)) {
+            carrier = new SBScopedValueContextCarrier(
+                    Boolean.parseBoolean(System.getProperty(SBTransactionContextCarrier.INHERIT_PROPERTY)));
+        } else {
+            carrier = instantiate(name);
+        }
+        logger.debug("トランザクションコンテキストの実装: {}", carrier.getClass().getName());
+        return carrier;
+    }
+
+    private static SBTransactionContextCarrier loadService() {
+        Iterator<SBTransactionContextCarrier> services = ServiceLoader
+                .load(SBTransactionContextCarrier.class, SBTransactionContextCarriers.class.getClassLoader())
+                .iterator();
+        return services.hasNext() ? services.next() : new SBThreadLocalContextCarrier();
+    }
+
+    private static SBTransactionContextCarrier instantiate(String className) {
+        try {
+            Class<?> type = Class.forName(className, true, SBTransactionContextCarriers.class.getClassLoader());
+            return (SBTransactionContextCarrier) type.getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | ClassCastException e) {
+            throw new SBException("トランザクションコンテキストの実装を生成できません: " + className, e);
+        }
+    }
+}
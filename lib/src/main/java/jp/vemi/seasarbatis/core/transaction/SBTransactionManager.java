@@ -1,11 +1,16 @@
 package jp.vemi.seasarbatis.core.transaction;
 
+import java.time.Duration;
 import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
 
 import org.apache.ibatis.session.SqlSession;
 import org.apache.ibatis.session.SqlSessionFactory;
 import org.apache.ibatis.session.Configuration;
 import org.apache.ibatis.mapping.Environment;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import jp.vemi.seasarbatis.exception.SBTransactionException;
 
@@ -22,8 +27,15 @@ import jp.vemi.seasarbatis.exception.SBTransactionException;
  * @since 2025/01/01
  */
 public class SBTransactionManager {
+    private static final Logger logger = LoggerFactory.getLogger(SBTransactionManager.class);
+
     private final SqlSessionFactory sqlSessionFactory;
     private final SBTransactionOperation txOperation;
+    private volatile SBRetryPolicy retryPolicy;
+    private volatile Integer readOnlyIsolationLevel;
+    private final AtomicLong retryCount = new AtomicLong();
+    private final AtomicLong recoveredCount = new AtomicLong();
+    private final AtomicLong exhaustedCount = new AtomicLong();
 
     // トランザクション伝播タイプの定義
     public enum PropagationType {
@@ -51,6 +63,11 @@ public class SBTransactionManager {
 
     /**
      * 指定された伝播タイプでトランザクションを実行します。
+     * <p>
+     * 再実行方針が設定されている場合、新たに開始したトランザクションがデッドロックや
+     * 直列化失敗で失敗すると、操作全体を新しいトランザクションで再実行します。
+     * 既存のトランザクションに参加する場合は再実行しません。
+     * </p>
      *
      * @param <T> 戻り値の型
      * @param propagationType トランザクション伝播タイプ
@@ -58,36 +75,66 @@ public class SBTransactionManager {
      * @return 操作の実行結果
      */
     public <T> T execute(PropagationType propagationType, Callable<T> operation) {
+        return execute(propagationType, false, operation);
+    }
+
+    /**
+     * 指定された伝播タイプと読み取り専用属性でトランザクションを実行します。
+     * <p>
+     * 読み取り専用の場合、新たに開始するトランザクションは
+     * {@link SBTransactionOperation#beginReadOnly(SqlSession, Integer)} で開始します。
+     * 既存のトランザクションに参加する場合、そのトランザクションの属性は変更しません。
+     * </p>
+     *
+     * @param <T> 戻り値の型
+     * @param propagationType トランザクション伝播タイプ
+     * @param readOnly 読み取り専用で開始する場合true
+     * @param operation 実行する操作
+     * @return 操作の実行結果
+     */
+    public <T> T execute(PropagationType propagationType, boolean readOnly, Callable<T> operation) {
         switch (propagationType) {
             case REQUIRED:
-                return executeRequired(operation);
+                if (isActive()) {
+                    return executeWithTransaction(false, readOnly, operation);
+                }
+                return executeWithRetry(() -> executeWithTransaction(false, readOnly, operation));
             case REQUIRES_NEW:
-                return executeRequiresNew(operation);
+                return executeWithRetry(() -> executeWithTransaction(true, readOnly, operation));
             case NESTED:
+                if (!isActive()) {
+                    return executeWithRetry(() -> executeWithTransaction(false, readOnly, operation));
+                }
                 return executeNested(operation);
             default:
                 throw new SBTransactionException("transaction.error.unsupported.propagation", propagationType);
         }
     }
 
+    /**
+     * 読み取り専用のトランザクションで実行します。
+     * <p>
+     * トランザクションが存在する場合はそれに参加し、存在しない場合は読み取り専用のトランザクションを開始します。
+     * </p>
+     *
+     * @param <T> 戻り値の型
+     * @param operation 実行する操作
+     * @return 操作の実行結果
+     */
+    public <T> T executeReadOnly(Callable<T> operation) {
+        return execute(PropagationType.REQUIRED, true, operation);
+    }
+
     public <T> T executeWithTransaction(boolean isIndependentTransaction, Callable<T> operation) {
+        return executeWithTransaction(isIndependentTransaction, false, operation);
+    }
+
+    private <T> T executeWithTransaction(boolean isIndependentTransaction, boolean readOnly, Callable<T> operation) {
         if (isIndependentTransaction) {
             // 独立トランザクションの場合は新しいTransactionOperationインスタンスを作成
             SBTransactionOperation independentTxOperation = new SBTransactionOperation(sqlSessionFactory);
-            SqlSession session = sqlSessionFactory.openSession(false);
-            // 親の BOUND を参照せず新規接続を確保・バインド
-            independentTxOperation.beginIndependent(session);
-            try {
-                // 独立トランザクションのコンテキストを設定して実行
-                T result = SBTransactionContext.withOperation(independentTxOperation, operation);
-                independentTxOperation.commit();
-                return result;
-            } catch (Exception e) {
-                independentTxOperation.rollback();
-                throw new SBTransactionException("transaction.error.execution", e);
-            } finally {
-                independentTxOperation.end();
-            }
+            return inTransactionScope(independentTxOperation,
+                    () -> executeIndependent(independentTxOperation, readOnly, operation));
         }
 
         // 現在のトランザクション操作（独立TX等）を優先し、未設定ならデフォルト操作を使用
@@ -95,12 +142,69 @@ public class SBTransactionManager {
         if (op == null) {
             op = txOperation;
         }
+        if (op.isActive()) {
+            return executeInTransaction(op, false, operation);
+        }
+        SBTransactionOperation newTxOperation = op;
+        return inTransactionScope(newTxOperation, () -> {
+            if (readOnly) {
+                newTxOperation.beginReadOnly(sqlSessionFactory.openSession(false), readOnlyIsolationLevel);
+            } else {
+                newTxOperation.begin(sqlSessionFactory.openSession(false));
+            }
+            return executeInTransaction(newTxOperation, true, operation);
+        });
+    }
 
-        boolean isNewTransaction = !op.isActive();
-        if (isNewTransaction) {
-            op.begin(sqlSessionFactory.openSession(false));
+    /**
+     * トランザクションの状態とコネクションのバインドを束縛したスコープで処理を実行します。
+     * <p>
+     * 新たに開始するトランザクションの状態は {@code execute} の範囲に限定され、
+     * 終了後は呼び出し元（親トランザクション）の状態に戻ります。
+     * </p>
+     */
+    private static <T> T inTransactionScope(SBTransactionOperation op, Callable<T> action) {
+        try {
+            return op.callInScope(() -> SBThreadLocalDataSource.callInScope(action));
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new SBTransactionException("transaction.error.execution", e);
         }
+    }
 
+    private <T> T executeIndependent(SBTransactionOperation independentTxOperation, boolean readOnly,
+            Callable<T> operation) {
+        SqlSession session = sqlSessionFactory.openSession(false);
+        // 親の BOUND を参照せず新規接続を確保・バインド
+        if (readOnly) {
+            SBThreadLocalDataSource.suspendBinding();
+            try {
+                independentTxOperation.beginReadOnly(session, readOnlyIsolationLevel);
+            } finally {
+                SBThreadLocalDataSource.resumeBinding();
+            }
+        } else {
+            independentTxOperation.beginIndependent(session);
+        }
+        try {
+            // 独立トランザクションのコンテキストを設定して実行
+            T result = SBTransactionContext.withOperation(independentTxOperation, operation);
+            independentTxOperation.commit();
+            return result;
+        } catch (Exception e) {
+            independentTxOperation.rollback();
+            throw new SBTransactionException("transaction.error.execution", e);
+        } finally {
+            independentTxOperation.end();
+        }
+    }
+
+    /**
+     * 操作を実行します。新たに開始したトランザクション（{@code isNewTransaction}）の場合は、
+     * 開始済みのトランザクションを完了して終了します。
+     */
+    private <T> T executeInTransaction(SBTransactionOperation op, boolean isNewTransaction, Callable<T> operation) {
         try {
             // コンテキストを安全に設定して実行
             T result = SBTransactionContext.withOperation(op, operation);
@@ -121,51 +225,158 @@ public class SBTransactionManager {
     }
 
     /**
-     * トランザクションが存在する場合はそれを使用し、
-     * 存在しない場合は新規トランザクションを作成します。
+     * 再実行方針に従ってトランザクションを実行します。
      *
      * @param <T> 戻り値の型
-     * @param operation 実行する操作
+     * @param transaction トランザクションを開始して操作を実行する処理
      * @return 操作の実行結果
      */
-    private <T> T executeRequired(Callable<T> operation) {
-        return executeWithTransaction(false, operation);
+    private <T> T executeWithRetry(Supplier<T> transaction) {
+        SBRetryPolicy policy = retryPolicy;
+        if (policy == null) {
+            return transaction.get();
+        }
+        for (int attempt = 1;; attempt++) {
+            try {
+                T result = transaction.get();
+                if (attempt > 1) {
+                    recoveredCount.incrementAndGet();
+                }
+                return result;
+            } catch (SBTransactionException e) {
+                if (!policy.isRetryable(e)) {
+                    throw e;
+                }
+                if (attempt >= policy.getMaxAttempts()) {
+                    exhaustedCount.incrementAndGet();
+                    logger.warn("トランザクションの再実行回数が上限に達しました: {}回", attempt);
+                    throw e;
+                }
+                Duration backoff = policy.computeBackoff(attempt);
+                retryCount.incrementAndGet();
+                logger.info("トランザクションが競合により失敗したため再実行します: {}回目, 待機={}ms", attempt,
+                        backoff.toMillis());
+                try {
+                    Thread.sleep(backoff.toMillis(), (int) (backoff.toNanos() % 1_000_000));
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    throw e;
+                }
+            }
+        }
+    }
+
+    /**
+     * トランザクションの再実行方針を設定します。
+     *
+     * @param retryPolicy 再実行方針（nullの場合は再実行しない）
+     */
+    public void setRetryPolicy(SBRetryPolicy retryPolicy) {
+        this.retryPolicy = retryPolicy;
+    }
+
+    /**
+     * 読み取り専用のトランザクションで使用する分離レベルを設定します。
+     * <p>
+     * 読み取りのみであれば一貫性の要件を下げられる場合に、
+     * {@link java.sql.Connection#TRANSACTION_READ_COMMITTED} 等の低い分離レベルを指定します。
+     * 分離レベルはトランザクションの終了時に元に戻します。
+     * </p>
+     *
+     * @param isolationLevel 分離レベル（nullの場合はコネクションの既定値のまま）
+     */
+    public void setReadOnlyIsolationLevel(Integer isolationLevel) {
+        this.readOnlyIsolationLevel = isolationLevel;
+    }
+
+    /**
+     * 読み取り専用のトランザクションで使用する分離レベルを取得します。
+     *
+     * @return 分離レベル、設定されていない場合はnull
+     */
+    public Integer getReadOnlyIsolationLevel() {
+        return readOnlyIsolationLevel;
+    }
+
+    /**
+     * トランザクションの再実行方針を取得します。
+     *
+     * @return 再実行方針、設定されていない場合はnull
+     */
+    public SBRetryPolicy getRetryPolicy() {
+        return retryPolicy;
+    }
+
+    /**
+     * トランザクションの再実行に関する統計情報を取得します。
+     *
+     * @return 統計情報
+     */
+    public RetryMetrics getRetryMetrics() {
+        return new RetryMetrics(retryCount.get(), recoveredCount.get(), exhaustedCount.get());
     }
 
     /**
-     * 常に新規トランザクションを作成して実行します。
+     * トランザクションが存在する場合はそれを使用し、
+     * 存在しない場合は新規トランザクションを作成します。
      *
      * @param <T> 戻り値の型
      * @param operation 実行する操作
      * @return 操作の実行結果
      */
-    private <T> T executeRequiresNew(Callable<T> operation) {
-        return executeWithTransaction(true, operation);
+    private <T> T executeRequired(Callable<T> operation) {
+        return executeWithTransaction(false, operation);
     }
 
     /**
      * ネストされたトランザクションを作成して実行します。
      * 現在のトランザクションがある場合はそのスコープ内で
      * セーブポイントを作成します。
+     * <p>
+     * 操作が失敗した場合はセーブポイントまでロールバックし、外側のトランザクションは継続できます。
+     * セーブポイントは成功、失敗のいずれの場合も解放するため、行ごとに呼び出しても蓄積しません。
+     * </p>
      *
      * @param <T> 戻り値の型
      * @param operation 実行する操作
      * @return 操作の実行結果
      */
     private <T> T executeNested(Callable<T> operation) {
-        if (!txOperation.isActive()) {
+        // 独立トランザクション等の内側では、そのトランザクションにセーブポイントを作成する
+        SBTransactionOperation current = SBTransactionContext.getCurrentOperation();
+        SBTransactionOperation op = (current != null) ? current : txOperation;
+        if (!op.isActive()) {
             return executeRequired(operation);
         }
 
-        String savepoint = txOperation.createSavepoint();
+        String savepoint = op.createSavepoint();
+        T result;
         try {
-            T result = operation.call();
-            txOperation.releaseSavepoint(savepoint);
-            return result;
+            result = SBTransactionContext.withOperation(op, operation);
+            // 保留中の更新の失敗もセーブポイントまでのロールバックの対象とする
+            op.flush();
         } catch (Exception e) {
-            txOperation.rollbackToSavepoint(savepoint);
+            op.rollbackToSavepoint(savepoint);
+            releaseQuietly(op, savepoint);
             throw new SBTransactionException("transaction.error.nested.execution", e);
         }
+        op.releaseSavepoint(savepoint);
+        return result;
+    }
+
+    /**
+     * ロールバック後のセーブポイントを解放します。
+     * <p>
+     * 解放に対応しないドライバもあるため、失敗しても元の例外を優先します。
+     * 解放できなかったセーブポイントはトランザクションの完了時に破棄されます。
+     * </p>
+     */
+    private static void releaseQuietly(SBTransactionOperation op, String savepoint) {
+        try {
+            op.releaseSavepoint(savepoint);
+        } catch (RuntimeException e) {
+            logger.debug("ロールバック後のセーブポイントを解放できませんでした: {}", e.getMessage());
+        }
     }
 
     /**
@@ -206,4 +417,46 @@ public class SBTransactionManager {
         SBTransactionOperation current = SBTransactionContext.getCurrentOperation();
         return current != null ? current : txOperation;
     }
-}
\ No newline at end of file
+
+    /**
+     * トランザクションの再実行に関する統計情報を表すクラスです。
+     */
+    public static class RetryMetrics {
+        private final long retryCount;
+        private final long recoveredCount;
+        private final long exhaustedCount;
+
+        RetryMetrics(long retryCount, long recoveredCount, long exhaustedCount) {
+            this.retryCount = retryCount;
+            this.recoveredCount = recoveredCount;
+            this.exhaustedCount = exhaustedCount;
+        }
+
+        /**
+         * 再実行した回数を取得します。
+         *
+         * @return 再実行した回数
+         */
+        public long getRetryCount() {
+            return retryCount;
+        }
+
+        /**
+         * 再実行により成功したトランザクション数を取得します。
+         *
+         * @return 再実行により成功したトランザクション数
+         */
+        public long getRecoveredCount() {
+            return recoveredCount;
+        }
+
+        /**
+         * 再実行回数の上限に達して失敗したトランザクション数を取得します。
+         *
+         * @return 上限に達して失敗したトランザクション数
+         */
+        public long getExhaustedCount() {
+            return exhaustedCount;
+        }
+    }
+}
@@ -6,9 +6,12 @@ package jp.vemi.seasarbatis.core.transaction;
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.sql.Savepoint;
-import java.util.UUID;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import org.apache.ibatis.session.SqlSession;
 import org.apache.ibatis.session.SqlSessionFactory;
@@ -23,6 +26,12 @@ import jp.vemi.seasarbatis.exception.SBTransactionException;
  * MyBatisのSqlSessionを使用した低レベルなトランザクション操作を提供します。
  * セーブポイントの作成や解放、ロールバックなどの機能も提供します。
  * </p>
+ * <p>
+ * トランザクションの状態（セッション、完了時コールバック、セーブポイント等）は
+ * {@link SBTransactionContextCarrier} を通じて実行中の処理ごとに保持するため、
+ * 1つのインスタンスを複数のスレッドから同時に使用できます。あるスレッドで開始したトランザクションは、
+ * 他のスレッドからは参照されません（サブタスクへの引き継ぎを有効にした場合を除く）。
+ * </p>
  * 
  * @author H.Kurosawa
  * @version 1.0.0
@@ -31,11 +40,13 @@ import jp.vemi.seasarbatis.exception.SBTransactionException;
 public class SBTransactionOperation {
     private static final Logger logger = LoggerFactory.getLogger(SBTransactionOperation.class);
 
-    private final SqlSessionFactory sqlSessionFactory;
-    private final ThreadLocal<SqlSession> currentSession = new ThreadLocal<>();
-    private final ConcurrentMap<String, Savepoint> savepoints = new ConcurrentHashMap<>();
+    /** セーブポイントのIDの接頭辞 */
+    private static final String SAVEPOINT_PREFIX = "SB_SP_";
 
-    private boolean isActive = false;
+    private final SqlSessionFactory sqlSessionFactory;
+    /** 実行中の処理のトランザクションの状態（未開始の場合はnull） */
+    private final SBTransactionContextCarrier.Slot<TransactionState> currentState = SBTransactionContextCarrier
+            .getDefault().newSlot();
 
     /**
      * トランザクション操作を管理するクラスを構築します。
@@ -46,18 +57,31 @@ public class SBTransactionOperation {
         this.sqlSessionFactory = sqlSessionFactory;
     }
 
+    /**
+     * トランザクションの状態を束縛したスコープで処理を実行します。
+     * <p>
+     * スコープ内で開始したトランザクションの状態はスコープを抜けると破棄されます。
+     * </p>
+     *
+     * @param <T> 戻り値の型
+     * @param action 実行する処理
+     * @return 処理の結果
+     * @throws Exception 処理で例外が発生した場合
+     */
+    <T> T callInScope(Callable<T> action) throws Exception {
+        return currentState.callWith(null, action);
+    }
+
     /**
      * 新しいトランザクションを開始します。
      *
      * @throws SBTransactionException トランザクションが既に開始されている場合
      */
     public void begin() {
-        if (isActive) {
+        if (isActive()) {
             throw new SBTransactionException("transaction.error.already.started");
         }
-        SqlSession session = sqlSessionFactory.openSession(false);
-        currentSession.set(session);
-        this.isActive = true;
+        currentState.set(new TransactionState(sqlSessionFactory.openSession(false), true));
     }
 
     /**
@@ -67,16 +91,15 @@ public class SBTransactionOperation {
      * @throws SBTransactionException トランザクションが既に開始されている場合
      */
     public void begin(SqlSession session) {
-        if (isActive) {
+        if (isActive()) {
             throw new SBTransactionException("transaction.error.already.started");
         }
-        currentSession.set(session);
         try {
             SBThreadLocalDataSource.bind(session.getConnection());
         } catch (Exception e) {
             throw new SBTransactionException("transaction.error.execution", e);
         }
-        this.isActive = true;
+        currentState.set(new TransactionState(session, true));
     }
 
     /**
@@ -86,15 +109,14 @@ public class SBTransactionOperation {
      * @param session SqlSession
      */
     public void beginIndependent(SqlSession session) {
-        if (isActive) {
+        if (isActive()) {
             throw new SBTransactionException("transaction.error.already.started");
         }
         // 親の BOUND 接続を使わないように一時停止した上で、新規セッションをバインド
         SBThreadLocalDataSource.suspendBinding();
         try {
-            currentSession.set(session);
             SBThreadLocalDataSource.bind(session.getConnection());
-            this.isActive = true;
+            currentState.set(new TransactionState(session, true));
         } catch (Exception e) {
             throw new SBTransactionException("transaction.error.execution", e);
         } finally {
@@ -103,41 +125,216 @@ public class SBTransactionOperation {
         }
     }
 
+    /**
+     * 読み取り専用のトランザクションを開始します。
+     * <p>
+     * コネクションの確保を {@link SBRoutingDataSource} へ読み取り専用として宣言し、
+     * レプリカが設定されている場合はレプリカのコネクションを使用させます。
+     * 確保したコネクションには {@link Connection#setReadOnly(boolean)} を設定し、
+     * PostgreSQLやMySQLがトランザクションIDを割り当てずに済むようにします。
+     * {@link #commit()} はコミットを発行せず、{@link #end()} で自動コミットへ戻すことで
+     * トランザクションを終了し、読み取り専用の設定と分離レベルを元に戻してからコネクションを返却します。
+     * </p>
+     *
+     * @param session SqlSession
+     * @param isolationLevel トランザクション分離レベル（{@link Connection#TRANSACTION_READ_COMMITTED} 等）。
+     *                       変更しない場合はnull
+     * @throws SBTransactionException トランザクションが既に開始されている場合
+     */
+    public void beginReadOnly(SqlSession session, Integer isolationLevel) {
+        if (isActive()) {
+            throw new SBTransactionException("transaction.error.already.started");
+        }
+        TransactionState state = new TransactionState(session, true);
+        SBRoutingDataSource.markReadOnly();
+        try {
+            Connection connection = session.getConnection();
+            connection.setReadOnly(true);
+            state.readOnly = true;
+            if (isolationLevel != null && isolationLevel != connection.getTransactionIsolation()) {
+                state.previousIsolation = connection.getTransactionIsolation();
+                connection.setTransactionIsolation(isolationLevel);
+            }
+            SBThreadLocalDataSource.bind(connection);
+        } catch (Exception e) {
+            restoreReadOnly(state);
+            session.close();
+            throw new SBTransactionException("transaction.error.execution", e);
+        } finally {
+            SBRoutingDataSource.clearReadOnly();
+        }
+        currentState.set(state);
+    }
+
+    /**
+     * 現在のトランザクションが読み取り専用かどうかを返します。
+     *
+     * @return 読み取り専用のトランザクション中の場合true
+     */
+    public boolean isReadOnly() {
+        TransactionState state = currentState.get();
+        return state != null && state.readOnly;
+    }
+
+    /**
+     * トランザクションを開始せずに、自動コミットのセッションで処理を実行します。
+     * <p>
+     * トランザクション外の検索に使用します。処理中は {@link #getCurrentSession()} が指定のセッションを返しますが、
+     * {@link #isActive()} はfalseのままです。コネクションを {@link SBThreadLocalDataSource} へバインドせず、
+     * コミットも行いません。処理の終了後にセッションを閉じ、コネクションを返却します。
+     * </p>
+     *
+     * @param <T> 戻り値の型
+     * @param session 自動コミットのセッション
+     * @param action 実行する処理
+     * @return 処理の結果
+     * @throws Exception 処理で例外が発生した場合
+     * @throws SBTransactionException トランザクションが既に開始されている場合
+     */
+    public <T> T executeAutoCommit(SqlSession session, Callable<T> action) throws Exception {
+        try {
+            if (isActive()) {
+                throw new SBTransactionException("transaction.error.already.started");
+            }
+            return currentState.callWith(new TransactionState(session, false), action);
+        } finally {
+            session.close();
+        }
+    }
+
     /**
      * トランザクションをコミットします。
      */
     public void commit() {
-        if (!isActive) {
-            throw new SBTransactionException("transaction.error.not.started");
+        TransactionState state = requireState();
+        flush(state);
+        if (!state.readOnly) {
+            // DefaultSqlSession は dirty=false の場合に commit をスキップするため強制コミット
+            state.session.commit(true);
         }
-        // DefaultSqlSession は dirty=false の場合に commit をスキップするため強制コミット
-        currentSession.get().commit(true);
+        // コミットによりセーブポイントはすべて解放される
+        state.savepoints.clear();
+        state.committed = true;
     }
 
     /**
      * トランザクションをロールバックします。
      */
     public void rollback() {
-        if (!isActive) {
-            throw new SBTransactionException("transaction.error.not.started");
-        }
+        TransactionState state = requireState();
         // 外側のセッションで更新していなくても、物理コネクション上の変更を確実に取り消す
-        currentSession.get().rollback(true);
+        state.session.rollback(true);
+        state.savepoints.clear();
+        state.committed = false;
     }
 
     /**
      * トランザクションを終了します。
      */
     public void end() {
-        if (!isActive) {
+        TransactionState state = currentState.get();
+        if (state == null || !state.transactional) {
             return;
         }
         try {
-            currentSession.get().close();
+            if (state.readOnly) {
+                restoreReadOnly(state);
+            }
+            state.session.close();
         } finally {
             SBThreadLocalDataSource.unbind();
-            isActive = false;
-            currentSession.remove();
+            currentState.remove();
+            triggerAfterCompletion(state);
+        }
+    }
+
+    /**
+     * 現在のトランザクションの完了時に呼び出されるコールバックを登録します。
+     * <p>
+     * コールバックは {@link #end()} の時点で、最後に {@link #commit()} されていれば
+     * {@code true}、それ以外は {@code false} を引数として呼び出されます。
+     * </p>
+     *
+     * @param synchronization 完了時コールバック
+     * @throws SBTransactionException トランザクションが開始されていない場合
+     */
+    public void registerSynchronization(SBTransactionSynchronization synchronization) {
+        requireState().synchronizations.add(synchronization);
+    }
+
+    /**
+     * 現在のトランザクションで保留中の更新をデータベースへ反映します。
+     * <p>
+     * 登録された完了時コールバックの {@link SBTransactionSynchronization#flush()} を呼び出します。
+     * トランザクションが開始されていない場合は何もしません。
+     * </p>
+     */
+    public void flush() {
+        TransactionState state = currentState.get();
+        if (state != null && state.transactional) {
+            flush(state);
+        }
+    }
+
+    private static void flush(TransactionState state) {
+        for (SBTransactionSynchronization synchronization : state.synchronizations) {
+            synchronization.flush();
+        }
+    }
+
+    /**
+     * 現在のトランザクションに関連付けられたリソースを取得します。
+     *
+     * @param key リソースのキー
+     * @return リソース。関連付けられていない場合はnull
+     * @throws SBTransactionException トランザクションが開始されていない場合
+     */
+    public Object getResource(Object key) {
+        return requireState().resources.get(key);
+    }
+
+    /**
+     * 現在のトランザクションにリソースを関連付けます。
+     * <p>
+     * リソースはトランザクションの終了時に破棄されます。
+     * </p>
+     *
+     * @param key リソースのキー
+     * @param value リソース
+     * @throws SBTransactionException トランザクションが開始されていない場合
+     */
+    public void bindResource(Object key, Object value) {
+        requireState().resources.put(key, value);
+    }
+
+    /**
+     * 読み取り専用のトランザクションを終了し、コネクションの設定を元に戻します。
+     * <p>
+     * 読み取り専用の設定はトランザクション中には変更できないドライバがあるため、
+     * 先に自動コミットへ戻してトランザクションを終了します。
+     * </p>
+     */
+    private static void restoreReadOnly(TransactionState state) {
+        try {
+            Connection connection = state.session.getConnection();
+            connection.setAutoCommit(true);
+            connection.setReadOnly(false);
+            if (state.previousIsolation != null) {
+                connection.setTransactionIsolation(state.previousIsolation);
+            }
+        } catch (Exception e) {
+            logger.warn("読み取り専用トランザクションのコネクション設定を戻せませんでした: {}", e.getMessage(), e);
+        }
+    }
+
+    private void triggerAfterCompletion(TransactionState state) {
+        for (SBTransactionSynchronization synchronization : state.synchronizations) {
+            try {
+                synchronization.afterCompletion(state.committed);
+            } catch (RuntimeException e) {
+                // 後処理の失敗でトランザクション終了処理を中断させない
+                logger.warn("トランザクション完了後の処理に失敗しました: {}", e.getMessage(), e);
+            }
         }
     }
 
@@ -147,59 +344,77 @@ public class SBTransactionOperation {
      * @return SqlSession
      */
     public SqlSession getCurrentSession() {
-        if (!isActive) {
+        TransactionState state = currentState.get();
+        if (state == null) {
             throw new SBTransactionException("transaction.error.not.started");
         }
-        return currentSession.get();
+        return state.session;
     }
 
     /**
-     * トランザクションがアクティブかどうかを返します。
+     * 実行中の処理でトランザクションがアクティブかどうかを返します。
      *
      * @return トランザクションがアクティブな場合はtrue
      */
     public boolean isActive() {
-        return isActive;
+        TransactionState state = currentState.get();
+        return state != null && state.transactional;
+    }
+
+    private TransactionState requireState() {
+        TransactionState state = currentState.get();
+        if (state == null || !state.transactional) {
+            throw new SBTransactionException("transaction.error.not.started");
+        }
+        return state;
     }
 
     /**
      * 新しいセーブポイントを作成します。
+     * <p>
+     * セーブポイントはトランザクションごとのスタックで管理します。IDはトランザクション内の連番から生成するため、
+     * 行ごとにセーブポイントを作成するような繰り返し処理でも作成の負荷はJDBCの呼び出しのみです。
+     * </p>
      * 
      * @return 作成されたセーブポイントのID
      * @throws SBTransactionException トランザクションが開始されていない場合
      */
     public String createSavepoint() {
-        if (!isActive()) {
-            throw new SBTransactionException("transaction.error.not.started");
-        }
-
-        String savepointId = UUID.randomUUID().toString();
-        Connection connection = currentSession.get().getConnection();
+        TransactionState state = requireState();
+        // セーブポイントより前の更新として確定させる
+        flush(state);
+        String savepointId = SAVEPOINT_PREFIX + (++state.savepointSequence);
+        Connection connection = state.session.getConnection();
         Savepoint savepoint;
         try {
-            savepoint = connection.setSavepoint();
+            savepoint = connection.setSavepoint(savepointId);
         } catch (SQLException e) {
             throw new SBTransactionException("transaction.error.savepoint.creation", e);
         }
-        savepoints.put(savepointId, savepoint);
+        state.savepoints.add(new SavepointEntry(savepointId, savepoint));
         logger.debug("セーブポイントを作成しました: {}", savepointId);
         return savepointId;
     }
 
     /**
      * 指定されたセーブポイントを解放します。
+     * <p>
+     * 指定されたセーブポイントより後に作成されたセーブポイントも併せて解放されます。
+     * </p>
      * 
      * @param savepointId セーブポイントのID
      * @throws SBTransactionException セーブポイントが見つからない場合
      */
     public void releaseSavepoint(String savepointId) {
-        Savepoint savepoint = savepoints.remove(savepointId);
-        if (savepoint == null) {
-            throw new SBTransactionException("transaction.error.savepoint.not.found", savepointId);
-        }
+        TransactionState state = requireState();
+        flush(state);
+        int index = indexOfSavepoint(state, savepointId);
+        Savepoint savepoint = state.savepoints.get(index).savepoint;
+        // 解放に失敗した場合もセーブポイントは再利用しないため、先にスタックから取り除く
+        truncateSavepoints(state, index);
 
         try {
-            currentSession.get().getConnection().releaseSavepoint(savepoint);
+            state.session.getConnection().releaseSavepoint(savepoint);
             logger.debug("セーブポイントを解放しました: {}", savepointId);
         } catch (SQLException e) {
             throw new SBTransactionException("transaction.error.savepoint.release", e, savepointId);
@@ -208,21 +423,103 @@ public class SBTransactionOperation {
 
     /**
      * 指定されたセーブポイントまでロールバックします。
+     * <p>
+     * 指定されたセーブポイントは引き続き有効です。それより後に作成されたセーブポイントは無効になるため、
+     * スタックから取り除きます。
+     * </p>
      * 
      * @param savepointId セーブポイントのID
      * @throws SBTransactionException セーブポイントが見つからない場合
      */
     public void rollbackToSavepoint(String savepointId) {
-        Savepoint savepoint = savepoints.get(savepointId);
-        if (savepoint == null) {
-            throw new SBTransactionException("transaction.error.savepoint.not.found", savepointId);
+        TransactionState state = requireState();
+        int index = indexOfSavepoint(state, savepointId);
+        Savepoint savepoint = state.savepoints.get(index).savepoint;
+        try {
+            // 保留中の更新はセーブポイントより後のものなので、反映に失敗してもロールバックで取り消される
+            flush(state);
+        } catch (RuntimeException e) {
+            logger.debug("ロールバック前の保留中の更新の反映に失敗しました: {}", e.getMessage());
         }
+        truncateSavepoints(state, index + 1);
 
         try {
-            currentSession.get().getConnection().rollback(savepoint);
+            state.session.getConnection().rollback(savepoint);
             logger.debug("セーブポイントまでロールバックしました: {}", savepointId);
         } catch (SQLException e) {
             throw new SBTransactionException("transaction.error.savepoint.rollback", e, savepointId);
         }
+        for (SBTransactionSynchronization synchronization : state.synchronizations) {
+            synchronization.afterSavepointRollback();
+        }
+    }
+
+    /**
+     * 現在のトランザクションで有効なセーブポイントの数を返します。
+     *
+     * @return セーブポイントの数、トランザクションが開始されていない場合は0
+     */
+    public int getSavepointCount() {
+        TransactionState state = currentState.get();
+        return state == null ? 0 : state.savepoints.size();
+    }
+
+    /**
+     * セーブポイントのスタック上の位置を返します。
+     * <p>
+     * 入れ子の処理では直近に作成したセーブポイントを操作するため、スタックの上から探します。
+     * </p>
+     */
+    private static int indexOfSavepoint(TransactionState state, String savepointId) {
+        for (int i = state.savepoints.size() - 1; i >= 0; i--) {
+            if (state.savepoints.get(i).id.equals(savepointId)) {
+                return i;
+            }
+        }
+        throw new SBTransactionException("transaction.error.savepoint.not.found", savepointId);
+    }
+
+    private static void truncateSavepoints(TransactionState state, int size) {
+        state.savepoints.subList(size, state.savepoints.size()).clear();
+    }
+
+    /**
+     * 1つのトランザクションの状態を保持するクラスです。
+     * <p>
+     * 完了時コールバックはサブタスクからも登録される場合があるため、スレッドセーフなリストで保持します。
+     * </p>
+     */
+    private static final class TransactionState {
+        private final SqlSession session;
+        private final List<SBTransactionSynchronization> synchronizations = new CopyOnWriteArrayList<>();
+        /** 作成順のセーブポイント（末尾が直近） */
+        private final List<SavepointEntry> savepoints = new ArrayList<>();
+        /** セーブポイントのIDに使用する連番 */
+        private int savepointSequence;
+        private final Map<Object, Object> resources = new ConcurrentHashMap<>();
+        private boolean committed;
+
+        /** トランザクションの場合true、自動コミットの検索の場合false */
+        private final boolean transactional;
+        private boolean readOnly;
+        private Integer previousIsolation;
+
+        TransactionState(SqlSession session, boolean transactional) {
+            this.session = session;
+            this.transactional = transactional;
+        }
+    }
+
+    /**
+     * セーブポイントとそのIDの組です。
+     */
+    private static final class SavepointEntry {
+        private final String id;
+        private final Savepoint savepoint;
+
+        SavepointEntry(String id, Savepoint savepoint) {
+            this.id = id;
+            this.savepoint = savepoint;
+        }
     }
 }
\ No newline at end of file
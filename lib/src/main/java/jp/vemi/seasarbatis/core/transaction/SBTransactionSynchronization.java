@@ -0,0 +1,48 @@
+/*
+ * Copyright (C) 2025 VEMI, All Rights Reserved.
+ */
+package jp.vemi.seasarbatis.core.transaction;
+
+/**
+ * トランザクション完了時に呼び出されるコールバックインターフェースです。
+ * <p>
+ * {@link SBTransactionOperation#registerSynchronization(SBTransactionSynchronization)} で登録し、
+ * トランザクション終了時に、コミットされたかどうかを受け取ります。
+ * キャッシュの無効化など、トランザクションの結果に応じた後処理に使用します。
+ * </p>
+ *
+ * @author H.Kurosawa
+ * @version 0.0.1
+ * @since 2025/01/01
+ */
+@FunctionalInterface
+public interface SBTransactionSynchronization {
+
+    /**
+     * 保留中の更新をデータベースへ反映します。
+     * <p>
+     * トランザクションのコミット前、セーブポイントの操作前、および検索の実行前に呼び出されます。
+     * 更新をまとめて送信するために保留している場合は、ここで実行します。
+     * </p>
+     */
+    default void flush() {
+        // NO-OP
+    }
+
+    /**
+     * セーブポイントまでロールバックした後に呼び出されます。
+     * <p>
+     * トランザクションは継続しますが、セーブポイントより後の更新は取り消されています。
+     * </p>
+     */
+    default void afterSavepointRollback() {
+        // NO-OP
+    }
+
+    /**
+     * トランザクション完了後に呼び出されます。
+     *
+     * @param committed コミットされた場合true、ロールバックされた場合false
+     */
+    void afterCompletion(boolean committed);
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright (C) 2025 VEMI, All Rights Reserved.
+ */
+package jp.vemi.seasarbatis.core.util;
+
+import java.io.InputStream;
+import java.io.Reader;
+import java.lang.reflect.Field;
+import java.sql.Blob;
+import java.sql.Clob;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+/**
+ * LOB（BLOB/CLOB）の読み書きに関するユーティリティクラスです。
+ * <p>
+ * LOB値はSQL文字列へ埋め込まず、{@link PreparedStatement} のストリーム系メソッドで
+ * バインドします。また、{@link InputStream}・{@link Reader}・{@link Blob}・{@link Clob} 型の
+ * フィールドを持つエンティティは、LOBロケータを保持したまま読み出す対象として判定します。
+ * </p>
+ *
+ * @author H.Kurosawa
+ * @version 1.0.0
+ * @since 2025/01/01
+ */
+public class SBLobUtils {
+
+    private static final ClassValue<Boolean> STREAMING_FIELDS = new ClassValue<>() {
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+            for (Field field : type.getDeclaredFields()) {
+                if (isStreamingType(field.getType())) {
+                    return Boolean.TRUE;
+                }
+            }
+            return Boolean.FALSE;
+        }
+    };
+
+    /**
+     * 値をSQLへ埋め込まずにバインドすべきLOB値かどうかを判定します。
+     *
+     * @param value 値
+     * @return LOB値の場合true
+     */
+    public static boolean isLobValue(Object value) {
+        return value instanceof byte[] || value instanceof InputStream || value instanceof Reader
+                || value instanceof Blob || value instanceof Clob;
+    }
+
+    /**
+     * 型がLOBをストリームとして扱う型かどうかを判定します。
+     *
+     * @param type 型
+     * @return {@link InputStream}・{@link Reader}・{@link Blob}・{@link Clob} のいずれかの場合true
+     */
+    public static boolean isStreamingType(Class<?> type) {
+        return InputStream.class.isAssignableFrom(type) || Reader.class.isAssignableFrom(type)
+                || Blob.class.isAssignableFrom(type) || Clob.class.isAssignableFrom(type);
+    }
+
+    /**
+     * エンティティクラスがLOBをストリームとして扱うフィールドを持つかどうかを判定します。
+     *
+     * @param entityClass エンティティクラス
+     * @return 該当するフィールドを持つ場合true
+     */
+    public static boolean hasStreamingFields(Class<?> entityClass) {
+        return entityClass != null && STREAMING_FIELDS.get(entityClass);
+    }
+
+    /**
+     * 値を型に応じたメソッドでバインドします。
+     * <p>
+     * {@link InputStream} は {@link PreparedStatement#setBinaryStream(int, InputStream)}、
+     * {@link Reader} は {@link PreparedStatement#setCharacterStream(int, Reader)} でバインドし、
+     * 値全体をメモリへ読み込みません。列挙型は名前の文字列として、{@code java.sql} 以外の
+     * {@link java.util.Date} は {@link java.sql.Timestamp} としてバインドします。
+     * </p>
+     *
+     * @param statement ステートメント
+     * @param index パラメータ位置（1始まり）
+     * @param value 値
+     * @throws SQLException バインドに失敗した場合
+     */
+    public static void bind(PreparedStatement statement, int index, Object value) throws SQLException {
+        if (value instanceof InputStream) {
+            statement.setBinaryStream(index, (InputStream) value);
+        } else if (value instanceof Reader) {
+            statement.setCharacterStream(index, (Reader) value);
+        } else if (value instanceof Blob) {
+            statement.setBlob(index, (Blob) value);
+        } else if (value instanceof Clob) {
+            statement.setClob(index, (Clob) value);
+        } else if (value instanceof byte[]) {
+            statement.setBytes(index, (byte[]) value);
+        } else if (value instanceof Enum) {
+            statement.setString(index, ((Enum<?>) value).name());
+        } else if (value != null && value.getClass() == java.util.Date.class) {
+            statement.setTimestamp(index, new java.sql.Timestamp(((java.util.Date) value).getTime()));
+        } else {
+            statement.setObject(index, value);
+        }
+    }
+}
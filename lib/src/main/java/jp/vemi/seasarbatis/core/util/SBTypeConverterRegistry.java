@@ -0,0 +1,366 @@
+/*
+ * Copyright (C) 2025 VEMI, All Rights Reserved.
+ */
+package jp.vemi.seasarbatis.core.util;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Function;
+
+import jp.vemi.seasarbatis.exception.SBTypeConversionException;
+
+/**
+ * 値の型変換器を管理するレジストリです。
+ * <p>
+ * 変換器は（変換元の型, 変換先の型）の組ごとに一度だけ解決してキャッシュされるため、
+ * 行ごと・セルごとに型判定を繰り返しません。変換元の型はスーパークラス・インタフェースもたどって検索します。
+ * 標準で数値・真偽値・文字列・{@code java.sql} の日時型・{@code java.time} 型・列挙型の変換を備え、
+ * {@link #register(Class, Class, Function)} で独自の変換器を追加できます。追加した変換器は標準の変換器より優先されます。
+ * </p>
+ *
+ * <pre>
+ * SBTypeConverterRegistry.getDefault().register(String.class, Money.class, Money::parse);
+ * </pre>
+ *
+ * @author H.Kurosawa
+ * @version 1.0.0
+ * @since 2025/01/01
+ */
+public class SBTypeConverterRegistry {
+
+    private static final SBTypeConverterRegistry DEFAULT = new SBTypeConverterRegistry(true);
+
+    private static final Map<Class<?>, Class<?>> WRAPPERS = Map.of(boolean.class, Boolean.class, byte.class,
+            Byte.class, short.class, Short.class, int.class, Integer.class, long.class, Long.class, float.class,
+            Float.class, double.class, Double.class, char.class, Character.class);
+
+    /**
+     * 値の変換器です。
+     *
+     * @param <T> 変換先の型
+     */
+    @FunctionalInterface
+    public interface Converter<T> {
+        /**
+         * 値を変換します。
+         *
+         * @param value 変換対象の値（nullではない）
+         * @return 変換後の値
+         */
+        T convert(Object value);
+    }
+
+    private static final Converter<Object> IDENTITY = value -> value;
+
+    private final List<Registration> userRegistrations = new CopyOnWriteArrayList<>();
+    private final List<Registration> builtinRegistrations = new CopyOnWriteArrayList<>();
+    private final Map<Class<?>, Map<Class<?>, Converter<?>>> resolved = new ConcurrentHashMap<>();
+
+    /**
+     * 標準の変換器を備えたレジストリを構築します。
+     */
+    public SBTypeConverterRegistry() {
+        this(true);
+    }
+
+    private SBTypeConverterRegistry(boolean builtins) {
+        if (builtins) {
+            registerBuiltins();
+        }
+    }
+
+    /**
+     * アプリケーション全体で共有されるレジストリを取得します。
+     * <p>
+     * {@link SBTypeConverterUtils#convertValue(Object, Class)} はこのレジストリを使用します。
+     * </p>
+     *
+     * @return 共有レジストリ
+     */
+    public static SBTypeConverterRegistry getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * 変換器を登録します。
+     *
+     * @param <S> 変換元の型
+     * @param <T> 変換先の型
+     * @param sourceType 変換元の型（サブクラスの値にも適用されます）
+     * @param targetType 変換先の型
+     * @param converter 変換器
+     * @return このインスタンス（メソッドチェーン用）
+     */
+    public <S, T> SBTypeConverterRegistry register(Class<S> sourceType, Class<T> targetType,
+            Function<? super S, ? extends T> converter) {
+        userRegistrations.add(0, new Registration(sourceType, wrap(targetType), adapt(sourceType, converter)));
+        resolved.clear();
+        return this;
+    }
+
+    /**
+     * 変換元の型を問わない変換器を登録します。
+     *
+     * @param <T> 変換先の型
+     * @param targetType 変換先の型
+     * @param converter 変換器
+     * @return このインスタンス（メソッドチェーン用）
+     */
+    public <T> SBTypeConverterRegistry register(Class<T> targetType, Converter<? extends T> converter) {
+        userRegistrations.add(0, new Registration(Object.class, wrap(targetType), converter));
+        resolved.clear();
+        return this;
+    }
+
+    /**
+     * 変換器を解決します。
+     * <p>
+     * 結果は（変換元の型, 変換先の型）の組ごとにキャッシュされます。
+     * </p>
+     *
+     * @param sourceType 変換元の値の型
+     * @param targetType 変換先の型（プリミティブ型の場合はラッパー型への変換器を返します）
+     * @return 変換器、変換できない組み合わせの場合はnull
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Converter<T> find(Class<?> sourceType, Class<T> targetType) {
+        Map<Class<?>, Converter<?>> bySource = resolved.computeIfAbsent(targetType, k -> new ConcurrentHashMap<>());
+        Converter<?> converter = bySource.get(sourceType);
+        if (converter == null) {
+            converter = resolve(sourceType, wrap(targetType));
+            bySource.put(sourceType, converter != null ? converter : Unsupported.INSTANCE);
+        }
+        return converter == Unsupported.INSTANCE ? null : (Converter<T>) converter;
+    }
+
+    /**
+     * 値を変換します。
+     *
+     * @param <T> 変換先の型
+     * @param value 変換対象の値
+     * @param targetType 変換先の型
+     * @return 変換後の値（値がnullの場合はnull）
+     * @throws SBTypeConversionException 変換できない場合
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T convert(Object value, Class<T> targetType) {
+        if (value == null) {
+            return null;
+        }
+        Converter<T> converter = find(value.getClass(), targetType);
+        if (converter == null) {
+            throw new SBTypeConversionException(String.format("値[%s]（%s）を[%s]型に変換できません", value,
+                    value.getClass().getSimpleName(), targetType.getSimpleName()));
+        }
+        return converter.convert(value);
+    }
+
+    /**
+     * プリミティブ型をラッパー型に変換します。
+     *
+     * @param type 型
+     * @return ラッパー型（プリミティブ型でない場合はそのまま）
+     */
+    public static Class<?> wrap(Class<?> type) {
+        return type.isPrimitive() ? WRAPPERS.get(type) : type;
+    }
+
+    private Converter<?> resolve(Class<?> sourceType, Class<?> targetType) {
+        if (targetType.isAssignableFrom(sourceType)) {
+            // 利用者の変換器が同じ型の値を加工する場合もあるため、完全一致の登録のみ優先する
+            Converter<?> exact = findRegistered(userRegistrations, sourceType, targetType, true);
+            return exact != null ? exact : IDENTITY;
+        }
+        Converter<?> converter = findRegistered(userRegistrations, sourceType, targetType, false);
+        if (converter == null) {
+            converter = findRegistered(builtinRegistrations, sourceType, targetType, false);
+        }
+        if (converter == null && targetType.isEnum()) {
+            converter = enumConverter(targetType);
+        }
+        return converter;
+    }
+
+    /**
+     * 変換元の型に近い順（自身・スーパークラス・インタフェース）に登録を検索します。
+     */
+    private static Converter<?> findRegistered(List<Registration> registrations, Class<?> sourceType,
+            Class<?> targetType, boolean exactOnly) {
+        Deque<Class<?>> queue = new ArrayDeque<>();
+        Set<Class<?>> visited = new HashSet<>();
+        queue.add(sourceType);
+        while (!queue.isEmpty()) {
+            Class<?> type = queue.poll();
+            if (!visited.add(type)) {
+                continue;
+            }
+            for (Registration registration : registrations) {
+                if (registration.sourceType == type && registration.targetType == targetType) {
+                    return registration.converter;
+                }
+            }
+            if (exactOnly) {
+                return null;
+            }
+            if (type.getSuperclass() != null) {
+                queue.add(type.getSuperclass());
+            }
+            for (Class<?> iface : type.getInterfaces()) {
+                queue.add(iface);
+            }
+            if (type.isInterface()) {
+                queue.add(Object.class);
+            }
+        }
+        return null;
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private static Converter<?> enumConverter(Class<?> enumType) {
+        Object[] constants = enumType.getEnumConstants();
+        return value -> {
+            if (value instanceof Number) {
+                int ordinal = ((Number) value).intValue();
+                if (ordinal < 0 || ordinal >= constants.length) {
+                    throw new SBTypeConversionException(
+                            String.format("値[%s]は[%s]型の序数の範囲外です", value, enumType.getSimpleName()));
+                }
+                return constants[ordinal];
+            }
+            return Enum.valueOf((Class) enumType, value.toString().trim());
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <S> Converter<?> adapt(Class<S> sourceType, Function<? super S, ?> function) {
+        return value -> function.apply((S) value);
+    }
+
+    private <S, T> void builtin(Class<S> sourceType, Class<T> targetType, Function<? super S, ? extends T> converter) {
+        builtinRegistrations.add(new Registration(sourceType, targetType, adapt(sourceType, converter)));
+    }
+
+    private void registerBuiltins() {
+        // 数値
+        builtin(Number.class, Long.class, Number::longValue);
+        builtin(Number.class, Integer.class, Number::intValue);
+        builtin(Number.class, Short.class, Number::shortValue);
+        builtin(Number.class, Byte.class, Number::byteValue);
+        builtin(Number.class, Double.class, Number::doubleValue);
+        builtin(Number.class, Float.class, Number::floatValue);
+        builtin(Number.class, BigDecimal.class, n -> n instanceof BigInteger ? new BigDecimal((BigInteger) n)
+                : n instanceof Long || n instanceof Integer || n instanceof Short || n instanceof Byte
+                        ? BigDecimal.valueOf(n.longValue())
+                        : new BigDecimal(n.toString()));
+        builtin(Number.class, BigInteger.class, n -> n instanceof BigDecimal ? ((BigDecimal) n).toBigInteger()
+                : BigInteger.valueOf(n.longValue()));
+        builtin(String.class, Long.class, s -> Long.valueOf(s.trim()));
+        builtin(String.class, Integer.class, s -> Integer.valueOf(s.trim()));
+        builtin(String.class, Short.class, s -> Short.valueOf(s.trim()));
+        builtin(String.class, Byte.class, s -> Byte.valueOf(s.trim()));
+        builtin(String.class, Double.class, s -> Double.valueOf(s.trim()));
+        builtin(String.class, Float.class, s -> Float.valueOf(s.trim()));
+        builtin(String.class, BigDecimal.class, s -> new BigDecimal(s.trim()));
+        builtin(String.class, BigInteger.class, s -> new BigInteger(s.trim()));
+
+        // 真偽値（数値は0以外、文字列は true/1/y をtrueとする）
+        builtin(Number.class, Boolean.class, n -> n.intValue() != 0);
+        builtin(Object.class, Boolean.class, v -> {
+            String str = v.toString().toLowerCase();
+            return str.equals("true") || str.equals("1") || str.equals("y");
+        });
+
+        // 文字
+        builtin(Object.class, String.class, Object::toString);
+        builtin(String.class, Character.class, s -> s.isEmpty() ? null : s.charAt(0));
+
+        // java.sql の日時型
+        builtin(java.util.Date.class, Timestamp.class, d -> new Timestamp(d.getTime()));
+        builtin(Number.class, Timestamp.class, n -> new Timestamp(n.longValue()));
+        builtin(LocalDateTime.class, Timestamp.class, Timestamp::valueOf);
+        builtin(Instant.class, Timestamp.class, Timestamp::from);
+        builtin(java.util.Date.class, java.sql.Date.class, d -> new java.sql.Date(d.getTime()));
+        builtin(Number.class, java.sql.Date.class, n -> new java.sql.Date(n.longValue()));
+        builtin(LocalDateTime.class, java.sql.Date.class,
+                ldt -> new java.sql.Date(Timestamp.valueOf(ldt).getTime()));
+        builtin(LocalDate.class, java.sql.Date.class, java.sql.Date::valueOf);
+        builtin(java.util.Date.class, Time.class, d -> new Time(d.getTime()));
+        builtin(Number.class, Time.class, n -> new Time(n.longValue()));
+        builtin(LocalTime.class, Time.class, Time::valueOf);
+        builtin(Number.class, java.util.Date.class, n -> new java.util.Date(n.longValue()));
+        builtin(LocalDateTime.class, java.util.Date.class, ldt -> new java.util.Date(Timestamp.valueOf(ldt).getTime()));
+
+        // java.time
+        builtin(Timestamp.class, LocalDateTime.class, Timestamp::toLocalDateTime);
+        builtin(java.sql.Date.class, LocalDateTime.class, d -> d.toLocalDate().atStartOfDay());
+        builtin(java.util.Date.class, LocalDateTime.class,
+                d -> LocalDateTime.ofInstant(d.toInstant(), ZoneId.systemDefault()));
+        builtin(OffsetDateTime.class, LocalDateTime.class, OffsetDateTime::toLocalDateTime);
+        builtin(ZonedDateTime.class, LocalDateTime.class, ZonedDateTime::toLocalDateTime);
+        builtin(LocalDate.class, LocalDateTime.class, LocalDate::atStartOfDay);
+        builtin(String.class, LocalDateTime.class, s -> LocalDateTime.parse(s.trim().replace(' ', 'T')));
+        builtin(java.sql.Date.class, LocalDate.class, java.sql.Date::toLocalDate);
+        builtin(Timestamp.class, LocalDate.class, t -> t.toLocalDateTime().toLocalDate());
+        builtin(java.util.Date.class, LocalDate.class,
+                d -> LocalDate.ofInstant(d.toInstant(), ZoneId.systemDefault()));
+        builtin(LocalDateTime.class, LocalDate.class, LocalDateTime::toLocalDate);
+        builtin(OffsetDateTime.class, LocalDate.class, OffsetDateTime::toLocalDate);
+        builtin(String.class, LocalDate.class, s -> LocalDate.parse(s.trim()));
+        builtin(Time.class, LocalTime.class, Time::toLocalTime);
+        builtin(Timestamp.class, LocalTime.class, t -> t.toLocalDateTime().toLocalTime());
+        builtin(LocalDateTime.class, LocalTime.class, LocalDateTime::toLocalTime);
+        builtin(String.class, LocalTime.class, s -> LocalTime.parse(s.trim()));
+        builtin(Timestamp.class, Instant.class, Timestamp::toInstant);
+        builtin(java.util.Date.class, Instant.class, java.util.Date::toInstant);
+        builtin(OffsetDateTime.class, Instant.class, OffsetDateTime::toInstant);
+        builtin(LocalDateTime.class, Instant.class, ldt -> ldt.atZone(ZoneId.systemDefault()).toInstant());
+        builtin(Timestamp.class, OffsetDateTime.class,
+                t -> t.toLocalDateTime().atZone(ZoneId.systemDefault()).toOffsetDateTime());
+        builtin(ZonedDateTime.class, OffsetDateTime.class, ZonedDateTime::toOffsetDateTime);
+        builtin(String.class, OffsetDateTime.class, s -> OffsetDateTime.parse(s.trim()));
+    }
+
+    /**
+     * 登録された変換器です。
+     */
+    private static final class Registration {
+        private final Class<?> sourceType;
+        private final Class<?> targetType;
+        private final Converter<?> converter;
+
+        Registration(Class<?> sourceType, Class<?> targetType, Converter<?> converter) {
+            this.sourceType = sourceType;
+            this.targetType = targetType;
+            this.converter = converter;
+        }
+    }
+
+    /**
+     * 変換できない組み合わせを表すキャッシュ用の番兵です。
+     */
+    private enum Unsupported implements Converter<Object> {
+        INSTANCE;
+
+        @Override
+        public Object convert(Object value) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
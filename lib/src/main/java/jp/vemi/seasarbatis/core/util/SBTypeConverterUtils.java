@@ -3,12 +3,18 @@
  */
 package jp.vemi.seasarbatis.core.util;
 
-import java.math.BigDecimal;
-import java.sql.Date;
-import java.sql.Time;
-import java.sql.Timestamp;
-import java.time.LocalDateTime;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.StringReader;
+import java.sql.Blob;
+import java.sql.Clob;
+import java.sql.SQLException;
 import java.util.Map;
+import java.util.Optional;
+
+import javax.sql.rowset.serial.SerialBlob;
+import javax.sql.rowset.serial.SerialClob;
 
 import org.apache.ibatis.reflection.MetaObject;
 import org.apache.ibatis.session.Configuration;
@@ -17,6 +23,7 @@ import org.slf4j.LoggerFactory;
 
 import com.google.common.base.CaseFormat;
 
+import jp.vemi.seasarbatis.core.entity.SBEntityInstantiator;
 import jp.vemi.seasarbatis.exception.SBTypeConversionException;
 
 /**
@@ -47,7 +54,8 @@ public class SBTypeConverterUtils {
 
     /**
      * 指定されたMap形式の行データを対象のエンティティに変換します。<br>
-     * throwOnError が true の場合、変換に失敗した際に例外を投げます。
+     * throwOnError が true の場合、変換に失敗した際に例外を投げます。<br>
+     * レコードや {@code @SBColumnMeta} 付きのコンストラクタを持つクラスは、{@link SBEntityInstantiator} で生成します。
      *
      * @param <T>           エンティティの型
      * @param row           SQL実行結果の1行分のデータ（カラム名と値のマップ）
@@ -58,6 +66,11 @@ public class SBTypeConverterUtils {
      */
     public static <T> T convertRowToEntity(Map<String, Object> row, Class<T> entityClass, Configuration configuration,
             boolean throwOnError) {
+        Optional<SBEntityInstantiator> instantiator = SBEntityInstantiator.of(entityClass);
+        if (instantiator.isPresent()) {
+            // レコード・注釈付きコンストラクタを持つクラスは、コンストラクタで一度に生成する
+            return instantiator.get().newInstance(row, throwOnError);
+        }
         T entity = configuration.getObjectFactory().create(entityClass);
         MetaObject metaObject = configuration.newMetaObject(entity);
         row.forEach((key, value) -> {
@@ -88,7 +101,8 @@ public class SBTypeConverterUtils {
 
     /**
      * 値を指定されたターゲット型に変換します。<br>
-     * throwOnError が true の場合、変換に失敗した際に例外を投げます。
+     * throwOnError が true の場合、変換に失敗した際に例外を投げます。<br>
+     * 変換器は {@link SBTypeConverterRegistry#getDefault()} から型の組ごとに解決されます。
      *
      * @param value        変換対象の値
      * @param targetType   変換先の型
@@ -102,193 +116,88 @@ public class SBTypeConverterUtils {
         if (targetType.isInstance(value)) {
             return value;
         }
-        // Boolean変換（数値からBoolean変換を優先）
-        if (targetType == Boolean.class || targetType == boolean.class) {
-            return convertToBoolean(value);
-        }
-        // 文字列変換
-        if (targetType == String.class) {
-            return value.toString();
-        }
-        // 日付/時刻変換
-        if (targetType == Timestamp.class) {
-            return convertToTimestamp(value, throwOnError);
-        }
-        if (targetType == Date.class) {
-            return convertToDate(value, throwOnError);
-        }
-        if (targetType == Time.class) {
-            return convertToTime(value, throwOnError);
-        }
-        // 数値系の変換
-        if (Number.class.isAssignableFrom(value.getClass()) || value instanceof BigDecimal) {
-            return convertNumber((Number) value, targetType, throwOnError);
-        }
-        // それ以外の場合、toStringで生成
-        return value.toString();
-    }
-
-    /**
-     * 数値の型変換を行います。<br>
-     * throwOnError が true の場合、変換不可時に例外を投げます。
-     *
-     * @param number       変換対象の数値
-     * @param targetType   変換先の数値型
-     * @param throwOnError 変換失敗時に例外を投げる場合は true、そうでなければ false
-     * @return 変換後の数値
-     */
-    private static Object convertNumber(Number number, Class<?> targetType, boolean throwOnError) {
-        try {
-            if (targetType == Long.class || targetType == long.class) {
-                return number.longValue();
-            }
-            if (targetType == Integer.class || targetType == int.class) {
-                return number.intValue();
-            }
-            if (targetType == Double.class || targetType == double.class) {
-                return number.doubleValue();
-            }
-            if (targetType == Float.class || targetType == float.class) {
-                return number.floatValue();
-            }
-            if (targetType == Short.class || targetType == short.class) {
-                return number.shortValue();
-            }
-            if (targetType == Byte.class || targetType == byte.class) {
-                return number.byteValue();
-            }
-        } catch (Exception e) {
-            if (throwOnError) {
-                throw new SBTypeConversionException(
-                    String.format("数値[%s]から[%s]型への変換に失敗しました", number, targetType.getSimpleName()), e);
-            }
-            logger.warn("数値への変換に失敗しました: {}", number);
-        }
-        return number;
-    }
-
-    /**
-     * Boolean型への変換を行います。
-     *
-     * @param value 変換対象の値
-     * @return 変換後の Boolean 値
-     */
-    private static Boolean convertToBoolean(Object value) {
-        if (value instanceof Boolean) {
-            return (Boolean) value;
-        }
-        if (value instanceof Number) {
-            return ((Number) value).intValue() != 0;
-        }
-        if (value instanceof String) {
-            String str = ((String) value).toLowerCase();
-            return str.equals("true") || str.equals("1") || str.equals("y");
-        }
-        return false;
-    }
-
-    /**
-     * Timestamp型への変換を行います。<br>
-     * throwOnError が true の場合、変換不可時に例外を投げます。
-     *
-     * @param value        変換対象の値
-     * @param throwOnError 変換失敗時に例外を投げる場合は true、そうでなければ false
-     * @return 変換後の Timestamp 値
-     */
-    private static Timestamp convertToTimestamp(Object value, boolean throwOnError) {
-        try {
-            if (value instanceof Timestamp) {
-                return (Timestamp) value;
-            }
-            if (value instanceof java.util.Date) {
-                return new Timestamp(((java.util.Date) value).getTime());
-            }
-            if (value instanceof Number) {
-                return new Timestamp(((Number) value).longValue());
-            }
-            if (value instanceof LocalDateTime) {
-                return Timestamp.valueOf((LocalDateTime) value);
-            }
-        } catch (Exception e) {
-            if (throwOnError) {
-                throw new SBTypeConversionException(
-                    String.format("値[%s]のTimestampへの変換に失敗しました", value), e);
+        // LOB変換（ロケータからのストリームは読み出し時まで取得しない）
+        if (value instanceof Blob || value instanceof Clob || SBLobUtils.isStreamingType(targetType)
+                || targetType == byte[].class) {
+            Object lob = convertLob(value, targetType, throwOnError);
+            if (lob != null) {
+                return lob;
+            }
+        }
+        // LOB以外は変換元・変換先の型の組ごとに解決済みの変換器で変換する
+        SBTypeConverterRegistry.Converter<?> converter = SBTypeConverterRegistry.getDefault()
+                .find(value.getClass(), targetType);
+        if (converter != null) {
+            try {
+                return converter.convert(value);
+            } catch (RuntimeException e) {
+                if (throwOnError) {
+                    throw new SBTypeConversionException(String.format("値[%s]から[%s]型への変換に失敗しました", value,
+                            targetType.getSimpleName()), e);
+                }
+                logger.warn("[{}]型への変換に失敗しました: {}", targetType.getSimpleName(), value);
+                return value;
             }
-            logger.warn("Timestamp への変換に失敗しました: {}", value);
         }
         if (throwOnError) {
-            throw new SBTypeConversionException(
-                String.format("値[%s]はTimestamp型に変換できません", value));
+            throw new SBTypeConversionException(String.format("値[%s]（%s）は[%s]型に変換できません", value,
+                    value.getClass().getSimpleName(), targetType.getSimpleName()));
         }
-        return null;
+        logger.warn("[{}]から[{}]型への変換器がありません: {}", value.getClass().getSimpleName(),
+                targetType.getSimpleName(), value);
+        return value;
     }
 
     /**
-     * java.sql.Date型への変換を行います。<br>
-     * throwOnError が true の場合、変換不可時に例外を投げます。
+     * LOB値の型変換を行います。<br>
+     * BLOB/CLOBのロケータは、ストリーム型へはストリームとして、{@code byte[]}/String へは
+     * 内容を読み込んで変換します。対応しない組み合わせの場合は null を返します。
      *
      * @param value        変換対象の値
+     * @param targetType   変換先の型
      * @param throwOnError 変換失敗時に例外を投げる場合は true、そうでなければ false
-     * @return 変換後の Date 値
-     */
-    private static Date convertToDate(Object value, boolean throwOnError) {
-        try {
-            if (value instanceof Date) {
-                return (Date) value;
-            }
-            if (value instanceof java.util.Date) {
-                return new Date(((java.util.Date) value).getTime());
-            }
-            if (value instanceof Number) {
-                return new Date(((Number) value).longValue());
-            }
-            if (value instanceof LocalDateTime) {
-                return new Date(Timestamp.valueOf((LocalDateTime) value).getTime());
-            }
-        } catch (Exception e) {
-            if (throwOnError) {
-                throw new SBTypeConversionException(
-                    String.format("値[%s]のDate型への変換に失敗しました", value), e);
-            }
-            logger.warn("Date への変換に失敗しました: {}", value);
-        }
-        if (throwOnError) {
-            throw new SBTypeConversionException(
-                String.format("値[%s]はDate型に変換できません", value));
-        }
-        return null;
-    }
-
-    /**
-     * Time型への変換を行います。<br>
-     * throwOnError が true の場合、変換不可時に例外を投げます。
-     *
-     * @param value        変換対象の値
-     * @param throwOnError 変換失敗時に例例外を投げる場合は true、そうでなければ false
-     * @return 変換後の Time 値
+     * @return 変換後の値、対応しない場合は null
      */
-    private static Time convertToTime(Object value, boolean throwOnError) {
+    private static Object convertLob(Object value, Class<?> targetType, boolean throwOnError) {
         try {
-            if (value instanceof Time) {
-                return (Time) value;
-            }
-            if (value instanceof java.util.Date) {
-                return new Time(((java.util.Date) value).getTime());
-            }
-            if (value instanceof Number) {
-                return new Time(((Number) value).longValue());
+            if (value instanceof Blob) {
+                Blob blob = (Blob) value;
+                if (targetType == InputStream.class) {
+                    return blob.getBinaryStream();
+                }
+                if (targetType == byte[].class) {
+                    return blob.getBytes(1, (int) blob.length());
+                }
+            } else if (value instanceof Clob) {
+                Clob clob = (Clob) value;
+                if (targetType == Reader.class) {
+                    return clob.getCharacterStream();
+                }
+                if (targetType == String.class) {
+                    return clob.getSubString(1, (int) clob.length());
+                }
+            } else if (value instanceof byte[]) {
+                if (targetType == InputStream.class) {
+                    return new ByteArrayInputStream((byte[]) value);
+                }
+                if (targetType == Blob.class) {
+                    return new SerialBlob((byte[]) value);
+                }
+            } else if (value instanceof String) {
+                if (targetType == Reader.class) {
+                    return new StringReader((String) value);
+                }
+                if (targetType == Clob.class) {
+                    return new SerialClob(((String) value).toCharArray());
+                }
             }
-        } catch (Exception e) {
+        } catch (SQLException e) {
             if (throwOnError) {
                 throw new SBTypeConversionException(
-                    String.format("値[%s]のTime型への変換に失敗しました", value), e);
+                    String.format("LOB値から[%s]型への変換に失敗しました", targetType.getSimpleName()), e);
             }
-            logger.warn("Time への変換に失敗しました: {}", value);
-        }
-        if (throwOnError) {
-            throw new SBTypeConversionException(
-                String.format("値[%s]はTime型に変換できません", value));
+            logger.warn("LOB値の変換に失敗しました: {}", e.getMessage());
         }
         return null;
     }
-}
\ No newline at end of file
+}
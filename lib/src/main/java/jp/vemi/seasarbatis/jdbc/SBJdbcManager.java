@@ -4,21 +4,21 @@
 package jp.vemi.seasarbatis.jdbc;
 
 import static jp.vemi.seasarbatis.core.entity.SBEntityOperations.getEntityParams;
+import static jp.vemi.seasarbatis.core.entity.SBEntityOperations.getPrimaryKeyInfo;
 import static jp.vemi.seasarbatis.core.entity.SBEntityOperations.getPrimaryKeyValues;
-import static jp.vemi.seasarbatis.core.entity.SBEntityOperations.getTableName;
 import static jp.vemi.seasarbatis.core.sql.CommandType.DELETE;
 import static jp.vemi.seasarbatis.core.sql.CommandType.INSERT;
-import static jp.vemi.seasarbatis.core.sql.CommandType.SELECT;
 import static jp.vemi.seasarbatis.core.sql.CommandType.UPDATE;
 
 import java.io.IOException;
 import java.io.Reader;
+import java.sql.Statement;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.Callable;
-import java.util.stream.Collectors;
 
 import javax.sql.DataSource;
 
@@ -31,17 +31,30 @@ import org.slf4j.LoggerFactory;
 import jp.vemi.seasarbatis.core.builder.SBDeleteBuilder;
 import jp.vemi.seasarbatis.core.builder.SBSelectBuilder;
 import jp.vemi.seasarbatis.core.builder.SBUpdateBuilder;
+import jp.vemi.seasarbatis.core.cache.SBEntityCache;
+import jp.vemi.seasarbatis.core.cache.SBQueryCache;
+import jp.vemi.seasarbatis.core.config.SBEntityCacheConfig;
 import jp.vemi.seasarbatis.core.config.SBOptimisticLockConfig;
 import jp.vemi.seasarbatis.core.criteria.ComplexWhere;
 import jp.vemi.seasarbatis.core.criteria.SimpleWhere;
+import jp.vemi.seasarbatis.core.entity.SBDirtyTracker;
+import jp.vemi.seasarbatis.core.entity.SBEntityMeta;
+import jp.vemi.seasarbatis.core.entity.SBEntityStatements;
+import jp.vemi.seasarbatis.core.entity.SBGeneratedMapper;
+import jp.vemi.seasarbatis.core.entity.SBGeneratedMappers;
 import jp.vemi.seasarbatis.core.entity.SBOptimisticLockSupport;
 import jp.vemi.seasarbatis.core.entity.SBOptimisticLockSupport.OptimisticLockInfo;
+import jp.vemi.seasarbatis.core.query.SBPartitionedScan;
 import jp.vemi.seasarbatis.core.query.SBSelect;
 import jp.vemi.seasarbatis.core.sql.executor.SBQueryExecutor;
+import jp.vemi.seasarbatis.core.transaction.SBRetryPolicy;
 import jp.vemi.seasarbatis.core.transaction.SBTransactionCallback;
+import jp.vemi.seasarbatis.core.transaction.SBTransactionContext;
 import jp.vemi.seasarbatis.core.transaction.SBTransactionManager;
 import jp.vemi.seasarbatis.core.transaction.SBTransactionManager.PropagationType;
 import jp.vemi.seasarbatis.core.transaction.SBTransactionOperation;
+import jp.vemi.seasarbatis.core.util.SBTypeConverterUtils;
+import jp.vemi.seasarbatis.exception.SBEntityException;
 import jp.vemi.seasarbatis.exception.SBException;
 import jp.vemi.seasarbatis.exception.SBIllegalStateException;
 import jp.vemi.seasarbatis.exception.SBOptimisticLockException;
@@ -63,6 +76,9 @@ public class SBJdbcManager {
     private final SBTransactionManager txManager;
     private final SBQueryExecutor queryExecutor;
     private final SBOptimisticLockConfig optimisticLockConfig;
+    private volatile SBEntityCache entityCache;
+    private volatile SBDirtyTracker dirtyTracker;
+    private volatile boolean unitOfWorkEnabled;
 
     /**
      * {@link SBJdbcManager}を構築します。
@@ -133,6 +149,15 @@ public class SBJdbcManager {
         return sqlSessionFactory;
     }
 
+    /**
+     * MyBatis環境に設定された{@link DataSource}を取得します。
+     *
+     * @return {@link DataSource}
+     */
+    public DataSource getDataSource() {
+        return sqlSessionFactory.getConfiguration().getEnvironment().getDataSource();
+    }
+
     // SQL実行
     /**
      * SQL文に基づいて検索を実行します。
@@ -237,7 +262,8 @@ public class SBJdbcManager {
      */
     @SuppressWarnings("unchecked")
     public <T> SBSelect<T> findByPk(T entity) {
-        return this.<T>select().from((Class<T>) entity.getClass()).byPrimaryKey(getPrimaryKeyValues(entity));
+        return this.<T>select().from((Class<T>) entity.getClass()).byPrimaryKey(getPrimaryKeyValues(entity))
+                .withEntityCache(entityCache);
     }
 
     /**
@@ -251,7 +277,7 @@ public class SBJdbcManager {
     @SuppressWarnings("unchecked")
     public <T> SBSelect<T> findByPkNoException(T entity) {
         return this.<T>select().from((Class<T>) entity.getClass()).byPrimaryKey(getPrimaryKeyValues(entity))
-                .suppressException();
+                .withEntityCache(entityCache).suppressException();
     }
 
     /**
@@ -265,6 +291,22 @@ public class SBJdbcManager {
         return this.<T>select().from(entityClass).getResultList();
     }
 
+    /**
+     * エンティティのテーブルを主キー範囲で分割し、並列に走査します。
+     * <p>
+     * 各範囲は本マネージャーが保持する {@link DataSource} から取得した専用コネクション上で
+     * ストリーミング取得されます。全件の再インデックスやエクスポートなど、
+     * {@link #findAll(Class)} では1コネクションに処理が偏る用途に使用します。
+     * </p>
+     *
+     * @param <T>         エンティティの型
+     * @param entityClass エンティティのクラス
+     * @return 分割走査ビルダー
+     */
+    public <T> SBPartitionedScan<T> partitionedScan(Class<T> entityClass) {
+        return new SBPartitionedScan<>(getDataSource(), sqlSessionFactory.getConfiguration(), entityClass);
+    }
+
     /**
      * エンティティを新規登録します。
      *
@@ -278,6 +320,12 @@ public class SBJdbcManager {
 
     /**
      * エンティティを新規登録します。
+     * <p>
+     * 主キーが未設定の場合は、データベースが生成したキー（IDENTITY列やシーケンス）を
+     * 主キーのフィールドへ設定し、再検索せずにそのエンティティを返します。
+     * 作業単位が有効な場合（{@link #setUnitOfWorkEnabled(boolean)}）、生成キーが不要であれば
+     * INSERT文を保留し、再検索せずに渡されたエンティティを返します。
+     * </p>
      *
      * @param <T>                      エンティティの型
      * @param entity                   登録するエンティティ
@@ -286,26 +334,29 @@ public class SBJdbcManager {
      */
     public <T> T insert(T entity, boolean isIndependentTransaction) {
         return executeWithTransaction(isIndependentTransaction, () -> {
-            String tableName = getTableName(entity.getClass());
-            Map<String, Object> params = getEntityParams(entity);
-
-            StringBuilder sql = new StringBuilder("INSERT INTO " + tableName + " (");
-            StringBuilder values = new StringBuilder(") VALUES (");
-
-            params.forEach((column, value) -> {
-                sql.append(column).append(", ");
-                values.append("/*").append(column).append("*/null, ");
-            });
-
-            sql.setLength(sql.length() - 2);
-            values.setLength(values.length() - 2);
-            sql.append(values).append(")");
-
-            queryExecutor.execute(sql.toString(), params, INSERT);
+            if (!getGeneratedKeyColumns(entity).isEmpty()) {
+                insertReturningKeys(List.of(entity));
+                return entity;
+            }
 
             @SuppressWarnings("unchecked")
-            SBSelect<T> newSelect = this.<T>select().from((Class<T>) entity.getClass())
-                    .byPrimaryKey(getPrimaryKeyValues(entity));
+            Class<T> entityClass = (Class<T>) entity.getClass();
+            SBEntityStatements statements = SBEntityStatements.of(entityClass);
+            if (unitOfWorkEnabled) {
+                List<Object> values = columnValues(statements.getColumns(), getEntityParams(entity));
+                queryExecutor.enqueueWithValues(entityClass, statements.getInsertSql(), values, INSERT, null);
+                return entity;
+            }
+            Optional<SBGeneratedMapper<T>> mapper = SBGeneratedMappers.find(entityClass);
+            if (mapper.isPresent() && mapper.get().getColumnNames().equals(statements.getColumns())) {
+                // 生成されたマッパーがあれば、値のマップを経由せずに直接バインドする
+                queryExecutor.executeWithMapper(statements.getInsertSql(), mapper.get(), entity, INSERT);
+            } else {
+                List<Object> values = columnValues(statements.getColumns(), getEntityParams(entity));
+                queryExecutor.executeWithValues(statements.getInsertSql(), values, INSERT);
+            }
+
+            SBSelect<T> newSelect = this.<T>select().from(entityClass).byPrimaryKey(getPrimaryKeyValues(entity));
             return newSelect.getSingleResult();
         });
     }
@@ -324,6 +375,12 @@ public class SBJdbcManager {
 
     /**
      * 主キーに基づいてエンティティを更新します。
+     * <p>
+     * 変更の追跡が有効な場合（{@link #setDirtyTrackingEnabled(boolean)}）は変更されたカラムのみを更新し、
+     * 変更がなければUPDATE文を実行せずに渡されたエンティティを返します。
+     * 作業単位が有効な場合はUPDATE文を保留し、再検索せずに渡されたエンティティを返します。
+     * 楽観的排他制御の失敗は、保留した更新の送信時に検出されます。
+     * </p>
      *
      * @param <T>                      エンティティの型
      * @param entity                   更新するエンティティ
@@ -335,76 +392,115 @@ public class SBJdbcManager {
     @SuppressWarnings("unchecked")
     public <T> T update(T entity, boolean isIndependentTransaction) {
         return executeWithTransaction(isIndependentTransaction, () -> {
-            String tableName = getTableName(entity.getClass());
             Map<String, Object> pkValues = getPrimaryKeyValues(entity);
-
-            if (pkValues.isEmpty()) {
-                throw new SBIllegalStateException("主キーが設定されていません");
+            int updated = executeUpdate(entity, pkValues);
+            if (updated == 0 || updated == Statement.SUCCESS_NO_INFO) {
+                // 変更されたカラムがない、またはUPDATE文を保留したため、再検索せずにそのまま返す
+                return entity;
             }
 
-            // 楽観的排他制御の情報を取得
-            OptimisticLockInfo lockInfo = SBOptimisticLockSupport.getOptimisticLockInfo(entity, optimisticLockConfig);
-            
-            Map<String, Object> params = getEntityParams(entity);
-            // 主キーを params から削除
-            pkValues.keySet().forEach(params::remove);
-
-            StringBuilder sql = new StringBuilder("UPDATE " + tableName + " SET ");
-
-            // 楽観的排他制御用カラムの値を更新（バージョン番号のインクリメントや更新日時の設定）
-            if (lockInfo.isEnabled()) {
-                Object newOptimisticLockValue = SBOptimisticLockSupport.updateOptimisticLockValue(entity, lockInfo);
-                if (newOptimisticLockValue != null) {
-                    params.put(lockInfo.getColumnName(), newOptimisticLockValue);
-                }
+            SBEntityStatements statements = SBEntityStatements.of(entity.getClass());
+            List<T> newEntity = queryExecutor.executeSelectWithValues(statements.getSelectByPrimaryKeySql(),
+                    statements.getPrimaryKeyValues(pkValues), (Class<T>) entity.getClass(), null);
+            if (newEntity.isEmpty()) {
+                return null;
+            }
+            SBDirtyTracker tracker = this.dirtyTracker;
+            if (tracker != null) {
+                tracker.trackOnCommit(currentOperation(), newEntity.get(0));
             }
+            return newEntity.get(0);
+        });
+    }
 
-            // 主キー以外のカラムを更新対象とする
-            params.forEach((column, value) -> {
-                if (!pkValues.containsKey(column)) {
-                    sql.append(column).append(" = /*").append(column).append("*/null, ");
-                }
-            });
+    /**
+     * 主キーに基づいてエンティティを1件更新します。
+     * <p>
+     * 変更の追跡が有効で、エンティティのスナップショットがある場合は、変更されたカラム（と楽観的排他制御用カラム）
+     * のみを更新し、変更がない場合はUPDATE文を実行しません。UPDATE文は {@link SBEntityStatements} が
+     * 更新するカラムの組み合わせごとにキャッシュします。
+     * </p>
+     *
+     * @return 更新された件数（変更がなく実行しなかった場合は0、保留した場合は {@link Statement#SUCCESS_NO_INFO}）
+     * @throws SBOptimisticLockException 楽観的排他制御に失敗した場合、または更新対象のレコードがない場合
+     */
+    private <T> int executeUpdate(T entity, Map<String, Object> pkValues) {
+        if (pkValues.isEmpty()) {
+            throw new SBIllegalStateException("主キーが設定されていません");
+        }
+        Class<?> entityClass = entity.getClass();
+        SBEntityStatements statements = SBEntityStatements.of(entityClass);
+
+        SBDirtyTracker tracker = this.dirtyTracker;
+        Set<String> changedColumns = tracker != null ? tracker.getChangedColumns(entity) : null;
+        if (changedColumns != null) {
+            changedColumns.removeAll(pkValues.keySet());
+            if (changedColumns.isEmpty()) {
+                logger.debug("変更されたカラムがないため、UPDATEを省略します: {}", entityClass.getName());
+                return 0;
+            }
+        }
 
-            sql.setLength(sql.length() - 2);
-            sql.append(" WHERE ");
+        // 楽観的排他制御の情報を取得
+        OptimisticLockInfo lockInfo = SBOptimisticLockSupport.getOptimisticLockInfo(entity, optimisticLockConfig);
 
-            // 複数の主キーでWHERE句を構築
-            int pkCount = 0;
-            for (Map.Entry<String, Object> pk : pkValues.entrySet()) {
-                if (pkCount++ > 0)
-                    sql.append(" AND ");
-                sql.append(pk.getKey()).append(" = /*pk").append(pkCount).append("*/0");
-                params.put("pk" + pkCount, pk.getValue());
-            }
+        Map<String, Object> params = getEntityParams(entity);
+        // 主キーを params から削除
+        pkValues.keySet().forEach(params::remove);
+        if (changedColumns != null) {
+            params.keySet().retainAll(changedColumns);
+        }
 
-            // 楽観的排他制御のWHERE句条件を追加
-            if (lockInfo.isEnabled()) {
-                String optimisticLockCondition = SBOptimisticLockSupport.buildOptimisticLockCondition(lockInfo, params);
-                sql.append(optimisticLockCondition);
+        // 楽観的排他制御用カラムの値を更新（バージョン番号のインクリメントや更新日時の設定）
+        if (lockInfo.isEnabled()) {
+            Object newOptimisticLockValue = SBOptimisticLockSupport.updateOptimisticLockValue(entity, lockInfo);
+            if (newOptimisticLockValue != null) {
+                params.put(lockInfo.getColumnName(), newOptimisticLockValue);
             }
+        }
+        List<String> setColumns = new ArrayList<>(params.keySet());
+        List<Object> values = new ArrayList<>(params.values());
+        values.addAll(statements.getPrimaryKeyValues(pkValues));
+        // 楽観的排他制御のWHERE句条件を追加
+        String lockColumn = null;
+        if (lockInfo.isEnabled()) {
+            lockColumn = lockInfo.getColumnName();
+            values.add(lockInfo.getCurrentValue());
+        }
 
-            int updatedRows = queryExecutor.execute(sql.toString(), params, UPDATE);
-            if (updatedRows == 0) {
-                if (lockInfo.isEnabled()) {
-                    throw new SBOptimisticLockException(
-                            "楽観的排他制御エラー: レコードが他のトランザクションによって更新されています。", 
-                            entity, 
-                            lockInfo.getColumnName());
-                } else {
-                    throw new SBOptimisticLockException("更新対象のレコードが見つかりませんでした。他のトランザクションによって更新された可能性があります。", entity,
-                            pkValues.keySet().toArray(new String[0]));
+        String sql = statements.getUpdateSql(setColumns, lockColumn);
+        int updatedRows;
+        if (unitOfWorkEnabled) {
+            queryExecutor.enqueueWithValues(entityClass, sql, values, UPDATE, count -> {
+                if (count == 0) {
+                    throw optimisticLockFailure(entity, lockInfo, pkValues);
                 }
-            }
+            });
+            updatedRows = Statement.SUCCESS_NO_INFO;
+        } else {
+            updatedRows = queryExecutor.executeWithValues(sql, values, UPDATE);
+        }
+        scheduleEntityCacheEviction(entityClass, pkValues);
+        if (updatedRows == 0) {
+            throw optimisticLockFailure(entity, lockInfo, pkValues);
+        }
+        if (tracker != null) {
+            // 更新後の値を、コミットされた時点で新たなスナップショットとする
+            tracker.trackOnCommit(currentOperation(), entity);
+        }
+        return updatedRows;
+    }
 
-            List<T> newEntity = queryExecutor
-                    .executeSelect(
-                            "SELECT * FROM " + tableName + " WHERE "
-                                    + pkValues.entrySet().stream().map(e -> e.getKey() + " = '" + e.getValue() + "'")
-                                            .collect(Collectors.joining(" AND ")),
-                            params, (Class<T>) entity.getClass());
-            return newEntity.isEmpty() ? null : newEntity.get(0);
-        });
+    private static SBOptimisticLockException optimisticLockFailure(Object entity, OptimisticLockInfo lockInfo,
+            Map<String, Object> pkValues) {
+        if (lockInfo.isEnabled()) {
+            return new SBOptimisticLockException(
+                    "楽観的排他制御エラー: レコードが他のトランザクションによって更新されています。", 
+                    entity, 
+                    lockInfo.getColumnName());
+        }
+        return new SBOptimisticLockException("更新対象のレコードが見つかりませんでした。他のトランザクションによって更新された可能性があります。", entity,
+                pkValues.keySet().toArray(new String[0]));
     }
 
     /**
@@ -433,7 +529,7 @@ public class SBJdbcManager {
      * @param <T>                      エンティティの型
      * @param entity                   削除対象のエンティティ
      * @param isIndependentTransaction 独立したトランザクションで実行するかどうか
-     * @return 削除された件数
+     * @return 削除された件数（作業単位が有効でDELETE文を保留した場合は {@link Statement#SUCCESS_NO_INFO}）
      * @throws SBIllegalStateException 主キーが設定されていない場合
      */
     public <T> int delete(T entity, boolean isIndependentTransaction) {
@@ -443,20 +539,18 @@ public class SBJdbcManager {
                 throw new SBIllegalStateException("主キーが設定されていません: " + entity.getClass().getName());
             }
 
-            String tableName = getTableName(entity.getClass());
-            StringBuilder sql = new StringBuilder("DELETE FROM " + tableName + " WHERE ");
-
-            Map<String, Object> params = new HashMap<>();
-            int pkCount = 0;
-            for (Map.Entry<String, Object> pk : pkValues.entrySet()) {
-                if (pkCount++ > 0) {
-                    sql.append(" AND ");
-                }
-                sql.append(pk.getKey()).append(" = /*pk").append(pkCount).append("*/0");
-                params.put("pk" + pkCount, pk.getValue());
+            SBEntityStatements statements = SBEntityStatements.of(entity.getClass());
+            int deleted;
+            if (unitOfWorkEnabled) {
+                queryExecutor.enqueueWithValues(entity.getClass(), statements.getDeleteSql(),
+                        statements.getPrimaryKeyValues(pkValues), DELETE, null);
+                deleted = Statement.SUCCESS_NO_INFO;
+            } else {
+                deleted = queryExecutor.executeWithValues(statements.getDeleteSql(),
+                        statements.getPrimaryKeyValues(pkValues), DELETE);
             }
-
-            return queryExecutor.execute(sql.toString(), params, DELETE);
+            scheduleEntityCacheEviction(entity.getClass(), pkValues);
+            return deleted;
         });
     }
 
@@ -490,22 +584,9 @@ public class SBJdbcManager {
             }
 
             // 主キーで検索して存在確認
-            Class<?> entityClass = entity.getClass();
-            String tableName = getTableName(entityClass);
-            StringBuilder sql = new StringBuilder("SELECT COUNT(*) FROM " + tableName + " WHERE ");
-
-            Map<String, Object> params = new HashMap<>();
-            int pkCount = 0;
-            for (Map.Entry<String, Object> pk : pkValues.entrySet()) {
-                if (pkCount++ > 0) {
-                    sql.append(" AND ");
-                }
-                sql.append(pk.getKey()).append(" = /*pk").append(pkCount).append("*/0");
-                params.put("pk" + pkCount, pk.getValue());
-            }
-
-            List<Map<String, Object>> result = queryExecutor.execute(sql.toString(), params, SELECT);
-            long count = ((Number) result.get(0).values().iterator().next()).longValue();
+            SBEntityStatements statements = SBEntityStatements.of(entity.getClass());
+            long count = queryExecutor.executeQuery(statements.getExistsSql(),
+                    statements.getPrimaryKeyValues(pkValues), rs -> rs.next() ? rs.getLong(1) : 0L);
 
             if (count > 0) {
                 logger.debug("レコードが存在するため、UPDATEを実行します");
@@ -525,7 +606,8 @@ public class SBJdbcManager {
      * @return 型安全な検索ビルダー
      */
     public <T> SBSelect<T> select() {
-        return new SBSelect<>(sqlSessionFactory, queryExecutor, txManager.getTransactionOperation());
+        return new SBSelect<T>(sqlSessionFactory, queryExecutor, txManager.getTransactionOperation())
+                .withDirtyTracker(dirtyTracker);
     }
 
     /**
@@ -608,8 +690,23 @@ public class SBJdbcManager {
      * @param isIndependentTransaction 独立したトランザクションで実行するかどうか
      */
     public void transaction(SBTransactionCallback callback, boolean isIndependentTransaction) {
+        transaction(callback, isIndependentTransaction, false);
+    }
+
+    /**
+     * トランザクション処理を実行します。
+     * <p>
+     * 読み取り専用の場合、コネクションを読み取り専用に設定し、レプリカが設定されていればレプリカへ振り分けます。
+     * 既存のトランザクションに参加する場合、そのトランザクションの属性は変更しません。
+     * </p>
+     *
+     * @param callback                 トランザクションコールバック
+     * @param isIndependentTransaction 独立したトランザクションで実行するかどうか
+     * @param readOnly                 読み取り専用のトランザクションで実行するかどうか
+     */
+    public void transaction(SBTransactionCallback callback, boolean isIndependentTransaction, boolean readOnly) {
         txManager.execute(isIndependentTransaction ? PropagationType.REQUIRES_NEW : PropagationType.REQUIRED,
-                () -> {
+                readOnly, () -> {
                     callback.execute(this);
                     return null;
                 });
@@ -634,6 +731,135 @@ public class SBJdbcManager {
         return this.optimisticLockConfig;
     }
 
+    /**
+     * 検索結果のキャッシュを設定します。
+     * <p>
+     * {@link SBSelect#cacheable()} を指定した検索、または {@code -- sb:cacheable} の
+     * 行コメントを含むSQLの検索結果がキャッシュされます。
+     * nullを指定するとキャッシュを使用しません。
+     * </p>
+     *
+     * @param queryCache 検索結果のキャッシュ
+     */
+    public void setQueryCache(SBQueryCache queryCache) {
+        this.queryExecutor.setQueryCache(queryCache);
+    }
+
+    /**
+     * 検索結果のキャッシュを取得します。
+     *
+     * @return 検索結果のキャッシュ。未設定の場合はnull
+     */
+    public SBQueryCache getQueryCache() {
+        return this.queryExecutor.getQueryCache();
+    }
+
+    /**
+     * トランザクションの再実行方針を設定します。
+     * <p>
+     * {@link #transaction(SBTransactionCallback)} やエンティティ操作で新たに開始したトランザクションが
+     * デッドロックや直列化失敗で失敗した場合、処理全体を新しいトランザクションで再実行します。
+     * </p>
+     *
+     * @param retryPolicy 再実行方針（nullの場合は再実行しない）
+     */
+    public void setRetryPolicy(SBRetryPolicy retryPolicy) {
+        this.txManager.setRetryPolicy(retryPolicy);
+    }
+
+    /**
+     * エンティティキャッシュ設定を適用します。
+     * <p>
+     * 設定されたエンティティクラスは、{@link #findByPk(Object)} と
+     * {@link #findByPkNoException(Object)} の結果がキャッシュされます。
+     * {@link #update(Object)}・{@link #delete(Object)} およびバッチ操作で更新されたエンティティは、
+     * トランザクションのコミット後にキャッシュから破棄されます。SQL文やビルダーによる更新では、
+     * 対象テーブルのエンティティのエントリがすべて破棄されます。
+     * nullを指定するとキャッシュを使用しません。
+     * </p>
+     *
+     * @param entityCacheConfig エンティティキャッシュ設定
+     */
+    public void setEntityCacheConfig(SBEntityCacheConfig entityCacheConfig) {
+        this.entityCache = entityCacheConfig == null ? null : new SBEntityCache(entityCacheConfig);
+        this.queryExecutor.setEntityCache(this.entityCache);
+    }
+
+    /**
+     * エンティティキャッシュを取得します。
+     *
+     * @return エンティティキャッシュ。未設定の場合はnull
+     */
+    public SBEntityCache getEntityCache() {
+        return this.entityCache;
+    }
+
+    /**
+     * 変更の追跡を有効または無効にします。
+     * <p>
+     * 有効にすると、{@link SBSelect} で検索したエンティティの値をスナップショットとして記録し、
+     * {@link #update(Object)}・{@link #batchUpdate(List)} では変更されたカラムのみを更新します。
+     * 変更がない場合はUPDATE文を実行しません。スナップショットのないエンティティは、従来どおり
+     * すべてのカラムを更新します。
+     * </p>
+     *
+     * @param enabled 有効にする場合true
+     */
+    public void setDirtyTrackingEnabled(boolean enabled) {
+        this.dirtyTracker = enabled ? new SBDirtyTracker() : null;
+    }
+
+    /**
+     * 作業単位（ユニットオブワーク）を有効または無効にします。
+     * <p>
+     * 有効にすると、{@link #insert(Object)}・{@link #update(Object)}・{@link #delete(Object)} および
+     * バッチ操作のSQLを即座に実行せず、トランザクションごとに保留します。保留した更新は、
+     * エンティティクラスとSQL文の組み合わせごとに1回のJDBCバッチとして、コミット前、
+     * またはトランザクション内で次に検索・SQLの実行・セーブポイントの操作を行う前に送信します。
+     * 1つのトランザクションでの往復回数は、更新の件数ではなくSQL文の種類の数に比例します。
+     * </p>
+     * <p>
+     * 有効な場合、登録・更新したエンティティは再検索せずに渡されたエンティティを返し、
+     * 削除・更新の件数は {@link Statement#SUCCESS_NO_INFO} となります。
+     * 楽観的排他制御の失敗は、送信時に {@link SBOptimisticLockException} として検出されます。
+     * 生成キーが必要なINSERTは保留せず、保留中の更新を送信してから実行します。
+     * </p>
+     *
+     * @param enabled 有効にする場合true
+     * @see #flush()
+     */
+    public void setUnitOfWorkEnabled(boolean enabled) {
+        this.unitOfWorkEnabled = enabled;
+    }
+
+    /**
+     * 作業単位が有効かどうかを返します。
+     *
+     * @return 有効な場合true
+     */
+    public boolean isUnitOfWorkEnabled() {
+        return this.unitOfWorkEnabled;
+    }
+
+    /**
+     * 現在のトランザクションで保留中の更新を送信します。
+     * <p>
+     * トランザクションが開始されていない場合は何もしません。
+     * </p>
+     */
+    public void flush() {
+        currentOperation().flush();
+    }
+
+    /**
+     * 変更の追跡に使用するスナップショットの記録先を取得します。
+     *
+     * @return スナップショットの記録先。変更の追跡が無効の場合はnull
+     */
+    public SBDirtyTracker getDirtyTracker() {
+        return this.dirtyTracker;
+    }
+
     // ---------- Batch Operations ----------
     /**
      * 複数のエンティティを一括登録します。
@@ -671,7 +897,14 @@ public class SBJdbcManager {
 
         return executeWithTransaction(isIndependentTransaction, () -> {
             logger.debug("バッチINSERT実行開始: {} 件", entities.size());
-            
+
+            if (isUniformGeneratedKeyBatch(entities)) {
+                // 主キーを生成するエンティティは1回のJDBCバッチで登録し、生成キーを書き戻す
+                insertReturningKeys(entities);
+                logger.info("バッチINSERT実行完了: {} 件", entities.size());
+                return new ArrayList<>(entities);
+            }
+
             List<T> results = new ArrayList<>();
 
             for (T entity : entities) {
@@ -724,9 +957,8 @@ public class SBJdbcManager {
             List<Integer> results = new ArrayList<>();
 
             for (T entity : entities) {
-                // 個別に更新を実行し、結果を収集
-                update(entity, false); // 個別トランザクションは使わない
-                results.add(1); // 更新成功時は1を追加
+                // 個別に更新を実行し、結果を収集（変更がなく更新しなかった場合は0）
+                results.add(executeUpdate(entity, getPrimaryKeyValues(entity)));
             }
 
             logger.info("バッチUPDATE実行完了: {} 件", results.size());
@@ -834,7 +1066,129 @@ public class SBJdbcManager {
         });
     }
 
+    /**
+     * エンティティを独立したトランザクションで、エンティティクラスごとに1回のJDBCバッチとして登録します。
+     * <p>
+     * {@link SBWriteBehindQueue} の書き込みスレッドから使用します。登録したエンティティは再検索せず、
+     * 生成キーもエンティティへ設定しません。
+     * </p>
+     *
+     * @param entities 登録するエンティティ
+     */
+    void insertWriteBehind(List<?> entities) {
+        executeWithTransaction(true, () -> {
+            for (Object entity : entities) {
+                SBEntityStatements statements = SBEntityStatements.of(entity.getClass());
+                List<String> columns = statements.getColumns();
+                List<String> keyColumns = getGeneratedKeyColumns(entity);
+                if (!keyColumns.isEmpty()) {
+                    columns = new ArrayList<>(columns);
+                    columns.removeAll(keyColumns);
+                }
+                // コミット前にSQL文ごとのJDBCバッチとして送信される
+                queryExecutor.enqueueWithValues(entity.getClass(), statements.getInsertSql(columns),
+                        columnValues(columns, getEntityParams(entity)), INSERT, null);
+            }
+            return null;
+        });
+    }
+
     // ---------- Utility ----------
+    /**
+     * データベースによる生成が必要な主キーのカラム名（値が未設定の主キー）を取得します。
+     */
+    private static <T> List<String> getGeneratedKeyColumns(T entity) {
+        Map<String, Object> pkValues = getPrimaryKeyValues(entity);
+        List<String> columns = new ArrayList<>();
+        for (String column : getPrimaryKeyInfo(entity.getClass()).getColumnNames()) {
+            if (pkValues.get(column) == null) {
+                columns.add(column);
+            }
+        }
+        return columns;
+    }
+
+    /**
+     * すべてのエンティティが同じクラスで、同じ主キーの生成を必要とするかどうかを判定します。
+     */
+    private static <T> boolean isUniformGeneratedKeyBatch(List<T> entities) {
+        Class<?> entityClass = entities.get(0).getClass();
+        List<String> keyColumns = getGeneratedKeyColumns(entities.get(0));
+        if (keyColumns.isEmpty()) {
+            return false;
+        }
+        for (T entity : entities) {
+            if (entity.getClass() != entityClass || !keyColumns.equals(getGeneratedKeyColumns(entity))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 生成キーを取得しながらエンティティを登録し、生成キーを主キーのフィールドへ設定します。
+     * <p>
+     * エンティティはすべて同じクラスで、同じ主キーが未設定である必要があります。
+     * </p>
+     */
+    private <T> void insertReturningKeys(List<T> entities) {
+        Class<?> entityClass = entities.get(0).getClass();
+        List<String> keyColumns = getGeneratedKeyColumns(entities.get(0));
+        SBEntityStatements statements = SBEntityStatements.of(entityClass);
+        List<String> columns = new ArrayList<>(statements.getColumns());
+        columns.removeAll(keyColumns);
+        String sql = statements.getInsertSql(columns);
+
+        List<List<Object>> rows = new ArrayList<>(entities.size());
+        for (T entity : entities) {
+            rows.add(columnValues(columns, getEntityParams(entity)));
+        }
+
+        List<Object[]> keys = queryExecutor.executeInsertReturningKeys(sql, rows,
+                keyColumns.toArray(new String[0]));
+
+        SBEntityMeta meta = SBEntityMeta.of(entityClass);
+        for (int i = 0; i < entities.size(); i++) {
+            Object[] key = keys.get(i);
+            for (int j = 0; j < keyColumns.size(); j++) {
+                SBEntityMeta.Column column = meta.findColumn(keyColumns.get(j))
+                        .orElseThrow(() -> new SBException("生成キーのカラムが見つかりません"));
+                try {
+                    column.set(entities.get(i), SBTypeConverterUtils.convertValue(key[j], column.getType()));
+                } catch (SBEntityException e) {
+                    throw new SBException("生成キーの設定に失敗しました: " + column.getFieldName(), e);
+                }
+            }
+        }
+    }
+
+    /**
+     * エンティティの値をカラムの順に並べます。
+     */
+    private static List<Object> columnValues(List<String> columns, Map<String, Object> params) {
+        List<Object> values = new ArrayList<>(columns.size());
+        for (String column : columns) {
+            values.add(params.get(column));
+        }
+        return values;
+    }
+
+    /**
+     * 更新・削除したエンティティを、コミット後にエンティティキャッシュから破棄するよう登録します。
+     */
+    private void scheduleEntityCacheEviction(Class<?> entityClass, Map<String, Object> pkValues) {
+        SBEntityCache cache = this.entityCache;
+        if (cache == null || !cache.isCacheable(entityClass)) {
+            return;
+        }
+        cache.recordWrite(currentOperation(), entityClass, pkValues);
+    }
+
+    private SBTransactionOperation currentOperation() {
+        SBTransactionOperation current = SBTransactionContext.getCurrentOperation();
+        return current != null ? current : txManager.getTransactionOperation();
+    }
+
     private <T> T executeWithTransaction(boolean isIndependentTransaction, Callable<T> operation) {
         return txManager.execute(isIndependentTransaction ? PropagationType.REQUIRES_NEW : PropagationType.REQUIRED,
                 operation);
@@ -5,9 +5,12 @@ package jp.vemi.seasarbatis.jdbc;
 
 import java.io.IOException;
 import java.io.Reader;
+import java.sql.SQLException;
+import java.util.Properties;
 
 import javax.sql.DataSource;
 
+import org.apache.commons.dbcp2.BasicDataSource;
 import org.apache.ibatis.io.Resources;
 import org.apache.ibatis.mapping.Environment;
 import org.apache.ibatis.session.Configuration;
@@ -18,21 +21,29 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import jp.vemi.seasarbatis.exception.SBException;
+import jp.vemi.seasarbatis.exception.SBSQLException;
 
 /**
  * {@link SBJdbcManager}を生成するファクトリクラスです。
  * <p>
  * データソースの設定をXMLファイルから読み込み、{@link SBJdbcManager}のインスタンスを生成します。
  * </p>
+ * <p>
+ * コネクションプール設定を指定した場合は、MyBatisのデータソースの代わりに
+ * {@link SBPooledDataSourceFactory} で構築したプールを使用します。プールは生成したすべての
+ * {@link SBJdbcManager} で共有され、{@link #close()} で破棄されます。
+ * </p>
  *
  * @author H.Kurosawa
  * @version 1.0.0
  * @since 2025/01/01
  */
-public class SBJdbcManagerFactory {
+public class SBJdbcManagerFactory implements AutoCloseable {
     private static final Logger logger = LoggerFactory.getLogger(SBJdbcManagerFactory.class);
 
     private String configPath;
+    private final Properties poolProperties;
+    private BasicDataSource pooledDataSource;
 
     /**
      * {@link SBJdbcManagerFactory}を構築します。
@@ -40,7 +51,29 @@ public class SBJdbcManagerFactory {
      * @param configPath MyBatis設定ファイルのパス
      */
     public SBJdbcManagerFactory(String configPath) {
+        this(configPath, null);
+    }
+
+    /**
+     * コネクションプールを使用する{@link SBJdbcManagerFactory}を構築します。
+     *
+     * @param configPath MyBatis設定ファイルのパス
+     * @param poolProperties コネクションプール設定（nullの場合はMyBatisのデータソースを使用）
+     */
+    public SBJdbcManagerFactory(String configPath, Properties poolProperties) {
         this.configPath = configPath;
+        this.poolProperties = poolProperties;
+    }
+
+    /**
+     * クラスパス上のコネクションプール設定ファイルを使用する{@link SBJdbcManagerFactory}を構築します。
+     *
+     * @param configPath MyBatis設定ファイルのパス
+     * @param poolConfigPath コネクションプール設定ファイルのパス
+     * @return {@link SBJdbcManagerFactory}
+     */
+    public static SBJdbcManagerFactory pooled(String configPath, String poolConfigPath) {
+        return new SBJdbcManagerFactory(configPath, SBPooledDataSourceFactory.load(poolConfigPath));
     }
 
     /**
@@ -78,8 +111,45 @@ public class SBJdbcManagerFactory {
      * @param configuration MyBatisの{@link Configuration}
      * @return {@link DataSource}のインスタンス
      */
-    private DataSource createDataSource(Configuration configuration) {
+    private synchronized DataSource createDataSource(Configuration configuration) {
+        if (poolProperties != null) {
+            if (pooledDataSource == null) {
+                pooledDataSource = SBPooledDataSourceFactory.create(poolProperties);
+            }
+            return pooledDataSource;
+        }
         final Environment env = configuration.getEnvironment();
         return env.getDataSource();
     }
+
+    /**
+     * コネクションプールの統計情報を取得します。
+     *
+     * @return 統計情報
+     * @throws SBException コネクションプールが生成されていない場合
+     */
+    public synchronized SBPooledDataSourceFactory.PoolStats getPoolStats() {
+        if (pooledDataSource == null) {
+            throw new SBException("コネクションプールが生成されていません");
+        }
+        return SBPooledDataSourceFactory.getStats(pooledDataSource);
+    }
+
+    /**
+     * コネクションプールを破棄します。プールを使用していない場合は何もしません。
+     */
+    @Override
+    public synchronized void close() {
+        if (pooledDataSource == null) {
+            return;
+        }
+        try {
+            pooledDataSource.close();
+            logger.info("コネクションプールを破棄しました");
+        } catch (SQLException e) {
+            throw new SBSQLException("コネクションプールの破棄に失敗しました", e);
+        } finally {
+            pooledDataSource = null;
+        }
+    }
 }
\ No newline at end of file
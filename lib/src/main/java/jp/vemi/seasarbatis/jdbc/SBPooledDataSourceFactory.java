@@ -0,0 +1,252 @@
+/*
+ * Copyright (C) 2025 VEMI, All Rights Reserved.
+ */
+package jp.vemi.seasarbatis.jdbc;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Properties;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import org.apache.commons.dbcp2.BasicDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import jp.vemi.seasarbatis.exception.SBException;
+import jp.vemi.seasarbatis.exception.SBIllegalStateException;
+import jp.vemi.seasarbatis.exception.SBSQLException;
+
+/**
+ * プロパティからコネクションプール（commons-dbcp2）を構築するファクトリクラスです。
+ * <p>
+ * Springなどのコンテナを使用しないバッチアプリケーション向けに、コネクションのプーリングと
+ * PreparedStatementのプーリングを提供します。プールは構築時に初期接続を確保します。
+ * </p>
+ * <p>
+ * 設定キーは {@code seasarbatis.pool.} で始まります。
+ * </p>
+ * <ul>
+ * <li>{@code url}（必須）・{@code username}・{@code password}・{@code driver-class-name}</li>
+ * <li>{@code initial-size}・{@code min-idle}・{@code max-idle}・{@code max-total}・{@code max-wait-millis}</li>
+ * <li>{@code pool-prepared-statements}（既定値true）・{@code max-open-prepared-statements}</li>
+ * <li>{@code validation-query}・{@code validation-query-timeout-seconds}・{@code test-on-borrow}・{@code test-while-idle}</li>
+ * <li>{@code time-between-eviction-runs-millis}・{@code min-evictable-idle-time-millis}・{@code num-tests-per-eviction-run}</li>
+ * </ul>
+ *
+ * @author H.Kurosawa
+ * @version 1.0.0
+ * @since 2025/01/01
+ */
+public class SBPooledDataSourceFactory {
+    private static final Logger logger = LoggerFactory.getLogger(SBPooledDataSourceFactory.class);
+
+    /**
+     * デフォルトの設定ファイル名です。
+     */
+    public static final String DEFAULT_CONFIG_FILE = "seasarbatis-pool.properties";
+
+    /**
+     * 設定のプレフィックスです。
+     */
+    public static final String CONFIG_PREFIX = "seasarbatis.pool.";
+
+    private static final Set<String> KNOWN_KEYS = Set.of("url", "username", "password", "driver-class-name",
+            "initial-size", "min-idle", "max-idle", "max-total", "max-wait-millis", "pool-prepared-statements",
+            "max-open-prepared-statements", "validation-query", "validation-query-timeout-seconds", "test-on-borrow",
+            "test-while-idle", "time-between-eviction-runs-millis", "min-evictable-idle-time-millis",
+            "num-tests-per-eviction-run");
+
+    /**
+     * クラスパス上の設定ファイルを読み込みます。
+     *
+     * @param configFilePath 設定ファイルのパス
+     * @return 設定
+     */
+    public static Properties load(String configFilePath) {
+        try (InputStream is = SBPooledDataSourceFactory.class.getClassLoader().getResourceAsStream(configFilePath)) {
+            if (is == null) {
+                throw new SBException("コネクションプール設定ファイルが見つかりません: " + configFilePath);
+            }
+            Properties props = new Properties();
+            props.load(is);
+            return props;
+        } catch (IOException e) {
+            throw new SBException("コネクションプール設定ファイルの読み込みに失敗しました: " + configFilePath, e);
+        }
+    }
+
+    /**
+     * 設定からコネクションプールを構築し、初期接続を確保します。
+     *
+     * @param props 設定
+     * @return コネクションプール
+     * @throws SBSQLException 初期接続の確保に失敗した場合
+     */
+    public static BasicDataSource create(Properties props) {
+        for (String name : props.stringPropertyNames()) {
+            if (name.startsWith(CONFIG_PREFIX) && !KNOWN_KEYS.contains(name.substring(CONFIG_PREFIX.length()))) {
+                logger.warn("不明なコネクションプール設定を無視します: {}", name);
+            }
+        }
+        String url = get(props, "url");
+        if (url == null) {
+            throw new SBIllegalStateException("コネクションプールの設定にurlがありません: " + CONFIG_PREFIX + "url");
+        }
+
+        BasicDataSource dataSource = new BasicDataSource();
+        dataSource.setUrl(url);
+        setIfPresent(props, "driver-class-name", dataSource::setDriverClassName);
+        setIfPresent(props, "username", dataSource::setUsername);
+        setIfPresent(props, "password", dataSource::setPassword);
+
+        int minIdle = getInt(props, "min-idle", 0);
+        dataSource.setMinIdle(minIdle);
+        dataSource.setInitialSize(getInt(props, "initial-size", minIdle));
+        dataSource.setMaxTotal(getInt(props, "max-total", 8));
+        dataSource.setMaxIdle(getInt(props, "max-idle", 8));
+        dataSource.setMaxWait(Duration.ofMillis(getLong(props, "max-wait-millis", -1L)));
+
+        dataSource.setPoolPreparedStatements(getBoolean(props, "pool-prepared-statements", true));
+        dataSource.setMaxOpenPreparedStatements(getInt(props, "max-open-prepared-statements", -1));
+
+        setIfPresent(props, "validation-query", dataSource::setValidationQuery);
+        int validationTimeout = getInt(props, "validation-query-timeout-seconds", -1);
+        if (validationTimeout >= 0) {
+            dataSource.setValidationQueryTimeout(Duration.ofSeconds(validationTimeout));
+        }
+        dataSource.setTestOnBorrow(getBoolean(props, "test-on-borrow", true));
+        dataSource.setTestWhileIdle(getBoolean(props, "test-while-idle", false));
+        dataSource.setDurationBetweenEvictionRuns(
+                Duration.ofMillis(getLong(props, "time-between-eviction-runs-millis", -1L)));
+        dataSource.setMinEvictableIdle(
+                Duration.ofMillis(getLong(props, "min-evictable-idle-time-millis", 30L * 60 * 1000)));
+        dataSource.setNumTestsPerEvictionRun(getInt(props, "num-tests-per-eviction-run", 3));
+
+        try {
+            // 初回の借用を待たずにプールを生成し、initial-size分の接続を確保する
+            dataSource.start();
+        } catch (SQLException e) {
+            throw new SBSQLException("コネクションプールの初期化に失敗しました: " + url, e);
+        }
+        logger.info("コネクションプールを初期化しました: url={}, idle={}, maxTotal={}, poolPreparedStatements={}", url,
+                dataSource.getNumIdle(), dataSource.getMaxTotal(), dataSource.isPoolPreparedStatements());
+        return dataSource;
+    }
+
+    /**
+     * コネクションプールの統計情報を取得します。
+     *
+     * @param dataSource コネクションプール
+     * @return 統計情報
+     */
+    public static PoolStats getStats(BasicDataSource dataSource) {
+        return new PoolStats(dataSource.getNumActive(), dataSource.getNumIdle(), dataSource.getMaxTotal(),
+                dataSource.getMinIdle(), dataSource.isPoolPreparedStatements());
+    }
+
+    private static String get(Properties props, String key) {
+        String value = props.getProperty(CONFIG_PREFIX + key);
+        return value == null ? null : value.trim();
+    }
+
+    private static void setIfPresent(Properties props, String key, Consumer<String> setter) {
+        String value = get(props, key);
+        if (value != null) {
+            setter.accept(value);
+        }
+    }
+
+    private static int getInt(Properties props, String key, int defaultValue) {
+        return (int) getLong(props, key, defaultValue);
+    }
+
+    private static long getLong(Properties props, String key, long defaultValue) {
+        String value = get(props, key);
+        if (value == null || value.isEmpty()) {
+            return defaultValue;
+        }
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            throw new SBIllegalStateException("コネクションプールの設定値が数値ではありません: " + CONFIG_PREFIX + key + "=" + value);
+        }
+    }
+
+    private static boolean getBoolean(Properties props, String key, boolean defaultValue) {
+        String value = get(props, key);
+        return value == null || value.isEmpty() ? defaultValue : Boolean.parseBoolean(value);
+    }
+
+    /**
+     * コネクションプールの統計情報を表すクラスです。
+     */
+    public static class PoolStats {
+        private final int numActive;
+        private final int numIdle;
+        private final int maxTotal;
+        private final int minIdle;
+        private final boolean poolPreparedStatements;
+
+        PoolStats(int numActive, int numIdle, int maxTotal, int minIdle, boolean poolPreparedStatements) {
+            this.numActive = numActive;
+            this.numIdle = numIdle;
+            this.maxTotal = maxTotal;
+            this.minIdle = minIdle;
+            this.poolPreparedStatements = poolPreparedStatements;
+        }
+
+        /**
+         * 使用中の接続数を取得します。
+         *
+         * @return 使用中の接続数
+         */
+        public int getNumActive() {
+            return numActive;
+        }
+
+        /**
+         * アイドル状態の接続数を取得します。
+         *
+         * @return アイドル状態の接続数
+         */
+        public int getNumIdle() {
+            return numIdle;
+        }
+
+        /**
+         * 最大接続数を取得します。
+         *
+         * @return 最大接続数
+         */
+        public int getMaxTotal() {
+            return maxTotal;
+        }
+
+        /**
+         * 最小アイドル接続数を取得します。
+         *
+         * @return 最小アイドル接続数
+         */
+        public int getMinIdle() {
+            return minIdle;
+        }
+
+        /**
+         * PreparedStatementをプールするかどうかを取得します。
+         *
+         * @return プールする場合true
+         */
+        public boolean isPoolPreparedStatements() {
+            return poolPreparedStatements;
+        }
+
+        @Override
+        public String toString() {
+            return "PoolStats[active=" + numActive + ", idle=" + numIdle + ", maxTotal=" + maxTotal + ", minIdle="
+                    + minIdle + ", poolPreparedStatements=" + poolPreparedStatements + "]";
+        }
+    }
+}
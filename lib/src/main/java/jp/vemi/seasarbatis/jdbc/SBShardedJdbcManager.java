@@ -0,0 +1,333 @@
+/*
+ * Copyright (C) 2025 VEMI, All Rights Reserved.
+ */
+package jp.vemi.seasarbatis.jdbc;
+
+import static jp.vemi.seasarbatis.core.entity.SBEntityOperations.getEntityParams;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import jp.vemi.seasarbatis.core.builder.SBShardedSelectBuilder;
+import jp.vemi.seasarbatis.core.config.SBShardingConfig;
+import jp.vemi.seasarbatis.core.query.SBSelect;
+import jp.vemi.seasarbatis.exception.SBIllegalStateException;
+import jp.vemi.seasarbatis.exception.SBSQLException;
+
+/**
+ * 複数のデータベースへキーで分散したデータを操作するマネージャークラスです。
+ * <p>
+ * シャードごとに {@link SBJdbcManager} を保持し、エンティティのシャードキーの値から
+ * {@link SBShardingConfig.ShardResolver} でシャードを決定します。主キー検索・登録・更新・削除は
+ * 該当するシャードのみで実行し、{@link #from(Class)} や {@link #findAll(Class)} などの検索は
+ * 全シャードへ並列に発行して結果を統合します（scatter-gather）。
+ * </p>
+ * <p>
+ * 複数シャードにまたがるトランザクションは提供しません。シャード内のトランザクションは
+ * {@link #shard(Object)} で取得したマネージャーの {@link SBJdbcManager#transaction} を使用してください。
+ * </p>
+ *
+ * @author H.Kurosawa
+ * @version 1.0.0
+ * @since 2025/01/01
+ */
+public class SBShardedJdbcManager {
+    private static final Logger logger = LoggerFactory.getLogger(SBShardedJdbcManager.class);
+
+    /** シャードへの並列検索に使用する、検索ごとに仮想スレッドで実行するエグゼキュータ */
+    private static final ExecutorService SCATTER_EXECUTOR = Executors
+            .newThreadPerTaskExecutor(Thread.ofVirtual().name("sb-shard-", 0).factory());
+
+    private final List<SBJdbcManager> shards;
+    private final SBShardingConfig shardingConfig;
+
+    /**
+     * シャードごとの{@link DataSource}から{@link SBShardedJdbcManager}を構築します。
+     *
+     * @param dataSources シャードの{@link DataSource}（位置がシャード番号）
+     * @param shardingConfig シャーディング設定
+     */
+    public SBShardedJdbcManager(List<? extends DataSource> dataSources, SBShardingConfig shardingConfig) {
+        this(shardingConfig, createManagers(dataSources));
+    }
+
+    private SBShardedJdbcManager(SBShardingConfig shardingConfig, List<SBJdbcManager> shards) {
+        if (shards.isEmpty()) {
+            throw new SBIllegalStateException("シャードが指定されていません");
+        }
+        this.shards = List.copyOf(shards);
+        this.shardingConfig = shardingConfig;
+    }
+
+    /**
+     * シャードごとの{@link SBJdbcManager}から{@link SBShardedJdbcManager}を構築します。
+     * <p>
+     * シャードごとにキャッシュや楽観的排他制御を設定したマネージャーを使用する場合に使用します。
+     * </p>
+     *
+     * @param shards シャードのマネージャー（位置がシャード番号）
+     * @param shardingConfig シャーディング設定
+     * @return {@link SBShardedJdbcManager}
+     */
+    public static SBShardedJdbcManager of(List<SBJdbcManager> shards, SBShardingConfig shardingConfig) {
+        return new SBShardedJdbcManager(shardingConfig, shards);
+    }
+
+    private static List<SBJdbcManager> createManagers(List<? extends DataSource> dataSources) {
+        List<SBJdbcManager> managers = new ArrayList<>(dataSources.size());
+        for (DataSource dataSource : dataSources) {
+            managers.add(new SBJdbcManager(dataSource));
+        }
+        return managers;
+    }
+
+    /**
+     * シャード数を取得します。
+     *
+     * @return シャード数
+     */
+    public int getShardCount() {
+        return shards.size();
+    }
+
+    /**
+     * 指定位置のシャードのマネージャーを取得します。
+     *
+     * @param index シャード番号
+     * @return マネージャー
+     */
+    public SBJdbcManager getShard(int index) {
+        return shards.get(index);
+    }
+
+    /**
+     * シャーディング設定を取得します。
+     *
+     * @return シャーディング設定
+     */
+    public SBShardingConfig getShardingConfig() {
+        return shardingConfig;
+    }
+
+    /**
+     * シャードキーの値に対応するシャードのマネージャーを取得します。
+     *
+     * @param shardKeyValue シャードキーの値
+     * @return マネージャー
+     */
+    public SBJdbcManager shard(Object shardKeyValue) {
+        return shards.get(resolveIndex(shardKeyValue));
+    }
+
+    /**
+     * エンティティが属するシャードの番号を取得します。
+     *
+     * @param <T> エンティティの型
+     * @param entity エンティティ
+     * @return シャード番号
+     * @throws SBIllegalStateException シャードキーが未設定の場合
+     */
+    public <T> int shardIndexOf(T entity) {
+        Class<?> entityClass = entity.getClass();
+        String shardKey = shardingConfig.getShardKey(entityClass).orElseThrow(
+                () -> new SBIllegalStateException("シャードキーが設定されていません: " + entityClass.getName()));
+        Map<String, Object> params = getEntityParams(entity);
+        if (!params.containsKey(shardKey)) {
+            throw new SBIllegalStateException("シャードキーのカラムが見つかりません: " + shardKey);
+        }
+        Object value = params.get(shardKey);
+        if (value == null) {
+            throw new SBIllegalStateException("シャードキーの値が未設定です: " + entityClass.getName() + "." + shardKey);
+        }
+        return resolveIndex(value);
+    }
+
+    private int resolveIndex(Object shardKeyValue) {
+        int index = shardingConfig.getResolver().resolve(shardKeyValue, shards.size());
+        if (index < 0 || index >= shards.size()) {
+            throw new SBIllegalStateException("シャード番号が範囲外です: " + index);
+        }
+        return index;
+    }
+
+    /**
+     * 主キーに基づいてエンティティを検索します。
+     * <p>
+     * エンティティのシャードキーからシャードを決定し、そのシャードのみを検索します。
+     * </p>
+     *
+     * @param <T> エンティティの型
+     * @param entity 検索対象のPK情報とシャードキーを含むエンティティ
+     * @return 検索クエリ
+     */
+    public <T> SBSelect<T> findByPk(T entity) {
+        return shards.get(shardIndexOf(entity)).findByPk(entity);
+    }
+
+    /**
+     * 主キーに基づいてエンティティを検索します。（例外をスローしない）
+     *
+     * @param <T> エンティティの型
+     * @param entity 検索対象のPK情報とシャードキーを含むエンティティ
+     * @return 検索クエリ
+     */
+    public <T> SBSelect<T> findByPkNoException(T entity) {
+        return shards.get(shardIndexOf(entity)).findByPkNoException(entity);
+    }
+
+    /**
+     * エンティティを該当するシャードへ新規登録します。
+     *
+     * @param <T> エンティティの型
+     * @param entity 登録するエンティティ
+     * @return 登録されたエンティティ
+     */
+    public <T> T insert(T entity) {
+        return shards.get(shardIndexOf(entity)).insert(entity);
+    }
+
+    /**
+     * 該当するシャードのエンティティを更新します。
+     *
+     * @param <T> エンティティの型
+     * @param entity 更新するエンティティ
+     * @return 更新されたエンティティ
+     */
+    public <T> T update(T entity) {
+        return shards.get(shardIndexOf(entity)).update(entity);
+    }
+
+    /**
+     * 該当するシャードのエンティティを削除します。
+     *
+     * @param <T> エンティティの型
+     * @param entity 削除するエンティティ
+     * @return 削除された件数
+     */
+    public <T> int delete(T entity) {
+        return shards.get(shardIndexOf(entity)).delete(entity);
+    }
+
+    /**
+     * 該当するシャードへエンティティを登録または更新します。
+     *
+     * @param <T> エンティティの型
+     * @param entity 登録または更新するエンティティ
+     * @return 登録または更新されたエンティティ
+     */
+    public <T> T insertOrUpdate(T entity) {
+        return shards.get(shardIndexOf(entity)).insertOrUpdate(entity);
+    }
+
+    /**
+     * 全シャードからエンティティの全件を検索します。
+     * <p>
+     * 結果はシャード番号順に連結されます。
+     * </p>
+     *
+     * @param <T> エンティティの型
+     * @param entityClass エンティティのクラス
+     * @return エンティティのリスト
+     */
+    public <T> List<T> findAll(Class<T> entityClass) {
+        return concat(scatter(shard -> shard.findAll(entityClass)));
+    }
+
+    /**
+     * 全シャードでSQL文による検索を実行します。
+     * <p>
+     * 結果はシャード番号順に連結されます。
+     * </p>
+     *
+     * @param <T> 戻り値の要素型
+     * @param sql SQL文
+     * @param params パラメータ
+     * @param resultType 戻り値の型
+     * @return 検索結果
+     */
+    public <T> List<T> selectBySql(String sql, Map<String, Object> params, Class<T> resultType) {
+        return concat(scatter(shard -> shard.selectBySql(sql, params, resultType).getResultList()));
+    }
+
+    /**
+     * 全シャードを対象とするSelect操作を開始します。
+     * <p>
+     * {@code orderBy} を指定した場合は、シャードごとに整列済みの結果をk-wayマージします。
+     * </p>
+     *
+     * @param <T> エンティティの型
+     * @param entityClass エンティティのクラス
+     * @return Selectビルダー
+     */
+    public <T> SBShardedSelectBuilder<T> from(Class<T> entityClass) {
+        return new SBShardedSelectBuilder<>(this, entityClass);
+    }
+
+    /**
+     * 全シャードへ並列に検索を発行し、シャードごとの結果を返します。
+     *
+     * @param <T> 戻り値の要素型
+     * @param query シャードのマネージャーを受け取り検索結果を返す関数
+     * @return シャード番号順の検索結果
+     */
+    public <T> List<List<T>> scatter(Function<SBJdbcManager, List<T>> query) {
+        if (shards.size() == 1) {
+            return List.of(query.apply(shards.get(0)));
+        }
+        List<Future<List<T>>> futures = new ArrayList<>(shards.size());
+        boolean completed = false;
+        try {
+            for (SBJdbcManager shard : shards) {
+                futures.add(SCATTER_EXECUTOR.submit(() -> query.apply(shard)));
+            }
+            List<List<T>> results = new ArrayList<>(shards.size());
+            for (int i = 0; i < futures.size(); i++) {
+                results.add(await(futures.get(i), i));
+            }
+            completed = true;
+            logger.debug("全シャードの検索が完了しました: shards={}", shards.size());
+            return results;
+        } finally {
+            if (!completed) {
+                // いずれかのシャードが失敗した場合は、残りのシャードの検索を中断する
+                for (Future<List<T>> future : futures) {
+                    future.cancel(true);
+                }
+            }
+        }
+    }
+
+    private <T> List<T> await(Future<List<T>> future, int index) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SBSQLException("シャードの検索が中断されました: " + index, e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new SBSQLException("シャードの検索中にエラーが発生しました: " + index, cause);
+        }
+    }
+
+    private static <T> List<T> concat(List<List<T>> parts) {
+        List<T> results = new ArrayList<>();
+        for (List<T> part : parts) {
+            results.addAll(part);
+        }
+        return results;
+    }
+}
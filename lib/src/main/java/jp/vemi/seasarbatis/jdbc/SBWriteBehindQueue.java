@@ -0,0 +1,361 @@
+/*
+ * Copyright (C) 2025 VEMI, All Rights Reserved.
+ */
+package jp.vemi.seasarbatis.jdbc;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BiConsumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import jp.vemi.seasarbatis.exception.SBException;
+import jp.vemi.seasarbatis.exception.SBIllegalStateException;
+
+/**
+ * エンティティの登録を呼び出し元から切り離し、バックグラウンドでまとめて登録するキューです。
+ * <p>
+ * 監査ログやテレメトリなど、呼び出し元の応答時間に影響させたくない大量の登録に使用します。
+ * {@link #offer(Object)} は複数のスレッドから同時に呼び出せます。キューはロックを使用しない
+ * {@link ConcurrentLinkedQueue} と、容量を表す {@link Semaphore} で上限を設けます。
+ * </p>
+ * <p>
+ * 書き込みスレッドは、保留中の件数がバッチサイズに達した時点、または書き込み間隔が経過した時点で
+ * キューを取り出し、バッチサイズごとに独立したトランザクションで登録します。
+ * 登録はエンティティクラスごとに1回のJDBCバッチとして送信します。登録したエンティティは再検索せず、
+ * 生成キーも設定しません。
+ * </p>
+ * <p>
+ * キューが満杯の場合の動作は {@link OverflowPolicy} で指定します。
+ * {@link #close()} は新たな登録を受け付けなくなった後、保留中のエンティティをすべて登録してから戻ります。
+ * 設定は最初の {@link #offer(Object)} より前に行ってください。
+ * </p>
+ *
+ * @author H.Kurosawa
+ * @version 1.0.0
+ * @since 2025/01/01
+ */
+public class SBWriteBehindQueue implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(SBWriteBehindQueue.class);
+    private static final AtomicInteger SEQUENCE = new AtomicInteger();
+    /** 停止時に実行中の登録の完了を待つ間隔 */
+    private static final long CLOSE_WAIT_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    /**
+     * キューが満杯の場合の動作を表す列挙型です。
+     */
+    public enum OverflowPolicy {
+        /** 空きができるまで呼び出し元を待機させます */
+        BLOCK,
+        /** エンティティを破棄し、{@link SBWriteBehindQueue#offer(Object)} はfalseを返します */
+        DROP,
+        /** 呼び出し元のスレッドで、独立したトランザクションで即座に登録します */
+        CALLER_RUNS
+    }
+
+    private final SBJdbcManager jdbcManager;
+    private final ConcurrentLinkedQueue<Object> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pending = new AtomicInteger();
+    /** 実行中の {@link #offer(Object)} の数 */
+    private final AtomicInteger inFlightOffers = new AtomicInteger();
+    private final AtomicLong writtenCount = new AtomicLong();
+    private final AtomicLong droppedCount = new AtomicLong();
+    private final AtomicLong failedCount = new AtomicLong();
+
+    private int capacity = 10_000;
+    private int batchSize = 500;
+    private Duration flushInterval = Duration.ofSeconds(1);
+    private OverflowPolicy overflowPolicy = OverflowPolicy.BLOCK;
+    private BiConsumer<List<Object>, RuntimeException> errorHandler = (entities, e) -> logger
+            .error("エンティティの非同期登録に失敗しました: {} 件", entities.size(), e);
+
+    private volatile Semaphore permits;
+    private volatile Thread writer;
+    private volatile boolean closed;
+
+    /**
+     * 登録に使用する {@link SBJdbcManager} を指定して構築します。
+     *
+     * @param jdbcManager 登録に使用する {@link SBJdbcManager}
+     */
+    public SBWriteBehindQueue(SBJdbcManager jdbcManager) {
+        this.jdbcManager = Objects.requireNonNull(jdbcManager);
+    }
+
+    /**
+     * キューに保留できるエンティティの上限を設定します。
+     *
+     * @param capacity 上限（1以上、既定値は10000）
+     * @return このインスタンス
+     */
+    public SBWriteBehindQueue setCapacity(int capacity) {
+        requireNotStarted();
+        if (capacity < 1) {
+            throw new SBIllegalStateException("キューの上限は1以上を指定してください: " + capacity);
+        }
+        this.capacity = capacity;
+        return this;
+    }
+
+    /**
+     * 1回のトランザクションで登録する件数を設定します。
+     * <p>
+     * 保留中の件数がこの値に達すると、書き込み間隔を待たずに登録を開始します。
+     * </p>
+     *
+     * @param batchSize 件数（1以上、既定値は500）
+     * @return このインスタンス
+     */
+    public SBWriteBehindQueue setBatchSize(int batchSize) {
+        requireNotStarted();
+        if (batchSize < 1) {
+            throw new SBIllegalStateException("バッチサイズは1以上を指定してください: " + batchSize);
+        }
+        this.batchSize = batchSize;
+        return this;
+    }
+
+    /**
+     * 保留中のエンティティを登録する間隔を設定します。
+     *
+     * @param flushInterval 間隔（既定値は1秒）
+     * @return このインスタンス
+     */
+    public SBWriteBehindQueue setFlushInterval(Duration flushInterval) {
+        requireNotStarted();
+        if (flushInterval.isNegative() || flushInterval.isZero()) {
+            throw new SBIllegalStateException("書き込み間隔は正の値を指定してください: " + flushInterval);
+        }
+        this.flushInterval = flushInterval;
+        return this;
+    }
+
+    /**
+     * キューが満杯の場合の動作を設定します。
+     *
+     * @param overflowPolicy 満杯の場合の動作（既定値は {@link OverflowPolicy#BLOCK}）
+     * @return このインスタンス
+     */
+    public SBWriteBehindQueue setOverflowPolicy(OverflowPolicy overflowPolicy) {
+        requireNotStarted();
+        this.overflowPolicy = Objects.requireNonNull(overflowPolicy);
+        return this;
+    }
+
+    /**
+     * 書き込みスレッドでの登録に失敗した場合の処理を設定します。
+     * <p>
+     * 失敗したバッチのエンティティと例外を受け取ります。既定ではエラーログを出力します。
+     * トランザクションの再実行は {@link SBJdbcManager#setRetryPolicy} の設定に従います。
+     * </p>
+     *
+     * @param errorHandler 失敗した場合の処理
+     * @return このインスタンス
+     */
+    public SBWriteBehindQueue setErrorHandler(BiConsumer<List<Object>, RuntimeException> errorHandler) {
+        requireNotStarted();
+        this.errorHandler = Objects.requireNonNull(errorHandler);
+        return this;
+    }
+
+    /**
+     * エンティティの登録を保留します。
+     * <p>
+     * キューが満杯の場合は {@link OverflowPolicy} に従います。
+     * </p>
+     *
+     * @param entity 登録するエンティティ
+     * @return 登録を受け付けた場合true、{@link OverflowPolicy#DROP} により破棄した場合false
+     * @throws SBIllegalStateException {@link #close()} の後に呼び出した場合
+     * @throws SBException {@link OverflowPolicy#BLOCK} で待機中に割り込まれた場合
+     */
+    public boolean offer(Object entity) {
+        Objects.requireNonNull(entity);
+        // close() は実行中の登録が完了するまで待機するため、停止の確認より前に計上する
+        inFlightOffers.incrementAndGet();
+        try {
+            if (closed) {
+                throw new SBIllegalStateException("非同期登録のキューは停止しています");
+            }
+            Semaphore available = start();
+            if (!available.tryAcquire()) {
+                switch (overflowPolicy) {
+                case DROP:
+                    droppedCount.incrementAndGet();
+                    return false;
+                case CALLER_RUNS:
+                    write(List.of(entity));
+                    return true;
+                default:
+                    try {
+                        available.acquire();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new SBException("非同期登録の待機中に割り込まれました", e);
+                    }
+                }
+            }
+            queue.offer(entity);
+            if (pending.incrementAndGet() >= batchSize) {
+                LockSupport.unpark(writer);
+            }
+            return true;
+        } finally {
+            inFlightOffers.decrementAndGet();
+        }
+    }
+
+    /**
+     * 新たな登録の受け付けを停止し、保留中のエンティティをすべて登録してから戻ります。
+     * <p>
+     * 停止と同時に実行中の {@link #offer(Object)} がある場合は、その完了を待ってから登録します。
+     * 空きを待機している呼び出し元があれば、この呼び出し元のスレッドで登録して空きを作ります。
+     * </p>
+     */
+    @Override
+    public void close() {
+        closed = true;
+        while (inFlightOffers.get() > 0) {
+            if (permits != null) {
+                drain();
+            }
+            LockSupport.parkNanos(this, CLOSE_WAIT_NANOS);
+        }
+        Thread current = writer;
+        if (current == null) {
+            return;
+        }
+        LockSupport.unpark(current);
+        try {
+            current.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SBException("非同期登録の停止待機中に割り込まれました", e);
+        }
+        // 書き込みスレッドの停止後に残ったエンティティがあれば、呼び出し元で登録する
+        drain();
+    }
+
+    /**
+     * 保留中の件数を返します。
+     *
+     * @return 保留中の件数
+     */
+    public int getPendingCount() {
+        return pending.get();
+    }
+
+    /**
+     * 登録した件数を返します。
+     *
+     * @return 登録した件数
+     */
+    public long getWrittenCount() {
+        return writtenCount.get();
+    }
+
+    /**
+     * {@link OverflowPolicy#DROP} により破棄した件数を返します。
+     *
+     * @return 破棄した件数
+     */
+    public long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    /**
+     * 登録に失敗した件数を返します。
+     *
+     * @return 登録に失敗した件数
+     */
+    public long getFailedCount() {
+        return failedCount.get();
+    }
+
+    private void requireNotStarted() {
+        if (permits != null) {
+            throw new SBIllegalStateException("非同期登録のキューは開始済みのため設定を変更できません");
+        }
+    }
+
+    /**
+     * 初回の呼び出しで書き込みスレッドを開始します。
+     *
+     * @return 容量を表すセマフォ
+     */
+    private Semaphore start() {
+        Semaphore available = permits;
+        if (available != null) {
+            return available;
+        }
+        synchronized (this) {
+            if (permits == null) {
+                writer = Thread.ofPlatform().daemon().name("sb-write-behind-" + SEQUENCE.incrementAndGet())
+                        .start(this::runWriter);
+                permits = new Semaphore(capacity);
+            }
+            return permits;
+        }
+    }
+
+    private void runWriter() {
+        long intervalNanos = flushInterval.toNanos();
+        long deadline = System.nanoTime() + intervalNanos;
+        while (!closed) {
+            long remaining = deadline - System.nanoTime();
+            if (pending.get() >= batchSize || remaining <= 0) {
+                drain();
+                deadline = System.nanoTime() + intervalNanos;
+            } else {
+                LockSupport.parkNanos(this, remaining);
+            }
+        }
+        drain();
+        logger.debug("非同期登録のキューを停止しました: 登録 {} 件, 破棄 {} 件, 失敗 {} 件", writtenCount.get(),
+                droppedCount.get(), failedCount.get());
+    }
+
+    /**
+     * 保留中のエンティティを、バッチサイズごとに取り出して登録します。
+     */
+    private void drain() {
+        List<Object> batch = new ArrayList<>(Math.min(batchSize, capacity));
+        Object entity;
+        while ((entity = queue.poll()) != null) {
+            batch.add(entity);
+            if (batch.size() >= batchSize) {
+                release(batch.size());
+                write(batch);
+                batch = new ArrayList<>(batchSize);
+            }
+        }
+        if (!batch.isEmpty()) {
+            release(batch.size());
+            write(batch);
+        }
+    }
+
+    private void release(int count) {
+        pending.addAndGet(-count);
+        permits.release(count);
+    }
+
+    private void write(List<Object> batch) {
+        try {
+            jdbcManager.insertWriteBehind(batch);
+            writtenCount.addAndGet(batch.size());
+        } catch (RuntimeException e) {
+            failedCount.addAndGet(batch.size());
+            errorHandler.accept(batch, e);
+        }
+    }
+}
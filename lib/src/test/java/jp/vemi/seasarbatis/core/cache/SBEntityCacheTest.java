@@ -0,0 +1,164 @@
+/*
+ * Copyright (C) 2025 VEMI, All Rights Reserved.
+ */
+package jp.vemi.seasarbatis.core.cache;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.sql.Connection;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.apache.ibatis.datasource.pooled.PooledDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import jp.vemi.seasarbatis.core.config.SBEntityCacheConfig;
+import jp.vemi.seasarbatis.core.meta.SBColumnMeta;
+import jp.vemi.seasarbatis.core.meta.SBTableMeta;
+import jp.vemi.seasarbatis.jdbc.SBJdbcManager;
+import lombok.Data;
+
+/**
+ * {@link SBEntityCache} のテストクラスです。
+ *
+ * @author H.Kurosawa
+ * @version 0.0.1
+ */
+class SBEntityCacheTest {
+
+    private DataSource dataSource;
+    private SBJdbcManager jdbcManager;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        dataSource = new PooledDataSource("org.h2.Driver",
+                "jdbc:h2:mem:entitycachetest;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE", "sa", "");
+        try (Connection conn = dataSource.getConnection(); Statement stmt = conn.createStatement()) {
+            stmt.execute("DROP TABLE IF EXISTS cached_users");
+            stmt.execute("CREATE TABLE cached_users (id BIGINT PRIMARY KEY, name VARCHAR(100))");
+            stmt.execute("INSERT INTO cached_users VALUES (1, 'alice'), (2, 'bob'), (3, 'carol')");
+        }
+        jdbcManager = new SBJdbcManager(dataSource);
+        jdbcManager.setEntityCacheConfig(new SBEntityCacheConfig()
+                .addEntityConfig(CachedUser.class, new SBEntityCacheConfig.EntityCacheConfig(2, Duration.ofMinutes(5))));
+    }
+
+    @Test
+    void testFindByPkIsServedFromCache() throws Exception {
+        assertEquals("alice", find(1L).getName());
+        updateDirectly("UPDATE cached_users SET name = 'direct' WHERE id = 1");
+
+        CachedUser cached = find(1L);
+        assertEquals("alice", cached.getName());
+        cached.setName("modified");
+        assertEquals("alice", find(1L).getName(), "取得したエンティティを変更してもキャッシュに影響しないこと");
+
+        SBEntityCache.Stats stats = jdbcManager.getEntityCache().getStats(CachedUser.class);
+        assertEquals(2, stats.getHitCount());
+        assertEquals(1, stats.getMissCount());
+        assertEquals(2.0 / 3.0, stats.getHitRate(), 0.0001);
+    }
+
+    @Test
+    void testUpdateEvictsAfterCommit() {
+        assertEquals("alice", find(1L).getName());
+        CachedUser user = user(1L, "updated");
+        jdbcManager.update(user);
+
+        assertEquals("updated", find(1L).getName());
+    }
+
+    @Test
+    void testRollbackKeepsCache() {
+        assertEquals("alice", find(1L).getName());
+        assertThrows(RuntimeException.class, () -> jdbcManager.transaction(manager -> {
+            manager.update(user(1L, "uncommitted"));
+            assertEquals("uncommitted", manager.findByPk(user(1L, null)).getSingleResult().getName(),
+                    "トランザクション内では自身の更新が見えること");
+            throw new IllegalStateException("rollback");
+        }));
+
+        assertEquals("alice", find(1L).getName());
+        assertEquals(1, jdbcManager.getEntityCache().getStats(CachedUser.class).getSize());
+    }
+
+    @Test
+    void testBatchDeleteEvicts() {
+        find(1L);
+        find(2L);
+        jdbcManager.batchDelete(List.of(user(1L, null), user(2L, null)));
+
+        assertNull(jdbcManager.findByPkNoException(user(1L, null)).getSingleResult());
+        assertNull(jdbcManager.findByPkNoException(user(2L, null)).getSingleResult());
+    }
+
+    @Test
+    void testSqlWritesEvictTable() {
+        find(1L);
+        jdbcManager.transaction(manager -> manager.update(
+                "UPDATE cached_users SET name = /*name*/'x' WHERE id = /*id*/0", Map.of("name", "raw", "id", 1L)));
+        assertEquals("raw", find(1L).getName(), "主キーが不明な更新でも破棄されること");
+
+        find(2L);
+        jdbcManager.transaction(manager -> {
+            manager.delete("DELETE FROM cached_users WHERE id = /*id*/0", Map.of("id", 2L));
+            assertNull(manager.findByPkNoException(user(2L, null)).getSingleResult(),
+                    "トランザクション内では自身の削除が見えること");
+        });
+        assertNull(jdbcManager.findByPkNoException(user(2L, null)).getSingleResult(), "コミット後に破棄されること");
+
+        find(3L);
+        assertThrows(RuntimeException.class, () -> jdbcManager.transaction(manager -> {
+            manager.update("UPDATE cached_users SET name = 'uncommitted'", Map.of());
+            throw new IllegalStateException("rollback");
+        }));
+        assertEquals(1, jdbcManager.getEntityCache().getStats(CachedUser.class).getSize(),
+                "ロールバックされた場合は破棄しないこと");
+    }
+
+    @Test
+    void testSizeIsBounded() {
+        find(1L);
+        find(2L);
+        find(3L);
+
+        SBEntityCache.Stats stats = jdbcManager.getEntityCache().getStats(CachedUser.class);
+        assertEquals(2, stats.getSize());
+        assertEquals(1, stats.getEvictionCount());
+    }
+
+    private CachedUser find(Long id) {
+        return jdbcManager.findByPk(user(id, null)).getSingleResult();
+    }
+
+    private static CachedUser user(Long id, String name) {
+        CachedUser user = new CachedUser();
+        user.setId(id);
+        user.setName(name);
+        return user;
+    }
+
+    private void updateDirectly(String sql) throws Exception {
+        try (Connection conn = dataSource.getConnection(); Statement stmt = conn.createStatement()) {
+            stmt.execute(sql);
+        }
+    }
+
+    /**
+     * キャッシュテスト用エンティティです。
+     */
+    @Data
+    @SBTableMeta(name = "cached_users")
+    public static class CachedUser {
+        @SBColumnMeta(name = "id", primaryKey = true)
+        private Long id;
+
+        @SBColumnMeta(name = "name")
+        private String name;
+    }
+}
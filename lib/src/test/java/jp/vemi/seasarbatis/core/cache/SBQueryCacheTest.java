@@ -0,0 +1,207 @@
+/*
+ * Copyright (C) 2025 VEMI, All Rights Reserved.
+ */
+package jp.vemi.seasarbatis.core.cache;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.sql.Connection;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.sql.DataSource;
+
+import org.apache.ibatis.datasource.pooled.PooledDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import jp.vemi.seasarbatis.core.meta.SBColumnMeta;
+import jp.vemi.seasarbatis.core.meta.SBTableMeta;
+import jp.vemi.seasarbatis.jdbc.SBJdbcManager;
+import lombok.Data;
+
+/**
+ * {@link SBQueryCache} のテストクラスです。
+ *
+ * @author H.Kurosawa
+ * @version 0.0.1
+ */
+class SBQueryCacheTest {
+
+    private static final String SELECT_SQL = "SELECT id, name FROM cache_items WHERE id = /*id*/0";
+
+    private DataSource dataSource;
+    private SBJdbcManager jdbcManager;
+    private SBQueryCache cache;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        dataSource = new PooledDataSource("org.h2.Driver",
+                "jdbc:h2:mem:cachetest;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE", "sa", "");
+        try (Connection conn = dataSource.getConnection(); Statement stmt = conn.createStatement()) {
+            stmt.execute("DROP TABLE IF EXISTS cache_items");
+            stmt.execute("CREATE TABLE cache_items (id BIGINT PRIMARY KEY, name VARCHAR(100))");
+            stmt.execute("INSERT INTO cache_items VALUES (1, 'first'), (2, 'second')");
+        }
+        jdbcManager = new SBJdbcManager(dataSource);
+        cache = new SBQueryCache(100, Duration.ofMinutes(5));
+        jdbcManager.setQueryCache(cache);
+    }
+
+    @Test
+    void testCachedResultIsReturnedUntilTableIsWritten() throws Exception {
+        assertEquals("first", selectName(1L));
+        // JDBCで直接更新してもキャッシュは無効化されない
+        updateDirectly("UPDATE cache_items SET name = 'direct' WHERE id = 1");
+        assertEquals("first", selectName(1L));
+        assertEquals(1, cache.getHitCount());
+
+        CacheItem item = new CacheItem();
+        item.setId(2L);
+        item.setName("updated");
+        jdbcManager.update(item);
+
+        assertEquals(0, cache.size(), "更新対象テーブルのエントリが無効化されること");
+        assertEquals("direct", selectName(1L));
+    }
+
+    @Test
+    void testCachedEntitiesAreCopied() {
+        CacheItem first = jdbcManager.selectBySql(SELECT_SQL, Map.of("id", 1L), CacheItem.class).cacheable()
+                .getSingleResult();
+        first.setName("changed by caller");
+        CacheItem second = jdbcManager.selectBySql(SELECT_SQL, Map.of("id", 1L), CacheItem.class).cacheable()
+                .getSingleResult();
+        second.setName("changed again");
+
+        assertEquals(1, cache.getHitCount());
+        assertNotSame(first, second);
+        assertEquals("first", selectName(1L), "呼び出し元の変更がキャッシュへ影響しないこと");
+    }
+
+    @Test
+    void testSqlUpdateInvalidatesTable() {
+        assertEquals("first", selectName(1L));
+        // ビルダーも同じSQL実行経路で更新する
+        jdbcManager.transaction(manager -> manager.update(
+                "UPDATE cache_items SET name = /*name*/'x' WHERE id = /*id*/0", Map.of("name", "built", "id", 1L)));
+        assertEquals("built", selectName(1L));
+    }
+
+    @Test
+    void testTtlExpiry() throws Exception {
+        jdbcManager.selectBySql("SELECT * FROM cache_items", Map.of(), CacheItem.class)
+                .cacheable(Duration.ofMillis(1)).getResultList();
+        updateDirectly("DELETE FROM cache_items WHERE id = 2");
+        Thread.sleep(10);
+
+        List<CacheItem> results = jdbcManager.selectBySql("SELECT * FROM cache_items", Map.of(), CacheItem.class)
+                .cacheable(Duration.ofMillis(1)).getResultList();
+        assertEquals(1, results.size(), "期限切れのエントリは再検索されること");
+    }
+
+    @Test
+    void testLruBound() {
+        cache = new SBQueryCache(2, Duration.ofMinutes(5));
+        jdbcManager.setQueryCache(cache);
+        selectName(1L);
+        selectName(2L);
+        selectName(1L);
+        selectName(3L);
+
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.getEvictionCount());
+        selectName(1L);
+        assertEquals(2, cache.getHitCount(), "最近参照したエントリは残ること");
+    }
+
+    @Test
+    void testSqlHint() throws Exception {
+        String sql = "-- sb:cacheable(ttl=60)\nSELECT id, name FROM cache_items ORDER BY id";
+        List<Map<String, Object>> first = jdbcManager.selectBySql(sql, Map.of(), Map.class).getResultList()
+                .stream().map(this::asMap).toList();
+        updateDirectly("UPDATE cache_items SET name = 'direct' WHERE id = 1");
+        List<Map<String, Object>> second = jdbcManager.selectBySql(sql, Map.of(), Map.class).getResultList()
+                .stream().map(this::asMap).toList();
+
+        assertEquals(first, second);
+        assertEquals(1, cache.getHitCount());
+    }
+
+    @Test
+    void testRollbackLeavesNoStaleEntry() {
+        assertEquals("first", selectName(1L));
+        assertThrows(RuntimeException.class, () -> jdbcManager.transaction(manager -> {
+            manager.update("UPDATE cache_items SET name = 'uncommitted' WHERE id = 1", Map.of());
+            assertEquals("uncommitted", selectName(1L), "トランザクション内では自身の更新が見えること");
+            throw new IllegalStateException("rollback");
+        }));
+
+        assertEquals("first", selectName(1L));
+        assertEquals(0, cache.getHitCount(), "未コミットの結果がキャッシュされないこと");
+    }
+
+    @Test
+    void testBindValuesAreComparedByTypeAndContent() {
+        String sql = "SELECT * FROM cache_items WHERE name IN (?, ?)";
+        cache.put(sql, List.of("a, b", "c"), Map.class, List.of(Map.of("id", 1L)), Duration.ofMinutes(1),
+                cache.currentSequence());
+        assertNull(cache.get(sql, List.of("a", "b, c"), Map.class), "文字列表現が同じでも異なる値は別のキーとすること");
+
+        String byId = "SELECT * FROM cache_items WHERE id = ?";
+        cache.put(byId, List.of(1), Map.class, List.of(Map.of("id", 1L)), Duration.ofMinutes(1),
+                cache.currentSequence());
+        assertNull(cache.get(byId, List.of("1"), Map.class), "型が異なる値は別のキーとすること");
+
+        String byBytes = "SELECT * FROM cache_items WHERE name = ?";
+        byte[] bytes = { 1, 2, 3 };
+        cache.put(byBytes, List.of(bytes), Map.class, List.of(Map.of("id", 2L)), Duration.ofMinutes(1),
+                cache.currentSequence());
+        bytes[0] = 9;
+        assertNotNull(cache.get(byBytes, List.of(new byte[] { 1, 2, 3 }), Map.class), "配列は内容で比較すること");
+        assertNull(cache.get(byBytes, List.of(bytes), Map.class), "登録後に書き換えた配列は別のキーとすること");
+        assertEquals(3, cache.size());
+    }
+
+    @Test
+    void testExtractTables() {
+        assertEquals(Set.of("a", "b", "c"), SBQueryCache.extractTables(
+                "SELECT * FROM schema1.A x, \"B\" y JOIN c ON c.id = x.id WHERE x.v = 'from d'"));
+        assertEquals(Set.of("orders", "items"), SBQueryCache.extractTables(
+                "SELECT * FROM (SELECT * FROM orders) o LEFT JOIN items i ON i.o = o.id"));
+        assertEquals(Set.of("items"), SBQueryCache.extractWrittenTables("DELETE FROM ITEMS WHERE id = 1"));
+        assertEquals(Set.of("*"), SBQueryCache.extractWrittenTables("TRUNCATE TABLE items"));
+    }
+
+    private String selectName(Long id) {
+        return jdbcManager.selectBySql(SELECT_SQL, Map.of("id", id), CacheItem.class).cacheable()
+                .suppressException().getSingleResult() instanceof CacheItem item ? item.getName() : null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> asMap(Object row) {
+        return (Map<String, Object>) row;
+    }
+
+    private void updateDirectly(String sql) throws Exception {
+        try (Connection conn = dataSource.getConnection(); Statement stmt = conn.createStatement()) {
+            stmt.execute(sql);
+        }
+    }
+
+    /**
+     * キャッシュテスト用エンティティです。
+     */
+    @Data
+    @SBTableMeta(name = "cache_items")
+    public static class CacheItem {
+        @SBColumnMeta(name = "id", primaryKey = true)
+        private Long id;
+
+        @SBColumnMeta(name = "name")
+        private String name;
+    }
+}
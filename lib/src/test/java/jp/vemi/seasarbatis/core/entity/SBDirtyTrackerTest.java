@@ -0,0 +1,185 @@
+/*
+ * Copyright (C) 2025 VEMI, All Rights Reserved.
+ */
+package jp.vemi.seasarbatis.core.entity;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Set;
+
+import javax.sql.DataSource;
+
+import org.apache.ibatis.datasource.pooled.PooledDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import jp.vemi.seasarbatis.core.config.SBOptimisticLockConfig;
+import jp.vemi.seasarbatis.core.meta.SBColumnMeta;
+import jp.vemi.seasarbatis.core.meta.SBTableMeta;
+import jp.vemi.seasarbatis.core.transaction.SBTransactionManager;
+import jp.vemi.seasarbatis.core.transaction.SBTransactionManager.PropagationType;
+import jp.vemi.seasarbatis.exception.SBTransactionException;
+import jp.vemi.seasarbatis.jdbc.SBJdbcManager;
+import lombok.Data;
+
+/**
+ * {@link SBDirtyTracker} による変更カラムのみの更新のテストクラスです。
+ *
+ * @author H.Kurosawa
+ * @version 1.0.0
+ */
+class SBDirtyTrackerTest {
+
+    private DataSource dataSource;
+    private SBJdbcManager jdbcManager;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        dataSource = new PooledDataSource("org.h2.Driver",
+                "jdbc:h2:mem:dirtytest;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE", "sa", "");
+        try (Connection conn = dataSource.getConnection(); Statement stmt = conn.createStatement()) {
+            stmt.execute("DROP TABLE IF EXISTS wide_rows");
+            stmt.execute("CREATE TABLE wide_rows (id BIGINT PRIMARY KEY, name VARCHAR(50), note VARCHAR(50), "
+                    + "amount INT, version BIGINT)");
+            stmt.execute("INSERT INTO wide_rows VALUES (1, 'a', 'n1', 10, 1), (2, 'b', 'n2', 20, 1)");
+        }
+        jdbcManager = new SBJdbcManager(dataSource,
+                new SBOptimisticLockConfig().setDefaultLockType(SBOptimisticLockConfig.LockType.VERSION));
+        jdbcManager.setDirtyTrackingEnabled(true);
+    }
+
+    @Test
+    void testChangedColumnsAreDetected() {
+        SBDirtyTracker tracker = jdbcManager.getDirtyTracker();
+        WideRow row = jdbcManager.findByPk(key(1L)).getSingleResult();
+        assertTrue(tracker.isTracked(row));
+        assertEquals(Set.of(), tracker.getChangedColumns(row));
+
+        row.setName("changed");
+        row.setAmount(null);
+        assertEquals(Set.of("name", "amount"), tracker.getChangedColumns(row));
+        assertNull(tracker.getChangedColumns(key(1L)), "検索していないエンティティは追跡されないこと");
+    }
+
+    @Test
+    void testOnlyChangedColumnsAreWritten() throws Exception {
+        WideRow row = jdbcManager.findByPk(key(1L)).getSingleResult();
+        // 別の処理による更新
+        executeSql("UPDATE wide_rows SET note = 'concurrent' WHERE id = 1");
+
+        row.setName("renamed");
+        WideRow updated = jdbcManager.update(row);
+        assertEquals("renamed", updated.getName());
+        assertEquals("concurrent", updated.getNote(), "変更していないカラムは上書きされないこと");
+        assertEquals(2L, updated.getVersion(), "バージョンは常に更新されること");
+        assertTrue(jdbcManager.getDirtyTracker().getChangedColumns(row).isEmpty(), "更新後の値が新しいスナップショットになること");
+    }
+
+    @Test
+    void testUnchangedEntityIsNotUpdated() throws Exception {
+        List<WideRow> rows = jdbcManager.from(WideRow.class).orderBy("id").getResultList();
+        executeSql("UPDATE wide_rows SET note = 'concurrent'");
+
+        WideRow first = rows.get(0);
+        assertSame(first, jdbcManager.update(first), "変更がない場合はUPDATEせずにそのまま返すこと");
+        assertEquals(1L, first.getVersion());
+
+        rows.get(1).setAmount(99);
+        assertEquals(List.of(0, 1), jdbcManager.batchUpdate(rows));
+
+        List<WideRow> reloaded = jdbcManager.from(WideRow.class).orderBy("id").getResultList();
+        assertEquals(1L, reloaded.get(0).getVersion());
+        assertEquals(99, reloaded.get(1).getAmount());
+        assertEquals(2L, reloaded.get(1).getVersion());
+        assertEquals("concurrent", reloaded.get(1).getNote());
+    }
+
+    @Test
+    void testRolledBackUpdateIsWrittenAgain() {
+        SBJdbcManager manager = new SBJdbcManager(dataSource);
+        manager.setDirtyTrackingEnabled(true);
+        WideRow row = manager.findByPk(key(1L)).getSingleResult();
+        row.setName("retried");
+
+        assertThrows(RuntimeException.class, () -> manager.transaction(m -> {
+            m.update(row);
+            throw new IllegalStateException("rollback");
+        }));
+        assertEquals("a", manager.findByPk(key(1L)).getSingleResult().getName());
+        assertEquals(Set.of("name"), manager.getDirtyTracker().getChangedColumns(row),
+                "ロールバックした更新はスナップショットに反映しないこと");
+
+        manager.update(row);
+        assertEquals("retried", manager.findByPk(key(1L)).getSingleResult().getName());
+    }
+
+    @Test
+    void testUpdateRolledBackToSavepointIsWrittenAgain() {
+        SBJdbcManager manager = new SBJdbcManager(dataSource);
+        manager.setDirtyTrackingEnabled(true);
+        SBTransactionManager txManager = manager.getTransactionManager();
+        WideRow row = manager.findByPk(key(2L)).getSingleResult();
+        row.setNote("nested");
+
+        txManager.execute(PropagationType.REQUIRED, () -> {
+            assertThrows(SBTransactionException.class, () -> txManager.execute(PropagationType.NESTED, () -> {
+                manager.update(row);
+                throw new IllegalStateException("nested failure");
+            }));
+            return null;
+        });
+        assertEquals("n2", manager.findByPk(key(2L)).getSingleResult().getNote());
+
+        manager.update(row);
+        assertEquals("nested", manager.findByPk(key(2L)).getSingleResult().getNote());
+    }
+
+    @Test
+    void testUntrackedEntityUpdatesAllColumns() throws Exception {
+        WideRow row = key(2L);
+        row.setName("full");
+        row.setVersion(1L);
+        jdbcManager.update(row);
+
+        WideRow reloaded = jdbcManager.findByPk(key(2L)).getSingleResult();
+        assertEquals("full", reloaded.getName());
+        assertNull(reloaded.getNote(), "スナップショットのないエンティティはすべてのカラムを更新すること");
+    }
+
+    private void executeSql(String sql) throws Exception {
+        try (Connection conn = dataSource.getConnection(); Statement stmt = conn.createStatement()) {
+            stmt.execute(sql);
+        }
+    }
+
+    private static WideRow key(Long id) {
+        WideRow row = new WideRow();
+        row.setId(id);
+        return row;
+    }
+
+    /**
+     * 変更追跡のテスト用エンティティです。
+     */
+    @Data
+    @SBTableMeta(name = "wide_rows")
+    public static class WideRow {
+        @SBColumnMeta(name = "id", primaryKey = true)
+        private Long id;
+
+        @SBColumnMeta(name = "name")
+        private String name;
+
+        @SBColumnMeta(name = "note")
+        private String note;
+
+        @SBColumnMeta(name = "amount")
+        private Integer amount;
+
+        @SBColumnMeta(name = "version", versionColumn = true)
+        private Long version;
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright (C) 2025 VEMI, All Rights Reserved.
+ */
+package jp.vemi.seasarbatis.core.entity;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.apache.ibatis.datasource.pooled.PooledDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import jp.vemi.seasarbatis.core.meta.SBColumnMeta;
+import jp.vemi.seasarbatis.core.meta.SBTableMeta;
+import jp.vemi.seasarbatis.jdbc.SBJdbcManager;
+
+/**
+ * {@link SBEntityInstantiator} によるレコード・コンストラクタ経由のマッピングのテストクラスです。
+ *
+ * @author H.Kurosawa
+ * @version 1.0.0
+ */
+class SBEntityInstantiatorTest {
+
+    private SBJdbcManager jdbcManager;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        DataSource dataSource = new PooledDataSource("org.h2.Driver",
+                "jdbc:h2:mem:instantiatortest;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE", "sa", "");
+        try (Connection conn = dataSource.getConnection(); Statement stmt = conn.createStatement()) {
+            stmt.execute("DROP TABLE IF EXISTS immutable_items");
+            stmt.execute("CREATE TABLE immutable_items (id BIGINT PRIMARY KEY, item_name VARCHAR(50), quantity INT)");
+        }
+        jdbcManager = new SBJdbcManager(dataSource);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SBGeneratedMappers.setEnabled(true);
+    }
+
+    @Test
+    void testRecordRoundTrip() {
+        jdbcManager.insert(new RecordItem(1L, "apple", 3));
+        jdbcManager.insert(new RecordItem(2L, null, 0));
+
+        List<RecordItem> generated = jdbcManager.from(RecordItem.class).orderBy("id").getResultList();
+        assertEquals(List.of(new RecordItem(1L, "apple", 3), new RecordItem(2L, null, 0)), generated);
+        assertTrue(SBGeneratedMappers.find(RecordItem.class).isPresent(), "レコードのマッパーが生成されること");
+
+        SBGeneratedMappers.setEnabled(false);
+        assertEquals(generated, jdbcManager.from(RecordItem.class).orderBy("id").getResultList());
+        assertEquals(new RecordItem(1L, "apple", 3),
+                jdbcManager.findByPk(new RecordItem(1L, null, 0)).getSingleResult());
+        assertEquals(Map.of("id", 1L, "item_name", "apple", "quantity", 3),
+                SBEntityOperations.getEntityParams(new RecordItem(1L, "apple", 3)));
+    }
+
+    @Test
+    void testAnnotatedConstructorIsUsed() {
+        jdbcManager.insert(new ImmutableItem(5L, "pear", 7));
+
+        ImmutableItem item = jdbcManager.from(ImmutableItem.class).where(w -> w.eq("id", 5L)).getSingleResult();
+        assertEquals(5L, item.getId());
+        assertEquals("pear", item.getItemName());
+        assertEquals(7, item.getQuantity());
+        assertTrue(SBGeneratedMappers.find(ImmutableItem.class).isEmpty(), "引数なしコンストラクタがないクラスは実行時に生成されること");
+    }
+
+    @Test
+    void testShapeIsResolvedPerColumnLayout() {
+        SBEntityInstantiator instantiator = SBEntityInstantiator.of(RecordItem.class).orElseThrow();
+        assertEquals(List.of("id", "item_name", "quantity"), instantiator.getParameterNames());
+        assertTrue(SBEntityInstantiator.of(Map.class).isEmpty());
+
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("QUANTITY", 4L);
+        row.put("ITEM_NAME", "plum");
+        row.put("EXTRA", "ignored");
+        row.put("ID", 9);
+        assertEquals(new RecordItem(9L, "plum", 4), instantiator.newInstance(row, true));
+
+        Map<String, Object> partial = new LinkedHashMap<>();
+        partial.put("id", 10L);
+        assertEquals(new RecordItem(10L, null, 0), instantiator.newInstance(partial, true),
+                "列がないプリミティブ型の引数は初期値になること");
+    }
+
+    /**
+     * テスト用のレコードエンティティです。
+     */
+    @SBTableMeta(name = "immutable_items")
+    public record RecordItem(
+            @SBColumnMeta(name = "id", primaryKey = true) Long id,
+            @SBColumnMeta(name = "item_name") String itemName,
+            @SBColumnMeta(name = "quantity") int quantity) {
+    }
+
+    /**
+     * コンストラクタで生成するテスト用のエンティティです。
+     */
+    @SBTableMeta(name = "immutable_items")
+    public static class ImmutableItem {
+        @SBColumnMeta(name = "id", primaryKey = true)
+        private final Long id;
+
+        @SBColumnMeta(name = "item_name")
+        private final String itemName;
+
+        @SBColumnMeta(name = "quantity")
+        private final int quantity;
+
+        public ImmutableItem(@SBColumnMeta(name = "id") Long id, @SBColumnMeta(name = "item_name") String itemName,
+                @SBColumnMeta(name = "quantity") int quantity) {
+            this.id = id;
+            this.itemName = itemName;
+            this.quantity = quantity;
+        }
+
+        public Long getId() {
+            return id;
+        }
+
+        public String getItemName() {
+            return itemName;
+        }
+
+        public int getQuantity() {
+            return quantity;
+        }
+    }
+}
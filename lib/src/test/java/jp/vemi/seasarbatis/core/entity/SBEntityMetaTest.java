@@ -0,0 +1,101 @@
+/*
+ * Copyright (C) 2025 VEMI, All Rights Reserved.
+ */
+package jp.vemi.seasarbatis.core.entity;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import jp.vemi.seasarbatis.core.meta.SBColumnMeta;
+import jp.vemi.seasarbatis.core.meta.SBTableMeta;
+import jp.vemi.seasarbatis.exception.SBException;
+import jp.vemi.seasarbatis.exception.SBIllegalStateException;
+import jp.vemi.seasarbatis.test.entity.OptimisticLockTestUser;
+import lombok.Data;
+
+/**
+ * {@link SBEntityMeta} のテストクラスです。
+ *
+ * @author H.Kurosawa
+ * @version 1.0.0
+ */
+class SBEntityMetaTest {
+
+    @Test
+    void testMetaIsCachedPerClass() {
+        SBEntityMeta meta = SBEntityMeta.of(OptimisticLockTestUser.class);
+        assertSame(meta, SBEntityMeta.of(OptimisticLockTestUser.class));
+        assertSame(meta.getPrimaryKeyInfo(), SBEntityMeta.of(OptimisticLockTestUser.class).getPrimaryKeyInfo());
+
+        assertEquals("users", meta.getTableName());
+        assertEquals(List.of("id", "name", "email", "version", "updated_at"),
+                meta.getColumns().stream().map(SBEntityMeta.Column::getName).toList(), "宣言順であること");
+        assertEquals(List.of("id"), meta.getPrimaryKeyInfo().getColumnNames());
+        assertEquals("version", meta.getVersionColumn().orElseThrow().getName());
+        assertEquals("updated_at", meta.getLastModifiedColumn().orElseThrow().getName());
+    }
+
+    @Test
+    void testAccessorsReadAndWriteFields() {
+        SBEntityMeta meta = SBEntityMeta.of(MetaItem.class);
+        MetaItem item = new MetaItem();
+        item.setCode("A1");
+        item.setActive(true);
+
+        SBEntityMeta.Column code = meta.findColumn("ITEM_CODE").orElseThrow();
+        assertSame(code, meta.findColumn("code").orElseThrow(), "フィールド名でも検索できること");
+        assertEquals("A1", code.get(item));
+        code.set(item, "B2");
+        assertEquals("B2", item.getCode());
+
+        meta.findColumn("seq").orElseThrow().set(item, 7);
+        assertEquals(7, item.getSeq());
+
+        Map<String, Object> params = SBEntityOperations.getEntityParams(item);
+        assertEquals(Map.of("item_code", "B2", "seq", 7, "active", true), params);
+        assertEquals(Map.of("item_code", "B2", "seq", 7), SBEntityOperations.getPrimaryKeyValues(item));
+
+        MetaItem copy = meta.copy(item);
+        assertNotSame(item, copy);
+        assertEquals(item, copy);
+    }
+
+    @Test
+    void testInvalidEntitiesAreRejected() {
+        assertThrows(SBIllegalStateException.class, () -> SBEntityMeta.of(NoKeyItem.class).getPrimaryKeyInfo());
+        NoKeyItem item = new NoKeyItem();
+        assertThrows(SBException.class, () -> SBEntityOperations.getEntityParams(item), "カラムメタ情報のないフィールドは拒否されること");
+        assertEquals(List.of("note"), SBEntityMeta.of(NoKeyItem.class).getUnmappedFields());
+    }
+
+    /**
+     * テスト用のエンティティです。
+     */
+    @Data
+    @SBTableMeta(name = "meta_items")
+    public static class MetaItem {
+        @SBColumnMeta(name = "item_code", primaryKey = true)
+        private String code;
+
+        @SBColumnMeta(name = "seq", primaryKey = true)
+        private int seq;
+
+        @SBColumnMeta(name = "active")
+        private boolean active;
+    }
+
+    /**
+     * 主キーのないテスト用のエンティティです。
+     */
+    @Data
+    public static class NoKeyItem {
+        @SBColumnMeta(name = "name")
+        private String name;
+
+        private String note;
+    }
+}
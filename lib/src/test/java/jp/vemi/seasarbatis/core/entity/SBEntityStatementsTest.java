@@ -0,0 +1,106 @@
+/*
+ * Copyright (C) 2025 VEMI, All Rights Reserved.
+ */
+package jp.vemi.seasarbatis.core.entity;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.apache.ibatis.datasource.pooled.PooledDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import jp.vemi.seasarbatis.core.meta.SBColumnMeta;
+import jp.vemi.seasarbatis.core.meta.SBTableMeta;
+import jp.vemi.seasarbatis.jdbc.SBJdbcManager;
+import lombok.Data;
+
+/**
+ * {@link SBEntityStatements} のテストクラスです。
+ *
+ * @author H.Kurosawa
+ * @version 1.0.0
+ */
+class SBEntityStatementsTest {
+
+    private SBJdbcManager jdbcManager;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        DataSource dataSource = new PooledDataSource("org.h2.Driver",
+                "jdbc:h2:mem:statementstest;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE", "sa", "");
+        try (Connection conn = dataSource.getConnection(); Statement stmt = conn.createStatement()) {
+            stmt.execute("DROP TABLE IF EXISTS order_lines");
+            stmt.execute("CREATE TABLE order_lines (order_id BIGINT, line_no INT, memo VARCHAR(100), qty INT, "
+                    + "PRIMARY KEY (order_id, line_no))");
+        }
+        jdbcManager = new SBJdbcManager(dataSource);
+    }
+
+    @Test
+    void testStatementsArePrecomputedPerClass() {
+        SBEntityStatements statements = SBEntityStatements.of(OrderLine.class);
+        assertSame(statements, SBEntityStatements.of(OrderLine.class));
+        assertEquals(List.of("order_id", "line_no"), statements.getPrimaryKeyColumns());
+        assertEquals("INSERT INTO order_lines (order_id, line_no, memo, qty) VALUES (?, ?, ?, ?)",
+                statements.getInsertSql());
+        assertEquals("UPDATE order_lines SET memo = ?, qty = ? WHERE order_id = ? AND line_no = ?",
+                statements.getUpdateSql(statements.getUpdateColumns(), null));
+        assertEquals("UPDATE order_lines SET qty = ? WHERE order_id = ? AND line_no = ? AND qty = ?",
+                statements.getUpdateSql(List.of("qty"), "qty"));
+        assertSame(statements.getUpdateSql(List.of("qty"), "qty"), statements.getUpdateSql(List.of("qty"), "qty"));
+        assertEquals("DELETE FROM order_lines WHERE order_id = ? AND line_no = ?", statements.getDeleteSql());
+        assertEquals("SELECT * FROM order_lines WHERE order_id = ? AND line_no = ?",
+                statements.getSelectByPrimaryKeySql());
+        assertEquals("SELECT COUNT(*) FROM order_lines WHERE order_id = ? AND line_no = ?", statements.getExistsSql());
+        assertEquals("INSERT INTO order_lines DEFAULT VALUES", statements.getInsertSql(List.of()));
+    }
+
+    @Test
+    void testValuesAreBoundNotInlined() {
+        String memo = "it's /*memo*/ -- not a comment";
+        OrderLine line = jdbcManager.insert(newLine(1L, 1, memo));
+        assertEquals(memo, line.getMemo());
+
+        line.setQty(5);
+        assertEquals(5, jdbcManager.insertOrUpdate(line).getQty());
+        OrderLine second = jdbcManager.insertOrUpdate(newLine(1L, 2, null));
+        assertNull(second.getMemo());
+
+        assertEquals(1, jdbcManager.delete(line));
+        assertEquals(List.of(second), jdbcManager.findAll(OrderLine.class));
+    }
+
+    private static OrderLine newLine(Long orderId, int lineNo, String memo) {
+        OrderLine line = new OrderLine();
+        line.setOrderId(orderId);
+        line.setLineNo(lineNo);
+        line.setMemo(memo);
+        line.setQty(1);
+        return line;
+    }
+
+    /**
+     * 複合主キーを持つテスト用エンティティです。
+     */
+    @Data
+    @SBTableMeta(name = "order_lines")
+    public static class OrderLine {
+        @SBColumnMeta(name = "order_id", primaryKey = true)
+        private Long orderId;
+
+        @SBColumnMeta(name = "line_no", primaryKey = true)
+        private Integer lineNo;
+
+        @SBColumnMeta(name = "memo")
+        private String memo;
+
+        @SBColumnMeta(name = "qty")
+        private Integer qty;
+    }
+}
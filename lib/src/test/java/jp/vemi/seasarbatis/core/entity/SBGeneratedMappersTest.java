@@ -0,0 +1,137 @@
+/*
+ * Copyright (C) 2025 VEMI, All Rights Reserved.
+ */
+package jp.vemi.seasarbatis.core.entity;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.apache.ibatis.datasource.pooled.PooledDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import jp.vemi.seasarbatis.core.meta.SBColumnMeta;
+import jp.vemi.seasarbatis.core.meta.SBTableMeta;
+import jp.vemi.seasarbatis.jdbc.SBJdbcManager;
+import lombok.Data;
+
+/**
+ * {@link SBGeneratedMappers} と注釈プロセッサが生成したマッパーのテストクラスです。
+ *
+ * @author H.Kurosawa
+ * @version 1.0.0
+ */
+class SBGeneratedMappersTest {
+
+    private SBJdbcManager jdbcManager;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        DataSource dataSource = new PooledDataSource("org.h2.Driver",
+                "jdbc:h2:mem:mappertest;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE", "sa", "");
+        try (Connection conn = dataSource.getConnection(); Statement stmt = conn.createStatement()) {
+            stmt.execute("DROP TABLE IF EXISTS mapped_items");
+            stmt.execute("CREATE TABLE mapped_items (id BIGINT PRIMARY KEY, item_name VARCHAR(50), "
+                    + "quantity INT, price DECIMAL(10,2), active BOOLEAN, status VARCHAR(10))");
+        }
+        jdbcManager = new SBJdbcManager(dataSource);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SBGeneratedMappers.setEnabled(true);
+    }
+
+    @Test
+    void testGeneratedMapperIsDiscovered() {
+        SBGeneratedMapper<MappedItem> mapper = SBGeneratedMappers.find(MappedItem.class).orElseThrow();
+        assertEquals(SBGeneratedMappers.getMapperClassName(MappedItem.class), mapper.getClass().getName());
+        assertEquals(List.of("id", "item_name", "quantity", "price", "active", "status"),
+                mapper.getColumnNames());
+        assertTrue(SBGeneratedMappers.find(Map.class).isEmpty());
+        assertTrue(SBGeneratedMappers.find(String.class).isEmpty(), "マッパーがない型はリフレクションで変換されること");
+
+        MappedItem item = newItem(1L);
+        assertEquals(Map.of("id", 1L), mapper.getPrimaryKeyValues(item));
+        assertEquals(SBEntityMeta.of(MappedItem.class).getValues(item), SBEntityOperations.getEntityParams(item));
+    }
+
+    @Test
+    void testGeneratedAndReflectiveMappingAgree() {
+        jdbcManager.insert(newItem(1L));
+        MappedItem partial = new MappedItem();
+        partial.setId(2L);
+        jdbcManager.insert(partial);
+
+        List<MappedItem> generated = jdbcManager.from(MappedItem.class).orderBy("id").getResultList();
+        SBGeneratedMappers.setEnabled(false);
+        List<MappedItem> reflective = jdbcManager.from(MappedItem.class).orderBy("id").getResultList();
+
+        assertEquals(2, generated.size());
+        assertEquals(newItem(1L), generated.get(0));
+        assertEquals(reflective, generated);
+        assertEquals(0, generated.get(1).getQuantity(), "NULLのプリミティブ型は初期値のままであること");
+        assertNull(generated.get(1).getStatus());
+    }
+
+    @Test
+    void testGeneratedAndReflectiveInsertAgree() {
+        MappedItem generated = newItem(1L);
+        assertEquals(generated, jdbcManager.insert(generated), "生成されたマッパーでバインドして登録されること");
+
+        SBGeneratedMappers.setEnabled(false);
+        MappedItem reflective = newItem(2L);
+        reflective.setStatus(null);
+        assertEquals(reflective, jdbcManager.insert(reflective));
+
+        SBGeneratedMappers.setEnabled(true);
+        MappedItem partial = new MappedItem();
+        partial.setId(3L);
+        assertEquals(partial, jdbcManager.insert(partial), "NULLの値もバインドされること");
+        assertEquals(3, jdbcManager.from(MappedItem.class).getResultList().size());
+    }
+
+    private static MappedItem newItem(long id) {
+        MappedItem item = new MappedItem();
+        item.setId(id);
+        item.setItemName("item-" + id);
+        item.setQuantity(3);
+        item.setPrice(new BigDecimal("12.50"));
+        item.setActive(true);
+        item.setStatus("OPEN");
+        return item;
+    }
+
+    /**
+     * テスト用のエンティティです。
+     */
+    @Data
+    @SBTableMeta(name = "mapped_items")
+    public static class MappedItem {
+        @SBColumnMeta(name = "id", primaryKey = true)
+        private Long id;
+
+        @SBColumnMeta(name = "item_name")
+        private String itemName;
+
+        @SBColumnMeta(name = "quantity")
+        private int quantity;
+
+        @SBColumnMeta(name = "price")
+        private BigDecimal price;
+
+        @SBColumnMeta(name = "active")
+        private boolean active;
+
+        @SBColumnMeta(name = "status")
+        private String status;
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright (C) 2025 VEMI, All Rights Reserved.
+ */
+package jp.vemi.seasarbatis.core.entity;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.apache.ibatis.datasource.pooled.PooledDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import jp.vemi.seasarbatis.core.meta.SBColumnMeta;
+import jp.vemi.seasarbatis.core.meta.SBTableMeta;
+import jp.vemi.seasarbatis.jdbc.SBJdbcManager;
+import lombok.Data;
+
+/**
+ * {@link SBReflectiveRowMapper} のテストクラスです。
+ *
+ * @author H.Kurosawa
+ * @version 1.0.0
+ */
+class SBReflectiveRowMapperTest {
+
+    private DataSource dataSource;
+    private SBJdbcManager jdbcManager;
+
+    enum Status {
+        OPEN, CLOSED
+    }
+
+    @BeforeEach
+    void setUp() throws Exception {
+        dataSource = new PooledDataSource("org.h2.Driver",
+                "jdbc:h2:mem:rowmappertest;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE", "sa", "");
+        try (Connection conn = dataSource.getConnection(); Statement stmt = conn.createStatement()) {
+            stmt.execute("DROP TABLE IF EXISTS typed_rows");
+            stmt.execute("CREATE TABLE typed_rows (id BIGINT PRIMARY KEY, counter INT, ratio DOUBLE, "
+                    + "enabled BOOLEAN, flag VARCHAR(5), label VARCHAR(20), status VARCHAR(10), created_at TIMESTAMP)");
+        }
+        jdbcManager = new SBJdbcManager(dataSource);
+        SBGeneratedMappers.setEnabled(false);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SBGeneratedMappers.setEnabled(true);
+    }
+
+    @Test
+    void testPrimitiveAndConvertedColumns() {
+        LocalDateTime createdAt = LocalDateTime.of(2025, 3, 4, 5, 6, 7);
+        jdbcManager.insert(newRow(1L, Status.CLOSED, createdAt));
+        jdbcManager.insert(newRow(2L, null, null));
+
+        List<TypedRow> rows = jdbcManager.from(TypedRow.class).orderBy("id").getResultList();
+        assertEquals(newRow(1L, Status.CLOSED, createdAt), rows.get(0));
+        assertEquals(newRow(2L, null, null), rows.get(1));
+        assertEquals(rows.get(0), jdbcManager.from(TypedRow.class).where(w -> w.eq("status", Status.CLOSED))
+                .getSingleResult(), "列挙型の検索条件は名前で比較されること");
+    }
+
+    @Test
+    void testPlanIsResolvedFromResultSetMetaData() throws Exception {
+        try (Connection conn = dataSource.getConnection(); Statement stmt = conn.createStatement()) {
+            stmt.execute("INSERT INTO typed_rows (id, counter, ratio, enabled, flag) VALUES (5, NULL, 2.5, TRUE, 'Y')");
+            SBReflectiveRowMapper<TypedRow> mapper = SBReflectiveRowMapper.of(TypedRow.class).orElseThrow();
+            try (ResultSet rs = stmt.executeQuery("SELECT flag, ratio, counter, id AS ID, 1 AS extra FROM typed_rows")) {
+                List<TypedRow> rows = mapper.readAll(rs);
+                assertEquals(1, rows.size());
+                TypedRow row = rows.get(0);
+                assertEquals(5L, row.getId());
+                assertEquals(0, row.getCounter(), "NULLのプリミティブ列は初期値のままであること");
+                assertEquals(2.5, row.getRatio());
+                assertTrue(row.isFlag(), "文字列の列の'Y'はbooleanに変換されること");
+            }
+        }
+        assertTrue(SBReflectiveRowMapper.of(Map.class).isEmpty());
+        assertTrue(SBReflectiveRowMapper.of(SBEntityInstantiatorTest.RecordItem.class).isEmpty());
+    }
+
+    private static TypedRow newRow(Long id, Status status, LocalDateTime createdAt) {
+        TypedRow row = new TypedRow();
+        row.setId(id);
+        row.setCounter(3);
+        row.setRatio(0.25);
+        row.setEnabled(true);
+        row.setFlag(false);
+        row.setLabel("label" + id);
+        row.setStatus(status);
+        row.setCreatedAt(createdAt);
+        return row;
+    }
+
+    /**
+     * 型変換のテスト用エンティティです。
+     */
+    @Data
+    @SBTableMeta(name = "typed_rows")
+    public static class TypedRow {
+        @SBColumnMeta(name = "id", primaryKey = true)
+        private Long id;
+
+        @SBColumnMeta(name = "counter")
+        private int counter;
+
+        @SBColumnMeta(name = "ratio")
+        private double ratio;
+
+        @SBColumnMeta(name = "enabled")
+        private boolean enabled;
+
+        @SBColumnMeta(name = "flag")
+        private boolean flag;
+
+        @SBColumnMeta(name = "label")
+        private String label;
+
+        @SBColumnMeta(name = "status")
+        private Status status;
+
+        @SBColumnMeta(name = "created_at")
+        private LocalDateTime createdAt;
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright (C) 2025 VEMI, All Rights Reserved.
+ */
+package jp.vemi.seasarbatis.core.export;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.apache.ibatis.datasource.unpooled.UnpooledDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import jp.vemi.seasarbatis.jdbc.SBJdbcManager;
+
+/**
+ * {@link SBResultSetExporter} のテストクラスです。
+ *
+ * @author H.Kurosawa
+ * @version 0.0.1
+ */
+class SBResultSetExporterTest {
+
+    private DataSource dataSource;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        dataSource = new UnpooledDataSource("org.h2.Driver",
+                "jdbc:h2:mem:exporttest;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE", "sa", "");
+        try (Connection conn = dataSource.getConnection(); Statement stmt = conn.createStatement()) {
+            stmt.execute("DROP TABLE IF EXISTS export_items");
+            stmt.execute("CREATE TABLE export_items (id BIGINT PRIMARY KEY, name VARCHAR(100), "
+                    + "price DECIMAL(10,2), active BOOLEAN)");
+            stmt.execute("INSERT INTO export_items VALUES (1, 'plain', 10.50, TRUE)");
+            stmt.execute("INSERT INTO export_items VALUES (2, 'with, comma \"quoted\"', NULL, FALSE)");
+            stmt.execute("INSERT INTO export_items VALUES (3, NULL, 3.00, NULL)");
+        }
+    }
+
+    @Test
+    void testCsvExport() throws Exception {
+        String csv = export(new SBResultSetExporter(SBResultSetExporter.Format.CSV));
+
+        String[] lines = csv.split("\r\n");
+        assertEquals(4, lines.length);
+        assertEquals("ID,NAME,PRICE,ACTIVE", lines[0]);
+        assertEquals("1,plain,10.50,TRUE", lines[1]);
+        assertEquals("2,\"with, comma \"\"quoted\"\"\",,FALSE", lines[2]);
+        assertEquals("3,,3.00,", lines[3]);
+    }
+
+    @Test
+    void testNdjsonExport() throws Exception {
+        String json = export(new SBResultSetExporter(SBResultSetExporter.Format.NDJSON));
+
+        String[] lines = json.split("\n");
+        assertEquals(3, lines.length);
+        assertEquals("{\"ID\":1,\"NAME\":\"plain\",\"PRICE\":10.50,\"ACTIVE\":true}", lines[0]);
+        assertEquals("{\"ID\":2,\"NAME\":\"with, comma \\\"quoted\\\"\",\"PRICE\":null,\"ACTIVE\":false}", lines[1]);
+        assertEquals("{\"ID\":3,\"NAME\":null,\"PRICE\":3.00,\"ACTIVE\":null}", lines[2]);
+    }
+
+    @Test
+    void testSmallBufferIsReused() throws Exception {
+        // バッファより長い行でも欠落なく書き出されること
+        String csv = export(new SBResultSetExporter(SBResultSetExporter.Format.CSV).header(false).bufferSize(16));
+        assertEquals("1,plain,10.50,TRUE\r\n2,\"with, comma \"\"quoted\"\"\",,FALSE\r\n3,,3.00,\r\n", csv);
+    }
+
+    @Test
+    void testExportThroughSBSelect() {
+        SBJdbcManager jdbcManager = new SBJdbcManager(dataSource);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long rows = jdbcManager.selectBySql("SELECT id, name FROM export_items WHERE id >= /*minId*/0 ORDER BY id",
+                Map.of("minId", 2), Map.class)
+                .withFetchSize(1)
+                .exportTo(out, SBResultSetExporter.Format.NDJSON);
+
+        assertEquals(2, rows);
+        assertEquals("{\"ID\":2,\"NAME\":\"with, comma \\\"quoted\\\"\"}\n{\"ID\":3,\"NAME\":null}\n",
+                out.toString(StandardCharsets.UTF_8));
+        assertFalse(jdbcManager.getTransactionManager().isActive(), "エクスポート後にトランザクションが終了していること");
+    }
+
+    private String export(SBResultSetExporter exporter) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (Connection conn = dataSource.getConnection();
+                Statement stmt = conn.createStatement();
+                ResultSet rs = stmt.executeQuery("SELECT id, name, price, active FROM export_items ORDER BY id")) {
+            exporter.export(rs, Channels.newChannel(out));
+        }
+        return out.toString(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,200 @@
+/*
+ * Copyright (C) 2025 VEMI, All Rights Reserved.
+ */
+package jp.vemi.seasarbatis.core.query;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.ibatis.datasource.pooled.PooledDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import jp.vemi.seasarbatis.core.meta.SBColumnMeta;
+import jp.vemi.seasarbatis.core.meta.SBTableMeta;
+import jp.vemi.seasarbatis.jdbc.SBJdbcManager;
+import lombok.Data;
+
+/**
+ * {@link SBPartitionedScan} のテストクラスです。
+ * <p>
+ * H2データベース上で、主キー範囲で分割した走査が全行を重複なく返すことを検証します。
+ * </p>
+ *
+ * @author H.Kurosawa
+ * @version 0.0.1
+ */
+class SBPartitionedScanTest {
+
+    private static final int ROW_COUNT = 1000;
+
+    private PooledDataSource dataSource;
+    private SBJdbcManager jdbcManager;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        dataSource = new PooledDataSource("org.h2.Driver",
+                "jdbc:h2:mem:scantest;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE", "sa", "");
+        try (Connection conn = dataSource.getConnection(); Statement stmt = conn.createStatement()) {
+            stmt.execute("DROP TABLE IF EXISTS scan_items");
+            stmt.execute("CREATE TABLE scan_items (id BIGINT PRIMARY KEY, name VARCHAR(100))");
+            try (PreparedStatement ps = conn.prepareStatement("INSERT INTO scan_items (id, name) VALUES (?, ?)")) {
+                // 主キーに偏りを持たせ、NTILEとMIN_MAXの差が出るようにする
+                for (int i = 1; i <= ROW_COUNT; i++) {
+                    long id = i <= ROW_COUNT / 2 ? i : i * 100L;
+                    ps.setLong(1, id);
+                    ps.setString(2, "item" + id);
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+            }
+        }
+        jdbcManager = new SBJdbcManager(dataSource);
+    }
+
+    @Test
+    void testParallelScanReturnsAllRowsOnce() {
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+        long count = jdbcManager.partitionedScan(ScanItem.class)
+                .partitions(8)
+                .parallelism(4)
+                .forEach(item -> assertTrue(ids.add(item.getId()), "同じ行が重複して渡されないこと"));
+
+        assertEquals(ROW_COUNT, count);
+        assertEquals(ROW_COUNT, ids.size());
+    }
+
+    @Test
+    void testNtileScanReturnsAllRowsOnce() {
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+        long count = jdbcManager.partitionedScan(ScanItem.class)
+                .strategy(SBPartitionedScan.Strategy.NTILE)
+                .partitions(5)
+                .parallelism(2)
+                .forEach(item -> ids.add(item.getId()));
+
+        assertEquals(ROW_COUNT, count);
+        assertEquals(ROW_COUNT, ids.size());
+    }
+
+    @Test
+    void testOrderedScanDeliversInPrimaryKeyOrder() {
+        List<Long> ids = new ArrayList<>();
+        long count = jdbcManager.partitionedScan(ScanItem.class)
+                .strategy(SBPartitionedScan.Strategy.NTILE)
+                .partitions(6)
+                .parallelism(3)
+                .queueCapacity(16)
+                .ordered()
+                .forEach(item -> {
+                    assertEquals("item" + item.getId(), item.getName());
+                    ids.add(item.getId());
+                });
+
+        assertEquals(ROW_COUNT, count);
+        for (int i = 1; i < ids.size(); i++) {
+            assertTrue(ids.get(i - 1) < ids.get(i), "主キー順に渡されること");
+        }
+    }
+
+    @Test
+    void testCustomExecutorIsBoundedByParallelism() {
+        ExecutorService executor = Executors.newCachedThreadPool(r -> new Thread(r, "custom-scan"));
+        try {
+            AtomicInteger running = new AtomicInteger();
+            AtomicInteger maxRunning = new AtomicInteger();
+            Set<String> threadNames = ConcurrentHashMap.newKeySet();
+            Executor counting = task -> executor.execute(() -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                try {
+                    task.run();
+                } finally {
+                    running.decrementAndGet();
+                }
+            });
+            long count = jdbcManager.partitionedScan(ScanItem.class)
+                    .partitions(8)
+                    .parallelism(2)
+                    .executor(counting)
+                    .forEach(item -> threadNames.add(Thread.currentThread().getName()));
+
+            assertEquals(ROW_COUNT, count);
+            assertTrue(maxRunning.get() <= 2, "同時に実行されるワーカー数が上限を超えないこと");
+            assertEquals(Set.of("custom-scan"), threadNames);
+            assertFalse(executor.isShutdown(), "指定したエグゼキュータは停止しないこと");
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testOrderedConsumerFailureStopsWorkers() throws Exception {
+        AtomicInteger delivered = new AtomicInteger();
+        IllegalStateException thrown = assertThrows(IllegalStateException.class,
+                () -> jdbcManager.partitionedScan(ScanItem.class)
+                        .partitions(4)
+                        .parallelism(4)
+                        .queueCapacity(2)
+                        .ordered()
+                        .forEach(item -> {
+                            if (delivered.incrementAndGet() == 10) {
+                                throw new IllegalStateException("consumer failure");
+                            }
+                        }));
+        assertEquals("consumer failure", thrown.getMessage());
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (dataSource.getPoolState().getActiveConnectionCount() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(0, dataSource.getPoolState().getActiveConnectionCount(), "先読み中のワーカーがコネクションを返却すること");
+    }
+
+    @Test
+    void testComputeRangesCoversWholeKeySpace() {
+        SBPartitionedScan<ScanItem> scan = jdbcManager.partitionedScan(ScanItem.class).partitions(4);
+        List<SBPartitionedScan.Range> ranges = scan.computeRanges("scan_items", "id");
+
+        assertEquals(4, ranges.size());
+        assertNull(ranges.get(0).getLower(), "先頭範囲は下限なし");
+        assertNull(ranges.get(3).getUpper(), "末尾範囲は上限なし");
+        for (int i = 1; i < ranges.size(); i++) {
+            assertEquals(ranges.get(i - 1).getUpper(), ranges.get(i).getLower(), "範囲が連続していること");
+        }
+    }
+
+    @Test
+    void testEmptyTable() throws Exception {
+        try (Connection conn = jdbcManager.getDataSource().getConnection();
+                Statement stmt = conn.createStatement()) {
+            stmt.execute("DELETE FROM scan_items");
+        }
+        long count = jdbcManager.partitionedScan(ScanItem.class).forEach(item -> fail("行が渡されないこと"));
+        assertEquals(0, count);
+    }
+
+    /**
+     * 走査テスト用エンティティです。
+     */
+    @Data
+    @SBTableMeta(name = "scan_items")
+    public static class ScanItem {
+        @SBColumnMeta(name = "id", primaryKey = true)
+        private Long id;
+
+        @SBColumnMeta(name = "name")
+        private String name;
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright (C) 2025 VEMI, All Rights Reserved.
+ */
+package jp.vemi.seasarbatis.core.query;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import org.apache.ibatis.datasource.pooled.PooledDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import jp.vemi.seasarbatis.core.meta.SBColumnMeta;
+import jp.vemi.seasarbatis.core.meta.SBTableMeta;
+import jp.vemi.seasarbatis.exception.SBException;
+import jp.vemi.seasarbatis.jdbc.SBJdbcManager;
+import lombok.Data;
+
+/**
+ * トランザクション外の {@link SBSelect} が自動コミットで実行されることのテストクラスです。
+ *
+ * @author H.Kurosawa
+ * @version 1.0.0
+ */
+class SBSelectAutoCommitTest {
+
+    private PooledDataSource pool;
+    private SBJdbcManager jdbcManager;
+    private final AtomicInteger commits = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        pool = new PooledDataSource("org.h2.Driver",
+                "jdbc:h2:mem:autocommittest;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE", "sa", "");
+        try (Connection conn = pool.getConnection(); Statement stmt = conn.createStatement()) {
+            stmt.execute("DROP TABLE IF EXISTS read_items");
+            stmt.execute("CREATE TABLE read_items (id INT PRIMARY KEY, name VARCHAR(20))");
+            stmt.execute("INSERT INTO read_items VALUES (1, 'a'), (2, 'b')");
+        }
+        jdbcManager = new SBJdbcManager(countingCommits(pool));
+    }
+
+    @Test
+    void testReadOutsideTransactionDoesNotCommit() {
+        assertEquals(2, jdbcManager.findAll(ReadItem.class).size());
+        assertEquals("b", jdbcManager.findByPk(item(2)).getSingleResult().getName());
+        assertEquals(2, jdbcManager.selectBySql("SELECT * FROM read_items", Map.of(), ReadItem.class)
+                .getResultList().size());
+
+        assertEquals(0, commits.get(), "トランザクション外の検索でコミットしないこと");
+        assertFalse(jdbcManager.getTransactionManager().isActive());
+        assertEquals(0, pool.getPoolState().getActiveConnectionCount(), "コネクションが返却されていること");
+    }
+
+    @Test
+    void testReadInsideTransactionUsesTransactionSession() {
+        jdbcManager.transaction(manager -> {
+            manager.insert(item(3));
+            List<ReadItem> items = manager.findAll(ReadItem.class);
+            assertEquals(3, items.size(), "トランザクション内の未コミットの更新を参照できること");
+        });
+        assertEquals(1, commits.get());
+    }
+
+    @Test
+    void testFailedReadReturnsConnection() {
+        assertThrows(SBException.class,
+                () -> jdbcManager.selectBySql("SELECT * FROM missing_table", Map.of(), ReadItem.class)
+                        .getResultList());
+        assertFalse(jdbcManager.getTransactionManager().isActive(), "失敗した検索の状態が残らないこと");
+        assertEquals(0, pool.getPoolState().getActiveConnectionCount(), "失敗した場合もコネクションが返却されること");
+        assertEquals(2, jdbcManager.findAll(ReadItem.class).size());
+    }
+
+    private DataSource countingCommits(DataSource delegate) {
+        return (DataSource) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { DataSource.class },
+                (proxy, method, args) -> {
+                    Object result = invoke(delegate, method, args);
+                    if (!(result instanceof Connection)) {
+                        return result;
+                    }
+                    Connection connection = (Connection) result;
+                    return Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { Connection.class },
+                            (p, m, a) -> {
+                                if ("commit".equals(m.getName())) {
+                                    commits.incrementAndGet();
+                                }
+                                return invoke(connection, m, a);
+                            });
+                });
+    }
+
+    private static Object invoke(Object target, java.lang.reflect.Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static ReadItem item(int id) {
+        ReadItem item = new ReadItem();
+        item.setId(id);
+        item.setName("n" + id);
+        return item;
+    }
+
+    /**
+     * 検索のテスト用エンティティです。
+     */
+    @Data
+    @SBTableMeta(name = "read_items")
+    public static class ReadItem {
+        @SBColumnMeta(name = "id", primaryKey = true)
+        private Integer id;
+
+        @SBColumnMeta(name = "name")
+        private String name;
+    }
+}
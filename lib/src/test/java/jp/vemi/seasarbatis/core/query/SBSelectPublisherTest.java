@@ -0,0 +1,202 @@
+/*
+ * Copyright (C) 2025 VEMI, All Rights Reserved.
+ */
+package jp.vemi.seasarbatis.core.query;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.ibatis.datasource.pooled.PooledDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import jp.vemi.seasarbatis.core.meta.SBColumnMeta;
+import jp.vemi.seasarbatis.core.meta.SBTableMeta;
+import jp.vemi.seasarbatis.jdbc.SBJdbcManager;
+import lombok.Data;
+
+/**
+ * {@link SBSelect#publisher()} のテストクラスです。
+ *
+ * @author H.Kurosawa
+ * @version 1.0.0
+ */
+class SBSelectPublisherTest {
+
+    private PooledDataSource pool;
+    private SBJdbcManager jdbcManager;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        pool = new PooledDataSource("org.h2.Driver",
+                "jdbc:h2:mem:publishertest;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE", "sa", "");
+        try (Connection conn = pool.getConnection(); Statement stmt = conn.createStatement()) {
+            stmt.execute("DROP TABLE IF EXISTS pub_items");
+            stmt.execute("CREATE TABLE pub_items (id INT PRIMARY KEY, name VARCHAR(20))");
+            stmt.execute("INSERT INTO pub_items SELECT X, 'n' || X FROM SYSTEM_RANGE(1, 100)");
+        }
+        jdbcManager = new SBJdbcManager(pool);
+    }
+
+    @Test
+    void testRowsFollowDemand() throws Exception {
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+        jdbcManager.selectBySql("SELECT * FROM pub_items ORDER BY id", Map.of(), PubItem.class)
+                .withFetchSize(10).publisher().subscribe(subscriber);
+
+        subscriber.subscription.request(3);
+        subscriber.awaitItems(3);
+        Thread.sleep(50);
+        assertEquals(3, subscriber.items.size(), "要求した行数だけ発行すること");
+        assertEquals(1, subscriber.completed.getCount(), "残りの行があるうちは完了しないこと");
+        assertEquals(1, pool.getPoolState().getActiveConnectionCount(), "購読中はコネクションを保持すること");
+
+        subscriber.subscription.request(Long.MAX_VALUE);
+        assertTrue(subscriber.completed.await(5, TimeUnit.SECONDS));
+        assertEquals(100, subscriber.items.size());
+        assertEquals(1, subscriber.items.get(0).getId());
+        assertEquals(100, subscriber.items.get(99).getId());
+        assertNull(subscriber.error);
+        assertEquals(0, pool.getPoolState().getActiveConnectionCount(), "完了後にコネクションを返却すること");
+    }
+
+    @Test
+    void testCancelReleasesConnection() throws Exception {
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+        jdbcManager.selectBySql("SELECT * FROM pub_items", Map.of(), PubItem.class).publisher()
+                .subscribe(subscriber);
+        subscriber.subscription.request(5);
+        subscriber.awaitItems(5);
+
+        subscriber.subscription.cancel();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (pool.getPoolState().getActiveConnectionCount() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(0, pool.getPoolState().getActiveConnectionCount(), "取り消し後にコネクションを返却すること");
+        assertEquals(5, subscriber.items.size());
+        assertEquals(1, subscriber.completed.getCount(), "取り消し後は完了を通知しないこと");
+    }
+
+    @Test
+    void testNoConnectionUntilRequested() throws Exception {
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+        jdbcManager.selectBySql("SELECT * FROM pub_items", Map.of(), PubItem.class).publisher()
+                .subscribe(subscriber);
+        Thread.sleep(50);
+        assertEquals(0, pool.getPoolState().getActiveConnectionCount());
+        subscriber.subscription.cancel();
+    }
+
+    @Test
+    void testErrorAndInvalidRequest() throws Exception {
+        RecordingSubscriber failing = new RecordingSubscriber();
+        jdbcManager.selectBySql("SELECT * FROM missing_table", Map.of(), PubItem.class).publisher()
+                .subscribe(failing);
+        failing.subscription.request(1);
+        assertTrue(failing.completed.await(5, TimeUnit.SECONDS));
+        assertNotNull(failing.error);
+
+        RecordingSubscriber invalid = new RecordingSubscriber();
+        jdbcManager.selectBySql("SELECT * FROM pub_items", Map.of(), PubItem.class).publisher()
+                .subscribe(invalid);
+        invalid.subscription.request(0);
+        assertTrue(invalid.completed.await(5, TimeUnit.SECONDS));
+        assertTrue(invalid.error instanceof IllegalArgumentException);
+        assertEquals(0, pool.getPoolState().getActiveConnectionCount());
+    }
+
+    @Test
+    void testPrimaryKeyQuery() throws Exception {
+        PubItem key = new PubItem();
+        key.setId(42);
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+        jdbcManager.findByPk(key).publisher().subscribe(subscriber);
+        subscriber.subscription.request(10);
+
+        assertTrue(subscriber.completed.await(5, TimeUnit.SECONDS));
+        assertNull(subscriber.error);
+        assertEquals(1, subscriber.items.size());
+        assertEquals("n42", subscriber.items.get(0).getName());
+    }
+
+    @Test
+    void testCustomExecutor() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor(r -> new Thread(r, "custom-publisher"));
+        try {
+            RecordingSubscriber subscriber = new RecordingSubscriber();
+            jdbcManager.selectBySql("SELECT * FROM pub_items WHERE id <= /*max*/0", Map.of("max", 2),
+                    PubItem.class).publisher(executor).subscribe(subscriber);
+            subscriber.subscription.request(10);
+            assertTrue(subscriber.completed.await(5, TimeUnit.SECONDS));
+            assertEquals(2, subscriber.items.size());
+            assertEquals("custom-publisher", subscriber.threadName);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * 受け取った通知を記録する購読者です。
+     */
+    private static final class RecordingSubscriber implements Flow.Subscriber<PubItem> {
+        private final List<PubItem> items = new CopyOnWriteArrayList<>();
+        private final CountDownLatch completed = new CountDownLatch(1);
+        private volatile Flow.Subscription subscription;
+        private volatile Throwable error;
+        private volatile String threadName;
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+        }
+
+        @Override
+        public void onNext(PubItem item) {
+            threadName = Thread.currentThread().getName();
+            items.add(item);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            error = throwable;
+            completed.countDown();
+        }
+
+        @Override
+        public void onComplete() {
+            completed.countDown();
+        }
+
+        void awaitItems(int count) throws InterruptedException {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (items.size() < count && System.nanoTime() < deadline) {
+                Thread.sleep(5);
+            }
+            assertEquals(count, items.size());
+        }
+    }
+
+    /**
+     * 発行のテスト用エンティティです。
+     */
+    @Data
+    @SBTableMeta(name = "pub_items")
+    public static class PubItem {
+        @SBColumnMeta(name = "id", primaryKey = true)
+        private Integer id;
+
+        @SBColumnMeta(name = "name")
+        private String name;
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright (C) 2025 VEMI, All Rights Reserved.
+ */
+package jp.vemi.seasarbatis.core.sql.dialect;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.sql.SQLException;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * {@link MySqlDialect} のテストクラスです。
+ * 
+ * @author H.Kurosawa
+ * @version 0.0.1
+ */
+class MySqlDialectTest {
+
+    private MySqlDialect dialect;
+
+    @BeforeEach
+    void setUp() {
+        dialect = new MySqlDialect();
+    }
+
+    @Test
+    void testGetDatabaseProductName() {
+        assertEquals("MySQL", dialect.getDatabaseProductName());
+    }
+
+    @Test
+    void testFormatString() {
+        assertEquals("'hello'", dialect.formatString("hello"));
+        assertEquals("'hello''world'", dialect.formatString("hello'world"));
+        assertEquals("'C:\\\\temp'", dialect.formatString("C:\\temp"));
+        assertEquals("NULL", dialect.formatString(null));
+    }
+
+    @Test
+    void testFormatTimestamp() {
+        assertEquals("TIMESTAMP '2025-03-15 14:30:45'", dialect.formatTimestamp("2025-03-15 14:30:45"));
+        assertEquals("NULL", dialect.formatTimestamp(null));
+    }
+
+    @Test
+    void testFormatArray() {
+        assertEquals("1,2,3", dialect.formatArray("1,2,3"));
+        assertEquals("", dialect.formatArray(null));
+    }
+
+    @Test
+    void testIsRetryableFailure() {
+        assertTrue(dialect.isRetryableFailure(new SQLException("Deadlock found", "40001", 1213)));
+        assertTrue(dialect.isRetryableFailure(new SQLException("Deadlock found", "HY000", 1213)));
+        assertFalse(dialect.isRetryableFailure(new SQLException("Lock wait timeout", "HY000", 1205)));
+    }
+}
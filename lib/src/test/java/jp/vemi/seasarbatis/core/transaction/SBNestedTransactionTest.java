@@ -0,0 +1,157 @@
+/*
+ * Copyright (C) 2025 VEMI, All Rights Reserved.
+ */
+package jp.vemi.seasarbatis.core.transaction;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.apache.ibatis.datasource.pooled.PooledDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import jp.vemi.seasarbatis.core.meta.SBColumnMeta;
+import jp.vemi.seasarbatis.core.meta.SBTableMeta;
+import jp.vemi.seasarbatis.core.transaction.SBTransactionManager.PropagationType;
+import jp.vemi.seasarbatis.exception.SBTransactionException;
+import jp.vemi.seasarbatis.jdbc.SBJdbcManager;
+import lombok.Data;
+
+/**
+ * ネストされたトランザクション（セーブポイント）のテストクラスです。
+ *
+ * @author H.Kurosawa
+ * @version 1.0.0
+ */
+class SBNestedTransactionTest {
+
+    private DataSource dataSource;
+    private SBJdbcManager jdbcManager;
+    private SBTransactionManager txManager;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        dataSource = new PooledDataSource("org.h2.Driver",
+                "jdbc:h2:mem:nestedtxtest;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE", "sa", "");
+        try (Connection conn = dataSource.getConnection(); Statement stmt = conn.createStatement()) {
+            stmt.execute("DROP TABLE IF EXISTS nested_items");
+            stmt.execute("CREATE TABLE nested_items (id INT PRIMARY KEY, name VARCHAR(10))");
+        }
+        jdbcManager = new SBJdbcManager(dataSource);
+        txManager = jdbcManager.getTransactionManager();
+    }
+
+    @Test
+    void testSavepointPerRowRecoversPartialFailure() {
+        List<Integer> failed = new ArrayList<>();
+        txManager.execute(PropagationType.REQUIRED, () -> {
+            for (int id = 1; id <= 200; id++) {
+                NestedItem item = item(id, id % 50 == 0 ? "too long name" : "ok");
+                try {
+                    txManager.execute(PropagationType.NESTED, () -> jdbcManager.insert(item));
+                } catch (SBTransactionException e) {
+                    failed.add(item.getId());
+                }
+                assertEquals(0, txManager.getTransactionOperation().getSavepointCount(),
+                        "行ごとのセーブポイントが蓄積しないこと");
+            }
+            return null;
+        });
+
+        assertEquals(List.of(50, 100, 150, 200), failed);
+        assertEquals(196, countRows(), "失敗した行のみ取り消されること");
+    }
+
+    @Test
+    void testNestedInsideIndependentTransactionUsesItsConnection() {
+        txManager.execute(PropagationType.REQUIRED, () -> {
+            jdbcManager.insert(item(1, "outer"));
+            SBTransactionOperation outer = txManager.getTransactionOperation();
+            txManager.execute(PropagationType.REQUIRES_NEW, () -> {
+                jdbcManager.insert(item(2, "inner"));
+                assertThrows(SBTransactionException.class, () -> txManager.execute(PropagationType.NESTED, () -> {
+                    jdbcManager.insert(item(3, "nested"));
+                    throw new IllegalStateException("nested failure");
+                }));
+                SBTransactionOperation independent = txManager.getTransactionOperation();
+                assertNotSame(outer, independent);
+                assertEquals(0, independent.getSavepointCount());
+                return null;
+            });
+            return null;
+        });
+
+        assertEquals(2, countRows());
+        assertEquals(0, countRows("id = 3"), "独立トランザクション内の入れ子の更新が取り消されること");
+    }
+
+    @Test
+    void testSavepointStack() {
+        SBTransactionOperation op = txManager.getTransactionOperation();
+        txManager.execute(PropagationType.REQUIRED, () -> {
+            String first = op.createSavepoint();
+            jdbcManager.insert(item(1, "a"));
+            String second = op.createSavepoint();
+            jdbcManager.insert(item(2, "b"));
+            String third = op.createSavepoint();
+            assertNotEquals(first, second);
+            assertNotEquals(second, third);
+            assertEquals(3, op.getSavepointCount());
+
+            op.rollbackToSavepoint(second);
+            assertEquals(2, op.getSavepointCount(), "後に作成したセーブポイントが取り除かれること");
+            assertThrows(SBTransactionException.class, () -> op.releaseSavepoint(third));
+
+            op.releaseSavepoint(first);
+            assertEquals(0, op.getSavepointCount(), "解放したセーブポイント以降がすべて取り除かれること");
+            assertThrows(SBTransactionException.class, () -> op.rollbackToSavepoint(second));
+
+            op.createSavepoint();
+            return null;
+        });
+
+        assertEquals(0, op.getSavepointCount());
+        assertEquals(1, countRows());
+    }
+
+    private int countRows() {
+        return countRows("1 = 1");
+    }
+
+    private int countRows(String condition) {
+        try (Connection conn = dataSource.getConnection(); Statement stmt = conn.createStatement();
+                ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM nested_items WHERE " + condition)) {
+            rs.next();
+            return rs.getInt(1);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static NestedItem item(int id, String name) {
+        NestedItem item = new NestedItem();
+        item.setId(id);
+        item.setName(name);
+        return item;
+    }
+
+    /**
+     * 入れ子のトランザクションのテスト用エンティティです。
+     */
+    @Data
+    @SBTableMeta(name = "nested_items")
+    public static class NestedItem {
+        @SBColumnMeta(name = "id", primaryKey = true)
+        private Integer id;
+
+        @SBColumnMeta(name = "name")
+        private String name;
+    }
+}
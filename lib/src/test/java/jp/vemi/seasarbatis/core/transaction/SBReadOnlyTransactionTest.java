@@ -0,0 +1,151 @@
+/*
+ * Copyright (C) 2025 VEMI, All Rights Reserved.
+ */
+package jp.vemi.seasarbatis.core.transaction;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import javax.sql.DataSource;
+
+import org.apache.ibatis.datasource.pooled.PooledDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import jp.vemi.seasarbatis.core.meta.SBColumnMeta;
+import jp.vemi.seasarbatis.core.meta.SBTableMeta;
+import jp.vemi.seasarbatis.jdbc.SBJdbcManager;
+import lombok.Data;
+
+/**
+ * 読み取り専用のトランザクションのテストクラスです。
+ * <p>
+ * コネクションへの呼び出しを記録し、読み取り専用の設定・分離レベル・コミットの有無を確認します。
+ * </p>
+ *
+ * @author H.Kurosawa
+ * @version 1.0.0
+ */
+class SBReadOnlyTransactionTest {
+
+    private final List<String> calls = new CopyOnWriteArrayList<>();
+    private SBJdbcManager jdbcManager;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        DataSource pool = new PooledDataSource("org.h2.Driver",
+                "jdbc:h2:mem:readonlytxtest;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE", "sa", "");
+        try (Connection conn = pool.getConnection(); Statement stmt = conn.createStatement()) {
+            stmt.execute("DROP TABLE IF EXISTS ro_items");
+            stmt.execute("CREATE TABLE ro_items (id INT PRIMARY KEY, name VARCHAR(20))");
+            stmt.execute("INSERT INTO ro_items VALUES (1, 'a')");
+        }
+        jdbcManager = new SBJdbcManager(recording(pool));
+    }
+
+    @Test
+    void testReadOnlyTransactionSkipsCommitAndRestoresConnection() {
+        SBTransactionManager txManager = jdbcManager.getTransactionManager();
+        txManager.setReadOnlyIsolationLevel(Connection.TRANSACTION_READ_UNCOMMITTED);
+
+        List<RoItem> items = txManager.executeReadOnly(() -> {
+            assertTrue(txManager.isActive());
+            assertTrue(txManager.getTransactionOperation().isReadOnly());
+            return jdbcManager.findAll(RoItem.class);
+        });
+
+        assertEquals(1, items.size());
+        assertFalse(txManager.isActive());
+        assertFalse(calls.contains("commit"), "読み取り専用のトランザクションでコミットしないこと");
+        int readOnly = calls.indexOf("setReadOnly:true");
+        int isolation = calls.indexOf("setTransactionIsolation:" + Connection.TRANSACTION_READ_UNCOMMITTED);
+        int autoCommit = calls.lastIndexOf("setAutoCommit:true");
+        int restored = calls.indexOf("setReadOnly:false");
+        assertTrue(readOnly >= 0 && isolation > readOnly, "読み取り専用と分離レベルが設定されること");
+        assertTrue(autoCommit > isolation && restored > autoCommit, "終了時に自動コミットへ戻してから設定を元に戻すこと");
+        assertEquals("setTransactionIsolation:" + Connection.TRANSACTION_READ_COMMITTED, calls.get(calls.size() - 1),
+                "分離レベルが元に戻されること");
+    }
+
+    @Test
+    void testReadOnlyFlagOnJdbcManagerTransaction() {
+        jdbcManager.transaction(manager -> {
+            assertTrue(manager.getTransactionManager().getTransactionOperation().isReadOnly());
+            assertEquals("a", manager.findByPk(item(1)).getSingleResult().getName());
+        }, false, true);
+        assertFalse(calls.contains("commit"));
+        assertTrue(calls.contains("setReadOnly:true"));
+    }
+
+    @Test
+    void testReadOnlyJoinsExistingTransaction() {
+        jdbcManager.transaction(manager -> {
+            manager.insert(item(2));
+            int count = manager.getTransactionManager().executeReadOnly(() -> {
+                assertFalse(manager.getTransactionManager().getTransactionOperation().isReadOnly(),
+                        "既存のトランザクションの属性は変更しないこと");
+                return manager.findAll(RoItem.class).size();
+            });
+            assertEquals(2, count, "参加したトランザクションの未コミットの更新を参照できること");
+        });
+        assertFalse(calls.contains("setReadOnly:true"));
+        assertTrue(calls.contains("commit"));
+        assertEquals(2, jdbcManager.findAll(RoItem.class).size());
+    }
+
+    private DataSource recording(DataSource delegate) {
+        return (DataSource) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { DataSource.class },
+                (proxy, method, args) -> {
+                    Object result = invoke(delegate, method, args);
+                    if (!(result instanceof Connection)) {
+                        return result;
+                    }
+                    Connection connection = (Connection) result;
+                    return Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { Connection.class },
+                            (p, m, a) -> {
+                                String name = m.getName();
+                                if (name.equals("commit")) {
+                                    calls.add(name);
+                                } else if (name.startsWith("set") && a != null && a.length == 1) {
+                                    calls.add(name + ":" + a[0]);
+                                }
+                                return invoke(connection, m, a);
+                            });
+                });
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static RoItem item(int id) {
+        RoItem item = new RoItem();
+        item.setId(id);
+        item.setName("n" + id);
+        return item;
+    }
+
+    /**
+     * 読み取り専用のトランザクションのテスト用エンティティです。
+     */
+    @Data
+    @SBTableMeta(name = "ro_items")
+    public static class RoItem {
+        @SBColumnMeta(name = "id", primaryKey = true)
+        private Integer id;
+
+        @SBColumnMeta(name = "name")
+        private String name;
+    }
+}
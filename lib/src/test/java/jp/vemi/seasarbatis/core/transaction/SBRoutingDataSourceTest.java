@@ -0,0 +1,165 @@
+/*
+ * Copyright (C) 2025 VEMI, All Rights Reserved.
+ */
+package jp.vemi.seasarbatis.core.transaction;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.sql.Connection;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.apache.ibatis.datasource.pooled.PooledDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import jp.vemi.seasarbatis.core.meta.SBColumnMeta;
+import jp.vemi.seasarbatis.core.meta.SBTableMeta;
+import jp.vemi.seasarbatis.jdbc.SBJdbcManager;
+import lombok.Data;
+
+/**
+ * {@link SBRoutingDataSource} のテストクラスです。
+ * <p>
+ * プライマリと2つのレプリカに異なるデータを登録し、どのDBから読み出したかを判定します。
+ * </p>
+ *
+ * @author H.Kurosawa
+ * @version 1.0.0
+ */
+class SBRoutingDataSourceTest {
+
+    private SBRoutingDataSource routingDataSource;
+    private SBJdbcManager jdbcManager;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        DataSource primary = createDatabase("routingprimary", "primary");
+        DataSource replica1 = createDatabase("routingreplica1", "replica1");
+        DataSource replica2 = createDatabase("routingreplica2", "replica2");
+        // 同一スレッドで先に実行されたテストの更新記録に影響されないよう、既定では期間を無効にする
+        routingDataSource = new SBRoutingDataSource(primary, List.of(replica1, replica2))
+                .setReadYourWritesWindow(Duration.ZERO);
+        jdbcManager = new SBJdbcManager(routingDataSource);
+    }
+
+    @Test
+    void testSelectOutsideTransactionUsesReplicasInTurn() {
+        String first = readSource();
+        String second = readSource();
+
+        assertTrue(first.startsWith("replica"));
+        assertTrue(second.startsWith("replica"));
+        assertNotEquals(first, second, "ラウンドロビンで振り分けられること");
+        assertEquals(first, readSource());
+    }
+
+    @Test
+    void testTransactionUsesPrimary() {
+        jdbcManager.transaction(manager -> {
+            assertEquals("primary", manager.findAll(RouteItem.class).get(0).getSource());
+        });
+        assertEquals("primary", jdbcManager.getTransactionManager().execute(
+                SBTransactionManager.PropagationType.REQUIRED, this::readSource));
+    }
+
+    @Test
+    void testReadOnlyTransactionUsesReplica() {
+        jdbcManager.transaction(manager -> {
+            assertTrue(manager.findAll(RouteItem.class).get(0).getSource().startsWith("replica"));
+        }, false, true);
+        assertTrue(jdbcManager.getTransactionManager().executeReadOnly(this::readSource).startsWith("replica"));
+    }
+
+    @Test
+    void testReadYourWritesWindow() {
+        routingDataSource.setReadYourWritesWindow(Duration.ofMinutes(1));
+        jdbcManager.insert(item(2L, "written"));
+
+        List<RouteItem> items = jdbcManager.findAll(RouteItem.class);
+        assertEquals(2, items.size(), "更新直後はプライマリから読み出すこと");
+    }
+
+    @Test
+    void testZeroWindowReadsReplicaAfterWrite() {
+        jdbcManager.insert(item(2L, "written"));
+
+        assertTrue(readSource().startsWith("replica"));
+    }
+
+    @Test
+    void testLeastInFlightAvoidsBusyReplica() throws Exception {
+        routingDataSource.setStrategy(SBRoutingDataSource.Strategy.LEAST_IN_FLIGHT);
+        SBRoutingDataSource.markReadOnly();
+        try (Connection busy = routingDataSource.getConnection()) {
+            int busyIndex = routingDataSource.getInFlight(0) == 1 ? 0 : 1;
+            for (int i = 0; i < 3; i++) {
+                try (Connection conn = routingDataSource.getConnection()) {
+                    assertEquals(1, routingDataSource.getInFlight(1 - busyIndex),
+                            "使用中でないレプリカが選択されること");
+                }
+            }
+        } finally {
+            SBRoutingDataSource.clearReadOnly();
+        }
+        assertEquals(0, routingDataSource.getInFlight(0));
+        assertEquals(0, routingDataSource.getInFlight(1));
+    }
+
+    @Test
+    void testReplicaConnectionIsCountedUntilClosedOnce() throws Exception {
+        SBRoutingDataSource.markReadOnly();
+        Connection conn;
+        try {
+            conn = routingDataSource.getConnection();
+        } finally {
+            SBRoutingDataSource.clearReadOnly();
+        }
+        assertEquals(1, routingDataSource.getInFlight(0) + routingDataSource.getInFlight(1));
+        assertSame(conn, conn.unwrap(Connection.class), "計上を迂回して実コネクションを取得できないこと");
+        assertFalse(conn.isWrapperFor(Connection.class));
+
+        conn.close();
+        conn.close();
+        assertEquals(0, routingDataSource.getInFlight(0), "複数回閉じても1回だけ減らすこと");
+        assertEquals(0, routingDataSource.getInFlight(1));
+    }
+
+    private String readSource() {
+        return jdbcManager.findAll(RouteItem.class).get(0).getSource();
+    }
+
+    private static DataSource createDatabase(String name, String source) throws Exception {
+        DataSource dataSource = new PooledDataSource("org.h2.Driver",
+                "jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE", "sa", "");
+        try (Connection conn = dataSource.getConnection(); Statement stmt = conn.createStatement()) {
+            stmt.execute("DROP TABLE IF EXISTS route_items");
+            stmt.execute("CREATE TABLE route_items (id BIGINT PRIMARY KEY, source VARCHAR(20))");
+            stmt.execute("INSERT INTO route_items VALUES (1, '" + source + "')");
+        }
+        return dataSource;
+    }
+
+    private static RouteItem item(Long id, String source) {
+        RouteItem item = new RouteItem();
+        item.setId(id);
+        item.setSource(source);
+        return item;
+    }
+
+    /**
+     * 振り分けテスト用エンティティです。
+     */
+    @Data
+    @SBTableMeta(name = "route_items")
+    public static class RouteItem {
+        @SBColumnMeta(name = "id", primaryKey = true)
+        private Long id;
+
+        @SBColumnMeta(name = "source")
+        private String source;
+    }
+}
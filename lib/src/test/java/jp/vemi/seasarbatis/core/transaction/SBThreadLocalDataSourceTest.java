@@ -0,0 +1,97 @@
+/*
+ * Copyright (C) 2025 VEMI, All Rights Reserved.
+ */
+package jp.vemi.seasarbatis.core.transaction;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+import javax.sql.DataSource;
+
+import org.apache.ibatis.datasource.pooled.PooledDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * {@link SBThreadLocalDataSource} のテストクラスです。
+ *
+ * @author H.Kurosawa
+ * @version 1.0.0
+ */
+class SBThreadLocalDataSourceTest {
+
+    private DataSource delegate;
+    private SBThreadLocalDataSource dataSource;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        delegate = new PooledDataSource("org.h2.Driver",
+                "jdbc:h2:mem:threadlocaldstest;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE", "sa", "");
+        try (Connection conn = delegate.getConnection(); Statement stmt = conn.createStatement()) {
+            stmt.execute("DROP TABLE IF EXISTS bound_rows");
+            stmt.execute("CREATE TABLE bound_rows (id INT PRIMARY KEY)");
+        }
+        dataSource = new SBThreadLocalDataSource(delegate);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SBThreadLocalDataSource.unbind();
+    }
+
+    @Test
+    void testBoundConnectionSuppressesTransactionControl() throws Exception {
+        try (Connection physical = delegate.getConnection()) {
+            physical.setAutoCommit(false);
+            SBThreadLocalDataSource.bind(physical);
+
+            Connection child = dataSource.getConnection();
+            assertSame(child, dataSource.getConnection(), "ラッパはバインドごとに使い回されること");
+            assertNotSame(physical, child);
+            try (Statement stmt = child.createStatement()) {
+                stmt.executeUpdate("INSERT INTO bound_rows (id) VALUES (1)");
+            }
+            child.setAutoCommit(true);
+            child.commit();
+            child.close();
+            assertFalse(child.isClosed(), "子セッションのcloseで実コネクションが閉じられないこと");
+            assertFalse(physical.getAutoCommit());
+            assertSame(child, child.unwrap(Connection.class), "実コネクションへ到達できないこと");
+            assertFalse(child.isWrapperFor(Connection.class));
+
+            physical.rollback();
+            assertEquals(0, countRows(), "子セッションのcommitは抑制され、実コネクションのrollbackで取り消されること");
+        }
+    }
+
+    @Test
+    void testSuspendedOrUnboundReturnsDelegateConnection() throws Exception {
+        try (Connection physical = delegate.getConnection()) {
+            SBThreadLocalDataSource.bind(physical);
+            SBThreadLocalDataSource.suspendBinding();
+            try (Connection independent = dataSource.getConnection()) {
+                assertFalse(independent instanceof SBSuppressedConnection);
+            } finally {
+                SBThreadLocalDataSource.resumeBinding();
+            }
+            assertTrue(dataSource.getConnection() instanceof SBSuppressedConnection);
+
+            SBThreadLocalDataSource.unbind();
+            try (Connection unbound = dataSource.getConnection()) {
+                assertFalse(unbound instanceof SBSuppressedConnection);
+            }
+        }
+    }
+
+    private int countRows() throws Exception {
+        try (Connection conn = delegate.getConnection(); Statement stmt = conn.createStatement();
+                ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM bound_rows")) {
+            rs.next();
+            return rs.getInt(1);
+        }
+    }
+}
@@ -0,0 +1,188 @@
+/*
+ * Copyright (C) 2025 VEMI, All Rights Reserved.
+ */
+package jp.vemi.seasarbatis.core.transaction;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import org.apache.ibatis.datasource.pooled.PooledDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import jp.vemi.seasarbatis.core.meta.SBColumnMeta;
+import jp.vemi.seasarbatis.core.meta.SBTableMeta;
+import jp.vemi.seasarbatis.exception.SBTransactionException;
+import jp.vemi.seasarbatis.jdbc.SBJdbcManager;
+import lombok.Data;
+
+/**
+ * 1つの {@link SBJdbcManager} を複数スレッドから同時に使用する場合のトランザクションのテストクラスです。
+ *
+ * @author H.Kurosawa
+ * @version 1.0.0
+ */
+class SBTransactionConcurrencyTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(SBTransactionConcurrencyTest.class);
+
+    private static final int THREADS = 8;
+    private static final int TRANSACTIONS_PER_THREAD = 50;
+
+    private DataSource dataSource;
+    private SBJdbcManager jdbcManager;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        dataSource = new PooledDataSource("org.h2.Driver",
+                "jdbc:h2:mem:concurrencytest;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE", "sa", "");
+        try (Connection conn = dataSource.getConnection(); Statement stmt = conn.createStatement()) {
+            stmt.execute("DROP TABLE IF EXISTS stress_rows");
+            stmt.execute("CREATE TABLE stress_rows (id INT PRIMARY KEY, worker INT, seq INT)");
+        }
+        jdbcManager = new SBJdbcManager(dataSource);
+    }
+
+    @Test
+    void testTransactionIsNotVisibleFromOtherThreads() throws Exception {
+        SBTransactionManager txManager = jdbcManager.getTransactionManager();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch checked = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> holder = executor.submit(() -> jdbcManager.transaction(manager -> {
+                manager.insert(newRow(1, 0, 0));
+                started.countDown();
+                assertTrue(checked.await(10, TimeUnit.SECONDS));
+            }));
+            assertTrue(started.await(10, TimeUnit.SECONDS));
+
+            assertFalse(txManager.isActive(), "他のスレッドのトランザクションはアクティブとみなされないこと");
+            assertThrows(SBTransactionException.class,
+                    () -> txManager.getTransactionOperation().getCurrentSession());
+            assertTrue(jdbcManager.findAll(StressRow.class).isEmpty(), "コミット前の更新は参照されないこと");
+            jdbcManager.transaction(manager -> manager.insert(newRow(2, 0, 0)));
+
+            checked.countDown();
+            holder.get(10, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(2, countRows());
+    }
+
+    @Test
+    void testConcurrentTransactionsThroughSingleManager() throws Exception {
+        double single = runWorkers(1, 0);
+        double concurrent = runWorkers(THREADS, 1);
+        logger.info("トランザクションのスループット: 1スレッド={}件/秒, {}スレッド={}件/秒 (倍率={})",
+                Math.round(single), THREADS, Math.round(concurrent), String.format("%.2f", concurrent / single));
+
+        // 5件に1件はロールバックする
+        int committedPerWorker = TRANSACTIONS_PER_THREAD - TRANSACTIONS_PER_THREAD / 5;
+        assertEquals(committedPerWorker * (1 + THREADS), countRows(), "コミットした更新のみが残ること");
+        assertFalse(jdbcManager.getTransactionManager().isActive());
+    }
+
+    /**
+     * ワーカースレッドでトランザクションを実行し、1秒あたりのトランザクション数を返します。
+     */
+    private double runWorkers(int threads, int firstWorker) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch ready = new CountDownLatch(threads);
+        CountDownLatch go = new CountDownLatch(1);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int worker = firstWorker + t;
+                futures.add(executor.submit(() -> {
+                    ready.countDown();
+                    go.await();
+                    for (int seq = 0; seq < TRANSACTIONS_PER_THREAD; seq++) {
+                        runTransaction(worker, seq);
+                    }
+                    return null;
+                }));
+            }
+            assertTrue(ready.await(10, TimeUnit.SECONDS));
+            long start = System.nanoTime();
+            go.countDown();
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+            long elapsed = Math.max(1, System.nanoTime() - start);
+            return threads * TRANSACTIONS_PER_THREAD * 1_000_000_000.0 / elapsed;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void runTransaction(int worker, int seq) {
+        int id = worker * 10_000 + seq;
+        boolean rollback = seq % 5 == 4;
+        try {
+            jdbcManager.transaction(manager -> {
+                SBTransactionManager txManager = manager.getTransactionManager();
+                assertTrue(txManager.isActive());
+                manager.insert(newRow(id, worker, seq));
+                StressRow found = manager.findByPk(newRow(id, 0, 0)).getSingleResult();
+                assertEquals(worker, found.getWorker(), "自スレッドのトランザクション内の更新が参照できること");
+                if (rollback) {
+                    throw new IllegalStateException("rollback");
+                }
+            });
+            assertFalse(rollback);
+        } catch (SBTransactionException e) {
+            if (!rollback) {
+                throw e;
+            }
+        }
+        assertFalse(jdbcManager.getTransactionManager().isActive(), "終了したトランザクションが残らないこと");
+    }
+
+    private int countRows() throws Exception {
+        try (Connection conn = dataSource.getConnection(); Statement stmt = conn.createStatement();
+                ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM stress_rows")) {
+            rs.next();
+            return rs.getInt(1);
+        }
+    }
+
+    private static StressRow newRow(int id, int worker, int seq) {
+        StressRow row = new StressRow();
+        row.setId(id);
+        row.setWorker(worker);
+        row.setSeq(seq);
+        return row;
+    }
+
+    /**
+     * 同時実行のテスト用エンティティです。
+     */
+    @Data
+    @SBTableMeta(name = "stress_rows")
+    public static class StressRow {
+        @SBColumnMeta(name = "id", primaryKey = true)
+        private Integer id;
+
+        @SBColumnMeta(name = "worker")
+        private Integer worker;
+
+        @SBColumnMeta(name = "seq")
+        private Integer seq;
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright (C) 2025 VEMI, All Rights Reserved.
+ */
+package jp.vemi.seasarbatis.core.transaction;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.Test;
+
+import jp.vemi.seasarbatis.exception.SBTransactionException;
+
+/**
+ * {@link SBTransactionContextCarrier} の実装のテストクラスです。
+ *
+ * @author H.Kurosawa
+ * @version 1.0.0
+ */
+class SBTransactionContextCarrierTest {
+
+    @Test
+    void testDefaultCarrierIsThreadLocal() {
+        assumeTrue(System.getProperty(SBTransactionContextCarrier.PROPERTY) == null);
+        assertInstanceOf(SBThreadLocalContextCarrier.class, SBTransactionContextCarrier.getDefault());
+    }
+
+    @Test
+    void testThreadLocalSlotRestoresPreviousValue() throws Exception {
+        assertScopeIsLexical(new SBThreadLocalContextCarrier().newSlot());
+    }
+
+    @Test
+    void testScopedValueSlotIsBoundLexically() throws Exception {
+        assumeTrue(SBScopedValueContextCarrier.isAvailable());
+        SBTransactionContextCarrier.Slot<String> slot = new SBScopedValueContextCarrier().newSlot();
+        assertScopeIsLexical(slot);
+
+        slot.callWith("scoped", () -> {
+            String seen = CompletableFuture.supplyAsync(slot::get).get();
+            assertNull(seen, "他のスレッドからはスコープの値を参照できないこと");
+            return null;
+        });
+    }
+
+    @Test
+    void testScopedValueSubtasks() throws Exception {
+        assumeTrue(SBScopedValueContextCarrier.isAvailable());
+        SBTransactionContextCarrier.Slot<String> isolated = new SBScopedValueContextCarrier(false).newSlot();
+        assertNull(isolated.callWith("parent", () -> fork(isolated::get)), "既定ではサブタスクへ引き継がないこと");
+
+        SBTransactionContextCarrier.Slot<String> inherited = new SBScopedValueContextCarrier(true).newSlot();
+        assertEquals("parent", inherited.callWith("parent", () -> fork(inherited::get)));
+        assertInstanceOf(SBTransactionException.class, inherited.callWith("parent", () -> fork(() -> {
+            try {
+                inherited.set("child");
+                return null;
+            } catch (SBTransactionException e) {
+                return e;
+            }
+        })), "サブタスクから親の値を変更できないこと");
+        assertEquals("child", inherited.callWith("parent",
+                () -> fork(() -> inherited.callWith("child", inherited::get))), "サブタスクは独自のスコープを開始できること");
+    }
+
+    private static void assertScopeIsLexical(SBTransactionContextCarrier.Slot<String> slot) throws Exception {
+        assertNull(slot.get());
+        slot.set("outer");
+        String result = slot.callWith("inner", () -> {
+            assertEquals("inner", slot.get());
+            slot.set("changed");
+            assertEquals("changed", slot.get());
+            slot.callWith(null, () -> {
+                assertNull(slot.get());
+                return null;
+            });
+            return slot.get();
+        });
+        assertEquals("changed", result);
+        assertEquals("outer", slot.get(), "スコープを抜けると元の値に戻ること");
+
+        assertThrows(IllegalStateException.class, () -> slot.callWith("failed", () -> {
+            throw new IllegalStateException();
+        }));
+        assertEquals("outer", slot.get(), "例外で抜けた場合も元の値に戻ること");
+        slot.remove();
+        assertNull(slot.get());
+    }
+
+    /**
+     * {@code StructuredTaskScope} でサブタスクを実行します（JDK 21ではプレビューAPIのためリフレクションで呼び出す）。
+     */
+    private static Object fork(Callable<?> task) throws Exception {
+        Class<?> scopeType = Class.forName("java.util.concurrent.StructuredTaskScope");
+        Class<?> subtaskType = Class.forName("java.util.concurrent.StructuredTaskScope$Subtask");
+        try (AutoCloseable scope = (AutoCloseable) scopeType.getConstructor().newInstance()) {
+            Object subtask = scopeType.getMethod("fork", Callable.class).invoke(scope, task);
+            scopeType.getMethod("join").invoke(scope);
+            return subtaskType.getMethod("get").invoke(subtask);
+        } catch (InvocationTargetException e) {
+            throw (Exception) e.getCause();
+        }
+    }
+}
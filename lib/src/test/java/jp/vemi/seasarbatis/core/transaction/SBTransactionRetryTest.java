@@ -0,0 +1,141 @@
+/*
+ * Copyright (C) 2025 VEMI, All Rights Reserved.
+ */
+package jp.vemi.seasarbatis.core.transaction;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import org.apache.ibatis.datasource.pooled.PooledDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import jp.vemi.seasarbatis.core.sql.dialect.MySqlDialect;
+import jp.vemi.seasarbatis.core.sql.dialect.OracleDialect;
+import jp.vemi.seasarbatis.core.transaction.SBTransactionManager.PropagationType;
+import jp.vemi.seasarbatis.exception.SBTransactionException;
+import jp.vemi.seasarbatis.jdbc.SBJdbcManager;
+
+/**
+ * {@link SBTransactionManager} の再実行のテストクラスです。
+ *
+ * @author H.Kurosawa
+ * @version 1.0.0
+ */
+class SBTransactionRetryTest {
+
+    private SBJdbcManager jdbcManager;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        DataSource dataSource = new PooledDataSource("org.h2.Driver",
+                "jdbc:h2:mem:retrytest;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE", "sa", "");
+        try (Connection conn = dataSource.getConnection(); Statement stmt = conn.createStatement()) {
+            stmt.execute("DROP TABLE IF EXISTS retry_items");
+            stmt.execute("CREATE TABLE retry_items (id INT PRIMARY KEY)");
+        }
+        jdbcManager = new SBJdbcManager(dataSource);
+        jdbcManager.setRetryPolicy(new SBRetryPolicy().setMaxAttempts(3)
+                .setBackoff(Duration.ofMillis(1), Duration.ofMillis(5), 2.0));
+    }
+
+    @Test
+    void testConflictIsRetriedInFreshTransaction() {
+        AtomicInteger attempts = new AtomicInteger();
+        jdbcManager.transaction(manager -> {
+            manager.insert("INSERT INTO retry_items (id) VALUES (/*id*/0)", Map.of("id", 1));
+            if (attempts.incrementAndGet() < 3) {
+                throw new SQLException("could not serialize access", "40001");
+            }
+        });
+
+        assertEquals(3, attempts.get());
+        assertEquals(1, countRows(), "失敗した試行の更新はロールバックされること");
+        SBTransactionManager.RetryMetrics metrics = jdbcManager.getTransactionManager().getRetryMetrics();
+        assertEquals(2, metrics.getRetryCount());
+        assertEquals(1, metrics.getRecoveredCount());
+        assertEquals(0, metrics.getExhaustedCount());
+    }
+
+    @Test
+    void testNestedWithoutTransactionIsRetried() {
+        AtomicInteger attempts = new AtomicInteger();
+        jdbcManager.getTransactionManager().execute(PropagationType.NESTED, () -> {
+            jdbcManager.insert("INSERT INTO retry_items (id) VALUES (/*id*/0)", Map.of("id", 1));
+            if (attempts.incrementAndGet() < 2) {
+                throw new SQLException("deadlock detected", "40P01");
+            }
+            return null;
+        });
+
+        assertEquals(2, attempts.get(), "新たに開始したトランザクションは再実行されること");
+        assertEquals(1, countRows());
+    }
+
+    @Test
+    void testRetryGivesUpAfterMaxAttempts() {
+        AtomicInteger attempts = new AtomicInteger();
+        assertThrows(SBTransactionException.class, () -> jdbcManager.transaction(manager -> {
+            attempts.incrementAndGet();
+            SQLException deadlock = new SQLException("Deadlock found", "40001", 1213);
+            throw new RuntimeException(deadlock);
+        }));
+
+        assertEquals(3, attempts.get());
+        assertEquals(1, jdbcManager.getTransactionManager().getRetryMetrics().getExhaustedCount());
+    }
+
+    @Test
+    void testOtherFailuresAndNestedCallsAreNotRetried() {
+        AtomicInteger attempts = new AtomicInteger();
+        assertThrows(SBTransactionException.class, () -> jdbcManager.transaction(manager -> {
+            attempts.incrementAndGet();
+            throw new SQLException("unique violation", "23505");
+        }));
+        assertEquals(1, attempts.get());
+
+        AtomicInteger inner = new AtomicInteger();
+        assertThrows(SBTransactionException.class, () -> jdbcManager.transaction(manager -> {
+            // 既存のトランザクションに参加する処理は再実行しない
+            manager.transaction(nested -> {
+                inner.incrementAndGet();
+                throw new SQLException("deadlock detected", "40P01");
+            });
+        }));
+        assertEquals(3, inner.get(), "外側のトランザクション単位で再実行されること");
+    }
+
+    @Test
+    void testDialectClassification() {
+        SBRetryPolicy policy = new SBRetryPolicy();
+        assertTrue(policy.isRetryable(new SQLException("deadlock", "40P01")));
+        assertFalse(policy.isRetryable(new SQLException("deadlock", "HY000", 1213)),
+                "ベンダーのエラーコードは既定では判定しないこと");
+        assertFalse(policy.isRetryable(new SQLException("ORA-00060", "61000", 60)));
+
+        policy.setDialect(new MySqlDialect());
+        assertTrue(policy.isRetryable(new SQLException("deadlock", "HY000", 1213)));
+        assertTrue(policy.isRetryable(new SQLException("deadlock", "40P01")));
+        assertFalse(policy.isRetryable(new SQLException("ORA-00060", "61000", 60)));
+
+        policy.setDialect(new OracleDialect());
+        assertTrue(policy.isRetryable(new SQLException("ORA-00060", "61000", 60)));
+        assertTrue(policy.isRetryable(new SQLException("ORA-08177", "72000", 8177)));
+
+        Duration backoff = new SBRetryPolicy().setBackoff(Duration.ofMillis(100), Duration.ofMillis(300), 2.0)
+                .setJitter(0.5).computeBackoff(3);
+        assertTrue(backoff.toMillis() >= 150 && backoff.toMillis() <= 300, "上限とジッタが適用されること: " + backoff);
+    }
+
+    private int countRows() {
+        return jdbcManager.selectBySql("SELECT id FROM retry_items", Map.of(), Map.class).getResultList().size();
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright (C) 2025 VEMI, All Rights Reserved.
+ */
+package jp.vemi.seasarbatis.core.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.Test;
+
+import jp.vemi.seasarbatis.exception.SBTypeConversionException;
+
+/**
+ * {@link SBTypeConverterRegistry} のテストクラスです。
+ *
+ * @author H.Kurosawa
+ * @version 1.0.0
+ */
+class SBTypeConverterRegistryTest {
+
+    enum Status {
+        OPEN, CLOSED
+    }
+
+    @Test
+    void testBuiltinConversions() {
+        SBTypeConverterRegistry registry = new SBTypeConverterRegistry();
+        LocalDateTime dateTime = LocalDateTime.of(2025, 1, 2, 3, 4, 5);
+
+        assertEquals(dateTime, registry.convert(Timestamp.valueOf(dateTime), LocalDateTime.class));
+        assertEquals(LocalDate.of(2025, 1, 2), registry.convert(java.sql.Date.valueOf("2025-01-02"), LocalDate.class));
+        assertEquals(Timestamp.valueOf(dateTime), registry.convert(dateTime, Timestamp.class));
+        assertEquals(42L, registry.convert(42, long.class));
+        assertEquals(new BigDecimal("12"), registry.convert(12L, BigDecimal.class));
+        assertEquals(7, registry.convert("7", Integer.class));
+        assertEquals(Boolean.TRUE, registry.convert("Y", Boolean.class));
+        assertEquals(Boolean.FALSE, registry.convert(0, boolean.class));
+        assertEquals(Status.CLOSED, registry.convert("CLOSED", Status.class));
+        assertEquals(Status.CLOSED, registry.convert(1, Status.class));
+    }
+
+    @Test
+    void testConverterIsResolvedOncePerTypePair() {
+        SBTypeConverterRegistry registry = new SBTypeConverterRegistry();
+        SBTypeConverterRegistry.Converter<Long> first = registry.find(Integer.class, long.class);
+        assertNotNull(first);
+        assertSame(first, registry.find(Integer.class, long.class));
+        assertNull(registry.find(Object.class, LocalDate.class));
+
+        SBTypeConversionException e = assertThrows(SBTypeConversionException.class,
+                () -> registry.convert(new Object(), LocalDate.class));
+        assertTrue(e.getMessage().contains("LocalDate"));
+    }
+
+    @Test
+    void testUserConverterTakesPrecedence() {
+        SBTypeConverterRegistry registry = new SBTypeConverterRegistry();
+        assertEquals(Status.OPEN, registry.convert(0, Status.class));
+
+        registry.register(Integer.class, Status.class, code -> code == 0 ? Status.CLOSED : Status.OPEN);
+        assertEquals(Status.CLOSED, registry.convert(0, Status.class), "登録後はキャッシュが破棄されること");
+        assertEquals(Status.OPEN, registry.convert(0L, Status.class), "登録していない変換元の型は標準の変換器を使うこと");
+
+        registry.register(Money.class, value -> new Money(new BigDecimal(value.toString())));
+        assertEquals(new Money(new BigDecimal("3.50")), registry.convert("3.50", Money.class));
+    }
+
+    @Test
+    void testConvertValueUsesDefaultRegistry() {
+        LocalDateTime dateTime = LocalDateTime.of(2025, 6, 1, 12, 0);
+        assertEquals(dateTime, SBTypeConverterUtils.convertValue(Timestamp.valueOf(dateTime), LocalDateTime.class));
+        assertEquals(Status.OPEN, SBTypeConverterUtils.convertValue("OPEN", Status.class));
+
+        Object value = new Object();
+        assertSame(value, SBTypeConverterUtils.convertValue(value, LocalDate.class), "変換できない場合は元の値を返すこと");
+        assertThrows(SBTypeConversionException.class,
+                () -> SBTypeConverterUtils.convertValue(value, LocalDate.class, true));
+    }
+
+    /**
+     * 利用者定義の値型です。
+     */
+    record Money(BigDecimal amount) {
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright (C) 2025 VEMI, All Rights Reserved.
+ */
+package jp.vemi.seasarbatis.jdbc;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Map;
+import java.util.Properties;
+
+import org.apache.commons.dbcp2.BasicDataSource;
+import org.junit.jupiter.api.Test;
+
+import jp.vemi.seasarbatis.exception.SBIllegalStateException;
+
+/**
+ * {@link SBJdbcManagerFactory} のコネクションプールモードのテストクラスです。
+ *
+ * @author H.Kurosawa
+ * @version 1.0.0
+ */
+class SBJdbcManagerFactoryPoolTest {
+
+    @Test
+    void testPoolIsPrefilledAndShared() throws Exception {
+        Properties props = poolProperties();
+        try (SBJdbcManagerFactory factory = new SBJdbcManagerFactory("mybatis-config.xml", props)) {
+            SBJdbcManager first = factory.create();
+            SBJdbcManager second = factory.create();
+
+            SBPooledDataSourceFactory.PoolStats stats = factory.getPoolStats();
+            assertEquals(3, stats.getNumIdle(), "起動時に初期接続が確保されること");
+            assertEquals(0, stats.getNumActive());
+            assertEquals(5, stats.getMaxTotal());
+            assertTrue(stats.isPoolPreparedStatements());
+
+            BasicDataSource dataSource = first.getDataSource().unwrap(BasicDataSource.class);
+            assertSame(dataSource, second.getDataSource().unwrap(BasicDataSource.class),
+                    "プールは生成したマネージャーで共有されること");
+            assertEquals("SELECT 1", dataSource.getValidationQuery());
+
+            first.transaction(manager -> {
+                manager.update("CREATE TABLE IF NOT EXISTS pool_items (id INT PRIMARY KEY)", Map.of());
+                manager.update("MERGE INTO pool_items KEY (id) VALUES (1)", Map.of());
+                assertEquals(1, factory.getPoolStats().getNumActive());
+            });
+            assertEquals(1, second.selectBySql("SELECT id FROM pool_items", Map.of(), Map.class)
+                    .getResultList().size());
+            assertEquals(0, factory.getPoolStats().getNumActive());
+        }
+    }
+
+    @Test
+    void testMissingUrlIsRejected() {
+        Properties props = new Properties();
+        props.setProperty("seasarbatis.pool.max-total", "2");
+        assertThrows(SBIllegalStateException.class, () -> SBPooledDataSourceFactory.create(props));
+    }
+
+    private static Properties poolProperties() {
+        Properties props = new Properties();
+        props.setProperty("seasarbatis.pool.url", "jdbc:h2:mem:pooltest;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE");
+        props.setProperty("seasarbatis.pool.username", "sa");
+        props.setProperty("seasarbatis.pool.password", "");
+        props.setProperty("seasarbatis.pool.driver-class-name", "org.h2.Driver");
+        props.setProperty("seasarbatis.pool.initial-size", "3");
+        props.setProperty("seasarbatis.pool.min-idle", "2");
+        props.setProperty("seasarbatis.pool.max-total", "5");
+        props.setProperty("seasarbatis.pool.validation-query", "SELECT 1");
+        props.setProperty("seasarbatis.pool.time-between-eviction-runs-millis", "60000");
+        return props;
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright (C) 2025 VEMI, All Rights Reserved.
+ */
+package jp.vemi.seasarbatis.jdbc;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.apache.ibatis.datasource.pooled.PooledDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import jp.vemi.seasarbatis.core.config.SBShardingConfig;
+import jp.vemi.seasarbatis.core.criteria.OrderDirection;
+import jp.vemi.seasarbatis.core.meta.SBColumnMeta;
+import jp.vemi.seasarbatis.core.meta.SBTableMeta;
+import jp.vemi.seasarbatis.exception.SBIllegalStateException;
+import lombok.Data;
+
+/**
+ * {@link SBShardedJdbcManager} のテストクラスです。
+ *
+ * @author H.Kurosawa
+ * @version 1.0.0
+ */
+class SBShardedJdbcManagerTest {
+
+    private static final int SHARD_COUNT = 3;
+
+    private SBShardedJdbcManager shardedManager;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        List<DataSource> dataSources = new ArrayList<>();
+        for (int i = 0; i < SHARD_COUNT; i++) {
+            DataSource dataSource = new PooledDataSource("org.h2.Driver",
+                    "jdbc:h2:mem:shardtest" + i + ";DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE", "sa", "");
+            try (Connection conn = dataSource.getConnection(); Statement stmt = conn.createStatement()) {
+                stmt.execute("DROP TABLE IF EXISTS tenant_orders");
+                stmt.execute("CREATE TABLE tenant_orders (id BIGINT PRIMARY KEY, tenant_id BIGINT, amount INT)");
+            }
+            dataSources.add(dataSource);
+        }
+        shardedManager = new SBShardedJdbcManager(dataSources, new SBShardingConfig());
+        for (long id = 1; id <= 12; id++) {
+            shardedManager.insert(order(id, id % 6, (int) ((id * 7) % 13)));
+        }
+    }
+
+    @Test
+    void testSingleShardOperationsRouteByShardKey() {
+        for (int i = 0; i < SHARD_COUNT; i++) {
+            for (TenantOrder order : shardedManager.getShard(i).findAll(TenantOrder.class)) {
+                assertEquals(i, order.getTenantId() % SHARD_COUNT, "シャードキーに対応するシャードへ登録されること");
+            }
+        }
+
+        TenantOrder found = shardedManager.findByPk(order(5L, 5L, null)).getSingleResult();
+        assertEquals(Integer.valueOf(9), found.getAmount());
+
+        found.setAmount(100);
+        shardedManager.update(found);
+        assertEquals(Integer.valueOf(100), shardedManager.shard(5L)
+                .findByPk(order(5L, 5L, null)).getSingleResult().getAmount());
+        assertNull(shardedManager.getShard(0).findByPkNoException(order(5L, 5L, null)).getSingleResult());
+    }
+
+    @Test
+    void testScatterGatherMergesInOrder() {
+        List<TenantOrder> orders = shardedManager.from(TenantOrder.class)
+                .orderBy("amount", OrderDirection.DESC)
+                .orderBy("id")
+                .getResultList();
+
+        assertEquals(12, orders.size());
+        for (int i = 1; i < orders.size(); i++) {
+            TenantOrder previous = orders.get(i - 1);
+            TenantOrder current = orders.get(i);
+            assertTrue(previous.getAmount() > current.getAmount()
+                    || (previous.getAmount().equals(current.getAmount()) && previous.getId() < current.getId()));
+        }
+    }
+
+    @Test
+    void testScatterGatherWithWhere() {
+        List<TenantOrder> orders = shardedManager.from(TenantOrder.class)
+                .where(w -> w.ge("amount", 7))
+                .orderBy("id")
+                .getResultList();
+
+        List<Long> ids = new ArrayList<>();
+        for (TenantOrder order : orders) {
+            assertTrue(order.getAmount() >= 7);
+            ids.add(order.getId());
+        }
+        assertEquals(List.of(1L, 3L, 5L, 7L, 9L, 11L), ids);
+        assertEquals(12, shardedManager.findAll(TenantOrder.class).size());
+    }
+
+    @Test
+    void testScatterRunsOnVirtualThreadsAndPropagatesFailure() {
+        List<List<Boolean>> virtual = shardedManager.scatter(manager -> List.of(Thread.currentThread().isVirtual()));
+        assertEquals(SHARD_COUNT, virtual.size());
+        virtual.forEach(part -> assertEquals(List.of(true), part));
+
+        IllegalStateException thrown = assertThrows(IllegalStateException.class,
+                () -> shardedManager.scatter(manager -> {
+                    throw new IllegalStateException("shard failure");
+                }));
+        assertEquals("shard failure", thrown.getMessage());
+    }
+
+    @Test
+    void testMissingShardKeyValueIsRejected() {
+        assertThrows(SBIllegalStateException.class, () -> shardedManager.insert(order(99L, null, 1)));
+    }
+
+    private static TenantOrder order(Long id, Long tenantId, Integer amount) {
+        TenantOrder order = new TenantOrder();
+        order.setId(id);
+        order.setTenantId(tenantId);
+        order.setAmount(amount);
+        return order;
+    }
+
+    /**
+     * シャーディングテスト用エンティティです。
+     */
+    @Data
+    @SBTableMeta(name = "tenant_orders", shardKey = "tenant_id")
+    public static class TenantOrder {
+        @SBColumnMeta(name = "id", primaryKey = true)
+        private Long id;
+
+        @SBColumnMeta(name = "tenant_id")
+        private Long tenantId;
+
+        @SBColumnMeta(name = "amount")
+        private Integer amount;
+    }
+}
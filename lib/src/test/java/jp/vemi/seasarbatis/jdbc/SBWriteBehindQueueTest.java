@@ -0,0 +1,204 @@
+/*
+ * Copyright (C) 2025 VEMI, All Rights Reserved.
+ */
+package jp.vemi.seasarbatis.jdbc;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import org.apache.ibatis.datasource.pooled.PooledDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import jp.vemi.seasarbatis.core.meta.SBColumnMeta;
+import jp.vemi.seasarbatis.core.meta.SBTableMeta;
+import jp.vemi.seasarbatis.exception.SBIllegalStateException;
+import lombok.Data;
+
+/**
+ * {@link SBWriteBehindQueue} のテストクラスです。
+ *
+ * @author H.Kurosawa
+ * @version 1.0.0
+ */
+class SBWriteBehindQueueTest {
+
+    private DataSource dataSource;
+    private SBJdbcManager jdbcManager;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        dataSource = new PooledDataSource("org.h2.Driver",
+                "jdbc:h2:mem:writebehindtest;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE", "sa", "");
+        try (Connection conn = dataSource.getConnection(); Statement stmt = conn.createStatement()) {
+            stmt.execute("DROP TABLE IF EXISTS audit_events");
+            stmt.execute("CREATE TABLE audit_events (id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, "
+                    + "message VARCHAR(50))");
+        }
+        jdbcManager = new SBJdbcManager(dataSource);
+    }
+
+    @Test
+    void testConcurrentOffersAreWrittenOnClose() throws Exception {
+        SBWriteBehindQueue queue = new SBWriteBehindQueue(jdbcManager).setBatchSize(50).setCapacity(100);
+        List<Thread> producers = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            int thread = t;
+            producers.add(Thread.ofPlatform().start(() -> {
+                for (int i = 0; i < 125; i++) {
+                    queue.offer(event("t" + thread + "-" + i));
+                }
+            }));
+        }
+        for (Thread producer : producers) {
+            producer.join();
+        }
+        queue.close();
+
+        assertEquals(1000, countRows(), "停止時に保留中のエンティティがすべて登録されること");
+        assertEquals(1000, queue.getWrittenCount());
+        assertEquals(0, queue.getPendingCount());
+        assertThrows(SBIllegalStateException.class, () -> queue.offer(event("late")));
+    }
+
+    @Test
+    void testCloseWritesEveryAcceptedEntityDuringConcurrentOffers() throws Exception {
+        int expected = 0;
+        for (int round = 0; round < 5; round++) {
+            // 容量を小さくし、停止時に空きを待機している呼び出し元がある状態にする
+            SBWriteBehindQueue queue = new SBWriteBehindQueue(jdbcManager).setCapacity(4).setBatchSize(50)
+                    .setFlushInterval(Duration.ofHours(1));
+            AtomicInteger accepted = new AtomicInteger();
+            CountDownLatch started = new CountDownLatch(4);
+            List<Thread> producers = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                int thread = t;
+                producers.add(Thread.ofPlatform().start(() -> {
+                    started.countDown();
+                    for (int i = 0;; i++) {
+                        try {
+                            queue.offer(event("r" + thread + "-" + i));
+                            accepted.incrementAndGet();
+                        } catch (SBIllegalStateException e) {
+                            return;
+                        }
+                    }
+                }));
+            }
+            started.await();
+            Thread.sleep(20);
+            queue.close();
+            for (Thread producer : producers) {
+                producer.join();
+            }
+            expected += accepted.get();
+            assertEquals(expected, countRows(), "受け付けたエンティティがすべて停止までに登録されること");
+            assertEquals(0, queue.getPendingCount());
+        }
+    }
+
+    @Test
+    void testSizeAndIntervalTriggers() throws Exception {
+        try (SBWriteBehindQueue bySize = new SBWriteBehindQueue(jdbcManager).setBatchSize(5)
+                .setFlushInterval(Duration.ofHours(1))) {
+            for (int i = 0; i < 5; i++) {
+                bySize.offer(event("size" + i));
+            }
+            awaitRows(5);
+        }
+        try (SBWriteBehindQueue byInterval = new SBWriteBehindQueue(jdbcManager).setBatchSize(1000)
+                .setFlushInterval(Duration.ofMillis(50))) {
+            byInterval.offer(event("interval"));
+            awaitRows(6);
+        }
+    }
+
+    @Test
+    void testDropPolicy() {
+        SBWriteBehindQueue queue = new SBWriteBehindQueue(jdbcManager).setCapacity(2).setBatchSize(100)
+                .setFlushInterval(Duration.ofHours(1)).setOverflowPolicy(SBWriteBehindQueue.OverflowPolicy.DROP);
+        assertTrue(queue.offer(event("a")));
+        assertTrue(queue.offer(event("b")));
+        assertFalse(queue.offer(event("c")), "満杯の場合は破棄すること");
+        assertEquals(1, queue.getDroppedCount());
+        queue.close();
+        assertEquals(2, countRows());
+    }
+
+    @Test
+    void testCallerRunsPolicy() {
+        SBWriteBehindQueue queue = new SBWriteBehindQueue(jdbcManager).setCapacity(1).setBatchSize(100)
+                .setFlushInterval(Duration.ofHours(1))
+                .setOverflowPolicy(SBWriteBehindQueue.OverflowPolicy.CALLER_RUNS);
+        queue.offer(event("queued"));
+        queue.offer(event("direct"));
+        assertEquals(1, countRows(), "満杯の場合は呼び出し元で登録すること");
+        queue.close();
+        assertEquals(2, countRows());
+    }
+
+    @Test
+    void testFailedBatchIsReported() {
+        List<Object> failed = new CopyOnWriteArrayList<>();
+        SBWriteBehindQueue queue = new SBWriteBehindQueue(jdbcManager).setBatchSize(10)
+                .setErrorHandler((entities, e) -> failed.addAll(entities));
+        AuditEvent tooLong = event("x".repeat(100));
+        queue.offer(event("ok"));
+        queue.offer(tooLong);
+        queue.close();
+
+        assertEquals(2, failed.size(), "失敗したバッチのエンティティを通知すること");
+        assertEquals(2, queue.getFailedCount());
+        assertEquals(0, countRows(), "失敗したバッチはロールバックされること");
+        assertThrows(SBIllegalStateException.class, () -> queue.setBatchSize(1), "開始後は設定を変更できないこと");
+    }
+
+    private void awaitRows(int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (countRows() < expected && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(expected, countRows());
+    }
+
+    private int countRows() {
+        try (Connection conn = dataSource.getConnection(); Statement stmt = conn.createStatement();
+                ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM audit_events")) {
+            rs.next();
+            return rs.getInt(1);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static AuditEvent event(String message) {
+        AuditEvent event = new AuditEvent();
+        event.setMessage(message);
+        return event;
+    }
+
+    /**
+     * 非同期登録のテスト用エンティティです。
+     */
+    @Data
+    @SBTableMeta(name = "audit_events")
+    public static class AuditEvent {
+        @SBColumnMeta(name = "id", primaryKey = true)
+        private Long id;
+
+        @SBColumnMeta(name = "message")
+        private String message;
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright (C) 2025 VEMI, All Rights Reserved.
+ */
+package jp.vemi.seasarbatis.jdbc.manager;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.apache.ibatis.datasource.pooled.PooledDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import jp.vemi.seasarbatis.core.meta.SBColumnMeta;
+import jp.vemi.seasarbatis.core.meta.SBTableMeta;
+import jp.vemi.seasarbatis.jdbc.SBJdbcManager;
+import lombok.Data;
+
+/**
+ * SBJdbcManagerの生成キー取得のテストクラスです。
+ *
+ * @author H.Kurosawa
+ * @version 1.0.0
+ */
+class SBJdbcManagerGeneratedKeyTest {
+
+    private SBJdbcManager jdbcManager;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        DataSource dataSource = new PooledDataSource("org.h2.Driver",
+                "jdbc:h2:mem:generatedkeytest;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE", "sa", "");
+        try (Connection conn = dataSource.getConnection(); Statement stmt = conn.createStatement()) {
+            stmt.execute("DROP TABLE IF EXISTS identity_items");
+            stmt.execute("CREATE TABLE identity_items (id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, "
+                    + "name VARCHAR(100))");
+        }
+        jdbcManager = new SBJdbcManager(dataSource);
+    }
+
+    @Test
+    void testInsertPopulatesGeneratedKey() {
+        IdentityItem first = jdbcManager.insert(item("first"));
+        IdentityItem second = jdbcManager.insert(item("second"));
+
+        assertNotNull(first.getId());
+        assertNotNull(second.getId());
+        assertTrue(second.getId() > first.getId());
+        assertEquals("second", jdbcManager.findByPk(second).getSingleResult().getName());
+    }
+
+    @Test
+    void testBatchInsertPopulatesGeneratedKeysInOrder() {
+        List<IdentityItem> items = List.of(item("a"), item("b"), item("c"));
+        List<IdentityItem> results = jdbcManager.batchInsert(items);
+
+        assertEquals(3, results.size());
+        for (IdentityItem result : results) {
+            assertNotNull(result.getId());
+            assertEquals(result.getName(), jdbcManager.findByPk(result).getSingleResult().getName(),
+                    "生成キーが対応する行に設定されること");
+        }
+    }
+
+    @Test
+    void testInsertOrUpdateWithoutKeyInserts() {
+        IdentityItem inserted = jdbcManager.insertOrUpdate(item("new"));
+        assertNotNull(inserted.getId());
+    }
+
+    private static IdentityItem item(String name) {
+        IdentityItem item = new IdentityItem();
+        item.setName(name);
+        return item;
+    }
+
+    /**
+     * 生成キーテスト用エンティティです。
+     */
+    @Data
+    @SBTableMeta(name = "identity_items")
+    public static class IdentityItem {
+        @SBColumnMeta(name = "id", primaryKey = true)
+        private Long id;
+
+        @SBColumnMeta(name = "name")
+        private String name;
+    }
+}
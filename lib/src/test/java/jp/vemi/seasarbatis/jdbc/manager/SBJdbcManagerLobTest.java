@@ -0,0 +1,153 @@
+/*
+ * Copyright (C) 2025 VEMI, All Rights Reserved.
+ */
+package jp.vemi.seasarbatis.jdbc.manager;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.apache.ibatis.datasource.pooled.PooledDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import jp.vemi.seasarbatis.core.meta.SBColumnMeta;
+import jp.vemi.seasarbatis.core.meta.SBTableMeta;
+import jp.vemi.seasarbatis.jdbc.SBJdbcManager;
+import lombok.Data;
+
+/**
+ * SBJdbcManagerのLOB読み書きのテストクラスです。
+ *
+ * @author H.Kurosawa
+ * @version 1.0.0
+ */
+class SBJdbcManagerLobTest {
+
+    private static final int PAYLOAD_SIZE = 256 * 1024;
+
+    private SBJdbcManager jdbcManager;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        DataSource dataSource = new PooledDataSource("org.h2.Driver",
+                "jdbc:h2:mem:lobtest;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE", "sa", "");
+        try (Connection conn = dataSource.getConnection(); Statement stmt = conn.createStatement()) {
+            stmt.execute("DROP TABLE IF EXISTS lob_documents");
+            stmt.execute("CREATE TABLE lob_documents (id BIGINT PRIMARY KEY, content BLOB, body CLOB)");
+        }
+        jdbcManager = new SBJdbcManager(dataSource);
+    }
+
+    @Test
+    void testStreamingEntityRoundTrip() {
+        byte[] payload = payload();
+        String text = "本文".repeat(1000);
+
+        jdbcManager.transaction(manager -> {
+            StreamDocument document = new StreamDocument();
+            document.setId(1L);
+            document.setContent(new ByteArrayInputStream(payload));
+            document.setBody(new StringReader(text));
+            manager.insert(document);
+        });
+
+        jdbcManager.transaction(manager -> {
+            StreamDocument key = new StreamDocument();
+            key.setId(1L);
+            StreamDocument found = manager.findByPk(key).getSingleResult();
+            // ストリームはトランザクション内で読み出す
+            try (InputStream in = found.getContent(); Reader reader = found.getBody()) {
+                assertArrayEquals(payload, in.readAllBytes());
+                StringWriter writer = new StringWriter();
+                reader.transferTo(writer);
+                assertEquals(text, writer.toString());
+            }
+        });
+    }
+
+    @Test
+    void testByteArrayAndStringMapping() {
+        byte[] payload = payload();
+        jdbcManager.transaction(manager -> {
+            BytesDocument document = new BytesDocument();
+            document.setId(2L);
+            document.setContent(payload);
+            document.setBody("text");
+            manager.insert(document);
+
+            document.setContent(Arrays.copyOf(payload, 10));
+            manager.update(document);
+        });
+
+        BytesDocument key = new BytesDocument();
+        key.setId(2L);
+        BytesDocument found = jdbcManager.findByPk(key).getSingleResult();
+        assertArrayEquals(Arrays.copyOf(payload, 10), found.getContent());
+        assertEquals("text", found.getBody());
+    }
+
+    @Test
+    void testLobParameterInSqlUpdate() {
+        jdbcManager.transaction(manager -> {
+            manager.update("INSERT INTO lob_documents (id, content) VALUES (/*id*/0, /*content*/null)",
+                    Map.of("id", 3L, "content", new ByteArrayInputStream("abc".getBytes(StandardCharsets.UTF_8))));
+        });
+
+        BytesDocument key = new BytesDocument();
+        key.setId(3L);
+        assertArrayEquals("abc".getBytes(StandardCharsets.UTF_8),
+                jdbcManager.findByPk(key).getSingleResult().getContent());
+    }
+
+    private static byte[] payload() {
+        byte[] payload = new byte[PAYLOAD_SIZE];
+        for (int i = 0; i < payload.length; i++) {
+            payload[i] = (byte) (i * 31);
+        }
+        return payload;
+    }
+
+    /**
+     * ストリーム型のLOBフィールドを持つエンティティです。
+     */
+    @Data
+    @SBTableMeta(name = "lob_documents")
+    public static class StreamDocument {
+        @SBColumnMeta(name = "id", primaryKey = true)
+        private Long id;
+
+        @SBColumnMeta(name = "content")
+        private InputStream content;
+
+        @SBColumnMeta(name = "body")
+        private Reader body;
+    }
+
+    /**
+     * 配列・文字列型のLOBフィールドを持つエンティティです。
+     */
+    @Data
+    @SBTableMeta(name = "lob_documents")
+    public static class BytesDocument {
+        @SBColumnMeta(name = "id", primaryKey = true)
+        private Long id;
+
+        @SBColumnMeta(name = "content")
+        private byte[] content;
+
+        @SBColumnMeta(name = "body")
+        private String body;
+    }
+}
@@ -0,0 +1,224 @@
+/*
+ * Copyright (C) 2025 VEMI, All Rights Reserved.
+ */
+package jp.vemi.seasarbatis.jdbc.manager;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import org.apache.ibatis.datasource.pooled.PooledDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import jp.vemi.seasarbatis.core.meta.SBColumnMeta;
+import jp.vemi.seasarbatis.core.meta.SBTableMeta;
+import jp.vemi.seasarbatis.core.transaction.SBTransactionManager.PropagationType;
+import jp.vemi.seasarbatis.exception.SBOptimisticLockException;
+import jp.vemi.seasarbatis.exception.SBTransactionException;
+import jp.vemi.seasarbatis.jdbc.SBJdbcManager;
+import lombok.Data;
+
+/**
+ * SBJdbcManagerの作業単位（更新の保留とバッチ送信）のテストクラスです。
+ *
+ * @author H.Kurosawa
+ * @version 1.0.0
+ */
+class SBJdbcManagerUnitOfWorkTest {
+
+    private final AtomicInteger dmlStatements = new AtomicInteger();
+    private SBJdbcManager jdbcManager;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        DataSource pool = new PooledDataSource("org.h2.Driver",
+                "jdbc:h2:mem:unitofworktest;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE", "sa", "");
+        try (Connection conn = pool.getConnection(); Statement stmt = conn.createStatement()) {
+            stmt.execute("DROP TABLE IF EXISTS uow_lines");
+            stmt.execute("DROP TABLE IF EXISTS uow_orders");
+            stmt.execute("CREATE TABLE uow_orders (id INT PRIMARY KEY, name VARCHAR(20))");
+            stmt.execute("CREATE TABLE uow_lines (id INT PRIMARY KEY, "
+                    + "order_id INT NOT NULL REFERENCES uow_orders(id), name VARCHAR(20))");
+        }
+        jdbcManager = new SBJdbcManager(countingDml(pool));
+        jdbcManager.setUnitOfWorkEnabled(true);
+    }
+
+    @Test
+    void testWritesAreBatchedPerStatementShape() {
+        jdbcManager.transaction(manager -> {
+            for (int i = 1; i <= 10; i++) {
+                manager.insert(order(i));
+                manager.insert(line(i, i));
+            }
+            assertEquals(0, dmlStatements.get(), "コミット前は送信しないこと");
+        });
+
+        assertEquals(2, dmlStatements.get(), "SQL文の種類ごとに1回で送信すること");
+        assertEquals(10, jdbcManager.findAll(UowLine.class).size());
+    }
+
+    @Test
+    void testFlushBeforeQuery() {
+        jdbcManager.transaction(manager -> {
+            manager.insert(order(1));
+            manager.insert(order(2));
+            assertEquals(2, manager.findAll(UowOrder.class).size(), "検索前に保留中の更新を送信すること");
+
+            UowOrder changed = order(1);
+            changed.setName("changed");
+            manager.update(changed);
+            assertEquals("changed", manager.selectBySql("SELECT * FROM uow_orders WHERE id = 1", Map.of(),
+                    UowOrder.class).getSingleResult().getName());
+        });
+        assertEquals(2, dmlStatements.get());
+    }
+
+    @Test
+    void testDependencyOrderAcrossShapes() {
+        jdbcManager.transaction(manager -> {
+            manager.insert(order(1));
+            manager.insert(line(1, 1));
+        });
+        dmlStatements.set(0);
+
+        jdbcManager.transaction(manager -> {
+            // 子を先に削除し、同じ主キーで登録し直す
+            manager.delete(line(1, 1));
+            manager.delete(order(1));
+            manager.insert(order(1));
+            manager.insert(line(1, 1));
+        });
+
+        assertEquals(4, dmlStatements.get(), "削除後の同じ表への登録は、保留中の削除を先に送信すること");
+        assertEquals(1, jdbcManager.findAll(UowLine.class).size());
+    }
+
+    @Test
+    void testFailureDetectedAtFlushRollsBack() {
+        SBTransactionException e = assertThrows(SBTransactionException.class,
+                () -> jdbcManager.transaction(manager -> {
+                    manager.insert(order(1));
+                    manager.update(order(99));
+                }));
+
+        assertTrue(hasCause(e, SBOptimisticLockException.class), "更新対象がないことを送信時に検出すること");
+        assertTrue(jdbcManager.findAll(UowOrder.class).isEmpty(), "保留していた登録もロールバックされること");
+    }
+
+    @Test
+    void testIndependentTransactionFlushesToItsOwnConnection() {
+        assertThrows(SBTransactionException.class, () -> jdbcManager.transaction(manager -> {
+            manager.insert(order(1));
+            manager.getTransactionManager().execute(PropagationType.REQUIRES_NEW, () -> {
+                manager.insert(order(2));
+                return null;
+            });
+            throw new IllegalStateException("outer failure");
+        }));
+
+        List<UowOrder> orders = jdbcManager.findAll(UowOrder.class);
+        assertEquals(1, orders.size(), "独立したトランザクションの保留分はそのトランザクションで送信されること");
+        assertEquals(2, orders.get(0).getId());
+    }
+
+    @Test
+    void testDisabledExecutesImmediately() {
+        jdbcManager.setUnitOfWorkEnabled(false);
+        jdbcManager.transaction(manager -> {
+            manager.insert(order(1));
+            manager.insert(order(2));
+            assertEquals(2, dmlStatements.get());
+        });
+    }
+
+    private static boolean hasCause(Throwable e, Class<? extends Throwable> type) {
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (type.isInstance(t)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private DataSource countingDml(DataSource delegate) {
+        return (DataSource) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { DataSource.class },
+                (proxy, method, args) -> {
+                    Object result = invoke(delegate, method, args);
+                    if (!(result instanceof Connection)) {
+                        return result;
+                    }
+                    Connection connection = (Connection) result;
+                    return Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { Connection.class },
+                            (p, m, a) -> {
+                                if ("prepareStatement".equals(m.getName())
+                                        && !((String) a[0]).trim().toUpperCase().startsWith("SELECT")) {
+                                    dmlStatements.incrementAndGet();
+                                }
+                                return invoke(connection, m, a);
+                            });
+                });
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static UowOrder order(int id) {
+        UowOrder order = new UowOrder();
+        order.setId(id);
+        order.setName("order" + id);
+        return order;
+    }
+
+    private static UowLine line(int id, int orderId) {
+        UowLine line = new UowLine();
+        line.setId(id);
+        line.setOrderId(orderId);
+        line.setName("line" + id);
+        return line;
+    }
+
+    /**
+     * 親テーブルのテスト用エンティティです。
+     */
+    @Data
+    @SBTableMeta(name = "uow_orders")
+    public static class UowOrder {
+        @SBColumnMeta(name = "id", primaryKey = true)
+        private Integer id;
+
+        @SBColumnMeta(name = "name")
+        private String name;
+    }
+
+    /**
+     * 子テーブルのテスト用エンティティです。
+     */
+    @Data
+    @SBTableMeta(name = "uow_lines")
+    public static class UowLine {
+        @SBColumnMeta(name = "id", primaryKey = true)
+        private Integer id;
+
+        @SBColumnMeta(name = "order_id")
+        private Integer orderId;
+
+        @SBColumnMeta(name = "name")
+        private String name;
+    }
+}
@@ -0,0 +1,53 @@
+plugins {
+    id("java-library")
+    id("com.vanniktech.maven.publish")
+}
+
+group = "jp.vemi"
+version = "0.0.1"
+
+repositories { mavenCentral() }
+
+// 生成されたコードは seasar-batis のクラスを参照するが、注釈プロセッサ自体はアノテーションを
+// 名前で扱うため、lib への依存は持たない
+java {
+    toolchain { languageVersion.set(JavaLanguageVersion.of(21)) }
+    withSourcesJar()
+    withJavadocJar()
+}
+
+tasks.withType<Javadoc>().configureEach {
+    val opts = options as? CoreJavadocOptions
+    opts?.addStringOption("Xdoclint:none", "-quiet")
+    opts?.addStringOption("Xmaxwarns", "1")
+    isFailOnError = false
+}
+
+mavenPublishing {
+    publishToMavenCentral(com.vanniktech.maven.publish.SonatypeHost.CENTRAL_PORTAL)
+    signAllPublications()
+    coordinates("jp.vemi", "seasar-batis-processor", version.toString())
+    pom {
+        name.set("SeasarBatis Annotation Processor")
+        description.set("Annotation processor that generates entity mappers for SeasarBatis")
+        url.set("https://github.com/vemikrs/seasar-batis")
+        licenses {
+            license {
+                name.set("The Apache License, Version 2.0")
+                url.set("http://www.apache.org/licenses/LICENSE-2.0.txt")
+            }
+        }
+        developers {
+            developer {
+                id.set("vemikrs")
+                name.set("Hiroki Kurosawa")
+                email.set("contact@vemi.jp")
+            }
+        }
+        scm {
+            connection.set("scm:git:git://github.com/vemikrs/seasar-batis.git")
+            developerConnection.set("scm:git:ssh://git@github.com/vemikrs/seasar-batis.git")
+            url.set("https://github.com/vemikrs/seasar-batis")
+        }
+    }
+}
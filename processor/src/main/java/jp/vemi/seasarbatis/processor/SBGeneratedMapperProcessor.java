@@ -0,0 +1,492 @@
+/*
+ * Copyright (C) 2025 VEMI, All Rights Reserved.
+ */
+package jp.vemi.seasarbatis.processor;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+
+/**
+ * {@code @SBTableMeta} を付与したエンティティごとに {@code SBGeneratedMapper} の実装を生成する注釈プロセッサです。
+ * <p>
+ * 生成されるマッパーはエンティティと同じパッケージに配置され、フィールドへ直接、
+ * またはgetter/setter（Lombokで生成されるものを含む）を通じてアクセスします。
+ * 結果セットの値は列番号で取得し、プリミティブ型のフィールドへは {@code getLong} などで直接設定します。
+ * レコードの場合はアクセサで値を取得し、標準コンストラクタを1回呼び出して生成します。
+ * </p>
+ * <p>
+ * 次のエンティティはマッパーを生成せず、実行時にリフレクションで変換されます。
+ * </p>
+ * <ul>
+ * <li>抽象クラス・型パラメータを持つクラス・privateなクラス・staticでない内部クラス</li>
+ * <li>{@code @SBColumnMeta} のないインスタンスフィールドを持つクラス</li>
+ * <li>引数なしコンストラクタ、またはフィールドへのアクセス手段がないクラス</li>
+ * </ul>
+ *
+ * @author H.Kurosawa
+ * @version 1.0.0
+ * @since 2025/01/01
+ */
+@SupportedAnnotationTypes(SBGeneratedMapperProcessor.TABLE_META)
+public class SBGeneratedMapperProcessor extends AbstractProcessor {
+
+    static final String TABLE_META = "jp.vemi.seasarbatis.core.meta.SBTableMeta";
+    static final String COLUMN_META = "jp.vemi.seasarbatis.core.meta.SBColumnMeta";
+    static final String MAPPER_SUFFIX = "_SBGeneratedMapper";
+
+    private static final Set<String> LOMBOK_GETTER = Set.of("lombok.Data", "lombok.Getter", "lombok.Value");
+    private static final Set<String> LOMBOK_SETTER = Set.of("lombok.Data", "lombok.Setter");
+    private static final Set<String> JDBC_TIME_TYPES = Set.of("java.time.LocalDate", "java.time.LocalTime",
+            "java.time.LocalDateTime", "java.time.OffsetDateTime", "java.time.OffsetTime");
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (TypeElement annotation : annotations) {
+            for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                if (element.getKind() != ElementKind.CLASS && element.getKind() != ElementKind.RECORD) {
+                    continue;
+                }
+                TypeElement entity = (TypeElement) element;
+                List<ColumnModel> columns = analyze(entity);
+                if (columns != null) {
+                    write(entity, columns);
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * エンティティを解析し、カラムの一覧を返します。
+     *
+     * @return カラムの一覧、マッパーを生成できない場合はnull
+     */
+    private List<ColumnModel> analyze(TypeElement entity) {
+        if (entity.getModifiers().contains(Modifier.ABSTRACT) || !entity.getTypeParameters().isEmpty()) {
+            return skip(entity, "抽象クラスまたは型パラメータを持つクラスです");
+        }
+        for (Element e = entity; e instanceof TypeElement; e = e.getEnclosingElement()) {
+            TypeElement type = (TypeElement) e;
+            if (type.getModifiers().contains(Modifier.PRIVATE)) {
+                return skip(entity, "privateなクラスです");
+            }
+            if (type.getNestingKind() == NestingKind.MEMBER && !type.getModifiers().contains(Modifier.STATIC)) {
+                return skip(entity, "staticでない内部クラスです");
+            }
+        }
+        boolean record = entity.getKind() == ElementKind.RECORD;
+        if (!record && !hasNoArgConstructor(entity)) {
+            return skip(entity, "引数なしコンストラクタがありません");
+        }
+
+        List<ColumnModel> columns = new ArrayList<>();
+        for (VariableElement field : ElementFilter.fieldsIn(entity.getEnclosedElements())) {
+            if (field.getModifiers().contains(Modifier.STATIC)) {
+                continue;
+            }
+            AnnotationMirror columnMeta = findAnnotation(field, COLUMN_META);
+            if (columnMeta == null) {
+                return skip(entity, "カラムメタ情報のないフィールドがあります: " + field.getSimpleName());
+            }
+            ColumnModel column = new ColumnModel(field, (String) value(columnMeta, "name"),
+                    (Boolean) value(columnMeta, "primaryKey"));
+            if (record) {
+                // レコードはアクセサで取得し、標準コンストラクタで生成する
+                column.getter = field.getSimpleName() + "()";
+                column.argument = "a" + columns.size();
+            } else if (!resolveAccess(entity, column)) {
+                return skip(entity, "フィールドへアクセスできません: " + field.getSimpleName());
+            }
+            columns.add(column);
+        }
+        return columns;
+    }
+
+    private List<ColumnModel> skip(TypeElement entity, String reason) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.NOTE,
+                "マッパーを生成しません（実行時はリフレクションで変換します）: " + reason, entity);
+        return null;
+    }
+
+    private boolean hasNoArgConstructor(TypeElement entity) {
+        if (findAnnotation(entity, "lombok.NoArgsConstructor") != null) {
+            return true;
+        }
+        for (ExecutableElement constructor : ElementFilter.constructorsIn(entity.getEnclosedElements())) {
+            if (constructor.getParameters().isEmpty() && !constructor.getModifiers().contains(Modifier.PRIVATE)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * フィールドの取得・設定方法を決定します。
+     */
+    private boolean resolveAccess(TypeElement entity, ColumnModel column) {
+        VariableElement field = column.field;
+        String name = field.getSimpleName().toString();
+        boolean directAccess = !field.getModifiers().contains(Modifier.PRIVATE);
+        boolean primitiveBoolean = field.asType().getKind() == TypeKind.BOOLEAN;
+        boolean anyBoolean = primitiveBoolean || "java.lang.Boolean".equals(column.typeName);
+
+        String property = name;
+        if (primitiveBoolean && name.length() > 2 && name.startsWith("is") && Character.isUpperCase(name.charAt(2))) {
+            // Lombokは isActive のようなbooleanフィールドに isActive()/setActive() を生成する
+            property = name.substring(2);
+        }
+        String capitalized = Character.toUpperCase(property.charAt(0)) + property.substring(1);
+
+        // getter（reflection版と同様に、booleanはisXxxを優先する）
+        if (anyBoolean && hasMethod(entity, "is" + capitalized, 0)) {
+            column.getter = "is" + capitalized + "()";
+        } else if (hasMethod(entity, "get" + capitalized, 0)) {
+            column.getter = "get" + capitalized + "()";
+        } else if (directAccess) {
+            column.getter = name;
+        } else if (hasLombok(entity, field, LOMBOK_GETTER)) {
+            column.getter = (primitiveBoolean ? "is" : "get") + capitalized + "()";
+        } else {
+            return false;
+        }
+
+        // setter
+        if (hasMethod(entity, "set" + capitalized, 1)) {
+            column.setter = "set" + capitalized;
+        } else if (directAccess && !field.getModifiers().contains(Modifier.FINAL)) {
+            column.setter = null;
+            column.directWrite = true;
+        } else if (!field.getModifiers().contains(Modifier.FINAL) && hasLombok(entity, field, LOMBOK_SETTER)
+                && findAnnotation(entity, "lombok.Value") == null) {
+            column.setter = "set" + capitalized;
+        } else {
+            return false;
+        }
+        return true;
+    }
+
+    private static boolean hasMethod(TypeElement entity, String name, int parameterCount) {
+        for (ExecutableElement method : ElementFilter.methodsIn(entity.getEnclosedElements())) {
+            if (method.getSimpleName().contentEquals(name) && method.getParameters().size() == parameterCount
+                    && !method.getModifiers().contains(Modifier.PRIVATE)
+                    && !method.getModifiers().contains(Modifier.STATIC)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean hasLombok(TypeElement entity, VariableElement field, Set<String> annotations) {
+        for (String annotation : annotations) {
+            if (findAnnotation(entity, annotation) != null || findAnnotation(field, annotation) != null) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static AnnotationMirror findAnnotation(Element element, String annotationName) {
+        for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+            TypeElement type = (TypeElement) mirror.getAnnotationType().asElement();
+            if (type.getQualifiedName().contentEquals(annotationName)) {
+                return mirror;
+            }
+        }
+        return null;
+    }
+
+    private Object value(AnnotationMirror mirror, String name) {
+        Map<? extends ExecutableElement, ? extends AnnotationValue> values = processingEnv.getElementUtils()
+                .getElementValuesWithDefaults(mirror);
+        for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : values.entrySet()) {
+            if (entry.getKey().getSimpleName().contentEquals(name)) {
+                return entry.getValue().getValue();
+            }
+        }
+        return null;
+    }
+
+    private void write(TypeElement entity, List<ColumnModel> columns) {
+        PackageElement pkg = processingEnv.getElementUtils().getPackageOf(entity);
+        String packageName = pkg.isUnnamed() ? "" : pkg.getQualifiedName().toString();
+        String binaryName = processingEnv.getElementUtils().getBinaryName(entity).toString();
+        String mapperName = (packageName.isEmpty() ? binaryName : binaryName.substring(packageName.length() + 1))
+                .replace('$', '_') + MAPPER_SUFFIX;
+        String entityName = entity.getQualifiedName().toString();
+        String qualifiedMapperName = packageName.isEmpty() ? mapperName : packageName + "." + mapperName;
+
+        StringBuilder src = new StringBuilder();
+        if (!packageName.isEmpty()) {
+            src.append("package ").append(packageName).append(";\n\n");
+        }
+        src.append("/**\n * {@link ").append(entityName).append("} のマッパーです。（自動生成）\n */\n");
+        src.append("@javax.annotation.processing.Generated(\"").append(getClass().getName()).append("\")\n");
+        src.append("public final class ").append(mapperName)
+                .append(" implements jp.vemi.seasarbatis.core.entity.SBGeneratedMapper<").append(entityName).append("> {\n\n");
+
+        src.append("    private static final java.util.List<String> COLUMN_NAMES = java.util.List.of(");
+        for (int i = 0; i < columns.size(); i++) {
+            src.append(i == 0 ? "" : ", ").append(literal(columns.get(i).name));
+        }
+        src.append(");\n\n");
+
+        src.append("    @Override\n    public Class<").append(entityName).append("> getEntityClass() {\n");
+        src.append("        return ").append(entityName).append(".class;\n    }\n\n");
+
+        src.append("    @Override\n    public java.util.List<String> getColumnNames() {\n");
+        src.append("        return COLUMN_NAMES;\n    }\n\n");
+
+        src.append("    @Override\n    public void writeParams(").append(entityName)
+                .append(" entity, java.util.Map<String, Object> params) {\n");
+        for (ColumnModel column : columns) {
+            src.append("        params.put(").append(literal(column.name)).append(", entity.").append(column.getter)
+                    .append(");\n");
+        }
+        src.append("    }\n\n");
+
+        src.append("    @Override\n    public int bindParams(").append(entityName)
+                .append(" entity, java.sql.PreparedStatement statement, int startIndex) throws java.sql.SQLException {\n");
+        src.append("        int index = startIndex;\n");
+        for (ColumnModel column : columns) {
+            src.append("        jp.vemi.seasarbatis.core.util.SBLobUtils.bind(statement, index++, entity.")
+                    .append(column.getter).append(");\n");
+        }
+        src.append("        return index;\n    }\n\n");
+
+        src.append("    @Override\n    public java.util.Map<String, Object> getPrimaryKeyValues(").append(entityName)
+                .append(" entity) {\n");
+        boolean hasPrimaryKey = columns.stream().anyMatch(c -> c.primaryKey);
+        if (hasPrimaryKey) {
+            src.append("        java.util.Map<String, Object> values = new java.util.LinkedHashMap<>();\n");
+            for (ColumnModel column : columns) {
+                if (column.primaryKey) {
+                    src.append("        values.put(").append(literal(column.name)).append(", entity.")
+                            .append(column.getter).append(");\n");
+                }
+            }
+            src.append("        return values;\n");
+        } else {
+            src.append("        throw new jp.vemi.seasarbatis.exception.SBIllegalStateException(")
+                    .append(literal("主キーが見つかりません: " + binaryName)).append(");\n");
+        }
+        src.append("    }\n\n");
+
+        src.append("    @Override\n    public ").append(entityName).append(" readRow(java.sql.ResultSet rs, int[] indexes)")
+                .append(" throws java.sql.SQLException {\n");
+        boolean record = entity.getKind() == ElementKind.RECORD;
+        if (record) {
+            for (ColumnModel column : columns) {
+                src.append("        ").append(column.typeName).append(" ").append(column.argument).append(" = ")
+                        .append(defaultValue(column.field.asType().getKind())).append(";\n");
+            }
+        } else {
+            src.append("        ").append(entityName).append(" entity = new ").append(entityName).append("();\n");
+        }
+        src.append("        int i;\n");
+        for (int c = 0; c < columns.size(); c++) {
+            src.append("        if ((i = indexes[").append(c).append("]) > 0) {\n");
+            appendRead(src, columns.get(c));
+            src.append("        }\n");
+        }
+        if (record) {
+            src.append("        return new ").append(entityName).append("(");
+            for (int c = 0; c < columns.size(); c++) {
+                src.append(c == 0 ? "" : ", ").append(columns.get(c).argument);
+            }
+            src.append(");\n    }\n}\n");
+        } else {
+            src.append("        return entity;\n    }\n}\n");
+        }
+
+        try (Writer writer = processingEnv.getFiler().createSourceFile(qualifiedMapperName, entity).openWriter()) {
+            writer.write(src.toString());
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    "マッパーの生成に失敗しました: " + e.getMessage(), entity);
+        }
+    }
+
+    /**
+     * 結果セットから値を読み、フィールドへ設定するコードを追加します。
+     */
+    private void appendRead(StringBuilder src, ColumnModel column) {
+        TypeMirror type = column.field.asType();
+        String typeName = column.typeName;
+        String primitiveGetter = primitiveGetter(type.getKind());
+        if (primitiveGetter != null) {
+            // プリミティブ型は、NULLの場合にフィールドの初期値を維持する
+            src.append("            ").append(typeName).append(" v = rs.").append(primitiveGetter).append("(i);\n");
+            src.append("            if (!rs.wasNull()) {\n");
+            src.append("                ").append(assign(column, "v")).append("\n");
+            src.append("            }\n");
+            return;
+        }
+        String unboxed = unboxedName(typeName);
+        if (unboxed != null) {
+            String getter = primitiveGetter(
+                    processingEnv.getTypeUtils().unboxedType(type).getKind());
+            src.append("            ").append(unboxed).append(" v = rs.").append(getter).append("(i);\n");
+            src.append("            ").append(assign(column, "rs.wasNull() ? null : " + typeName + ".valueOf(v)"))
+                    .append("\n");
+            return;
+        }
+        String value;
+        if ("java.lang.String".equals(typeName)) {
+            value = "rs.getString(i)";
+        } else if ("java.math.BigDecimal".equals(typeName)) {
+            value = "rs.getBigDecimal(i)";
+        } else if ("byte[]".equals(typeName)) {
+            value = "rs.getBytes(i)";
+        } else if (JDBC_TIME_TYPES.contains(typeName)) {
+            value = "rs.getObject(i, " + typeName + ".class)";
+        } else if (isEnum(type)) {
+            src.append("            String s = rs.getString(i);\n");
+            value = "s == null ? null : " + typeName + ".valueOf(s)";
+        } else {
+            value = "(" + typeName + ") jp.vemi.seasarbatis.core.util.SBTypeConverterUtils.convertValue(rs.getObject(i), "
+                    + typeName + ".class)";
+        }
+        src.append("            ").append(assign(column, value)).append("\n");
+    }
+
+    private static String assign(ColumnModel column, String value) {
+        if (column.argument != null) {
+            return column.argument + " = " + value + ";";
+        }
+        if (column.directWrite) {
+            return "entity." + column.field.getSimpleName() + " = " + value + ";";
+        }
+        return "entity." + column.setter + "(" + value + ");";
+    }
+
+    private static boolean isEnum(TypeMirror type) {
+        return type.getKind() == TypeKind.DECLARED
+                && ((DeclaredType) type).asElement().getKind() == ElementKind.ENUM;
+    }
+
+    private static String primitiveGetter(TypeKind kind) {
+        switch (kind) {
+        case BOOLEAN:
+            return "getBoolean";
+        case BYTE:
+            return "getByte";
+        case SHORT:
+            return "getShort";
+        case INT:
+            return "getInt";
+        case LONG:
+            return "getLong";
+        case FLOAT:
+            return "getFloat";
+        case DOUBLE:
+            return "getDouble";
+        default:
+            return null;
+        }
+    }
+
+    private static String defaultValue(TypeKind kind) {
+        switch (kind) {
+        case BOOLEAN:
+            return "false";
+        case CHAR:
+            return "'\\0'";
+        case BYTE:
+            return "(byte) 0";
+        case SHORT:
+            return "(short) 0";
+        case INT:
+            return "0";
+        case LONG:
+            return "0L";
+        case FLOAT:
+            return "0F";
+        case DOUBLE:
+            return "0D";
+        default:
+            return "null";
+        }
+    }
+
+    private static String unboxedName(String typeName) {
+        switch (typeName) {
+        case "java.lang.Boolean":
+            return "boolean";
+        case "java.lang.Byte":
+            return "byte";
+        case "java.lang.Short":
+            return "short";
+        case "java.lang.Integer":
+            return "int";
+        case "java.lang.Long":
+            return "long";
+        case "java.lang.Float":
+            return "float";
+        case "java.lang.Double":
+            return "double";
+        default:
+            return null;
+        }
+    }
+
+    private static String literal(String value) {
+        StringBuilder sb = new StringBuilder("\"");
+        for (char c : value.toCharArray()) {
+            if (c == '"' || c == '\\') {
+                sb.append('\\');
+            }
+            sb.append(c);
+        }
+        return sb.append('"').toString();
+    }
+
+    /**
+     * マッパーを生成するカラムの情報です。
+     */
+    private final class ColumnModel {
+        private final VariableElement field;
+        private final String name;
+        private final boolean primaryKey;
+        private final String typeName;
+        private String getter;
+        private String setter;
+        private boolean directWrite;
+        private String argument;
+
+        ColumnModel(VariableElement field, String name, Boolean primaryKey) {
+            this.field = field;
+            this.name = name;
+            this.primaryKey = Boolean.TRUE.equals(primaryKey);
+            this.typeName = processingEnv.getTypeUtils().erasure(field.asType()).toString();
+        }
+    }
+}
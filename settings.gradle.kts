@@ -8,3 +8,4 @@ pluginManagement {
 rootProject.name = "seasar-batis"
 include("lib")
 include("spring")
+include("processor")
@@ -9,8 +9,10 @@ import org.apache.ibatis.session.SqlSessionFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import jp.vemi.seasarbatis.core.query.SBSelect;
+import jp.vemi.seasarbatis.core.transaction.SBTransactionCallback;
 import jp.vemi.seasarbatis.jdbc.SBJdbcManager;
 
 /**
@@ -33,7 +35,16 @@ public class SpringJdbcManager extends SBJdbcManager {
     @Override
     @Transactional(readOnly = true)
     public <T> List<T> findAll(Class<T> entityClass) {
-        return super.findAll(entityClass);
+        return getTransactionManager().executeReadOnly(() -> super.findAll(entityClass));
+    }
+
+    /**
+     * Springのトランザクションが {@code readOnly=true} の場合は、読み取り専用のトランザクションで実行します。
+     */
+    @Override
+    public void transaction(SBTransactionCallback callback, boolean isIndependentTransaction, boolean readOnly) {
+        super.transaction(callback, isIndependentTransaction,
+                readOnly || TransactionSynchronizationManager.isCurrentTransactionReadOnly());
     }
 
     @Override